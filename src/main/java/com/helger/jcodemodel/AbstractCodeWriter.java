@@ -45,10 +45,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
-import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -63,48 +61,18 @@ import com.helger.jcodemodel.util.UnicodeEscapeWriter;
  */
 public abstract class AbstractCodeWriter implements Closeable
 {
-  private static final class JavaUnicodeEscapeWriter extends UnicodeEscapeWriter
-  {
-    private static final BitSet ESCAPE = new BitSet (128);
-
-    static
-    {
-      for (int i = 0; i < 0x20; i++)
-        if (i != '\t' && i != '\r' && i != '\n')
-          ESCAPE.set (i, true);
-    }
-
-    // can't change this signature to Encoder because
-    // we can't have Encoder in method signature
-    private final CharsetEncoder m_aEncoder;
-
-    private JavaUnicodeEscapeWriter (@Nonnull final OutputStreamWriter bw)
-    {
-      super (bw);
-      m_aEncoder = Charset.forName (bw.getEncoding ()).newEncoder ();
-    }
-
-    @Override
-    protected boolean requireEscaping (final int ch)
-    {
-      // control characters
-      if (ESCAPE.get (ch))
-        return true;
-
-      // check ASCII chars, for better performance
-      if (ch < 0x80)
-        return false;
-
-      return !m_aEncoder.canEncode ((char) ch);
-    }
-  }
-
   /**
    * Encoding to be used by the writer. Null means platform specific encoding.
    */
   private final Charset m_aEncoding;
   private final String m_sNewLine;
 
+  /** Throw on the first I/O error in source files? */
+  private boolean m_bStrict = false;
+
+  /** The encoder and buffers of the last closed source file for re-use */
+  private final AtomicReference <PooledSourceWriter.Buffers> m_aPooledBuffers = new AtomicReference <> ();
+
   private static String s_sDefaultNewLine = null;
 
   @Nonnull
@@ -156,6 +124,37 @@ public abstract class AbstractCodeWriter implements Closeable
     return m_sNewLine;
   }
 
+  /**
+   * @return <code>true</code> if the writers returned by
+   *         {@link #openSource(JPackage, String)} throw a
+   *         {@link SourceWriteException} on the first I/O error,
+   *         <code>false</code> if the errors are only logged. Default is
+   *         <code>false</code>.
+   * @since 3.0.3
+   */
+  public boolean isStrict ()
+  {
+    return m_bStrict;
+  }
+
+  /**
+   * Enable or disable the strict mode. In strict mode the first I/O error while
+   * writing a source file aborts the file and the whole build with a
+   * {@link SourceWriteException}, and the partially written file is removed via
+   * {@link #discard(JPackage, String)}.
+   *
+   * @param bStrict
+   *        <code>true</code> to enable the strict mode.
+   * @return this for chaining
+   * @since 3.0.3
+   */
+  @Nonnull
+  public AbstractCodeWriter setStrict (final boolean bStrict)
+  {
+    m_bStrict = bStrict;
+    return this;
+  }
+
   /**
    * Called by CodeModel to store the specified file. The callee must allocate a
    * storage to store the specified file. <br>
@@ -179,6 +178,8 @@ public abstract class AbstractCodeWriter implements Closeable
    * storage to store the specified file. <br>
    * The returned stream will be closed before the next file is stored. So the
    * callee can assume that only one OutputStream is active at any given time.
+   * The encoder and the buffers of a closed writer are re-used for the next
+   * file.
    *
    * @param aPackage
    *        The package of the file to be written.
@@ -194,24 +195,53 @@ public abstract class AbstractCodeWriter implements Closeable
                                        @Nonnull final String sFilename) throws IOException
   {
     final OutputStream aOS = openBinary (aPackage, sFilename);
-    final OutputStreamWriter aOSW = m_aEncoding != null ? new OutputStreamWriter (aOS, m_aEncoding)
-                                                        : new OutputStreamWriter (aOS);
-
-    // create writer
-    Writer aWriter;
-    try
+    final String sFilePath = m_bStrict ? getFilePath (aPackage, sFilename) : null;
+    final Charset aCharset = m_aEncoding != null ? m_aEncoding : Charset.defaultCharset ();
+    if (aCharset.canEncode ())
     {
-      aWriter = new JavaUnicodeEscapeWriter (aOSW);
-    }
-    catch (final Throwable t)
-    {
-      aWriter = new UnicodeEscapeWriter (aOSW);
+      // Re-use encoder and buffers of the previous file
+      return new SourcePrintWriter (new PooledSourceWriter (aOS, aCharset, m_aPooledBuffers), m_sNewLine, sFilePath);
     }
 
-    // Ensure result is buffered
-    return new SourcePrintWriter (new BufferedWriter (aWriter), m_sNewLine);
+    // Fallback for charsets without an encoder
+    final OutputStreamWriter aOSW = new OutputStreamWriter (aOS, aCharset);
+    return new SourcePrintWriter (new BufferedWriter (new UnicodeEscapeWriter (aOSW)), m_sNewLine, sFilePath);
+  }
+
+  /**
+   * Get the path of a file relative to the output root, as used in error
+   * messages.
+   *
+   * @param aPackage
+   *        The package of the file.
+   * @param sFilename
+   *        File name without the path.
+   * @return The path with '/' as the separator.
+   * @since 3.0.3
+   */
+  @Nonnull
+  public static String getFilePath (@Nonnull final JPackage aPackage, @Nonnull final String sFilename)
+  {
+    if (aPackage.isUnnamed ())
+      return sFilename;
+    return aPackage.name ().replace ('.', '/') + '/' + sFilename;
   }
 
+  /**
+   * Called by CodeModel in strict mode if writing a file failed. The partially
+   * written file should be removed. The default implementation does nothing.
+   *
+   * @param aPackage
+   *        The package of the file.
+   * @param sFilename
+   *        File name without the path.
+   * @throws IOException
+   *         If the file could not be removed
+   * @since 3.0.3
+   */
+  public void discard (@Nonnull final JPackage aPackage, @Nonnull final String sFilename) throws IOException
+  {}
+
   /**
    * Called by CodeModel at the end of the process.
    */
@@ -65,7 +65,7 @@ public abstract class AbstractJClassContainer <CLASSTYPE extends AbstractJClassC
    * nested class, this is {@link AbstractJClassContainer}. If this is an
    * anonymous class, this constructor shouldn't be used.
    */
-  private final IJClassContainer <?> m_aOuter;
+  private IJClassContainer <?> m_aOuter;
 
   /**
    * Default value is class or interface or annotationTypeDeclaration or enum
@@ -217,16 +217,20 @@ public abstract class AbstractJClassContainer <CLASSTYPE extends AbstractJClassC
                                                  @Nonnull final EClassType eClassType,
                                                  @Nonnull final String sName);
 
+  @Nonnull
+  private static String _getRealName (@Nonnull final String sName)
+  {
+    if (JCodeModel.isFileSystemCaseSensitive ())
+      return sName.toUpperCase (Locale.US);
+    return sName;
+  }
+
   @Nonnull
   public final CLASSTYPE _class (final int nMods,
                                  @Nonnull final String sName,
                                  @Nonnull final EClassType eClassType) throws JClassAlreadyExistsException
   {
-    String sRealName;
-    if (JCodeModel.isFileSystemCaseSensitive ())
-      sRealName = sName.toUpperCase (Locale.US);
-    else
-      sRealName = sName;
+    final String sRealName = _getRealName (sName);
 
     // Existing class?
     if (m_aClasses != null)
@@ -244,6 +248,50 @@ public abstract class AbstractJClassContainer <CLASSTYPE extends AbstractJClassC
     return c;
   }
 
+  /**
+   * Check if a nested class with the passed name is contained.
+   *
+   * @param sName
+   *        The name of the nested class. May not be <code>null</code>.
+   * @return <code>true</code> if such a nested class exists.
+   */
+  final boolean internalContainsClass (@Nonnull final String sName)
+  {
+    return m_aClasses != null && m_aClasses.containsKey (_getRealName (sName));
+  }
+
+  /**
+   * Move the passed nested class from its current outer class to this class.
+   *
+   * @param aClass
+   *        The nested class to be moved. Must be nested in another
+   *        {@link AbstractJClassContainer} with the same class type.
+   */
+  @SuppressWarnings ("unchecked")
+  final void internalMoveHere (@Nonnull final CLASSTYPE aClass)
+  {
+    final String sRealName = _getRealName (aClass.name ());
+    final AbstractJClassContainer <CLASSTYPE> aOldOuter = (AbstractJClassContainer <CLASSTYPE>) aClass.getOuter ();
+    if (aOldOuter.m_aClasses == null || aOldOuter.m_aClasses.remove (sRealName) != aClass)
+      throw new IllegalArgumentException ("Class " + aClass.fullName () + " is not a nested class");
+    if (m_aClasses == null)
+      m_aClasses = new TreeMap <> ();
+    m_aClasses.put (sRealName, aClass);
+    ((AbstractJClassContainer <?>) aClass).m_aOuter = this;
+  }
+
+  /**
+   * Remove the passed nested class from this class.
+   *
+   * @param aClass
+   *        The nested class to be removed. May not be <code>null</code>.
+   * @return <code>true</code> if the class was removed.
+   */
+  final boolean internalRemoveClass (@Nonnull final CLASSTYPE aClass)
+  {
+    return m_aClasses != null && m_aClasses.remove (_getRealName (aClass.name ()), aClass);
+  }
+
   /**
    * Returns an iterator that walks the nested classes defined in this class.
    * Don't modify the returned collection!
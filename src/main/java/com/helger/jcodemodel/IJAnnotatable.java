@@ -72,6 +72,27 @@ public interface IJAnnotatable
   @Nonnull
   JAnnotationUse annotate (@Nonnull Class <? extends Annotation> aClazz);
 
+  /**
+   * Adds a copy of the passed annotation to this program element. The copy
+   * shares all member values with the passed annotation until either of them
+   * is modified (copy-on-write). This allows to use the same annotation on
+   * many program elements without duplicating the member values. The member
+   * values themselves (e.g. arrays) must not be modified directly, as these
+   * modifications affect all sharing annotations.
+   *
+   * @param aTemplate
+   *        The annotation to be copied. May not be <code>null</code>.
+   * @return Newly created {@link JAnnotationUse}
+   * @since 3.0.3
+   */
+  @Nonnull
+  default JAnnotationUse annotate (@Nonnull final JAnnotationUse aTemplate)
+  {
+    final JAnnotationUse ret = annotate (aTemplate.getAnnotationClass ());
+    ret.internalShareMemberValues (aTemplate);
+    return ret;
+  }
+
   /**
    * Adds an annotation to this program element and returns a type-safe writer
    * to fill in the values of such annotations.
@@ -64,6 +64,12 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   private final JCodeModel m_aOwner;
   private final List <AbstractJAnnotationValue> m_aValues = new ArrayList <> ();
 
+  /**
+   * Where this array member was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   public JAnnotationArrayMember (@Nonnull final JCodeModel aOwner)
   {
     JCValueEnforcer.notNull (aOwner, "Owner");
@@ -76,6 +82,13 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
     return m_aOwner;
   }
 
+  private void _addValue (@Nonnull final AbstractJAnnotationValue aValue)
+  {
+    m_aValues.add (aValue);
+    // Annotations are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
+  }
+
   /**
    * Adds an array member to this annotation
    *
@@ -87,7 +100,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (@Nonnull final String sValue)
   {
-    m_aValues.add (wrap (sValue));
+    _addValue (wrap (sValue));
     return this;
   }
 
@@ -95,7 +108,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final String... aValues)
   {
     for (final String sValue : aValues)
-      m_aValues.add (wrap (sValue));
+      _addValue (wrap (sValue));
     return this;
   }
 
@@ -110,7 +123,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final boolean bValue)
   {
-    m_aValues.add (wrap (bValue));
+    _addValue (wrap (bValue));
     return this;
   }
 
@@ -118,7 +131,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final boolean... aValues)
   {
     for (final boolean value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -133,7 +146,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final byte nValue)
   {
-    m_aValues.add (wrap (nValue));
+    _addValue (wrap (nValue));
     return this;
   }
 
@@ -141,7 +154,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final byte... aValues)
   {
     for (final byte value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -156,7 +169,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final char cValue)
   {
-    m_aValues.add (wrap (cValue));
+    _addValue (wrap (cValue));
     return this;
   }
 
@@ -164,7 +177,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final char... aValues)
   {
     for (final char value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -179,7 +192,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final double dValue)
   {
-    m_aValues.add (wrap (dValue));
+    _addValue (wrap (dValue));
     return this;
   }
 
@@ -187,7 +200,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final double... aValues)
   {
     for (final double value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -202,7 +215,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final long nValue)
   {
-    m_aValues.add (wrap (nValue));
+    _addValue (wrap (nValue));
     return this;
   }
 
@@ -210,7 +223,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final long... aValues)
   {
     for (final long value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -225,7 +238,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final short nValue)
   {
-    m_aValues.add (wrap (nValue));
+    _addValue (wrap (nValue));
     return this;
   }
 
@@ -233,7 +246,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final short... aValues)
   {
     for (final short value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -248,7 +261,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final int nValue)
   {
-    m_aValues.add (wrap (nValue));
+    _addValue (wrap (nValue));
     return this;
   }
 
@@ -256,7 +269,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final int... aValues)
   {
     for (final int value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -271,7 +284,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final float fValue)
   {
-    m_aValues.add (wrap (fValue));
+    _addValue (wrap (fValue));
     return this;
   }
 
@@ -279,7 +292,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final float... aValues)
   {
     for (final float value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -294,7 +307,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (@Nonnull final Enum <?> aEnumConstant)
   {
-    m_aValues.add (wrap (aEnumConstant));
+    _addValue (wrap (aEnumConstant));
     return this;
   }
 
@@ -302,7 +315,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final Enum <?>... aValues)
   {
     for (final Enum <?> value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -317,7 +330,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final JEnumConstant aValue)
   {
-    m_aValues.add (wrap (aValue));
+    _addValue (wrap (aValue));
     return this;
   }
 
@@ -325,7 +338,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final JEnumConstant... aValues)
   {
     for (final JEnumConstant value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -340,7 +353,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final IJExpression aValue)
   {
-    m_aValues.add (wrap (aValue));
+    _addValue (wrap (aValue));
     return this;
   }
 
@@ -348,7 +361,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final IJExpression... aValues)
   {
     for (final IJExpression value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -363,7 +376,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   @Nonnull
   public JAnnotationArrayMember param (final Class <?> aValue)
   {
-    m_aValues.add (wrap (aValue));
+    _addValue (wrap (aValue));
     return this;
   }
 
@@ -371,14 +384,14 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final Class <?>... aValues)
   {
     for (final Class <?> value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
   @Nonnull
   public JAnnotationArrayMember param (final AbstractJType aType)
   {
-    m_aValues.add (wrap (aType));
+    _addValue (wrap (aType));
     return this;
   }
 
@@ -386,7 +399,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationArrayMember params (@Nonnull final AbstractJType... aValues)
   {
     for (final AbstractJType value : aValues)
-      m_aValues.add (wrap (value));
+      _addValue (wrap (value));
     return this;
   }
 
@@ -406,7 +419,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
   public JAnnotationUse annotate (@Nonnull final AbstractJClass aClazz)
   {
     final JAnnotationUse a = new JAnnotationUse (aClazz);
-    m_aValues.add (a);
+    _addValue (a);
     return a;
   }
 
@@ -439,6 +452,7 @@ public class JAnnotationArrayMember extends AbstractJAnnotationValueOwned implem
 
   public void generate (@Nonnull final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
     f.print ('{').newline ().indent ();
     boolean first = true;
     for (final AbstractJAnnotationValue aValue : m_aValues)
@@ -78,9 +78,22 @@ public class JAnnotationUse extends AbstractJAnnotationValueOwned
    */
   private Map <String, AbstractJAnnotationValue> m_aMemberValues;
 
+  /**
+   * <code>true</code> if the member values map is shared with other annotation
+   * uses and must be copied before it is modified.
+   */
+  private boolean m_bSharedMemberValues = false;
+
+  /**
+   * Where this annotation use was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   public JAnnotationUse (@Nonnull final AbstractJClass aAnnotationClass)
   {
     m_aAnnotationClass = JCValueEnforcer.notNull (aAnnotationClass, "AnnotationClass");
+    JCodeModel.internalOnTypeAttached (aAnnotationClass);
   }
 
   @Nonnull
@@ -95,6 +108,26 @@ public class JAnnotationUse extends AbstractJAnnotationValueOwned
     return m_aAnnotationClass.owner ();
   }
 
+  /**
+   * Share the member values of the passed annotation use with this one. The
+   * member values are copied as soon as one of the annotation uses is
+   * modified.
+   *
+   * @param aSource
+   *        The annotation use to share the member values with. May not be
+   *        <code>null</code>.
+   */
+  void internalShareMemberValues (@Nonnull final JAnnotationUse aSource)
+  {
+    m_aMemberValues = aSource.m_aMemberValues;
+    if (m_aMemberValues != null)
+    {
+      m_bSharedMemberValues = true;
+      aSource.m_bSharedMemberValues = true;
+    }
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
+  }
+
   @Nonnull
   public Map <String, AbstractJAnnotationValue> getAnnotationMembers ()
   {
@@ -200,7 +233,16 @@ public class JAnnotationUse extends AbstractJAnnotationValueOwned
     // Lazily created.
     if (m_aMemberValues == null)
       m_aMemberValues = new LinkedHashMap <> ();
+    else
+      if (m_bSharedMemberValues)
+      {
+        // Copy on write
+        m_aMemberValues = new LinkedHashMap <> (m_aMemberValues);
+        m_bSharedMemberValues = false;
+      }
     m_aMemberValues.put (sName, aAnnotationValue);
+    // Annotations are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
 
     return this;
   }
@@ -604,6 +646,7 @@ public class JAnnotationUse extends AbstractJAnnotationValueOwned
 
   public void generate (final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
     f.print ('@').generable (m_aAnnotationClass);
     if (m_aMemberValues != null && !m_aMemberValues.isEmpty ())
     {
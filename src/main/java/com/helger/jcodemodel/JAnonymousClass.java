@@ -58,6 +58,7 @@ public class JAnonymousClass extends JDefinedClass
   {
     super (aBaseClass.owner (), 0, null);
     m_aBaseClass = aBaseClass;
+    JCodeModel.internalOnTypeAttached (aBaseClass);
   }
 
   /**
@@ -59,10 +59,17 @@ public class JArray implements IJExpression
   private final IJExpression m_aSize;
   private List <IJExpression> m_aExprs;
 
+  /**
+   * Where this array was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   protected JArray (@Nonnull final AbstractJType aType, @Nullable final IJExpression aSize)
   {
     m_aType = aType;
     m_aSize = aSize;
+    JCodeModel.internalOnTypeAttached (aType);
   }
 
   @Nonnull
@@ -90,6 +97,8 @@ public class JArray implements IJExpression
     if (m_aExprs == null)
       m_aExprs = new ArrayList <> ();
     m_aExprs.add (aExpr);
+    // Expressions are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
@@ -102,6 +111,7 @@ public class JArray implements IJExpression
   public JArray removeAll ()
   {
     m_aExprs = null;
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
@@ -120,6 +130,8 @@ public class JArray implements IJExpression
 
   public void generate (@Nonnull final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
+
     // generally we produce new T[x], but when T is an array type (T=T'[])
     // then new T'[][x] is wrong. It has to be new T'[x][].
     int arrayCount = 0;
@@ -53,6 +53,8 @@ import com.helger.jcodemodel.util.JCValueEnforcer;
 public class JAtom implements IJExpression
 {
   private final String m_sWhat;
+  // The value is immutable so the hash code is calculated only once
+  private int m_nHashCode;
 
   protected JAtom (@Nonnull final String sWhat)
   {
@@ -85,6 +87,9 @@ public class JAtom implements IJExpression
   @Override
   public int hashCode ()
   {
-    return getHashCode (this, m_sWhat);
+    int ret = m_nHashCode;
+    if (ret == 0)
+      ret = m_nHashCode = getHashCode (this, m_sWhat);
+    return ret;
   }
 }
@@ -55,6 +55,8 @@ public class JAtomDouble implements IJExpression
   public static final String JAVA_LANG_DOUBLE_NAN = "java.lang.Double.NaN";
 
   private final double m_dWhat;
+  // The value is immutable so the hash code is calculated only once
+  private int m_nHashCode;
 
   protected JAtomDouble (final double dWhat)
   {
@@ -94,6 +96,9 @@ public class JAtomDouble implements IJExpression
   @Override
   public int hashCode ()
   {
-    return getHashCode (this, Double.valueOf (m_dWhat));
+    int ret = m_nHashCode;
+    if (ret == 0)
+      ret = m_nHashCode = getHashCode (this, Double.valueOf (m_dWhat));
+    return ret;
   }
 }
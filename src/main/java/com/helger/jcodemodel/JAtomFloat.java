@@ -56,6 +56,8 @@ public class JAtomFloat implements IJExpression
   public static final String SUFFIX_FLOAT = "F";
 
   private final float m_fWhat;
+  // The value is immutable so the hash code is calculated only once
+  private int m_nHashCode;
 
   protected JAtomFloat (final float fWhat)
   {
@@ -95,6 +97,9 @@ public class JAtomFloat implements IJExpression
   @Override
   public int hashCode ()
   {
-    return getHashCode (this, Float.valueOf (m_fWhat));
+    int ret = m_nHashCode;
+    if (ret == 0)
+      ret = m_nHashCode = getHashCode (this, Float.valueOf (m_fWhat));
+    return ret;
   }
 }
@@ -51,6 +51,8 @@ import javax.annotation.Nonnull;
 public class JAtomInt implements IJExpression
 {
   private final int m_nValue;
+  // The value is immutable so the hash code is calculated only once
+  private int m_nHashCode;
 
   protected JAtomInt (final int nWhat)
   {
@@ -81,6 +83,9 @@ public class JAtomInt implements IJExpression
   @Override
   public int hashCode ()
   {
-    return getHashCode (this, Integer.valueOf (m_nValue));
+    int ret = m_nHashCode;
+    if (ret == 0)
+      ret = m_nHashCode = getHashCode (this, Integer.valueOf (m_nValue));
+    return ret;
   }
 }
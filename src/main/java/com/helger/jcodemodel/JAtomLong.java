@@ -53,6 +53,8 @@ public class JAtomLong implements IJExpression
   public static final String SUFFIX_LONG = "L";
 
   private final long m_nValue;
+  // The value is immutable so the hash code is calculated only once
+  private int m_nHashCode;
 
   protected JAtomLong (final long nWhat)
   {
@@ -83,6 +85,9 @@ public class JAtomLong implements IJExpression
   @Override
   public int hashCode ()
   {
-    return getHashCode (this, Long.valueOf (m_nValue));
+    int ret = m_nHashCode;
+    if (ret == 0)
+      ret = m_nHashCode = getHashCode (this, Long.valueOf (m_nValue));
+    return ret;
   }
 }
@@ -83,9 +83,44 @@ public class JBlock implements IJGenerable, IJStatement
    */
   private int m_nPos;
 
+  /**
+   * The cached structural hash of this block.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   public JBlock ()
   {}
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
+  /**
+   * @return The 64 bit structural hash of this block. It is cached and only
+   *         recalculated after a modification.
+   * @see JFormatter#getStructuralHash(IJGenerable)
+   * @since 3.0.3
+   */
+  public long structuralHash ()
+  {
+    return JFormatter.getStructuralHash (this);
+  }
+
+  /**
+   * Invalidate the cached structural hash of this block and all enclosing
+   * nodes. Only needs to be called manually, if a custom {@link IJExpression}
+   * or {@link IJStatement} implementation that is already contained in this
+   * block is modified.
+   *
+   * @since 3.0.3
+   */
+  public void invalidateStructuralHash ()
+  {
+    m_aStructuralHashCache.invalidate ();
+  }
+
   /**
    * @return <code>true</code> if this is a virtual block never emitting braces
    *         or indent. The default is {@link #DEFAULT_VIRTUAL_BLOCK}
@@ -107,6 +142,7 @@ public class JBlock implements IJGenerable, IJStatement
   public JBlock virtual (final boolean bVirtualBlock)
   {
     m_bVirtualBlock = bVirtualBlock;
+    m_aStructuralHashCache.invalidate ();
     return this;
   }
 
@@ -119,6 +155,7 @@ public class JBlock implements IJGenerable, IJStatement
   public JBlock bracesRequired (final boolean bBracesRequired)
   {
     m_bBracesRequired = bBracesRequired;
+    m_aStructuralHashCache.invalidate ();
     return this;
   }
 
@@ -131,6 +168,7 @@ public class JBlock implements IJGenerable, IJStatement
   public JBlock indentRequired (final boolean bIndentRequired)
   {
     m_bIndentRequired = bIndentRequired;
+    m_aStructuralHashCache.invalidate ();
     return this;
   }
 
@@ -165,17 +203,20 @@ public class JBlock implements IJGenerable, IJStatement
       m_bIndentRequired = true;
     }
 
+    JStructuralHashCache.link (aStatementOrDeclaration, m_aStructuralHashCache);
     return aStatementOrDeclaration;
   }
 
   public void remove (final IJObject o)
   {
     m_aContentList.remove (o);
+    m_aStructuralHashCache.invalidate ();
   }
 
   public void remove (@Nonnegative final int index)
   {
     m_aContentList.remove (index);
+    m_aStructuralHashCache.invalidate ();
   }
 
   /**
@@ -185,6 +226,7 @@ public class JBlock implements IJGenerable, IJStatement
   {
     m_aContentList.clear ();
     m_nPos = 0;
+    m_aStructuralHashCache.invalidate ();
   }
 
   /**
@@ -310,7 +352,7 @@ public class JBlock implements IJGenerable, IJStatement
                     @Nonnull final String sName,
                     @Nullable final IJExpression aInit)
   {
-    final JVar v = new JVar (JMods.forVar (nMods), aType, sName, aInit);
+    final JVar v = new JVar (JMods.internalSharedForVar (nMods), aType, sName, aInit);
     internalInsert (v);
     return v;
   }
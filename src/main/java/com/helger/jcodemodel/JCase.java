@@ -63,6 +63,11 @@ public class JCase implements IJStatement
    */
   private JBlock m_aBody;
 
+  /**
+   * The cached structural hash of this case.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   /**
    * Construct a case statement
    *
@@ -105,10 +110,19 @@ public class JCase implements IJStatement
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     f.indent ();
@@ -71,6 +71,7 @@ public class JCast implements IJExpression
   protected JCast (@Nonnull final AbstractJType aType, @Nonnull final IJExpression aObject)
   {
     m_aType = aType;
+    JCodeModel.internalOnTypeAttached (aType);
     m_aObject = aObject;
   }
 
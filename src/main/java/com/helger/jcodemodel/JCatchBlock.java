@@ -52,9 +52,16 @@ public class JCatchBlock implements IJGenerable
   private JVar m_aVar;
   private final JBlock m_aBody = new JBlock ();
 
+  /**
+   * The cached structural hash of this catch block.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   protected JCatchBlock (@Nonnull final AbstractJClass aException)
   {
     m_aException = aException;
+    JCodeModel.internalOnTypeAttached (aException);
+    JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
   }
 
   @Nonnull
@@ -68,7 +75,8 @@ public class JCatchBlock implements IJGenerable
   {
     if (m_aVar != null)
       throw new IllegalStateException ("A variable is already present!");
-    m_aVar = new JVar (JMods.forVar (JMod.FINAL), m_aException, sName, null);
+    m_aVar = new JVar (JMods.internalSharedForVar (JMod.FINAL), m_aException, sName, null);
+    JStructuralHashCache.link (m_aVar, m_aStructuralHashCache);
     return m_aVar;
   }
 
@@ -84,10 +92,16 @@ public class JCatchBlock implements IJGenerable
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void generate (@Nonnull final JFormatter f)
   {
     if (m_aVar == null)
-      m_aVar = new JVar (JMods.forVar (JMod.FINAL), m_aException, "ex", null);
+      m_aVar = new JVar (JMods.internalSharedForVar (JMod.FINAL), m_aException, "ex", null);
     f.print ("catch (").var (m_aVar).print (')').generable (m_aBody);
   }
 }
@@ -52,6 +52,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -63,6 +64,7 @@ import javax.lang.model.util.Elements;
 import com.helger.jcodemodel.meta.CodeModelBuildingException;
 import com.helger.jcodemodel.meta.ErrorTypeFound;
 import com.helger.jcodemodel.meta.JCodeModelJavaxLangModelAdapter;
+import com.helger.jcodemodel.util.JCLRUMap;
 import com.helger.jcodemodel.util.JCSecureLoader;
 import com.helger.jcodemodel.util.JCValueEnforcer;
 import com.helger.jcodemodel.writer.FileCodeWriter;
@@ -139,6 +141,14 @@ public final class JCodeModel
     return s_bIsCaseSensitiveFileSystem;
   }
 
+  /**
+   * The maximum number of type names cached by {@link #parseType(String)} per
+   * code model.
+   *
+   * @since 3.0.3
+   */
+  public static final int PARSE_TYPE_CACHE_SIZE = 1024;
+
   /**
    * Conversion from primitive type {@link Class} (such as {@link Integer#TYPE})
    * to its boxed type (such as <tt>Integer.class</tt>). It's an unmodifiable
@@ -174,9 +184,15 @@ public final class JCodeModel
     primitiveToBox = Collections.unmodifiableMap (m2);
   }
 
-  /** The packages that this JCodeWriter contains. */
+  /** The packages that this JCodeWriter contains, keyed by their name. */
   private final Map <String, JPackage> m_aPackages = new HashMap <> ();
 
+  /**
+   * All packages in the depth-first order of the package tree. Lazily created
+   * and reset upon package creation.
+   */
+  private List <JPackage> m_aOrderedPackages;
+
   /** All JReferencedClasses are pooled here. */
   private final Map <Class <?>, JReferencedClass> m_aRefClasses = new HashMap <> ();
 
@@ -204,13 +220,40 @@ public final class JCodeModel
   /** The newline string to be used. Defaults to system default */
   private String m_sBuildingNewLine = AbstractCodeWriter.getDefaultNewLine ();
 
-  private final Set <AbstractJClass> m_aDontImportClasses = new HashSet <> ();
+  /** The classes that should not be imported. Lazily created. */
+  private Set <AbstractJClass> m_aDontImportClasses;
+
+  /** All primitive types for {@link #parseType(String)} */
+  private final JPrimitiveType [] m_aPrimitiveTypes = { VOID, BOOLEAN, BYTE, SHORT, CHAR, INT, FLOAT, LONG, DOUBLE };
+
+  /** Cache for {@link #parseType(String)}. Lazily created. */
+  private Map <String, AbstractJType> m_aParsedTypes;
+
+  /** The number of error classes created for this code model */
+  private int m_nErrorClassCount = 0;
+
+  /**
+   * The number of types referencing error types that were attached to a node
+   * of this code model. Never decremented.
+   */
+  private int m_nErrorTypeRefCount = 0;
+
+  /**
+   * The generation of the structural hash caches of this code model. Caches
+   * calculated in an older generation are invalid.
+   */
+  private int m_nStructuralHashGeneration = 0;
+
+  /** Pool for {@link #internLit(String)}. Lazily created. */
+  private Map <String, JStringLiteral> m_aStringLiteralPool;
 
   public JCodeModel ()
   {}
 
   /**
-   * Add a package to the list of packages to be generated
+   * Add a package to the list of packages to be generated. All parent packages
+   * are created as well, so that the packages form a tree starting at the
+   * {@link #rootPackage()}.
    *
    * @param sName
    *        Name of the package. Use "" to indicate the root package.
@@ -219,7 +262,21 @@ public final class JCodeModel
   @Nonnull
   public JPackage _package (@Nonnull final String sName)
   {
-    return m_aPackages.computeIfAbsent (sName, k -> new JPackage (k, this));
+    JPackage ret = m_aPackages.get (sName);
+    if (ret == null)
+    {
+      JPackage aParent = null;
+      if (sName.length () > 0)
+      {
+        final int nIdx = sName.lastIndexOf ('.');
+        aParent = _package (nIdx < 0 ? "" : sName.substring (0, nIdx));
+      }
+      ret = new JPackage (sName, this);
+      ret.internalSetParent (aParent);
+      m_aPackages.put (sName, ret);
+      m_aOrderedPackages = null;
+    }
+    return ret;
   }
 
   @Nonnull
@@ -228,13 +285,30 @@ public final class JCodeModel
     return _package ("");
   }
 
+  @Nonnull
+  private List <JPackage> _getOrderedPackages ()
+  {
+    List <JPackage> ret = m_aOrderedPackages;
+    if (ret == null)
+    {
+      ret = new ArrayList <> (m_aPackages.size ());
+      final JPackage aRoot = m_aPackages.get ("");
+      if (aRoot != null)
+        aRoot.internalCollectPackageTree (ret);
+      m_aOrderedPackages = ret;
+    }
+    return ret;
+  }
+
   /**
    * @return an iterator that walks the packages defined using this code writer.
+   *         The packages are returned in the depth-first order of the package
+   *         tree, with the sub packages of each package sorted by name.
    */
   @Nonnull
   public Iterator <JPackage> packages ()
   {
-    return m_aPackages.values ().iterator ();
+    return Collections.unmodifiableList (_getOrderedPackages ()).iterator ();
   }
 
   /**
@@ -422,16 +496,88 @@ public final class JCodeModel
   }
 
   /**
-   * Check if any error-types leaked into output Java-sources.
+   * Called by the {@link JErrorClass} constructor.
+   */
+  void onErrorClassCreated ()
+  {
+    m_nErrorClassCount++;
+  }
+
+  private static boolean _referencesErrorType (@Nonnull final AbstractJType aType)
+  {
+    if (aType.isError ())
+      return true;
+    if (aType instanceof JArrayClass)
+      return _referencesErrorType (((JArrayClass) aType).elementType ());
+    if (aType instanceof JNarrowedClass)
+    {
+      // isError of JNarrowedClass doesn't check nested arrays
+      for (final AbstractJClass aParam : ((JNarrowedClass) aType).getTypeParameters ())
+        if (_referencesErrorType (aParam))
+          return true;
+      return false;
+    }
+    if (aType instanceof JTypeWildcard)
+      return _referencesErrorType (((JTypeWildcard) aType).bound ());
+    return false;
+  }
+
+  /**
+   * Called whenever a type is attached to a node of a code model, e.g. as the
+   * type of a variable, as the base class of a class or as the type of an
+   * expression. Records if the type references an error type, so that
+   * {@link #buildsErrorTypeRefs()} doesn't need to check any class as long as
+   * no error type was attached.
+   *
+   * @param aType
+   *        The attached type. May be <code>null</code>.
+   */
+  static void internalOnTypeAttached (@Nullable final AbstractJType aType)
+  {
+    if (aType != null)
+    {
+      final JCodeModel aOwner = aType.owner ();
+      if (aOwner.m_nErrorClassCount > 0 && _referencesErrorType (aType))
+        aOwner.m_nErrorTypeRefCount++;
+    }
+  }
+
+  /**
+   * @return The current generation of the structural hash caches of this code
+   *         model.
+   */
+  int internalGetStructuralHashGeneration ()
+  {
+    return m_nStructuralHashGeneration;
+  }
+
+  /**
+   * Invalidate all structural hash caches of this code model at once.
+   */
+  void internalInvalidateStructuralHashes ()
+  {
+    m_nStructuralHashGeneration++;
+  }
+
+  /**
+   * Check if any error-types leaked into output Java-sources.<br>
+   * If no type referencing an error type was ever attached to this code model,
+   * this is a constant time operation. Otherwise the result for each class is
+   * cached together with its structural hash, so that only classes modified
+   * since the last check need to be checked again.
    *
    * @return <code>true</code> if so
    * @see JCodeModel#errorClass(String)
+   * @see #getAllClassesWithErrorTypeRefs()
    */
   public boolean buildsErrorTypeRefs ()
   {
-    final JPackage [] pkgs = m_aPackages.values ().toArray (new JPackage [m_aPackages.size ()]);
-    // avoid concurrent modification exception
-    for (final JPackage pkg : pkgs)
+    // Without an attached error type there can't be any reference to them
+    if (m_nErrorTypeRefCount == 0)
+      return false;
+
+    // The list is replaced and not modified if a package is added
+    for (final JPackage pkg : _getOrderedPackages ())
     {
       if (pkg.buildsErrorTypeRefs ())
         return true;
@@ -439,6 +585,41 @@ public final class JCodeModel
     return false;
   }
 
+  /**
+   * Get all classes that would be written and that contain references to
+   * error-types. Nested classes are listed after their enclosing class, which
+   * is listed as well. Use {@link JMethod#containsErrorTypes()} to narrow down
+   * the location.
+   *
+   * @return A new list with all classes referencing error types. Never
+   *         <code>null</code> but maybe empty.
+   * @see #buildsErrorTypeRefs()
+   * @since 3.0.3
+   */
+  @Nonnull
+  public List <JDefinedClass> getAllClassesWithErrorTypeRefs ()
+  {
+    final List <JDefinedClass> ret = new ArrayList <> ();
+    if (m_nErrorTypeRefCount > 0)
+      for (final JPackage aPackage : _getOrderedPackages ())
+        for (final JDefinedClass aClass : aPackage.classes ())
+          if (!aClass.isHidden ())
+            _addClassesWithErrorTypeRefs (aClass, ret);
+    return ret;
+  }
+
+  private static void _addClassesWithErrorTypeRefs (@Nonnull final JDefinedClass aClass,
+                                                    @Nonnull final List <JDefinedClass> aTarget)
+  {
+    // The nested classes are part of the check of the enclosing class
+    if (aClass.containsErrorTypes ())
+    {
+      aTarget.add (aClass);
+      for (final JDefinedClass aNested : aClass.classes ())
+        _addClassesWithErrorTypeRefs (aNested, aTarget);
+    }
+  }
+
   /**
    * Gets a reference to the already created generated class.
    *
@@ -451,10 +632,12 @@ public final class JCodeModel
   public JDefinedClass _getClass (@Nonnull final String sFullyQualifiedClassName)
   {
     final int nIndex = sFullyQualifiedClassName.lastIndexOf ('.');
-    if (nIndex < 0)
-      return rootPackage ()._getClass (sFullyQualifiedClassName);
-    return _package (sFullyQualifiedClassName.substring (0,
-                                                         nIndex))._getClass (sFullyQualifiedClassName.substring (nIndex + 1));
+    // Lookup only - don't create the package
+    final JPackage aPackage = m_aPackages.get (nIndex < 0 ? "" : sFullyQualifiedClassName.substring (0, nIndex));
+    if (aPackage == null)
+      return null;
+    return aPackage._getClass (nIndex < 0 ? sFullyQualifiedClassName
+                                          : sFullyQualifiedClassName.substring (nIndex + 1));
   }
 
   /**
@@ -630,13 +813,76 @@ public final class JCodeModel
    */
   public void build (@Nonnull final AbstractCodeWriter aSource,
                      @Nonnull final AbstractCodeWriter aResource) throws IOException
+  {
+    build (aSource, aResource, null);
+  }
+
+  /**
+   * Generates Java source code for a subset of the classes only. This is e.g.
+   * used to only write the classes that changed compared to a previous model
+   * (see {@link JCodeModelDiff#buildChanged(AbstractCodeWriter)}).
+   *
+   * @param aSource
+   *        Source code writer
+   * @param aResource
+   *        Resource writer
+   * @param aClassFilter
+   *        Optional filter for the top-level classes to be written. If it is
+   *        non-<code>null</code> only the accepted classes are written and
+   *        package-info and resource files are skipped. If it is
+   *        <code>null</code> everything is written.
+   * @throws IOException
+   *         on IO error
+   * @throws SourceWriteException
+   *         on the first IO error in a source file, if the source writer is
+   *         strict (see {@link AbstractCodeWriter#setStrict(boolean)})
+   * @since 3.0.3
+   */
+  public void build (@Nonnull final AbstractCodeWriter aSource,
+                     @Nonnull final AbstractCodeWriter aResource,
+                     @Nullable final Predicate <? super JDefinedClass> aClassFilter) throws IOException
   {
     try
     {
-      // Copy to avoid concurrent modification exception
-      final List <JPackage> pkgs = new ArrayList <> (m_aPackages.values ());
-      for (final JPackage pkg : pkgs)
-        pkg.build (aSource, aResource);
+      // The list is replaced and not modified if a package is added
+      for (final JPackage pkg : _getOrderedPackages ())
+        pkg.build (aSource, aResource, aClassFilter);
+    }
+    finally
+    {
+      aSource.close ();
+      aResource.close ();
+    }
+  }
+
+  /**
+   * Generates Java source code for a subset of the classes, package-info files
+   * and resources.
+   *
+   * @param aSource
+   *        Source code writer
+   * @param aResource
+   *        Resource writer
+   * @param aClassFilter
+   *        Filter for the top-level classes to be written.
+   * @param aPackageInfoFilter
+   *        Filter for the packages whose package-info file should be written.
+   * @param aResourceFilter
+   *        Filter for the resource files to be written.
+   * @throws IOException
+   *         on IO error
+   * @see JCodeModelDiff#buildChanged(AbstractCodeWriter)
+   */
+  void internalBuild (@Nonnull final AbstractCodeWriter aSource,
+                      @Nonnull final AbstractCodeWriter aResource,
+                      @Nonnull final Predicate <? super JDefinedClass> aClassFilter,
+                      @Nonnull final Predicate <? super JPackage> aPackageInfoFilter,
+                      @Nonnull final Predicate <? super AbstractJResourceFile> aResourceFilter) throws IOException
+  {
+    try
+    {
+      for (final JPackage pkg : _getOrderedPackages ())
+        pkg.build (aSource, aResource, aClassFilter, aPackageInfoFilter, aResourceFilter);
     }
     finally
     {
@@ -653,9 +899,7 @@ public final class JCodeModel
   public int countArtifacts ()
   {
     int r = 0;
-    final JPackage [] pkgs = m_aPackages.values ().toArray (new JPackage [m_aPackages.size ()]);
-    // avoid concurrent modification exception
-    for (final JPackage pkg : pkgs)
+    for (final JPackage pkg : _getOrderedPackages ())
       r += pkg.countArtifacts ();
     return r;
   }
@@ -842,10 +1086,37 @@ public final class JCodeModel
     return m_aWildcard;
   }
 
+  /**
+   * Get a shared string literal for the passed string. All calls with an
+   * equal string return the same literal instance, so repeated literals only
+   * exist once in memory. Shared literals cannot be
+   * modified via {@link JStringLiteral#what(String)}.
+   *
+   * @param sStr
+   *        The string value. May not be <code>null</code>.
+   * @return The shared literal. Never <code>null</code>.
+   * @see JExpr#lit(String)
+   * @since 3.0.3
+   */
+  @Nonnull
+  public JStringLiteral internLit (@Nonnull final String sStr)
+  {
+    JCValueEnforcer.notNull (sStr, "String");
+    if (m_aStringLiteralPool == null)
+      m_aStringLiteralPool = new HashMap <> ();
+    return m_aStringLiteralPool.computeIfAbsent (sStr, k -> {
+      final JStringLiteral ret = JExpr.lit (k);
+      ret.internalSetShared ();
+      return ret;
+    });
+  }
+
   /**
    * Obtains a type object from a type name.
    * <p>
    * This method handles primitive types, arrays, and existing {@link Class}es.
+   * The results are cached, so parsing the same type name again is cheap (see
+   * {@link #PARSE_TYPE_CACHE_SIZE}).
    *
    * @param sName
    *        Type name to parse
@@ -856,36 +1127,96 @@ public final class JCodeModel
   @Nonnull
   public AbstractJType parseType (@Nonnull final String sName)
   {
-    // array
-    if (sName.endsWith ("[]"))
+    if (m_aParsedTypes == null)
+      m_aParsedTypes = new JCLRUMap <> (PARSE_TYPE_CACHE_SIZE);
+    AbstractJType ret = m_aParsedTypes.get (sName);
+    if (ret == null)
     {
-      // Simply remove trailing "[]"
-      return parseType (sName.substring (0, sName.length () - 2)).array ();
+      // Only successful results are cached
+      ret = _parseType (sName);
+      m_aParsedTypes.put (sName, ret);
     }
+    return ret;
+  }
 
-    // try primitive type
-    try
+  @Nonnull
+  private AbstractJType _parseType (@Nonnull final String sName)
+  {
+    // array - simply skip all trailing "[]"
+    int nEnd = sName.length ();
+    int nArrayDimensions = 0;
+    while (nEnd >= 2 && sName.charAt (nEnd - 1) == ']' && sName.charAt (nEnd - 2) == '[')
     {
-      return AbstractJType.parse (this, sName);
+      nEnd -= 2;
+      nArrayDimensions++;
     }
-    catch (final IllegalArgumentException e)
+
+    // try primitive type
+    AbstractJType ret = _parsePrimitiveType (sName, nEnd);
+    if (ret == null)
     {
-      // Not a primitive type
+      // existing class
+      ret = new TypeNameParser (sName, nEnd).parseTypeName ();
     }
 
-    // existing class
-    return new TypeNameParser (sName).parseTypeName ();
+    for (int i = 0; i < nArrayDimensions; ++i)
+      ret = ret.array ();
+    return ret;
+  }
+
+  @Nullable
+  private JPrimitiveType _parsePrimitiveType (@Nonnull final String sName, final int nEnd)
+  {
+    for (final JPrimitiveType aType : m_aPrimitiveTypes)
+    {
+      final String sTypeName = aType.fullName ();
+      if (sTypeName.length () == nEnd && sName.regionMatches (0, sTypeName, 0, nEnd))
+        return aType;
+    }
+    return null;
   }
 
+  /**
+   * Parses a type name by scanning the passed string between index 0 and the
+   * end index. Only the plain class names are extracted, everything else is
+   * handled by index.
+   */
   @NotThreadSafe
   private final class TypeNameParser
   {
     private final String m_sTypeName;
+    private final int m_nEnd;
     private int m_nIdx;
 
-    public TypeNameParser (@Nonnull final String sTypeName)
+    public TypeNameParser (@Nonnull final String sTypeName, final int nEnd)
     {
       m_sTypeName = sTypeName;
+      m_nEnd = nEnd;
+    }
+
+    /**
+     * @return The current character. If the end was reached, the same
+     *         exception as for {@link String#charAt(int)} is thrown.
+     */
+    private char _charAt (final int nIdx)
+    {
+      if (nIdx >= m_nEnd)
+        return _getTypeName ().charAt (nIdx);
+      return m_sTypeName.charAt (nIdx);
+    }
+
+    /**
+     * @return The type name that is parsed - only used for error messages.
+     */
+    @Nonnull
+    private String _getTypeName ()
+    {
+      return m_sTypeName.substring (0, m_nEnd);
+    }
+
+    private boolean _startsWith (@Nonnull final String sToken)
+    {
+      return m_nEnd - m_nIdx >= sToken.length () && m_sTypeName.startsWith (sToken, m_nIdx);
     }
 
     /**
@@ -899,14 +1230,13 @@ public final class JCodeModel
     {
       final int nStart = m_nIdx;
 
-      if (m_sTypeName.charAt (m_nIdx) == '?')
+      if (_charAt (m_nIdx) == '?')
       {
         // wildcard
         m_nIdx++;
         _skipWs ();
 
-        final String head = m_sTypeName.substring (m_nIdx);
-        if (head.startsWith ("extends"))
+        if (_startsWith ("extends"))
         {
           // 7 == "extends".length
           m_nIdx += 7;
@@ -914,7 +1244,7 @@ public final class JCodeModel
           return parseTypeName ().wildcardExtends ();
         }
 
-        if (head.startsWith ("super"))
+        if (_startsWith ("super"))
         {
           // 5 == "super".length
           m_nIdx += 5;
@@ -924,10 +1254,10 @@ public final class JCodeModel
 
         // not supported
         throw new IllegalArgumentException ("only extends/super can follow ?, but found " +
-                                            m_sTypeName.substring (m_nIdx));
+                                            m_sTypeName.substring (m_nIdx, m_nEnd));
       }
 
-      while (m_nIdx < m_sTypeName.length ())
+      while (m_nIdx < m_nEnd)
       {
         final char ch = m_sTypeName.charAt (m_nIdx);
         if (Character.isJavaIdentifierStart (ch) || Character.isJavaIdentifierPart (ch) || ch == '.')
@@ -947,7 +1277,7 @@ public final class JCodeModel
     @Nonnull
     private AbstractJClass _parseSuffix (@Nonnull final AbstractJClass aClazz)
     {
-      if (m_nIdx == m_sTypeName.length ())
+      if (m_nIdx == m_nEnd)
       {
         // hit EOL
         return aClazz;
@@ -960,12 +1290,12 @@ public final class JCodeModel
 
       if (ch == '[')
       {
-        if (m_sTypeName.charAt (m_nIdx + 1) == ']')
+        if (_charAt (m_nIdx + 1) == ']')
         {
           m_nIdx += 2;
           return _parseSuffix (aClazz.array ());
         }
-        throw new IllegalArgumentException ("Expected ']' but found " + m_sTypeName.substring (m_nIdx + 1));
+        throw new IllegalArgumentException ("Expected ']' but found " + m_sTypeName.substring (m_nIdx + 1, m_nEnd));
       }
 
       return aClazz;
@@ -976,7 +1306,7 @@ public final class JCodeModel
      */
     private void _skipWs ()
     {
-      while (Character.isWhitespace (m_sTypeName.charAt (m_nIdx)) && m_nIdx < m_sTypeName.length ())
+      while (Character.isWhitespace (_charAt (m_nIdx)) && m_nIdx < m_nEnd)
         m_nIdx++;
     }
 
@@ -996,14 +1326,14 @@ public final class JCodeModel
       while (true)
       {
         args.add (parseTypeName ());
-        if (m_nIdx == m_sTypeName.length ())
-          throw new IllegalArgumentException ("Missing '>' in " + m_sTypeName);
+        if (m_nIdx == m_nEnd)
+          throw new IllegalArgumentException ("Missing '>' in " + _getTypeName ());
         final char ch = m_sTypeName.charAt (m_nIdx);
         if (ch == '>')
           return aRawType.narrow (args);
 
         if (ch != ',')
-          throw new IllegalArgumentException (m_sTypeName);
+          throw new IllegalArgumentException (_getTypeName ());
         m_nIdx++;
       }
     }
@@ -1035,6 +1365,8 @@ public final class JCodeModel
   public boolean addDontImportClass (@Nonnull final AbstractJClass aClass)
   {
     JCValueEnforcer.notNull (aClass, "Class");
+    if (m_aDontImportClasses == null)
+      m_aDontImportClasses = new HashSet <> ();
     return m_aDontImportClasses.add (aClass);
   }
 
@@ -1046,6 +1378,16 @@ public final class JCodeModel
   @Nonnull
   public Set <AbstractJClass> getAllDontImportClasses ()
   {
-    return new HashSet <> (m_aDontImportClasses);
+    return m_aDontImportClasses == null ? new HashSet <> () : new HashSet <> (m_aDontImportClasses);
+  }
+
+  /**
+   * @return The classes that should not be imported without copying. May be
+   *         <code>null</code> if none was added.
+   */
+  @Nullable
+  Set <AbstractJClass> internalGetDontImportClasses ()
+  {
+    return m_aDontImportClasses;
   }
 }
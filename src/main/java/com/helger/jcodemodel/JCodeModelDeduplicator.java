@@ -0,0 +1,332 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.jcodemodel.util.JCValueEnforcer;
+
+/**
+ * An optional optimization pass that finds structurally identical static
+ * methods and static nested classes all over a {@link JCodeModel} and hoists
+ * them into a single shared class. Two methods or classes are considered
+ * identical if they have the same structural hash (see
+ * {@link JFormatter#getStructuralHash(JDefinedClass)}), which includes the
+ * name, the modifiers and the complete body, and if their rendered source
+ * code is identical. Methods and classes referencing error types are never
+ * hoisted.
+ * <ul>
+ * <li>Of each group of identical nested classes, the first one is moved into
+ * the shared class and made public. All references to the other classes are
+ * redirected to the moved class (see {@link JDefinedClass#sharedCopy()}).</li>
+ * <li>Of each group of identical methods, a public copy is created in the
+ * shared class. The methods of the group are kept, but their bodies are
+ * replaced by an invocation of the shared copy, so that invocations by name
+ * still work. All {@link JInvocation}s referencing one of the
+ * {@link JMethod} objects directly are redirected to the shared copy (see
+ * {@link JMethod#sharedCopy()}).</li>
+ * </ul>
+ * The pass cannot check whether a method or class only references things
+ * that are still accessible from the shared class (e.g. other private members
+ * of the original class). Use {@link #setMethodFilter(Predicate)} and
+ * {@link #setClassFilter(Predicate)} to restrict the pass to self-contained
+ * helpers.
+ *
+ * <pre>
+ * new JCodeModelDeduplicator (cm._package ("org.example.util"), "SharedHelper").deduplicate ();
+ * </pre>
+ *
+ * @since 3.0.3
+ */
+@NotThreadSafe
+public class JCodeModelDeduplicator
+{
+  /**
+   * The default method filter: only non-private, non-native, non-synchronized
+   * and non-generic methods. Independent of the filter, only static
+   * non-abstract methods are hoisted.
+   */
+  public static final Predicate <JMethod> DEFAULT_METHOD_FILTER = m -> !m.isConstructor () &&
+                                                                        (m.internalGetMods ().getValue () & JMod.PRIVATE) == 0 &&
+                                                                        !m.internalGetMods ().isNative () &&
+                                                                        !m.internalGetMods ().isSynchronized () &&
+                                                                        m.typeParams ().length == 0;
+
+  /**
+   * The default class filter: only named static nested classes, nested
+   * interfaces, enums and annotations.
+   */
+  public static final Predicate <JDefinedClass> DEFAULT_CLASS_FILTER = c -> !c.isAnonymous () &&
+                                                                            (c.internalGetMods ().isStatic () ||
+                                                                             c.getClassType () != EClassType.CLASS);
+
+  private final JPackage m_aPackage;
+  private final String m_sClassName;
+  private Predicate <? super JMethod> m_aMethodFilter = DEFAULT_METHOD_FILTER;
+  private Predicate <? super JDefinedClass> m_aClassFilter = DEFAULT_CLASS_FILTER;
+  private JDefinedClass m_aSharedClass;
+
+  /**
+   * Constructor
+   *
+   * @param aPackage
+   *        The package in which the shared class resides. May not be
+   *        <code>null</code>.
+   * @param sClassName
+   *        The name of the shared class. If the class does not yet exist, it
+   *        is created as soon as something is hoisted. May neither be
+   *        <code>null</code> nor empty.
+   */
+  public JCodeModelDeduplicator (@Nonnull final JPackage aPackage, @Nonnull final String sClassName)
+  {
+    JCValueEnforcer.notNull (aPackage, "Package");
+    JCValueEnforcer.notEmpty (sClassName, "ClassName");
+    m_aPackage = aPackage;
+    m_sClassName = sClassName;
+  }
+
+  /**
+   * Set the filter that decides, which methods may be hoisted. The filter is
+   * applied in addition to the structural equality. Defaults to
+   * {@link #DEFAULT_METHOD_FILTER}.
+   *
+   * @param aMethodFilter
+   *        The filter to use. May not be <code>null</code>.
+   * @return this for chaining
+   */
+  @Nonnull
+  public JCodeModelDeduplicator setMethodFilter (@Nonnull final Predicate <? super JMethod> aMethodFilter)
+  {
+    JCValueEnforcer.notNull (aMethodFilter, "MethodFilter");
+    m_aMethodFilter = aMethodFilter;
+    return this;
+  }
+
+  /**
+   * Set the filter that decides, which nested classes may be hoisted. The
+   * filter is applied in addition to the structural equality. Defaults to
+   * {@link #DEFAULT_CLASS_FILTER}.
+   *
+   * @param aClassFilter
+   *        The filter to use. May not be <code>null</code>.
+   * @return this for chaining
+   */
+  @Nonnull
+  public JCodeModelDeduplicator setClassFilter (@Nonnull final Predicate <? super JDefinedClass> aClassFilter)
+  {
+    JCValueEnforcer.notNull (aClassFilter, "ClassFilter");
+    m_aClassFilter = aClassFilter;
+    return this;
+  }
+
+  @Nonnull
+  private JDefinedClass _getSharedClass () throws JClassAlreadyExistsException
+  {
+    if (m_aSharedClass == null)
+    {
+      m_aSharedClass = m_aPackage._getClass (m_sClassName);
+      if (m_aSharedClass == null)
+      {
+        m_aSharedClass = m_aPackage._class (JMod.PUBLIC | JMod.FINAL, m_sClassName);
+        m_aSharedClass.constructor (JMod.PRIVATE);
+      }
+    }
+    return m_aSharedClass;
+  }
+
+  private boolean _isSharedClass (@Nonnull final JDefinedClass aClass)
+  {
+    return aClass._package () == m_aPackage && m_sClassName.equals (aClass.name ()) && aClass.outer () == null;
+  }
+
+  private void _collectClasses (@Nonnull final JDefinedClass aClass,
+                                @Nonnull final Map <Long, List <JDefinedClass>> aClasses)
+  {
+    for (final JDefinedClass aNested : aClass.classes ())
+    {
+      if (m_aClassFilter.test (aNested) && !aNested.containsErrorTypes ())
+      {
+        // The nested classes of a candidate are moved together with it
+        aClasses.computeIfAbsent (Long.valueOf (aNested.structuralHash ()), k -> new ArrayList <> ())
+                .add (aNested);
+      }
+      else
+        _collectClasses (aNested, aClasses);
+    }
+  }
+
+  private void _collectMethods (@Nonnull final JDefinedClass aClass,
+                                @Nonnull final Map <Long, List <JMethod>> aMethods)
+  {
+    for (final JMethod aMethod : aClass.methods ())
+      if (aMethod.internalGetMods ().isStatic () &&
+          !aMethod.internalGetMods ().isAbstract () &&
+          aMethod.sharedCopy () == null &&
+          m_aMethodFilter.test (aMethod) &&
+          !aMethod.containsErrorTypes ())
+        aMethods.computeIfAbsent (Long.valueOf (aMethod.structuralHash ()), k -> new ArrayList <> ()).add (aMethod);
+    for (final JDefinedClass aNested : aClass.classes ())
+      _collectMethods (aNested, aMethods);
+  }
+
+  /**
+   * Split a group of declarations with the same structural hash into groups
+   * with identical source code, so that hash collisions can never merge
+   * different declarations.
+   *
+   * @param aGroup
+   *        The group to split. May not be <code>null</code>.
+   * @return The groups with at least two identical declarations. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  private static <T extends IJDeclaration> Collection <List <T>> _splitIdentical (@Nonnull final List <T> aGroup)
+  {
+    if (aGroup.size () < 2)
+      return Collections.emptyList ();
+
+    final Map <String, List <T>> aIdentical = new LinkedHashMap <> ();
+    for (final T aDecl : aGroup)
+    {
+      final StringWriter aSW = new StringWriter ();
+      try (final JFormatter aFormatter = new JFormatter (aSW))
+      {
+        aDecl.declare (aFormatter);
+      }
+      aIdentical.computeIfAbsent (aSW.toString (), k -> new ArrayList <> ()).add (aDecl);
+    }
+    aIdentical.values ().removeIf (x -> x.size () < 2);
+    return aIdentical.values ();
+  }
+
+  /**
+   * Run the deduplication on all classes of the model the package belongs to.
+   * Classes and methods that are already contained in the shared class or
+   * that were already deduplicated are not touched.
+   *
+   * @return The number of duplicate classes and methods that were merged into
+   *         a shared copy. For each group of identical classes or methods this
+   *         is the size of the group minus one. Is 0 if nothing was changed.
+   * @throws JClassAlreadyExistsException
+   *         If the shared class needs to be created but a class with a name
+   *         only differing in case already exists.
+   */
+  public int deduplicate () throws JClassAlreadyExistsException
+  {
+    final JCodeModel aCodeModel = m_aPackage.owner ();
+    final List <JDefinedClass> aTopLevelClasses = new ArrayList <> ();
+    for (final Iterator <JPackage> it = aCodeModel.packages (); it.hasNext ();)
+      for (final JDefinedClass aClass : it.next ().classes ())
+        if (!_isSharedClass (aClass))
+          aTopLevelClasses.add (aClass);
+
+    int nMerged = 0;
+
+    // Classes first, as the methods of the removed classes must not be touched
+    final Map <Long, List <JDefinedClass>> aClassGroups = new LinkedHashMap <> ();
+    for (final JDefinedClass aClass : aTopLevelClasses)
+      _collectClasses (aClass, aClassGroups);
+    for (final List <JDefinedClass> aHashGroup : aClassGroups.values ())
+      for (final List <JDefinedClass> aGroup : _splitIdentical (aHashGroup))
+      {
+        final JDefinedClass aFirst = aGroup.get (0);
+        // A class with the same name may already be present
+        if (_getSharedClass ().internalContainsClass (aFirst.name ()))
+          continue;
+
+        aFirst.internalMoveTo (m_aSharedClass);
+        aFirst.mods ().setPublic ();
+        for (int i = 1; i < aGroup.size (); ++i)
+        {
+          final JDefinedClass aDuplicate = aGroup.get (i);
+          aDuplicate.internalRemoveFromOuter ();
+          aDuplicate.setSharedCopy (aFirst);
+          ++nMerged;
+        }
+      }
+
+    // Type references are not tracked by the hash caches
+    if (nMerged > 0)
+      JStructuralHashCache.invalidateAll (aCodeModel);
+    final int nMergedClasses = nMerged;
+
+    // Now the methods of all remaining classes
+    final Map <Long, List <JMethod>> aMethodGroups = new LinkedHashMap <> ();
+    for (final JDefinedClass aClass : aTopLevelClasses)
+      _collectMethods (aClass, aMethodGroups);
+    for (final List <JMethod> aHashGroup : aMethodGroups.values ())
+      for (final List <JMethod> aGroup : _splitIdentical (aHashGroup))
+      {
+        final JMethod aFirst = aGroup.get (0);
+        final AbstractJType [] aParamTypes = aFirst.listParamTypes ();
+        String sName = aFirst.name ();
+        int nIndex = 0;
+        while (_getSharedClass ().getMethod (sName, aParamTypes) != null)
+          sName = aFirst.name () + "_" + (++nIndex);
+
+        // Takes over the parameters and the body of the first method
+        final JMethod aSharedCopy = m_aSharedClass.internalAddSharedMethod (aFirst, sName);
+        for (final JMethod aMethod : aGroup)
+        {
+          // Keep the method for invocations by name
+          aMethod.internalDelegateTo (aSharedCopy);
+          aMethod.setSharedCopy (aSharedCopy);
+        }
+        nMerged += aGroup.size () - 1;
+      }
+
+    // Invocations are not tracked by the hash caches
+    if (nMerged > nMergedClasses)
+      JStructuralHashCache.invalidateAll (aCodeModel);
+    return nMerged;
+  }
+}
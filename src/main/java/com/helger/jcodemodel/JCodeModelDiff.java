@@ -0,0 +1,392 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.jcodemodel.util.JCValueEnforcer;
+
+/**
+ * The structural difference between two versions of a {@link JCodeModel}. Two
+ * models are compared package by package and class by class based on the
+ * structural hash of each top-level class (see
+ * {@link JFormatter#getStructuralHash(JDefinedClass)}), which covers all
+ * fields, methods, statements and nested classes. Hidden classes are ignored,
+ * because they are never written. As the imports of a class depend on the
+ * names of the other classes in its package (including hidden ones, see the
+ * <code>java.lang</code> name collision check of {@link JFormatter}), all
+ * classes of a package are considered changed if a class was added to or
+ * removed from that package. The package-info files (package javadoc and
+ * annotations) are compared by their structural hash as well, and resource
+ * files are compared by their content.
+ * <p>
+ * Typical usage:
+ *
+ * <pre>
+ * JCodeModelDiff aDiff = JCodeModelDiff.compare (aOldModel, aNewModel);
+ * if (!aDiff.isEmpty ())
+ *   aDiff.buildChanged (aCodeWriter);
+ * </pre>
+ *
+ * @since 3.0.3
+ */
+@Immutable
+public final class JCodeModelDiff
+{
+  private final JCodeModel m_aNewModel;
+  private final List <JDefinedClass> m_aAddedClasses;
+  private final List <JDefinedClass> m_aRemovedClasses;
+  private final List <JDefinedClass> m_aChangedClasses;
+  private final List <JPackage> m_aChangedPackageInfos;
+  private final List <JPackage> m_aRemovedPackageInfos;
+  private final Map <String, AbstractJResourceFile> m_aChangedResources;
+  private final Map <String, AbstractJResourceFile> m_aRemovedResources;
+
+  private JCodeModelDiff (@Nonnull final JCodeModel aNewModel,
+                          @Nonnull final List <JDefinedClass> aAddedClasses,
+                          @Nonnull final List <JDefinedClass> aRemovedClasses,
+                          @Nonnull final List <JDefinedClass> aChangedClasses,
+                          @Nonnull final List <JPackage> aChangedPackageInfos,
+                          @Nonnull final List <JPackage> aRemovedPackageInfos,
+                          @Nonnull final Map <String, AbstractJResourceFile> aChangedResources,
+                          @Nonnull final Map <String, AbstractJResourceFile> aRemovedResources)
+  {
+    m_aNewModel = aNewModel;
+    m_aAddedClasses = aAddedClasses;
+    m_aRemovedClasses = aRemovedClasses;
+    m_aChangedClasses = aChangedClasses;
+    m_aChangedPackageInfos = aChangedPackageInfos;
+    m_aRemovedPackageInfos = aRemovedPackageInfos;
+    m_aChangedResources = aChangedResources;
+    m_aRemovedResources = aRemovedResources;
+  }
+
+  /**
+   * @return The classes of the new model that are not contained in the old
+   *         model. Never <code>null</code> and sorted by full name.
+   */
+  @Nonnull
+  public List <JDefinedClass> getAddedClasses ()
+  {
+    return Collections.unmodifiableList (m_aAddedClasses);
+  }
+
+  /**
+   * @return The classes of the old model that are no longer contained in the
+   *         new model. Never <code>null</code> and sorted by full name.
+   */
+  @Nonnull
+  public List <JDefinedClass> getRemovedClasses ()
+  {
+    return Collections.unmodifiableList (m_aRemovedClasses);
+  }
+
+  /**
+   * @return The classes of the new model that are contained in both models but
+   *         have a different structure. Never <code>null</code> and sorted by
+   *         full name.
+   */
+  @Nonnull
+  public List <JDefinedClass> getChangedClasses ()
+  {
+    return Collections.unmodifiableList (m_aChangedClasses);
+  }
+
+  /**
+   * @return The packages of the new model whose package-info file was added or
+   *         changed. Never <code>null</code> and sorted by package name.
+   */
+  @Nonnull
+  public List <JPackage> getChangedPackageInfos ()
+  {
+    return Collections.unmodifiableList (m_aChangedPackageInfos);
+  }
+
+  /**
+   * @return The packages of the old model whose package-info file is no
+   *         longer written by the new model. Never <code>null</code> and sorted
+   *         by package name.
+   */
+  @Nonnull
+  public List <JPackage> getRemovedPackageInfos ()
+  {
+    return Collections.unmodifiableList (m_aRemovedPackageInfos);
+  }
+
+  /**
+   * @return The resource files of the new model that were added or have a
+   *         different content, keyed by their path relative to the output
+   *         directory (using '/' as the separator). Never <code>null</code>
+   *         and sorted by path.
+   */
+  @Nonnull
+  public Map <String, AbstractJResourceFile> getChangedResources ()
+  {
+    return Collections.unmodifiableMap (m_aChangedResources);
+  }
+
+  /**
+   * @return The resource files of the old model that are no longer contained
+   *         in the new model, keyed by their path relative to the output
+   *         directory (using '/' as the separator). Never <code>null</code>
+   *         and sorted by path.
+   */
+  @Nonnull
+  public Map <String, AbstractJResourceFile> getRemovedResources ()
+  {
+    return Collections.unmodifiableMap (m_aRemovedResources);
+  }
+
+  /**
+   * @return <code>true</code> if both models generate the same set of files
+   *         with the same structure.
+   */
+  public boolean isEmpty ()
+  {
+    return m_aAddedClasses.isEmpty () &&
+           m_aRemovedClasses.isEmpty () &&
+           m_aChangedClasses.isEmpty () &&
+           m_aChangedPackageInfos.isEmpty () &&
+           m_aRemovedPackageInfos.isEmpty () &&
+           m_aChangedResources.isEmpty () &&
+           m_aRemovedResources.isEmpty ();
+  }
+
+  /**
+   * Write only the added and changed classes, package-info files and resource
+   * files of the new model. Removed files must be handled by the caller, as
+   * code writers cannot delete files.
+   *
+   * @param aWriter
+   *        The code writer to use. Is closed afterwards.
+   * @throws IOException
+   *         on IO error
+   * @see JCodeModel#build(AbstractCodeWriter, AbstractCodeWriter,
+   *      java.util.function.Predicate)
+   */
+  public void buildChanged (@Nonnull final AbstractCodeWriter aWriter) throws IOException
+  {
+    final Set <JDefinedClass> aToBuild = new HashSet <> (m_aAddedClasses);
+    aToBuild.addAll (m_aChangedClasses);
+    final Set <JPackage> aPackageInfosToBuild = new HashSet <> (m_aChangedPackageInfos);
+    final Set <AbstractJResourceFile> aResourcesToBuild = new HashSet <> (m_aChangedResources.values ());
+    m_aNewModel.internalBuild (aWriter,
+                               aWriter,
+                               aToBuild::contains,
+                               aPackageInfosToBuild::contains,
+                               aResourcesToBuild::contains);
+  }
+
+  @Nonnull
+  private static Map <String, JDefinedClass> _getAllVisibleClasses (@Nonnull final JCodeModel aModel)
+  {
+    final Map <String, JDefinedClass> ret = new TreeMap <> ();
+    final Iterator <JPackage> it = aModel.packages ();
+    while (it.hasNext ())
+      for (final JDefinedClass aClass : it.next ().classes ())
+        if (!aClass.isHidden ())
+          ret.put (aClass.fullName (), aClass);
+    return ret;
+  }
+
+  @Nonnull
+  private static Map <String, Set <String>> _getAllClassNamesPerPackage (@Nonnull final JCodeModel aModel)
+  {
+    // Includes hidden classes, as they take part in the name collision check
+    final Map <String, Set <String>> ret = new TreeMap <> ();
+    final Iterator <JPackage> it = aModel.packages ();
+    while (it.hasNext ())
+    {
+      final JPackage aPackage = it.next ();
+      final Set <String> aNames = new TreeSet <> ();
+      for (final JDefinedClass aClass : aPackage.classes ())
+        aNames.add (aClass.name ());
+      ret.put (aPackage.name (), aNames);
+    }
+    return ret;
+  }
+
+  @Nonnull
+  private static Map <String, JPackage> _getAllPackagesWithPackageInfo (@Nonnull final JCodeModel aModel)
+  {
+    final Map <String, JPackage> ret = new TreeMap <> ();
+    final Iterator <JPackage> it = aModel.packages ();
+    while (it.hasNext ())
+    {
+      final JPackage aPackage = it.next ();
+      if (aPackage.internalHasPackageInfo ())
+        ret.put (aPackage.name (), aPackage);
+    }
+    return ret;
+  }
+
+  @Nonnull
+  private static Map <String, AbstractJResourceFile> _getAllResources (@Nonnull final JCodeModel aModel)
+  {
+    final Map <String, AbstractJResourceFile> ret = new TreeMap <> ();
+    final Iterator <JPackage> it = aModel.packages ();
+    while (it.hasNext ())
+    {
+      final JPackage aPackage = it.next ();
+      final String sPrefix = aPackage.isUnnamed () ? "" : aPackage.name ().replace ('.', '/') + '/';
+      final Iterator <AbstractJResourceFile> itRes = aPackage.propertyFiles ();
+      while (itRes.hasNext ())
+      {
+        final AbstractJResourceFile aResource = itRes.next ();
+        ret.put (sPrefix + aResource.name (), aResource);
+      }
+    }
+    return ret;
+  }
+
+  @Nonnull
+  private static byte [] _getContent (@Nonnull final AbstractJResourceFile aResource)
+  {
+    final ByteArrayOutputStream aBAOS = new ByteArrayOutputStream ();
+    try
+    {
+      aResource.build (aBAOS);
+    }
+    catch (final IOException ex)
+    {
+      throw new UncheckedIOException ("Failed to build resource " + aResource.name (), ex);
+    }
+    return aBAOS.toByteArray ();
+  }
+
+  /**
+   * Compare two code models.
+   *
+   * @param aOldModel
+   *        The old (previously built) model. May not be <code>null</code>.
+   * @param aNewModel
+   *        The new model. May not be <code>null</code>.
+   * @return The difference. Never <code>null</code>.
+   * @throws UncheckedIOException
+   *         if the content of a resource file could not be built
+   */
+  @Nonnull
+  public static JCodeModelDiff compare (@Nonnull final JCodeModel aOldModel, @Nonnull final JCodeModel aNewModel)
+  {
+    JCValueEnforcer.notNull (aOldModel, "OldModel");
+    JCValueEnforcer.notNull (aNewModel, "NewModel");
+
+    final Map <String, JDefinedClass> aOldClasses = _getAllVisibleClasses (aOldModel);
+    final Map <String, JDefinedClass> aNewClasses = _getAllVisibleClasses (aNewModel);
+    final Map <String, Set <String>> aOldClassNames = _getAllClassNamesPerPackage (aOldModel);
+    final Map <String, Set <String>> aNewClassNames = _getAllClassNamesPerPackage (aNewModel);
+
+    final List <JDefinedClass> aAdded = new ArrayList <> ();
+    final List <JDefinedClass> aChanged = new ArrayList <> ();
+    for (final Map.Entry <String, JDefinedClass> aEntry : aNewClasses.entrySet ())
+    {
+      final JDefinedClass aNewClass = aEntry.getValue ();
+      final JDefinedClass aOldClass = aOldClasses.remove (aEntry.getKey ());
+      if (aOldClass == null)
+        aAdded.add (aNewClass);
+      else
+      {
+        final String sPackageName = aNewClass._package ().name ();
+        if (!aNewClassNames.get (sPackageName).equals (aOldClassNames.get (sPackageName)) ||
+            JFormatter.getStructuralHash (aOldClass) != JFormatter.getStructuralHash (aNewClass))
+          aChanged.add (aNewClass);
+      }
+    }
+
+    // All remaining old classes were removed
+    final List <JDefinedClass> aRemoved = new ArrayList <> (aOldClasses.values ());
+
+    final Map <String, JPackage> aOldPackageInfos = _getAllPackagesWithPackageInfo (aOldModel);
+    final List <JPackage> aChangedPackageInfos = new ArrayList <> ();
+    for (final Map.Entry <String, JPackage> aEntry : _getAllPackagesWithPackageInfo (aNewModel).entrySet ())
+    {
+      final JPackage aNewPackage = aEntry.getValue ();
+      final JPackage aOldPackage = aOldPackageInfos.remove (aEntry.getKey ());
+      if (aOldPackage == null ||
+          JFormatter.getPackageInfoStructuralHash (aOldPackage) != JFormatter.getPackageInfoStructuralHash (aNewPackage))
+        aChangedPackageInfos.add (aNewPackage);
+    }
+    final List <JPackage> aRemovedPackageInfos = new ArrayList <> (aOldPackageInfos.values ());
+
+    final Map <String, AbstractJResourceFile> aOldResources = _getAllResources (aOldModel);
+    final Map <String, AbstractJResourceFile> aRemovedResources = new TreeMap <> ();
+    final Map <String, AbstractJResourceFile> aChangedResources = new TreeMap <> ();
+    for (final Map.Entry <String, AbstractJResourceFile> aEntry : _getAllResources (aNewModel).entrySet ())
+    {
+      final AbstractJResourceFile aNewResource = aEntry.getValue ();
+      final AbstractJResourceFile aOldResource = aOldResources.remove (aEntry.getKey ());
+      if (aOldResource != null && aOldResource.isResource () != aNewResource.isResource ())
+      {
+        // Moved between the source and the resource directory
+        aRemovedResources.put (aEntry.getKey (), aOldResource);
+        aChangedResources.put (aEntry.getKey (), aNewResource);
+      }
+      else
+        if (aOldResource == null || !Arrays.equals (_getContent (aOldResource), _getContent (aNewResource)))
+          aChangedResources.put (aEntry.getKey (), aNewResource);
+    }
+    aRemovedResources.putAll (aOldResources);
+
+    return new JCodeModelDiff (aNewModel,
+                               aAdded,
+                               aRemoved,
+                               aChanged,
+                               aChangedPackageInfos,
+                               aRemovedPackageInfos,
+                               aChangedResources,
+                               aRemovedResources);
+  }
+}
@@ -0,0 +1,223 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.helger.jcodemodel.util.JCValueEnforcer;
+
+/**
+ * A factory for many short lived {@link JCodeModel} instances, e.g. one per
+ * request in a generation service. All model independent data (like the
+ * reflective information of referenced classes, see
+ * {@link JCodeModel#ref(Class)}) is shared JVM wide anyway. This factory
+ * additionally pre-warms this data for the commonly used classes of
+ * <code>java.lang</code> once, and applies the same building settings to each
+ * created model.
+ * <p>
+ * Configure the factory once and afterwards {@link #create()} may be called
+ * from multiple threads. The created models themselves are not thread-safe.
+ *
+ * <pre>
+ * final JCodeModelFactory aFactory = new JCodeModelFactory ().setBuildingCharset (StandardCharsets.UTF_8);
+ * ...
+ * final JCodeModel cm = aFactory.create ();
+ * </pre>
+ *
+ * @since 3.0.3
+ */
+public class JCodeModelFactory
+{
+  /**
+   * The classes that are referenced by almost every code model. Their shared
+   * information is calculated once upon class initialization.
+   */
+  private static final List <Class <?>> COMMON_CLASSES;
+
+  static
+  {
+    final List <Class <?>> aList = new ArrayList <> ();
+    aList.add (Object.class);
+    aList.add (String.class);
+    aList.add (CharSequence.class);
+    aList.add (Class.class);
+    aList.add (Enum.class);
+    aList.add (Number.class);
+    aList.add (Iterable.class);
+    aList.add (Comparable.class);
+    aList.add (Throwable.class);
+    aList.add (Exception.class);
+    aList.add (RuntimeException.class);
+    aList.add (Override.class);
+    aList.add (Deprecated.class);
+    aList.add (SuppressWarnings.class);
+    aList.add (FunctionalInterface.class);
+    // All boxed primitive types
+    aList.addAll (JCodeModel.boxToPrimitive.keySet ());
+    COMMON_CLASSES = Collections.unmodifiableList (aList);
+
+    for (final Class <?> aClass : COMMON_CLASSES)
+      JReferencedClassInfo.get (aClass);
+  }
+
+  private Charset m_aBuildingCharset;
+  private String m_sBuildingNewLine = AbstractCodeWriter.getDefaultNewLine ();
+  private final List <Class <?>> m_aDontImportClasses = new ArrayList <> ();
+
+  public JCodeModelFactory ()
+  {}
+
+  /**
+   * @return The classes whose reflective information is pre-warmed by this
+   *         class. Never <code>null</code>.
+   */
+  @Nonnull
+  public static List <Class <?>> getAllCommonClasses ()
+  {
+    return COMMON_CLASSES;
+  }
+
+  /**
+   * Pre-warm the shared information of additional classes, that are
+   * referenced by most of the created code models.
+   *
+   * @param aClasses
+   *        The classes to pre-warm. May not be <code>null</code>.
+   * @return this for chaining
+   */
+  @Nonnull
+  public JCodeModelFactory prewarm (@Nonnull final Class <?>... aClasses)
+  {
+    JCValueEnforcer.notNull (aClasses, "Classes");
+    for (final Class <?> aClass : aClasses)
+      if (!aClass.isPrimitive () && !aClass.isArray ())
+        JReferencedClassInfo.get (aClass);
+    return this;
+  }
+
+  /**
+   * @return The charset used for building the created models.
+   *         <code>null</code> means system default.
+   */
+  @Nullable
+  public Charset getBuildingCharset ()
+  {
+    return m_aBuildingCharset;
+  }
+
+  /**
+   * @param aCharset
+   *        The charset to be used by the created models. May be
+   *        <code>null</code> to indicate the use of the system default.
+   * @return this for chaining
+   * @see JCodeModel#setBuildingCharset(Charset)
+   */
+  @Nonnull
+  public JCodeModelFactory setBuildingCharset (@Nullable final Charset aCharset)
+  {
+    m_aBuildingCharset = aCharset;
+    return this;
+  }
+
+  /**
+   * @return The newline string used by the created models.
+   */
+  @Nonnull
+  public String getBuildingNewLine ()
+  {
+    return m_sBuildingNewLine;
+  }
+
+  /**
+   * @param sNewLine
+   *        The new line string to be used by the created models. May neither
+   *        be <code>null</code> nor empty.
+   * @return this for chaining
+   * @see JCodeModel#setBuildingNewLine(String)
+   */
+  @Nonnull
+  public JCodeModelFactory setBuildingNewLine (@Nonnull final String sNewLine)
+  {
+    JCValueEnforcer.notEmpty (sNewLine, "NewLine");
+    m_sBuildingNewLine = sNewLine;
+    return this;
+  }
+
+  /**
+   * Add a class that should <strong>NOT</strong> be imported in all created
+   * models.
+   *
+   * @param aClass
+   *        The class to use. May not be <code>null</code>.
+   * @return this for chaining
+   * @see JCodeModel#addDontImportClass(Class)
+   */
+  @Nonnull
+  public JCodeModelFactory addDontImportClass (@Nonnull final Class <?> aClass)
+  {
+    JCValueEnforcer.notNull (aClass, "Class");
+    prewarm (aClass);
+    m_aDontImportClasses.add (aClass);
+    return this;
+  }
+
+  /**
+   * Create a new code model with the settings of this factory.
+   *
+   * @return A new code model. Never <code>null</code>.
+   */
+  @Nonnull
+  public JCodeModel create ()
+  {
+    final JCodeModel ret = new JCodeModel ();
+    ret.setBuildingCharset (m_aBuildingCharset);
+    ret.setBuildingNewLine (m_sBuildingNewLine);
+    for (final Class <?> aClass : m_aDontImportClasses)
+      ret.addDontImportClass (aClass);
+    return ret;
+  }
+}
@@ -63,9 +63,36 @@ import javax.annotation.Nullable;
  */
 public class JCommentPart extends ArrayList <Object>
 {
+  /**
+   * Where this comment part was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private transient Object m_aHashedIn;
+
   public JCommentPart ()
   {}
 
+  /**
+   * Called upon each modification of this comment part. Comments are not
+   * linked to the structural hash caches, so all caches of the code model
+   * this part was hashed in are invalidated.
+   */
+  final void internalMarkModified ()
+  {
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
+  }
+
+  /**
+   * Called whenever this comment part is emitted.
+   *
+   * @param f
+   *        The formatter used. May not be <code>null</code>.
+   */
+  final void internalMarkHashed (@Nonnull final JFormatter f)
+  {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
+  }
+
   /**
    * Appends a new value.
    *
@@ -108,7 +135,12 @@ public class JCommentPart extends ArrayList <Object>
       {
         // Only String and AbstractJType are allowed
         if (aValue instanceof String || aValue instanceof AbstractJType)
+        {
           super.add (aValue);
+          if (aValue instanceof AbstractJType)
+            JCodeModel.internalOnTypeAttached ((AbstractJType) aValue);
+          internalMarkModified ();
+        }
         else
           throw new IllegalArgumentException ("Value is of an unsupported type: " + aValue.getClass ().toString ());
       }
@@ -124,7 +156,8 @@ public class JCommentPart extends ArrayList <Object>
    */
   protected void format (@Nonnull final JFormatter f, final String sIndent)
   {
-    if (!f.isPrinting ())
+    internalMarkHashed (f);
+    if (!f.isPrinting () && !f.isStructuralHashing ())
     {
       // quickly pass the types to JFormatter, as that's all we care.
       // we don't need to worry about the exact formatting of text.
@@ -144,18 +177,18 @@ public class JCommentPart extends ArrayList <Object>
 
       if (o instanceof String)
       {
-        int idx;
-        String sStr = (String) o;
-        while ((idx = sStr.indexOf ('\n')) != -1)
+        // Write line by line without creating substrings
+        final String sStr = (String) o;
+        final int nLen = sStr.length ();
+        int nLineStart = 0;
+        int nIdx;
+        while ((nIdx = sStr.indexOf ('\n', nLineStart)) != -1)
         {
-          final String line = sStr.substring (0, idx);
-          if (line.length () > 0)
-            f.print (_escape (line));
-          sStr = sStr.substring (idx + 1);
+          f.printCommentText (sStr, nLineStart, nIdx);
+          nLineStart = nIdx + 1;
           f.newline ().print (sIndent);
         }
-        if (sStr.length () != 0)
-          f.print (_escape (sStr));
+        f.printCommentText (sStr, nLineStart, nLen);
       }
       else
         if (o instanceof AbstractJClass)
@@ -175,24 +208,4 @@ public class JCommentPart extends ArrayList <Object>
     if (!isEmpty ())
       f.newline ();
   }
-
-  /**
-   * Escapes the appearance of the comment terminator.
-   *
-   * @param sText
-   *        Source text
-   * @return Escaped text
-   */
-  private static String _escape (@Nonnull final String sText)
-  {
-    String s = sText;
-    while (true)
-    {
-      final int idx = s.indexOf ("*/");
-      if (idx < 0)
-        return s;
-
-      s = s.substring (0, idx + 1) + "<!---->" + s.substring (idx + 1);
-    }
-  }
 }
@@ -64,6 +64,11 @@ public class JConditional implements IJStatement
    */
   private JBlock m_aElseBlock;
 
+  /**
+   * The cached structural hash of this conditional.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   /**
    * Constructor
    *
@@ -74,6 +79,7 @@ public class JConditional implements IJStatement
   {
     JCValueEnforcer.notNull (aTestExpr, "Test expression");
     m_aTestExpr = aTestExpr;
+    JStructuralHashCache.link (m_aThenBlock, m_aStructuralHashCache);
   }
 
   @Nonnull
@@ -102,7 +108,10 @@ public class JConditional implements IJStatement
   public JBlock _else ()
   {
     if (m_aElseBlock == null)
+    {
       m_aElseBlock = new JBlock ();
+      JStructuralHashCache.link (m_aElseBlock, m_aStructuralHashCache);
+    }
     return m_aElseBlock;
   }
 
@@ -119,6 +128,12 @@ public class JConditional implements IJStatement
     return _else ()._if (aTestExpr);
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     if (m_aTestExpr == JExpr.TRUE)
@@ -49,12 +49,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.helger.jcodemodel.util.ClassNameComparator;
 import com.helger.jcodemodel.util.JCValueEnforcer;
 
 /**
@@ -91,7 +89,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   /**
    * List of interfaces that this class implements
    */
-  private final Set <AbstractJClass> m_aInterfaces = new TreeSet <> (ClassNameComparator.getInstance ());
+  private final Set <AbstractJClass> m_aInterfaces = new JSortedClassSet ();
 
   /**
    * Fields keyed by their names.
@@ -161,6 +159,18 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     }
   };
 
+  /**
+   * The cached structural hash of this class.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
+  /**
+   * The shared copy of this class, if this class was deduplicated by
+   * {@link JCodeModelDeduplicator}. References to this class are redirected to
+   * the shared copy.
+   */
+  private JDefinedClass m_aSharedCopy;
+
   protected JDefinedClass (@Nonnull final IJClassContainer <?> aParent,
                            final int nMods,
                            @Nullable final String sName,
@@ -210,30 +220,41 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     {
       JCValueEnforcer.notEmpty (sName, "Name");
 
-      if (!Character.isJavaIdentifierStart (sName.charAt (0)))
+      // Valid identifiers are cached; keywords are only checked for the chars
+      if (!JJavaName.isJavaIdentifier (sName))
       {
-        final String msg = "JDefinedClass name " +
-                           sName +
-                           " contains illegal character" +
-                           " for beginning of identifier: " +
-                           sName.charAt (0);
-        throw new IllegalArgumentException (msg);
-      }
-      for (int i = 1; i < sName.length (); i++)
-      {
-        final char c = sName.charAt (i);
-        if (!Character.isJavaIdentifierPart (c))
+        final int nInvalid = JJavaName.getFirstInvalidIdentifierCharIndex (sName, 0, sName.length ());
+        if (nInvalid == 0)
+        {
+          final String msg = "JDefinedClass name " +
+                             sName +
+                             " contains illegal character" +
+                             " for beginning of identifier: " +
+                             sName.charAt (0);
+          throw new IllegalArgumentException (msg);
+        }
+        if (nInvalid > 0)
         {
-          final String msg = "JDefinedClass name " + sName + " contains illegal character " + c;
+          final String msg = "JDefinedClass name " + sName + " contains illegal character " + sName.charAt (nInvalid);
           throw new IllegalArgumentException (msg);
         }
       }
     }
 
     if (isInterface ())
-      m_aMods = JMods.forInterface (nMods);
+      m_aMods = JMods.internalSharedForInterface (nMods);
     else
-      m_aMods = JMods.forClass (nMods);
+      m_aMods = JMods.internalSharedForClass (nMods);
+
+    m_aStructuralHashCache.setOwner (owner ());
+
+    // Anonymous classes are part of an expression
+    if (aOuter == null)
+      m_aStructuralHashCache.setDetached ();
+
+    // Nested classes are part of the outer class' hash
+    if (aOuter instanceof JDefinedClass)
+      JStructuralHashCache.link (this, ((JDefinedClass) aOuter).m_aStructuralHashCache);
   }
 
   /**
@@ -242,6 +263,23 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
    */
   @Nonnull
   public JMods mods ()
+  {
+    if (m_aMods.isShared ())
+    {
+      // Copy-on-write: the caller may modify the returned object
+      m_aMods = m_aMods.getModifiable ();
+      m_aMods.setStructuralHashParent (m_aStructuralHashCache);
+    }
+    return m_aMods;
+  }
+
+  /**
+   * @return the current modifiers for read-only access. In contrast to
+   *         {@link #mods()} a shared instance is not copied, so the returned
+   *         object must not be modified.
+   */
+  @Nonnull
+  JMods internalGetMods ()
   {
     return m_aMods;
   }
@@ -277,6 +315,8 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     }
 
     m_aSuperClass = aSuperClass;
+    JCodeModel.internalOnTypeAttached (aSuperClass);
+    m_aStructuralHashCache.invalidate ();
     return this;
   }
 
@@ -309,6 +349,8 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   public JDefinedClass _implements (@Nonnull final AbstractJClass aInterface)
   {
     m_aInterfaces.add (aInterface);
+    JCodeModel.internalOnTypeAttached (aInterface);
+    m_aStructuralHashCache.invalidate ();
     return this;
   }
 
@@ -340,7 +382,11 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   @Nonnull
   public JEnumConstant enumConstant (@Nonnull final String sName)
   {
-    return m_aEnumConstantsByName.computeIfAbsent (sName, k -> new JEnumConstant (this, k));
+    return m_aEnumConstantsByName.computeIfAbsent (sName, k -> {
+      final JEnumConstant aEnumConstant = new JEnumConstant (this, k);
+      JStructuralHashCache.link (aEnumConstant, m_aStructuralHashCache);
+      return aEnumConstant;
+    });
   }
 
   @Override
@@ -399,11 +445,17 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
                           @Nonnull final String sName,
                           @Nullable final IJExpression aInit)
   {
-    JCValueEnforcer.isFalse (m_aFields.containsKey (sName), () -> "trying to create the same field twice: " + sName);
+    JCValueEnforcer.isFalse (m_aFields.containsKey (sName), "trying to create the same field twice", sName);
+
+    return internalAddField (new JFieldVar (this, JMods.internalSharedForField (nMods), aType, sName, aInit));
+  }
 
-    final JFieldVar f = new JFieldVar (this, JMods.forField (nMods), aType, sName, aInit);
-    m_aFields.put (sName, f);
-    return f;
+  @Nonnull
+  JFieldVar internalAddField (@Nonnull final JFieldVar aField)
+  {
+    m_aFields.put (aField.name (), aField);
+    JStructuralHashCache.link (aField, m_aStructuralHashCache);
+    return aField;
   }
 
   @Nonnull
@@ -436,6 +488,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   {
     if (m_aFields.remove (aField.name ()) != aField)
       throw new IllegalArgumentException ("Failed to remove field " + aField);
+    m_aStructuralHashCache.invalidate ();
   }
 
   /**
@@ -460,6 +513,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
                                           sNewName +
                                           "'");
     m_aFields.put (sNewName, aField);
+    m_aStructuralHashCache.invalidate ();
   }
 
   /**
@@ -471,7 +525,10 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   public JBlock init ()
   {
     if (m_aStaticInit == null)
+    {
       m_aStaticInit = new JBlock ();
+      JStructuralHashCache.link (m_aStaticInit, m_aStructuralHashCache);
+    }
     return m_aStaticInit;
   }
 
@@ -484,7 +541,10 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   public JBlock instanceInit ()
   {
     if (m_aInstanceInit == null)
+    {
       m_aInstanceInit = new JBlock ();
+      JStructuralHashCache.link (m_aInstanceInit, m_aStructuralHashCache);
+    }
     return m_aInstanceInit;
   }
 
@@ -500,6 +560,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   {
     final JMethod c = new JMethod (nMods, this);
     m_aConstructors.add (c);
+    JStructuralHashCache.link (c, m_aStructuralHashCache);
     return c;
   }
 
@@ -545,6 +606,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     // XXX problems caught in M constructor
     final JMethod m = new JMethod (this, nMods, aType, sName);
     m_aMethods.add (m);
+    JStructuralHashCache.link (m, m_aStructuralHashCache);
     return m;
   }
 
@@ -582,6 +644,82 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     return null;
   }
 
+  /**
+   * Removes a {@link JMethod} from this class.
+   *
+   * @param aMethod
+   *        Method to be removed
+   * @throws IllegalArgumentException
+   *         if the given method is not a method of this class.
+   * @since 3.0.3
+   */
+  public void removeMethod (@Nonnull final JMethod aMethod)
+  {
+    if (!m_aMethods.remove (aMethod))
+      throw new IllegalArgumentException ("Failed to remove method " + aMethod.name ());
+    m_aStructuralHashCache.invalidate ();
+  }
+
+  /**
+   * Add a public copy of the passed static method to this class.
+   *
+   * @param aSrc
+   *        The method to be copied. May not be <code>null</code>.
+   * @param sName
+   *        The name of the copy. May neither be <code>null</code> nor empty.
+   * @return The newly created method. Never <code>null</code>.
+   */
+  @Nonnull
+  JMethod internalAddSharedMethod (@Nonnull final JMethod aSrc, @Nonnull final String sName)
+  {
+    final JMethod m = new JMethod (this, aSrc, sName);
+    m_aMethods.add (m);
+    JStructuralHashCache.link (m, m_aStructuralHashCache);
+    return m;
+  }
+
+  /**
+   * @return The shared copy of this class, if it was deduplicated.
+   *         <code>null</code> otherwise.
+   * @see JCodeModelDeduplicator
+   * @since 3.0.3
+   */
+  @Nullable
+  public JDefinedClass sharedCopy ()
+  {
+    return m_aSharedCopy;
+  }
+
+  void setSharedCopy (@Nullable final JDefinedClass aSharedCopy)
+  {
+    m_aSharedCopy = aSharedCopy;
+  }
+
+  /**
+   * Move this nested class into another class.
+   *
+   * @param aNewOuter
+   *        The new outer class. May not be <code>null</code>.
+   */
+  void internalMoveTo (@Nonnull final JDefinedClass aNewOuter)
+  {
+    final JDefinedClass aOldOuter = (JDefinedClass) getOuter ();
+    aNewOuter.internalMoveHere (this);
+    aOldOuter.m_aStructuralHashCache.invalidate ();
+    JStructuralHashCache.link (this, aNewOuter.m_aStructuralHashCache);
+  }
+
+  /**
+   * Remove this nested class from its outer class.
+   */
+  void internalRemoveFromOuter ()
+  {
+    final JDefinedClass aOuter = (JDefinedClass) getOuter ();
+    if (!aOuter.internalRemoveClass (this))
+      throw new IllegalArgumentException ("Failed to remove nested class " + fullName ());
+    aOuter.m_aStructuralHashCache.invalidate ();
+  }
+
   /**
    * @return <code>true</code> if a header comment (before the package) is
    *         present, <code>false</code> if not.
@@ -599,7 +737,10 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   public JDocComment headerComment ()
   {
     if (m_aHeaderComment == null)
+    {
       m_aHeaderComment = new JDocComment (owner ());
+      m_aStructuralHashCache.invalidate ();
+    }
     return m_aHeaderComment;
   }
 
@@ -607,7 +748,10 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   public JDocComment javadoc ()
   {
     if (m_aJDoc == null)
+    {
       m_aJDoc = new JDocComment (owner ());
+      m_aStructuralHashCache.invalidate ();
+    }
     return m_aJDoc;
   }
 
@@ -626,6 +770,38 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     return m_bHideFile;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
+  /**
+   * @return The structural hash of this class including the header comment.
+   *         The hashes of the class, its methods and blocks are cached and only
+   *         re-calculated after a modification.
+   * @see JFormatter#getStructuralHash(JDefinedClass)
+   * @since 3.0.3
+   */
+  public long structuralHash ()
+  {
+    return JFormatter.getStructuralHash (this);
+  }
+
+  /**
+   * Invalidate the cached structural hash of this class and of all enclosing
+   * classes. This is only required after modifications that are not tracked
+   * automatically, like changes to custom {@link IJExpression} or
+   * {@link IJStatement} implementations, or after modifying the collection
+   * returned by {@link #methods()}.
+   *
+   * @since 3.0.3
+   */
+  public void invalidateStructuralHash ()
+  {
+    m_aStructuralHashCache.invalidate ();
+  }
+
   public void declare (@Nonnull final JFormatter f)
   {
     // Java docs
@@ -735,6 +911,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
     else
       if (string != null)
         m_sDirectBlock += string;
+    m_aStructuralHashCache.invalidate ();
   }
 
   @Override
@@ -750,19 +927,25 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
   @Nonnull
   public JTypeVar generify (@Nonnull final String sName)
   {
-    return m_aGenerifiable.generify (sName);
+    final JTypeVar ret = m_aGenerifiable.generify (sName);
+    m_aStructuralHashCache.invalidate ();
+    return ret;
   }
 
   @Nonnull
   public JTypeVar generify (@Nonnull final String sName, @Nonnull final Class <?> aBoundClass)
   {
-    return m_aGenerifiable.generify (sName, aBoundClass);
+    final JTypeVar ret = m_aGenerifiable.generify (sName, aBoundClass);
+    m_aStructuralHashCache.invalidate ();
+    return ret;
   }
 
   @Nonnull
   public JTypeVar generify (@Nonnull final String sName, @Nonnull final AbstractJClass aBoundClass)
   {
-    return m_aGenerifiable.generify (sName, aBoundClass);
+    final JTypeVar ret = m_aGenerifiable.generify (sName, aBoundClass);
+    m_aStructuralHashCache.invalidate ();
+    return ret;
   }
 
   @Override
@@ -792,6 +975,7 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
       m_aAnnotations = new ArrayList <> ();
     final JAnnotationUse a = new JAnnotationUse (aClazz);
     m_aAnnotations.add (a);
+    m_aStructuralHashCache.invalidate ();
     return a;
   }
 
@@ -830,7 +1014,8 @@ public class JDefinedClass extends AbstractJClassContainer <JDefinedClass> imple
 
   /**
    * Returns true if this class or it's inner classes contains references to
-   * error-types.
+   * error-types. The result is cached together with the structural hash, so
+   * only modified parts of the class are checked again.
    *
    * @return <code>true</code> if an error type is contained, <code>false</code>
    *         otherwise
@@ -59,6 +59,8 @@ import com.helger.jcodemodel.util.JCHashCodeGenerator;
 public class JDirectClass extends AbstractJClassContainer <JDirectClass>
 {
   private final String m_sFullName;
+  // The value is immutable so the hash code is calculated only once
+  private int m_nHashCode;
 
   @Deprecated
   protected JDirectClass (@Nonnull final JCodeModel aOwner, @Nonnull final String sFullName)
@@ -174,6 +176,9 @@ public class JDirectClass extends AbstractJClassContainer <JDirectClass>
   @Override
   public int hashCode ()
   {
-    return JCHashCodeGenerator.getHashCode (this, m_sFullName);
+    int ret = m_nHashCode;
+    if (ret == 0)
+      ret = m_nHashCode = JCHashCodeGenerator.getHashCode (this, m_sFullName);
+    return ret;
   }
 }
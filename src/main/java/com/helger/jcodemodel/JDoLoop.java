@@ -59,6 +59,11 @@ public class JDoLoop implements IJStatement
    */
   private JBlock m_aBody;
 
+  /**
+   * The cached structural hash of this loop.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   /**
    * Construct a Do statement
    *
@@ -80,10 +85,19 @@ public class JDoLoop implements IJStatement
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     f.print ("do");
@@ -117,6 +117,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nonnull
   public JDocComment setSingleLineMode (final boolean bSingleLineMode)
   {
+    internalMarkModified ();
     m_bIsSingleLineMode = bSingleLineMode;
     return this;
   }
@@ -148,6 +149,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nonnull
   public JCommentPart addParam (@Nonnull final String sParam)
   {
+    internalMarkModified ();
     return m_aAtParams.computeIfAbsent (sParam, k -> new JCommentPart ());
   }
 
@@ -166,6 +168,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nullable
   public JCommentPart removeParam (@Nullable final String sParam)
   {
+    internalMarkModified ();
     return m_aAtParams.remove (sParam);
   }
 
@@ -177,6 +180,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
 
   public void removeAllParams ()
   {
+    internalMarkModified ();
     m_aAtParams.clear ();
   }
 
@@ -200,6 +204,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nonnull
   public JCommentPart addReturn ()
   {
+    internalMarkModified ();
     if (m_aAtReturn == null)
       m_aAtReturn = new JCommentPart ();
     return m_aAtReturn;
@@ -213,6 +218,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
 
   public void removeReturn ()
   {
+    internalMarkModified ();
     m_aAtReturn = null;
   }
 
@@ -238,6 +244,8 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nonnull
   public JCommentPart addThrows (@Nonnull final AbstractJClass aException)
   {
+    internalMarkModified ();
+    JCodeModel.internalOnTypeAttached (aException);
     return m_aAtThrows.computeIfAbsent (aException, k -> new JCommentPart ());
   }
 
@@ -250,11 +258,13 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nullable
   public JCommentPart removeThrows (@Nullable final AbstractJClass aException)
   {
+    internalMarkModified ();
     return m_aAtThrows.remove (aException);
   }
 
   public void removeAllThrows ()
   {
+    internalMarkModified ();
     m_aAtThrows.clear ();
   }
 
@@ -273,6 +283,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nonnull
   public JCommentPart addTag (@Nonnull final String sName)
   {
+    internalMarkModified ();
     JCValueEnforcer.notEmpty (sName, "Name");
     return m_aAtTags.computeIfAbsent (sName, k -> new JCommentPart ());
   }
@@ -280,6 +291,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nullable
   public JCommentPart removeTag (@Nullable final String sName)
   {
+    internalMarkModified ();
     return m_aAtTags.remove (sName);
   }
 
@@ -333,6 +345,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nonnull
   public Map <String, String> addXdoclet (@Nonnull final String sName)
   {
+    internalMarkModified ();
     JCValueEnforcer.notNull (sName, "Name");
     return m_aAtXdoclets.computeIfAbsent (sName, k -> new LinkedHashMap <> ());
   }
@@ -383,16 +396,20 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
   @Nullable
   public Map <String, String> removeXdoclet (@Nullable final String name)
   {
+    internalMarkModified ();
     return m_aAtXdoclets.remove (name);
   }
 
   public void removeAllXdoclets ()
   {
+    internalMarkModified ();
     m_aAtXdoclets.clear ();
   }
 
   public void generate (@Nonnull final JFormatter f)
   {
+    internalMarkHashed (f);
+
     // Is any "@" comment present?
     final boolean bHasAt = !m_aAtParams.isEmpty () ||
                            m_aAtReturn != null ||
@@ -404,6 +421,8 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
       final boolean bIsJavaDoc = true;
       final String sIndent = m_bIsSingleLineMode ? "// " : " * ";
       final String sIndentLarge = sIndent + "    ";
+      final String sParamPrefix = sIndent + "@param ";
+      final String sThrowsPrefix = sIndent + "@throws ";
 
       // Start comment
       if (!m_bIsSingleLineMode)
@@ -416,7 +435,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
 
       for (final Map.Entry <String, JCommentPart> aEntry : m_aAtParams.entrySet ())
       {
-        f.print (sIndent + "@param ").print (aEntry.getKey ()).newline ();
+        f.print (sParamPrefix).print (aEntry.getKey ()).newline ();
         aEntry.getValue ().format (f, sIndentLarge);
       }
       if (m_aAtReturn != null)
@@ -426,7 +445,7 @@ public class JDocComment extends JCommentPart implements IJGenerable, IJOwned
       }
       for (final Map.Entry <AbstractJClass, JCommentPart> aEntry : m_aAtThrows.entrySet ())
       {
-        f.print (sIndent + "@throws ").type (aEntry.getKey ()).newline ();
+        f.print (sThrowsPrefix).type (aEntry.getKey ()).newline ();
         aEntry.getValue ().format (f, sIndentLarge);
       }
       for (final Map.Entry <String, JCommentPart> aEntry : m_aAtTags.entrySet ())
@@ -50,6 +50,7 @@ import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.helger.jcodemodel.util.JCValueEnforcer;
 
@@ -86,12 +87,29 @@ public class JEnumConstant implements IJExpression, IJDeclaration, IJAnnotatable
    */
   private List <IJExpression> m_aArgs;
 
+  /**
+   * The structural hash cache of the enclosing node. May be <code>null</code>.
+   */
+  private JStructuralHashCache m_aStructuralHashParent;
+
   protected JEnumConstant (@Nonnull final AbstractJClass aType, @Nonnull final String sName)
   {
     m_aType = JCValueEnforcer.notNull (aType, "Type");
     m_sName = JCValueEnforcer.notNull (sName, "Name");
   }
 
+  /**
+   * Set the structural hash cache of the enclosing node, that is invalidated
+   * upon modification of this enum constant.
+   *
+   * @param aParent
+   *        The parent cache. May be <code>null</code>.
+   */
+  void setStructuralHashParent (@Nullable final JStructuralHashCache aParent)
+  {
+    m_aStructuralHashParent = aParent;
+  }
+
   @Nonnull
   public AbstractJClass type ()
   {
@@ -121,6 +139,7 @@ public class JEnumConstant implements IJExpression, IJDeclaration, IJAnnotatable
     if (m_aArgs == null)
       m_aArgs = new ArrayList <> ();
     m_aArgs.add (aArg);
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
     return this;
   }
 
@@ -162,7 +181,10 @@ public class JEnumConstant implements IJExpression, IJDeclaration, IJAnnotatable
   public JDocComment javadoc ()
   {
     if (m_aJavaDoc == null)
+    {
       m_aJavaDoc = new JDocComment (m_aType.owner ());
+      JStructuralHashCache.invalidate (m_aStructuralHashParent);
+    }
     return m_aJavaDoc;
   }
 
@@ -179,6 +201,7 @@ public class JEnumConstant implements IJExpression, IJDeclaration, IJAnnotatable
       m_aAnnotations = new ArrayList <> ();
     final JAnnotationUse a = new JAnnotationUse (aClazz);
     m_aAnnotations.add (a);
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
     return a;
   }
 
@@ -70,6 +70,7 @@ public class JEnumConstantRef implements IJExpression
     JCValueEnforcer.notNull (aType, "Type");
     JCValueEnforcer.notNull (sName, "Name");
     m_aType = aType;
+    JCodeModel.internalOnTypeAttached (aType);
     m_sName = sName;
   }
 
@@ -84,6 +84,7 @@ public class JErrorClass extends AbstractJClass
     super (aOwner);
     m_sMessage = sMessage;
     m_sName = sName;
+    aOwner.onErrorClassCreated ();
   }
 
   @Override
@@ -63,10 +63,50 @@ public final class JExpr
 
   private static final String CHAR_ESCAPE = "\b\t\n\f\r\"\'\\";
   private static final String CHAR_MACRO = "btnfr\"'\\";
+  /**
+   * Escape table for all ASCII characters: 0 for characters that need no
+   * escaping, 'u' for characters that need a Unicode escape and otherwise the
+   * character to print after a backslash.
+   */
+  private static final char [] ESCAPES = new char [128];
+  static final char [] HEX_DIGITS = "0123456789abcdef".toCharArray ();
   private static final JAtom THIS = new JAtom ("this");
   private static final JAtom SUPER = new JAtom ("super");
   private static final JAtom NULL = new JAtom ("null");
 
+  /**
+   * The smallest int and long value that is cached by {@link #lit(int)} and
+   * {@link #lit(long)}
+   */
+  private static final int LIT_CACHE_LOW = -128;
+  /**
+   * The largest int and long value that is cached by {@link #lit(int)} and
+   * {@link #lit(long)}
+   */
+  private static final int LIT_CACHE_HIGH = 127;
+  private static final JAtomInt [] INT_LITS = new JAtomInt [LIT_CACHE_HIGH - LIT_CACHE_LOW + 1];
+  private static final JAtomLong [] LONG_LITS = new JAtomLong [LIT_CACHE_HIGH - LIT_CACHE_LOW + 1];
+  /** The ASCII char literals cached by {@link #lit(char)} */
+  private static final JAtom [] CHAR_LITS = new JAtom [128];
+
+  static
+  {
+    // not printable characters use a Unicode escape
+    for (char c = 0; c < 0x20; ++c)
+      ESCAPES[c] = 'u';
+    ESCAPES[0x7f] = 'u';
+    for (int i = 0; i < CHAR_ESCAPE.length (); ++i)
+      ESCAPES[CHAR_ESCAPE.charAt (i)] = CHAR_MACRO.charAt (i);
+
+    for (int i = 0; i < INT_LITS.length; ++i)
+    {
+      INT_LITS[i] = new JAtomInt (LIT_CACHE_LOW + i);
+      LONG_LITS[i] = new JAtomLong (LIT_CACHE_LOW + i);
+    }
+    for (char c = 0; c < CHAR_LITS.length; ++c)
+      CHAR_LITS[c] = new JAtom (quotify ('\'', Character.toString (c)));
+  }
+
   /**
    * This class is not instanciable.
    */
@@ -266,6 +306,7 @@ public final class JExpr
   @Nonnull
   public static IJExpression dotclass (@Nonnull final AbstractJClass aClass)
   {
+    JCodeModel.internalOnTypeAttached (aClass);
     return (@Nonnull final JFormatter f) -> {
       final AbstractJClass c = aClass instanceof JNarrowedClass ? ((JNarrowedClass) aClass).basis () : aClass;
       f.generable (c).print (".class");
@@ -353,15 +394,33 @@ public final class JExpr
     return b ? TRUE : FALSE;
   }
 
+  /**
+   * Get an int literal. Small values are cached.
+   *
+   * @param n
+   *        The value
+   * @return The literal. Never <code>null</code>.
+   */
   @Nonnull
   public static JAtomInt lit (final int n)
   {
+    if (n >= LIT_CACHE_LOW && n <= LIT_CACHE_HIGH)
+      return INT_LITS[n - LIT_CACHE_LOW];
     return new JAtomInt (n);
   }
 
+  /**
+   * Get a long literal. Small values are cached.
+   *
+   * @param n
+   *        The value
+   * @return The literal. Never <code>null</code>.
+   */
   @Nonnull
   public static JAtomLong lit (final long n)
   {
+    if (n >= LIT_CACHE_LOW && n <= LIT_CACHE_HIGH)
+      return LONG_LITS[(int) n - LIT_CACHE_LOW];
     return new JAtomLong (n);
   }
 
@@ -391,56 +450,95 @@ public final class JExpr
   public static String quotify (final char cQuote, @Nonnull final String sStr)
   {
     final int n = sStr.length ();
-    final StringBuilder sb = new StringBuilder (n + 2);
-    sb.append (cQuote);
-    for (int i = 0; i < n; i++)
+    final int nFirstEscape = getFirstEscapeIndex (cQuote, sStr);
+    if (nFirstEscape < 0)
+    {
+      // Fast path: nothing to escape
+      return new StringBuilder (n + 2).append (cQuote).append (sStr).append (cQuote).toString ();
+    }
+
+    final StringBuilder sb = new StringBuilder (n + 8);
+    sb.append (cQuote).append (sStr, 0, nFirstEscape);
+    for (int i = nFirstEscape; i < n; i++)
     {
       final char c = sStr.charAt (i);
-      final int j = CHAR_ESCAPE.indexOf (c);
-      if (j >= 0)
-      {
-        if ((cQuote == '"' && c == '\'') || (cQuote == '\'' && c == '"'))
-        {
-          sb.append (c);
-        }
-        else
-        {
-          sb.append ('\\');
-          sb.append (CHAR_MACRO.charAt (j));
-        }
-      }
+      final char cEscape = getEscape (cQuote, c);
+      if (cEscape == 0)
+        sb.append (c);
       else
-      {
-        // technically Unicode escape shouldn't be done here,
-        // for it's a lexical level handling.
-        //
-        // However, various tools are so broken around this area,
-        // so just to be on the safe side, it's better to do
-        // the escaping here (regardless of the actual file encoding)
-        //
-        // see bug
-        if (c < 0x20 || c > 0x7E)
+        if (cEscape == 'u')
         {
-          // not printable. use Unicode escape
-          sb.append ("\\u");
-          final String hex = Integer.toHexString (c & 0xFFFF);
-          for (int k = hex.length (); k < 4; k++)
-            sb.append ('0');
-          sb.append (hex);
+          // technically Unicode escape shouldn't be done here,
+          // for it's a lexical level handling.
+          //
+          // However, various tools are so broken around this area,
+          // so just to be on the safe side, it's better to do
+          // the escaping here (regardless of the actual file encoding)
+          sb.append ('\\')
+            .append ('u')
+            .append (HEX_DIGITS[(c >> 12) & 0xf])
+            .append (HEX_DIGITS[(c >> 8) & 0xf])
+            .append (HEX_DIGITS[(c >> 4) & 0xf])
+            .append (HEX_DIGITS[c & 0xf]);
         }
         else
-        {
-          sb.append (c);
-        }
-      }
+          sb.append ('\\').append (cEscape);
     }
     sb.append (cQuote);
     return sb.toString ();
   }
 
+  /**
+   * Get the escape character for the passed character inside a quoted string.
+   *
+   * @param cQuote
+   *        Quote char. Either single quote (') or double quote (")
+   * @param c
+   *        The character to check
+   * @return <code>0</code> if the character needs no escaping, 'u' if a
+   *         Unicode escape is needed or the character to be printed after a
+   *         backslash.
+   */
+  static char getEscape (final char cQuote, final char c)
+  {
+    if (c >= ESCAPES.length)
+      return 'u';
+    // The other quote char doesn't need to be escaped
+    if ((cQuote == '"' && c == '\'') || (cQuote == '\'' && c == '"'))
+      return 0;
+    return ESCAPES[c];
+  }
+
+  /**
+   * Get the index of the first character that needs escaping.
+   *
+   * @param cQuote
+   *        Quote char. Either single quote (') or double quote (")
+   * @param sStr
+   *        Source string to check
+   * @return -1 if no character needs escaping
+   */
+  static int getFirstEscapeIndex (final char cQuote, @Nonnull final String sStr)
+  {
+    final int n = sStr.length ();
+    for (int i = 0; i < n; i++)
+      if (getEscape (cQuote, sStr.charAt (i)) != 0)
+        return i;
+    return -1;
+  }
+
+  /**
+   * Get a char literal. ASCII characters are cached.
+   *
+   * @param c
+   *        The value
+   * @return The literal. Never <code>null</code>.
+   */
   @Nonnull
   public static JAtom lit (final char c)
   {
+    if (c < CHAR_LITS.length)
+      return CHAR_LITS[c];
     return new JAtom (quotify ('\'', Character.toString (c)));
   }
 
@@ -76,6 +76,12 @@ public class JFieldRef implements IJAssignmentTarget, IJOwnedMaybe
    */
   private boolean m_bExplicitThis;
 
+  /**
+   * Where this field reference was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   /**
    * Field reference constructor given an object expression and field name.
    * <code>object.name</code> or just <code>name</code> if object is
@@ -139,13 +145,15 @@ public class JFieldRef implements IJAssignmentTarget, IJOwnedMaybe
                      @Nullable final JVar aVar,
                      final boolean bExplicitThis)
   {
-    JCValueEnforcer.isTrue (sName == null || sName.indexOf ('.') < 0, () -> "Field name contains '.': " + sName);
+    JCValueEnforcer.isTrue (sName == null || sName.indexOf ('.') < 0, "Field name contains '.'", sName);
     JCValueEnforcer.isFalse (sName == null && aVar == null, "name or var must be present");
     m_aOwner = aOwner;
     m_aObject = aObject;
     m_sName = sName;
     m_aVar = aVar;
     m_bExplicitThis = bExplicitThis;
+    if (aObject instanceof AbstractJType)
+      JCodeModel.internalOnTypeAttached ((AbstractJType) aObject);
   }
 
   @Nullable
@@ -184,11 +192,16 @@ public class JFieldRef implements IJAssignmentTarget, IJOwnedMaybe
   public JFieldRef explicitThis (final boolean bExplicitThis)
   {
     m_bExplicitThis = bExplicitThis;
+    // Expressions are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
   public void generate (@Nonnull final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
+    if (m_aVar != null)
+      m_aVar.internalMarkNameHashed (f);
     final String name = name ();
 
     if (m_aObject != null)
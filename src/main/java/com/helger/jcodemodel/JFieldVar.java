@@ -77,8 +77,18 @@ public class JFieldVar extends JVar implements IJDocCommentable
                        @Nonnull final String sName,
                        @Nullable final IJExpression aInit)
   {
-    super (aMods, aType, sName, aInit);
-    m_aOwnerClass = JCValueEnforcer.notNull (aOwnerClass, "OwnerClass");
+    this (aOwnerClass, aMods, aType, sName, aInit, true);
+  }
+
+  JFieldVar (@Nonnull final JDefinedClass aOwnerClass,
+             @Nonnull final JMods aMods,
+             @Nonnull final AbstractJType aType,
+             @Nonnull final String sName,
+             @Nullable final IJExpression aInit,
+             final boolean bValidate)
+  {
+    super (aMods, aType, sName, aInit, bValidate);
+    m_aOwnerClass = bValidate ? JCValueEnforcer.notNull (aOwnerClass, "OwnerClass") : aOwnerClass;
   }
 
   /**
@@ -106,7 +116,10 @@ public class JFieldVar extends JVar implements IJDocCommentable
   public JDocComment javadoc ()
   {
     if (m_aJavaDoc == null)
+    {
       m_aJavaDoc = new JDocComment (m_aOwnerClass.owner ());
+      internalInvalidateStructuralHash ();
+    }
     return m_aJavaDoc;
   }
 
@@ -55,6 +55,11 @@ public class JForEach implements IJStatement
   private final AbstractJType m_aType;
   private final String m_sVarName;
   private JBlock m_aBody; // lazily created
+
+  /**
+   * The cached structural hash of this loop.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
   private final IJExpression m_aCollection;
   private final JVar m_aLoopVar;
 
@@ -67,9 +72,10 @@ public class JForEach implements IJStatement
     JCValueEnforcer.notNull (aCollection, "Collection");
 
     m_aType = aVarType;
+    JCodeModel.internalOnTypeAttached (aVarType);
     m_sVarName = sVarName;
     m_aCollection = aCollection;
-    m_aLoopVar = new JVar (JMods.forVar (JMod.FINAL), m_aType, m_sVarName, aCollection);
+    m_aLoopVar = new JVar (JMods.internalSharedForVar (JMod.FINAL), m_aType, m_sVarName, aCollection);
   }
 
   @Nonnull
@@ -97,10 +103,19 @@ public class JForEach implements IJStatement
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     f.print ("for (");
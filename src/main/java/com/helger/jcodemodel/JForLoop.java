@@ -59,6 +59,11 @@ public class JForLoop implements IJStatement
   private final List <IJExpression> m_aUpdateExprs = new ArrayList <> ();
   private JBlock m_aBody;
 
+  /**
+   * The cached structural hash of this loop.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   protected JForLoop ()
   {}
 
@@ -68,8 +73,9 @@ public class JForLoop implements IJStatement
                     @Nonnull final String sVarName,
                     @Nullable final IJExpression aInitExpr)
   {
-    final JVar aVar = new JVar (JMods.forVar (nMods), aType, sVarName, aInitExpr);
+    final JVar aVar = new JVar (JMods.internalSharedForVar (nMods), aType, sVarName, aInitExpr);
     m_aInitExprs.add (aVar);
+    JStructuralHashCache.link (aVar, m_aStructuralHashCache);
     return aVar;
   }
 
@@ -85,6 +91,7 @@ public class JForLoop implements IJStatement
   {
     final JAssignment aAssignment = JExpr.assign (aVar, aRhs);
     m_aInitExprs.add (aAssignment);
+    m_aStructuralHashCache.invalidate ();
   }
 
   /**
@@ -99,6 +106,7 @@ public class JForLoop implements IJStatement
   public void test (@Nullable final IJExpression aTestExpr)
   {
     m_aTestExpr = aTestExpr;
+    m_aStructuralHashCache.invalidate ();
   }
 
   @Nullable
@@ -111,6 +119,7 @@ public class JForLoop implements IJStatement
   {
     JCValueEnforcer.notNull (aUpdate, "Update");
     m_aUpdateExprs.add (aUpdate);
+    m_aStructuralHashCache.invalidate ();
   }
 
   @Nonnull
@@ -123,10 +132,19 @@ public class JForLoop implements IJStatement
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     f.print ("for (");
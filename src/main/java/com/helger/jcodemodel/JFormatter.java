@@ -45,7 +45,6 @@ import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -57,6 +56,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import com.helger.jcodemodel.util.ClassNameComparator;
+import com.helger.jcodemodel.util.JCStructuralHashGenerator;
 import com.helger.jcodemodel.util.JCValueEnforcer;
 import com.helger.jcodemodel.util.NullWriter;
 
@@ -215,12 +215,15 @@ public class JFormatter implements Closeable
     PRINTING,
 
     /**
-     * Find any error types in output code. In this mode we don't actually
-     * generate anything. <br/>
-     * Only used by {@link JFormatter#containsErrorTypes(JDefinedClass)
-     * containsErrorTypes} method
+     * Feed all emitted tokens into a structural hash. In this mode we don't
+     * actually generate anything and no imports are resolved - types are
+     * always hashed with their fully qualified name. References to error types
+     * are recorded as well. <br/>
+     * Only used by {@link JFormatter#getStructuralHash(JDefinedClass)
+     * getStructuralHash} and {@link JFormatter#containsErrorTypes(JDefinedClass)
+     * containsErrorTypes} methods
      */
-    FIND_ERROR_TYPES
+    STRUCTURAL_HASH
   }
 
   private final class ImportedClasses
@@ -304,13 +307,16 @@ public class JFormatter implements Closeable
     {
       // Copy and sort
       final List <AbstractJClass> aImports = new ArrayList <> (m_aClasses);
-      Collections.sort (aImports, ClassNameComparator.getInstance ());
+      ClassNameComparator.sort (aImports);
       return aImports;
     }
   }
 
   public static final String DEFAULT_INDENT_SPACE = "    ";
 
+  /** Inserted between '*' and '/' to break comment terminators in comments */
+  private static final String COMMENT_TERMINATOR_ESCAPE = "<!---->";
+
   /**
    * Special character token we use to differentiate '&gt;' as an operator and
    * '&gt;' as the end of the type arguments. The former uses '&gt;' and it
@@ -358,11 +364,22 @@ public class JFormatter implements Closeable
   private JPackage m_aPckJavaLang;
 
   /**
-   * Only used by {@link JFormatter#containsErrorTypes(JDefinedClass)
-   * containsErrorTypes} method
+   * Only used in structural hash mode. Set if an error type was emitted.
    */
   private boolean m_bContainsErrorTypes;
 
+  /**
+   * Only used in structural hash mode. The code model of the hashed node. May
+   * be <code>null</code>.
+   */
+  private JCodeModel m_aStructuralHashOwner;
+
+  /**
+   * Only used by {@link JFormatter#getStructuralHash(JDefinedClass)
+   * getStructuralHash} method
+   */
+  private JCStructuralHashGenerator m_aStructuralHashGen;
+
   private boolean m_bDebugImport = false;
 
   /**
@@ -466,6 +483,32 @@ public class JFormatter implements Closeable
     return m_eMode == EMode.PRINTING;
   }
 
+  /**
+   * @return <code>true</code> if we are in the structural hash mode, where all
+   *         printed tokens are hashed instead of being written.
+   */
+  boolean isStructuralHashing ()
+  {
+    return m_eMode == EMode.STRUCTURAL_HASH;
+  }
+
+  /**
+   * Remember that a node without an own structural hash cache is emitted, if
+   * we are in the structural hash mode.
+   *
+   * @param aHashedIn
+   *        The previous marker of the node. May be <code>null</code>.
+   * @return The new marker of the node.
+   * @see JStructuralHashCache#markHashed(Object, JCodeModel)
+   */
+  @Nullable
+  Object internalMarkHashed (@Nullable final Object aHashedIn)
+  {
+    if (m_eMode != EMode.STRUCTURAL_HASH)
+      return aHashedIn;
+    return JStructuralHashCache.markHashed (aHashedIn, m_aStructuralHashOwner);
+  }
+
   /**
    * Decrement the indentation level.
    *
@@ -555,6 +598,48 @@ public class JFormatter implements Closeable
     return false;
   }
 
+  private void _hashToken (final char c)
+  {
+    // Token separator, so that "ab" and "a" "b" differ
+    m_aStructuralHashGen.append (c).append ('\0');
+  }
+
+  private void _hashToken (@Nonnull final String sStr)
+  {
+    m_aStructuralHashGen.append (sStr).append ('\0');
+  }
+
+  /**
+   * Hash a node with an own structural hash cache. If the cache is not valid,
+   * the node is hashed into a separate generator and the result is stored in
+   * the cache together with the information whether the node references error
+   * types. The cached hash is than appended to the current generator.
+   */
+  private void _hashCached (@Nonnull final JStructuralHashCache aCache, @Nonnull final Runnable aEmitter)
+  {
+    if (!aCache.isValid ())
+    {
+      final JCStructuralHashGenerator aOuterGen = m_aStructuralHashGen;
+      final boolean bOuterContainsErrorTypes = m_bContainsErrorTypes;
+      m_aStructuralHashGen = new JCStructuralHashGenerator ();
+      m_bContainsErrorTypes = false;
+      try
+      {
+        aEmitter.run ();
+        aCache.setHash (m_aStructuralHashGen.getHash (), m_bContainsErrorTypes, m_aStructuralHashOwner);
+      }
+      finally
+      {
+        m_aStructuralHashGen = aOuterGen;
+        m_bContainsErrorTypes = bOuterContainsErrorTypes;
+      }
+    }
+    aCache.markUsed (m_aStructuralHashOwner);
+    m_aStructuralHashGen.append (aCache.getHash ()).append ('\0');
+    if (aCache.containsErrorTypes ())
+      m_bContainsErrorTypes = true;
+  }
+
   private void _spaceIfNeeded (final char c)
   {
     if (m_bAtBeginningOfLine)
@@ -578,19 +663,24 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter print (final char c)
   {
-    if (m_eMode == EMode.PRINTING)
+    if (m_eMode == EMode.STRUCTURAL_HASH)
     {
-      if (c == CLOSE_TYPE_ARGS)
-      {
-        m_aPW.print ('>');
-      }
-      else
+      _hashToken (c);
+    }
+    else
+      if (m_eMode == EMode.PRINTING)
       {
-        _spaceIfNeeded (c);
-        m_aPW.print (c);
+        if (c == CLOSE_TYPE_ARGS)
+        {
+          m_aPW.print ('>');
+        }
+        else
+        {
+          _spaceIfNeeded (c);
+          m_aPW.print (c);
+        }
+        m_cLastChar = c;
       }
-      m_cLastChar = c;
-    }
     return this;
   }
 
@@ -604,12 +694,151 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter print (@Nonnull final String sStr)
   {
-    if (m_eMode == EMode.PRINTING && sStr.length () > 0)
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+    {
+      _hashToken (sStr);
+    }
+    else
+      if (m_eMode == EMode.PRINTING && sStr.length () > 0)
+      {
+        _spaceIfNeeded (sStr.charAt (0));
+        m_aPW.print (sStr);
+        m_cLastChar = sStr.charAt (sStr.length () - 1);
+      }
+    return this;
+  }
+
+  private void _printEscaped (final char c)
+  {
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+      m_aStructuralHashGen.append (c);
+    else
+      m_aPW.print (c);
+  }
+
+  /**
+   * Print a string surrounded by the passed quote char and escaped as a Java
+   * literal. The result is identical to printing
+   * {@link JExpr#quotify(char, String)}, but the escaped characters are
+   * written directly without creating intermediate objects.
+   *
+   * @param cQuote
+   *        Quote char. Either single quote (') or double quote (")
+   * @param sStr
+   *        Source string to quote. May not be <code>null</code>.
+   * @return this for chaining
+   * @since 3.0.3
+   */
+  @Nonnull
+  public JFormatter printQuoted (final char cQuote, @Nonnull final String sStr)
+  {
+    if (m_eMode == EMode.PRINTING)
+    {
+      _spaceIfNeeded (cQuote);
+      m_cLastChar = cQuote;
+    }
+    else
+      if (m_eMode != EMode.STRUCTURAL_HASH)
+        return this;
+
+    _printEscaped (cQuote);
+    final int nFirstEscape = JExpr.getFirstEscapeIndex (cQuote, sStr);
+    if (nFirstEscape < 0)
+    {
+      // Fast path: nothing to escape
+      if (m_eMode == EMode.STRUCTURAL_HASH)
+        m_aStructuralHashGen.append (sStr);
+      else
+        m_aPW.print (sStr);
+    }
+    else
+    {
+      if (m_eMode == EMode.STRUCTURAL_HASH)
+        m_aStructuralHashGen.append (sStr, 0, nFirstEscape);
+      else
+        m_aPW.print (sStr, 0, nFirstEscape);
+      final int n = sStr.length ();
+      for (int i = nFirstEscape; i < n; i++)
+      {
+        final char c = sStr.charAt (i);
+        final char cEscape = JExpr.getEscape (cQuote, c);
+        if (cEscape == 0)
+          _printEscaped (c);
+        else
+        {
+          _printEscaped ('\\');
+          if (cEscape == 'u')
+          {
+            _printEscaped ('u');
+            _printEscaped (JExpr.HEX_DIGITS[(c >> 12) & 0xf]);
+            _printEscaped (JExpr.HEX_DIGITS[(c >> 8) & 0xf]);
+            _printEscaped (JExpr.HEX_DIGITS[(c >> 4) & 0xf]);
+            _printEscaped (JExpr.HEX_DIGITS[c & 0xf]);
+          }
+          else
+            _printEscaped (cEscape);
+        }
+      }
+    }
+    _printEscaped (cQuote);
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+      m_aStructuralHashGen.append ('\0');
+    return this;
+  }
+
+  private void _printRange (@Nonnull final String sStr, final int nStart, final int nEnd)
+  {
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+      m_aStructuralHashGen.append (sStr, nStart, nEnd);
+    else
+      m_aPW.print (sStr, nStart, nEnd - nStart);
+  }
+
+  /**
+   * Print a part of a comment text. Every appearance of the comment terminator
+   * <code>*&#47;</code> is escaped as <code>*&lt;!----&gt;&#47;</code>. The
+   * result is identical to printing the escaped substring, but the text is
+   * written directly in a single pass without creating intermediate objects.
+   * The text part may not contain line breaks.
+   *
+   * @param sStr
+   *        Source string. May not be <code>null</code>.
+   * @param nStart
+   *        Index of the first char to print (inclusive).
+   * @param nEnd
+   *        Index of the last char to print (exclusive).
+   * @return this for chaining
+   * @since 3.0.3
+   */
+  @Nonnull
+  public JFormatter printCommentText (@Nonnull final String sStr, final int nStart, final int nEnd)
+  {
+    if (nStart >= nEnd)
+      return this;
+
+    if (m_eMode == EMode.PRINTING)
     {
-      _spaceIfNeeded (sStr.charAt (0));
-      m_aPW.print (sStr);
-      m_cLastChar = sStr.charAt (sStr.length () - 1);
+      _spaceIfNeeded (sStr.charAt (nStart));
+      m_cLastChar = sStr.charAt (nEnd - 1);
     }
+    else
+      if (m_eMode != EMode.STRUCTURAL_HASH)
+        return this;
+
+    // Only scan the range itself, so that printing all lines of a long text
+    // stays linear
+    int nSegmentStart = nStart;
+    for (int i = nStart + 1; i < nEnd; ++i)
+      if (sStr.charAt (i) == '/' && sStr.charAt (i - 1) == '*')
+      {
+        // Print including the '*'
+        _printRange (sStr, nSegmentStart, i);
+        _printRange (COMMENT_TERMINATOR_ESCAPE, 0, COMMENT_TERMINATOR_ESCAPE.length ());
+        nSegmentStart = i;
+      }
+    _printRange (sStr, nSegmentStart, nEnd);
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+      m_aStructuralHashGen.append ('\0');
     return this;
   }
 
@@ -634,6 +863,10 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter type (@Nonnull final AbstractJClass aType)
   {
+    // Deduplicated classes are replaced by their shared copy
+    if (aType instanceof JDefinedClass && ((JDefinedClass) aType).sharedCopy () != null)
+      return type (((JDefinedClass) aType).sharedCopy ());
+
     switch (m_eMode)
     {
       case COLLECTING:
@@ -676,9 +909,21 @@ public class JFormatter implements Closeable
             }
           }
         break;
-      case FIND_ERROR_TYPES:
+      case STRUCTURAL_HASH:
+        // Error types are printed as "Object", but must not hash like it
         if (aType.isError ())
+        {
           m_bContainsErrorTypes = true;
+          _hashToken ("<error>");
+          if (aType instanceof JErrorClass)
+          {
+            final JErrorClass aErrorClass = (JErrorClass) aType;
+            _hashToken (String.valueOf (aErrorClass.name ()));
+            _hashToken (aErrorClass.getMessage ());
+          }
+        }
+        else
+          _hashToken (aType.fullName ());
         break;
     }
     return this;
@@ -709,6 +954,7 @@ public class JFormatter implements Closeable
         aUsages.setVariableName ();
         break;
       case PRINTING:
+      case STRUCTURAL_HASH:
         print (sID);
         break;
     }
@@ -723,12 +969,15 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter newline ()
   {
-    if (m_eMode == EMode.PRINTING)
-    {
-      m_aPW.println ();
-      m_cLastChar = 0;
-      m_bAtBeginningOfLine = true;
-    }
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+      _hashToken ('\n');
+    else
+      if (m_eMode == EMode.PRINTING)
+      {
+        m_aPW.println ();
+        m_cLastChar = 0;
+        m_bAtBeginningOfLine = true;
+      }
     return this;
   }
 
@@ -742,7 +991,10 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter generable (@Nonnull final IJGenerable g)
   {
-    g.generate (this);
+    if (m_eMode == EMode.STRUCTURAL_HASH && (g instanceof JBlock || g instanceof JCatchBlock))
+      _hashCached (JStructuralHashCache.of (g), () -> g.generate (this));
+    else
+      g.generate (this);
     return this;
   }
 
@@ -781,10 +1033,32 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter declaration (@Nonnull final IJDeclaration d)
   {
-    d.declare (this);
+    // The cache of an anonymous class holds the hash of its body only
+    if (m_eMode == EMode.STRUCTURAL_HASH &&
+        (d instanceof JMethod || (d instanceof JDefinedClass && !((JDefinedClass) d).isAnonymous ())))
+      _hashCached (JStructuralHashCache.of (d), () -> d.declare (this));
+    else
+      d.declare (this);
     return this;
   }
 
+  /**
+   * Print the body of an anonymous class as part of the expression that creates
+   * it. When hashing, the body is hashed via the cache of the anonymous class,
+   * so that a later modification of the class invalidates the hashes of the
+   * code model it was hashed in.
+   *
+   * @param aClass
+   *        The anonymous class. May not be <code>null</code>.
+   */
+  void internalAnonymousClassBody (@Nonnull final JDefinedClass aClass)
+  {
+    if (m_eMode == EMode.STRUCTURAL_HASH)
+      _hashCached (aClass.structuralHashCache (), () -> aClass.declareBody (this));
+    else
+      aClass.declareBody (this);
+  }
+
   /**
    * Cause the JStatement to generate source for itself
    *
@@ -795,7 +1069,13 @@ public class JFormatter implements Closeable
   @Nonnull
   public JFormatter statement (@Nonnull final IJStatement aStmt)
   {
-    aStmt.state (this);
+    final JStructuralHashCache aCache;
+    if (m_eMode == EMode.STRUCTURAL_HASH &&
+        !(aStmt instanceof JBlock) &&
+        (aCache = JStructuralHashCache.of (aStmt)) != null)
+      _hashCached (aCache, () -> aStmt.state (this));
+    else
+      aStmt.state (this);
     return this;
   }
 
@@ -1106,12 +1386,124 @@ public class JFormatter implements Closeable
         m_aImportedClasses.addDontImportClass (aClass);
   }
 
-  public static boolean containsErrorTypes (@Nonnull final JDefinedClass aClass)
+  @Nonnull
+  private static JFormatter _createStructuralHashFormatter (@Nullable final JCodeModel aOwner)
   {
     final JFormatter aFormatter = new JFormatter (NullWriter.getInstance ());
-    aFormatter.m_eMode = EMode.FIND_ERROR_TYPES;
-    aFormatter.m_bContainsErrorTypes = false;
+    aFormatter.m_eMode = EMode.STRUCTURAL_HASH;
+    aFormatter.m_aStructuralHashOwner = aOwner;
+    aFormatter.m_aStructuralHashGen = new JCStructuralHashGenerator ();
+    return aFormatter;
+  }
+
+  /**
+   * Check if the passed class or any of its nested classes references an error
+   * type. The check is performed together with the structural hashing of the
+   * class, so the result is cached in the same way as the structural hash and
+   * only modified parts of the class need to be checked again.
+   *
+   * @param aClass
+   *        The class to check. May not be <code>null</code>.
+   * @return <code>true</code> if an error type is referenced.
+   * @see #getStructuralHash(JDefinedClass)
+   */
+  public static boolean containsErrorTypes (@Nonnull final JDefinedClass aClass)
+  {
+    final JFormatter aFormatter = _createStructuralHashFormatter (aClass.owner ());
     aFormatter.declaration (aClass);
     return aFormatter.m_bContainsErrorTypes;
   }
+
+  /**
+   * Check if the passed method references an error type. See
+   * {@link #containsErrorTypes(JDefinedClass)} for details.
+   *
+   * @param aMethod
+   *        The method to check. May not be <code>null</code>.
+   * @return <code>true</code> if an error type is referenced.
+   * @since 3.0.3
+   */
+  public static boolean containsErrorTypes (@Nonnull final JMethod aMethod)
+  {
+    final JFormatter aFormatter = _createStructuralHashFormatter (aMethod.owner ());
+    aFormatter.declaration (aMethod);
+    return aFormatter.m_bContainsErrorTypes;
+  }
+
+  /**
+   * Get a 64 bit structural hash of the passed class. The hash covers the
+   * header comment and the complete declaration including all nested classes,
+   * fields, methods and statements. Types are hashed with their fully
+   * qualified names, so the hash is independent of the import resolution. No
+   * source code is actually rendered. Two classes with the same structural
+   * hash generate the same source code with a very high probability.<br>
+   * The hashes of classes, methods, blocks and compound statements are cached
+   * in the respective objects, so that after a modification only the modified
+   * parts of the class need to be re-hashed. See
+   * {@link JDefinedClass#invalidateStructuralHash()} for modifications that
+   * are not tracked automatically.
+   *
+   * @param aClass
+   *        The class to hash. May not be <code>null</code>.
+   * @return The structural hash.
+   * @since 3.0.3
+   */
+  public static long getStructuralHash (@Nonnull final JDefinedClass aClass)
+  {
+    final JFormatter aFormatter = _createStructuralHashFormatter (aClass.owner ());
+    if (aClass.hasHeaderComment ())
+      aFormatter.generable (aClass.headerComment ());
+    aFormatter.declaration (aClass);
+    return aFormatter.m_aStructuralHashGen.getHash ();
+  }
+
+  /**
+   * Get a 64 bit structural hash of the package-info file of the passed
+   * package, consisting of the package javadoc and the package annotations.
+   * See {@link #getStructuralHash(JDefinedClass)} for details.
+   *
+   * @param aPackage
+   *        The package to hash. May not be <code>null</code>.
+   * @return The structural hash.
+   */
+  static long getPackageInfoStructuralHash (@Nonnull final JPackage aPackage)
+  {
+    final JFormatter aFormatter = _createStructuralHashFormatter (aPackage.owner ());
+    aPackage.internalGeneratePackageInfo (aFormatter);
+    return aFormatter.m_aStructuralHashGen.getHash ();
+  }
+
+  /**
+   * Get a 64 bit structural hash of the passed method. See
+   * {@link #getStructuralHash(JDefinedClass)} for details.
+   *
+   * @param aMethod
+   *        The method to hash. May not be <code>null</code>.
+   * @return The structural hash.
+   * @since 3.0.3
+   */
+  public static long getStructuralHash (@Nonnull final JMethod aMethod)
+  {
+    final JFormatter aFormatter = _createStructuralHashFormatter (aMethod.owner ());
+    aFormatter.declaration (aMethod);
+    return aFormatter.m_aStructuralHashGen.getHash ();
+  }
+
+  /**
+   * Get a 64 bit structural hash of the passed generable (e.g. a
+   * {@link JBlock}). See {@link #getStructuralHash(JDefinedClass)} for
+   * details.
+   *
+   * @param aGenerable
+   *        The generable to hash. May not be <code>null</code>.
+   * @return The structural hash.
+   * @since 3.0.3
+   */
+  public static long getStructuralHash (@Nonnull final IJGenerable aGenerable)
+  {
+    final JFormatter aFormatter = _createStructuralHashFormatter (aGenerable instanceof IJOwned ? ((IJOwned) aGenerable).owner ()
+                                                                                                 : null);
+    aFormatter.generable (aGenerable);
+    return aFormatter.m_aStructuralHashGen.getHash ();
+  }
 }
@@ -49,6 +49,7 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.helger.jcodemodel.util.JCHashCodeCalculator;
 import com.helger.jcodemodel.util.JCHashCodeGenerator;
 import com.helger.jcodemodel.util.JCValueEnforcer;
 
@@ -92,6 +93,12 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
    */
   private List <JTypeVar> m_aTypeVariables;
 
+  /**
+   * Where this invocation was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   /**
    * Invokes a method on an object.
    *
@@ -143,13 +150,15 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
                        @Nonnull final String sName)
   {
     JCValueEnforcer.notNull (sName, "Name");
-    JCValueEnforcer.isFalse (sName.indexOf ('.') >= 0, () -> "method name contains '.': " + sName);
+    JCValueEnforcer.isFalse (sName.indexOf ('.') >= 0, "method name contains '.'", sName);
     m_aOwner = aOwner;
     m_aObject = aObject;
     m_sMethodName = sName;
     m_aMethod = null;
     m_bIsConstructor = false;
     m_aConstructorType = null;
+    if (aObject instanceof AbstractJType)
+      JCodeModel.internalOnTypeAttached ((AbstractJType) aObject);
   }
 
   private JInvocation (@Nonnull final JCodeModel aOwner,
@@ -164,6 +173,8 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
     m_aMethod = aMethod;
     m_bIsConstructor = false;
     m_aConstructorType = null;
+    if (aObject instanceof AbstractJType)
+      JCodeModel.internalOnTypeAttached ((AbstractJType) aObject);
   }
 
   /**
@@ -183,6 +194,7 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
     m_aMethod = null;
     m_bIsConstructor = true;
     m_aConstructorType = aConstructorType;
+    JCodeModel.internalOnTypeAttached (aConstructorType);
   }
 
   @Nullable
@@ -208,6 +220,8 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
   {
     JCValueEnforcer.notNull (aArg, "Argument");
     m_aArgs.add (aArg);
+    // Expressions are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
@@ -366,6 +380,7 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
     if (m_aTypeVariables == null)
       m_aTypeVariables = new ArrayList <> (3);
     m_aTypeVariables.add (v);
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
@@ -382,6 +397,8 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
     if (m_aTypeVariables == null)
       m_aTypeVariables = new ArrayList <> (3);
     m_aTypeVariables.add (v);
+    JCodeModel.internalOnTypeAttached (aBound);
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
@@ -418,6 +435,10 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
 
   public void generate (@Nonnull final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
+    if (m_aMethod != null)
+      m_aMethod.internalMarkNameHashed (f);
+
     if (m_bIsConstructor)
     {
       if (m_aConstructorType.isArray ())
@@ -439,20 +460,31 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
     {
       // Not a constructor
       final String name = _methodName ();
+      final JMethod aSharedCopy = m_aMethod != null ? m_aMethod.sharedCopy () : null;
 
-      if (m_aObject != null)
+      if (aSharedCopy != null)
       {
-        // object.<generics> name (
-        f.generable (m_aObject).print ('.');
+        // Deduplicated static method
+        // SharedClass.<generics> name (
+        f.type (aSharedCopy.owningClass ()).print ('.');
         _addTypeVars (f);
-        f.print (name);
+        f.print (aSharedCopy.name ());
         f.print ('(');
       }
       else
-      {
-        // name (
-        f.id (name).print ('(');
-      }
+        if (m_aObject != null)
+        {
+          // object.<generics> name (
+          f.generable (m_aObject).print ('.');
+          _addTypeVars (f);
+          f.print (name);
+          f.print ('(');
+        }
+        else
+        {
+          // name (
+          f.id (name).print ('(');
+        }
     }
 
     // Method arguments
@@ -466,7 +498,7 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
 
     if (m_aConstructorType instanceof JDefinedClass && ((JDefinedClass) m_aConstructorType).isAnonymous ())
     {
-      ((JAnonymousClass) m_aConstructorType).declareBody (f);
+      f.internalAnonymousClassBody ((JDefinedClass) m_aConstructorType);
     }
   }
 
@@ -514,19 +546,21 @@ public class JInvocation implements IJExpressionStatement, IJOwnedMaybe
   @Override
   public int hashCode ()
   {
-    JCHashCodeGenerator hashCodeGenerator = new JCHashCodeGenerator (this).append (m_aObject).append (m_bIsConstructor);
+    // Same value as a JCHashCodeGenerator but without allocations
+    int ret = JCHashCodeGenerator.getInitialHashCode (getClass ());
+    ret = JCHashCodeCalculator.append (ret, m_aObject);
+    ret = JCHashCodeCalculator.append (ret, m_bIsConstructor);
     if (!m_bIsConstructor)
-      hashCodeGenerator = hashCodeGenerator.append (_methodName ());
-    hashCodeGenerator = hashCodeGenerator.append (m_aArgs).append (_typeFullName ());
+      ret = JCHashCodeCalculator.append (ret, _methodName ());
+    ret = JCHashCodeCalculator.append (ret, m_aArgs);
+    ret = JCHashCodeCalculator.append (ret, _typeFullName ());
     if (m_aTypeVariables != null)
     {
-      hashCodeGenerator = hashCodeGenerator.append (m_aTypeVariables.size ());
-      for (final JTypeVar typeVariable : m_aTypeVariables)
-      {
-        hashCodeGenerator = hashCodeGenerator.append (typeVariable.fullName ());
-      }
+      ret = JCHashCodeCalculator.append (ret, m_aTypeVariables.size ());
+      for (final JTypeVar aTypeVariable : m_aTypeVariables)
+        ret = JCHashCodeCalculator.append (ret, aTypeVariable.fullName ());
     }
-    return hashCodeGenerator.getHashCode ();
+    return ret == JCHashCodeGenerator.ILLEGAL_HASHCODE ? -1 : ret;
   }
 
   /**
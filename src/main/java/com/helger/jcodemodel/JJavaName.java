@@ -40,8 +40,6 @@
  */
 package com.helger.jcodemodel;
 
-import java.util.HashSet;
-
 import javax.annotation.Nonnull;
 
 /**
@@ -49,8 +47,29 @@ import javax.annotation.Nonnull;
  */
 public final class JJavaName
 {
-  /** All reserved keywords of Java. */
-  private static final HashSet <String> RESERVED_KEYWORDS = new HashSet <> ();
+  /**
+   * All reserved keywords of Java, stored at the index of their perfect hash
+   * (see {@link #_getKeywordHash(String, int, int)}).
+   */
+  private static final String [] RESERVED_KEYWORDS = new String [256];
+
+  private static final int KEYWORD_MIN_LEN = 2;
+  private static final int KEYWORD_MAX_LEN = 12;
+
+  /** Bit in {@link #ASCII_CHARS} for chars that may start an identifier */
+  private static final byte IDENTIFIER_START = 1;
+  /** Bit in {@link #ASCII_CHARS} for chars that may be part of an identifier */
+  private static final byte IDENTIFIER_PART = 2;
+  private static final byte [] ASCII_CHARS = new byte [128];
+
+  /**
+   * Bounded caches of names that were already found to be valid. The caches
+   * are direct mapped by the hash code of the name. As Strings are immutable,
+   * concurrent access can at worst lead to a cache miss.
+   */
+  private static final int CACHE_SIZE = 4096;
+  private static final String [] VALID_IDENTIFIERS = new String [CACHE_SIZE];
+  private static final String [] VALID_PACKAGE_NAMES = new String [CACHE_SIZE];
 
   static
   {
@@ -116,12 +135,87 @@ public final class JJavaName
                                                 "assert",
                                                 "enum" };
     for (final String sKeyword : aKeyWords)
-      RESERVED_KEYWORDS.add (sKeyword);
+    {
+      final int nHash = _getKeywordHash (sKeyword, 0, sKeyword.length ());
+      if (RESERVED_KEYWORDS[nHash] != null)
+        throw new IllegalStateException ("Keyword hash is not perfect: " + sKeyword);
+      RESERVED_KEYWORDS[nHash] = sKeyword;
+    }
+
+    for (char c = 0; c < ASCII_CHARS.length; ++c)
+      ASCII_CHARS[c] = (byte) ((Character.isJavaIdentifierStart (c) ? IDENTIFIER_START : 0) |
+                               (Character.isJavaIdentifierPart (c) ? IDENTIFIER_PART : 0));
   }
 
   private JJavaName ()
   {}
 
+  private static int _getKeywordHash (@Nonnull final String sStr, final int nStart, final int nEnd)
+  {
+    // Collision free for all keywords - verified in the static initializer
+    return (sStr.charAt (nStart) * 5 + sStr.charAt (nStart + 1) * 77 + sStr.charAt (nEnd - 1) + (nEnd - nStart) * 7) &
+           0xff;
+  }
+
+  private static boolean _isKeyword (@Nonnull final String sStr, final int nStart, final int nEnd)
+  {
+    final int nLen = nEnd - nStart;
+    if (nLen < KEYWORD_MIN_LEN || nLen > KEYWORD_MAX_LEN)
+      return false;
+    final String sKeyword = RESERVED_KEYWORDS[_getKeywordHash (sStr, nStart, nEnd)];
+    return sKeyword != null && sKeyword.length () == nLen && sStr.regionMatches (nStart, sKeyword, 0, nLen);
+  }
+
+  private static boolean _isIdentifierStart (final char c)
+  {
+    return c < 128 ? (ASCII_CHARS[c] & IDENTIFIER_START) != 0 : Character.isJavaIdentifierStart (c);
+  }
+
+  private static boolean _isIdentifierPart (final char c)
+  {
+    return c < 128 ? (ASCII_CHARS[c] & IDENTIFIER_PART) != 0 : Character.isJavaIdentifierPart (c);
+  }
+
+  /**
+   * Get the index of the first char in the passed range, that is not valid
+   * for an identifier at its position. Keywords are not considered.
+   *
+   * @param sStr
+   *        Source string. May not be <code>null</code>.
+   * @param nStart
+   *        Index of the first char (inclusive).
+   * @param nEnd
+   *        Index of the last char (exclusive).
+   * @return -1 if all chars are valid and the range is not empty.
+   */
+  static int getFirstInvalidIdentifierCharIndex (@Nonnull final String sStr, final int nStart, final int nEnd)
+  {
+    if (nStart >= nEnd)
+      return nStart;
+    if (!_isIdentifierStart (sStr.charAt (nStart)))
+      return nStart;
+    for (int i = nStart + 1; i < nEnd; i++)
+      if (!_isIdentifierPart (sStr.charAt (i)))
+        return i;
+    return -1;
+  }
+
+  private static boolean _isJavaIdentifier (@Nonnull final String sStr, final int nStart, final int nEnd)
+  {
+    return getFirstInvalidIdentifierCharIndex (sStr, nStart, nEnd) < 0 && !_isKeyword (sStr, nStart, nEnd);
+  }
+
+  private static boolean _isCached (@Nonnull final String [] aCache, @Nonnull final String sStr)
+  {
+    final String sCached = aCache[sStr.hashCode () & (CACHE_SIZE - 1)];
+    return sCached == sStr || sStr.equals (sCached);
+  }
+
+  private static void _cache (@Nonnull final String [] aCache, @Nonnull final String sStr)
+  {
+    aCache[sStr.hashCode () & (CACHE_SIZE - 1)] = sStr;
+  }
+
   /**
    * Checks if a given string is usable as a Java identifier.
    *
@@ -131,18 +225,11 @@ public final class JJavaName
    */
   public static boolean isJavaIdentifier (@Nonnull final String sStr)
   {
-    if (sStr.length () == 0)
-      return false;
-    if (RESERVED_KEYWORDS.contains (sStr))
-      return false;
-
-    if (!Character.isJavaIdentifierStart (sStr.charAt (0)))
+    if (_isCached (VALID_IDENTIFIERS, sStr))
+      return true;
+    if (!_isJavaIdentifier (sStr, 0, sStr.length ()))
       return false;
-
-    for (int i = 1; i < sStr.length (); i++)
-      if (!Character.isJavaIdentifierPart (sStr.charAt (i)))
-        return false;
-
+    _cache (VALID_IDENTIFIERS, sStr);
     return true;
   }
 
@@ -167,22 +254,22 @@ public final class JJavaName
    */
   public static boolean isJavaPackageName (final String sName)
   {
-    String s = sName;
-    while (s.length () != 0)
+    if (_isCached (VALID_PACKAGE_NAMES, sName))
+      return true;
+
+    // Check each segment in place; a trailing dot is accepted
+    final int nLen = sName.length ();
+    int nStart = 0;
+    while (nStart < nLen)
     {
-      int idx = s.indexOf ('.');
-      if (idx == -1)
-        idx = s.length ();
-      if (!isJavaIdentifier (s.substring (0, idx)))
+      int nEnd = sName.indexOf ('.', nStart);
+      if (nEnd < 0)
+        nEnd = nLen;
+      if (!_isJavaIdentifier (sName, nStart, nEnd))
         return false;
-
-      s = s.substring (idx);
-      if (s.length () != 0)
-      {
-        // remove '.'
-        s = s.substring (1);
-      }
+      nStart = nEnd + 1;
     }
+    _cache (VALID_PACKAGE_NAMES, sName);
     return true;
   }
 }
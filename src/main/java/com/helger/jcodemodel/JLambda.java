@@ -61,6 +61,12 @@ public class JLambda implements IJExpression
   private final List <JLambdaParam> m_aParams = new ArrayList <> ();
   private final JLambdaBlock m_aBodyStatement = new JLambdaBlock ();
 
+  /**
+   * Where this lambda was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   /**
    * Create an empty lambda without any parameter.
    */
@@ -77,9 +83,7 @@ public class JLambda implements IJExpression
   @Nonnull
   public JLambdaParam addParam (@Nonnull final String sName)
   {
-    final JLambdaParam aParam = new JLambdaParam ((AbstractJType) null, sName);
-    m_aParams.add (aParam);
-    return aParam;
+    return internalAddParam (new JLambdaParam ((AbstractJType) null, sName));
   }
 
   /**
@@ -94,8 +98,15 @@ public class JLambda implements IJExpression
   @Nonnull
   public JLambdaParam addParam (@Nullable final AbstractJType aType, @Nonnull final String sName)
   {
-    final JLambdaParam aParam = new JLambdaParam (aType, sName);
+    return internalAddParam (new JLambdaParam (aType, sName));
+  }
+
+  @Nonnull
+  JLambdaParam internalAddParam (@Nonnull final JLambdaParam aParam)
+  {
     m_aParams.add (aParam);
+    // Expressions are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return aParam;
   }
 
@@ -123,6 +134,7 @@ public class JLambda implements IJExpression
 
   public void generate (@Nonnull final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
     final int nParams = m_aParams.size ();
     if (nParams > 0)
     {
@@ -52,6 +52,12 @@ import com.helger.jcodemodel.util.JCValueEnforcer;
  */
 public class JLambdaBlock extends JBlock
 {
+  public JLambdaBlock ()
+  {
+    // The lambda body is part of an expression
+    structuralHashCache ().setDetached ();
+  }
+
   /**
    * Remove all existing expressions and only add the provided expression
    *
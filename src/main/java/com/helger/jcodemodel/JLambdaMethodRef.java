@@ -72,7 +72,7 @@ public class JLambdaMethodRef implements IJExpression
   public JLambdaMethodRef (@Nonnull final JMethod aMethod)
   {
     JCValueEnforcer.notNull (aMethod, "Method");
-    JCValueEnforcer.isTrue (aMethod.mods ().isStatic (),
+    JCValueEnforcer.isTrue (aMethod.internalGetMods ().isStatic (),
                             "Only static methods can be used with this constructor. Use the constructor with JVar for instance methods.");
 
     m_bStatic = true;
@@ -117,6 +117,7 @@ public class JLambdaMethodRef implements IJExpression
     m_aInvocation = null;
     m_aMethod = null;
     m_sMethodName = sMethod;
+    JCodeModel.internalOnTypeAttached (aType);
   }
 
   /**
@@ -155,7 +156,7 @@ public class JLambdaMethodRef implements IJExpression
   {
     JCValueEnforcer.notNull (aVar, "Var");
     JCValueEnforcer.notNull (aMethod, "Method");
-    JCValueEnforcer.isFalse (aMethod.mods ().isStatic (),
+    JCValueEnforcer.isFalse (aMethod.internalGetMods ().isStatic (),
                              "Only instance methods can be used with this constructor. Use the constructor with JMethod only for static methods.");
 
     m_bStatic = false;
@@ -200,7 +201,7 @@ public class JLambdaMethodRef implements IJExpression
   {
     JCValueEnforcer.notNull (aInvocation, "Invocation");
     JCValueEnforcer.notNull (aMethod, "Method");
-    JCValueEnforcer.isFalse (aMethod.mods ().isStatic (),
+    JCValueEnforcer.isFalse (aMethod.internalGetMods ().isStatic (),
                              "Only instance methods can be used with this constructor. Use the constructor with JMethod only for static methods.");
 
     m_bStatic = false;
@@ -279,6 +280,8 @@ public class JLambdaMethodRef implements IJExpression
         f.generable (m_aVar);
       else
         f.generable (m_aInvocation);
+    if (m_aMethod != null)
+      m_aMethod.internalMarkNameHashed (f);
     f.print ("::").print (methodName ());
   }
 }
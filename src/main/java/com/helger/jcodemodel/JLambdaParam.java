@@ -43,8 +43,6 @@ package com.helger.jcodemodel;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.helger.jcodemodel.util.JCValueEnforcer;
-
 /**
  * This represent a single parameter to a Java 8 lambda expression.
  *
@@ -58,9 +56,16 @@ public class JLambdaParam implements IJAssignmentTarget, IJDeclaration
 
   public JLambdaParam (@Nullable final AbstractJType aType, @Nonnull final String sName)
   {
-    JCValueEnforcer.isTrue (JJavaName.isJavaIdentifier (sName), () -> "Illegal variable name '" + sName + "'");
+    this (aType, sName, true);
+  }
+
+  JLambdaParam (@Nullable final AbstractJType aType, @Nonnull final String sName, final boolean bValidate)
+  {
+    if (bValidate)
+      JVar.checkName (sName);
     m_aType = aType;
     m_sName = sName;
+    JCodeModel.internalOnTypeAttached (aType);
   }
 
   @Nullable
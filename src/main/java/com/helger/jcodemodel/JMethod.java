@@ -46,13 +46,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.helger.jcodemodel.util.ClassNameComparator;
 import com.helger.jcodemodel.util.JCValueEnforcer;
 
 /**
@@ -63,7 +61,7 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   /**
    * Modifiers for this method
    */
-  private final JMods m_aMods;
+  private JMods m_aMods;
 
   /**
    * Return type for this method
@@ -84,7 +82,7 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
    * Set of exceptions that this method may throw. A set instance lazily
    * created.
    */
-  private Set <AbstractJClass> m_aThrows;
+  private JSortedClassSet m_aThrows;
 
   /**
    * JBlock of statements that makes up the body this method
@@ -113,6 +111,25 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
    */
   private IJExpression m_aDefaultValue;
 
+  /**
+   * The cached structural hash of this method.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
+  /**
+   * Where the name of this method was structurally hashed as part of an
+   * invocation or a method reference. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aNameHashedIn;
+
+  /**
+   * The shared copy of this method, if this method was deduplicated by
+   * {@link JCodeModelDeduplicator}. Invocations of this method are redirected
+   * to the shared copy.
+   */
+  private JMethod m_aSharedCopy;
+
   /**
    * Constructor for regular methods
    *
@@ -133,10 +150,11 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
     JCValueEnforcer.notNull (aOwningClass, "OwningClass");
     JCValueEnforcer.notNull (aReturnType, "ReturnType");
     JCValueEnforcer.notEmpty (sName, "Name");
-    m_aMods = JMods.forMethod (nMods);
+    m_aMods = JMods.internalSharedForMethod (nMods);
     m_aReturnType = aReturnType;
     m_sName = sName;
     m_aOwningClass = aOwningClass;
+    JCodeModel.internalOnTypeAttached (aReturnType);
   }
 
   /**
@@ -150,12 +168,107 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   protected JMethod (final int nMods, @Nonnull final JDefinedClass aClass)
   {
     JCValueEnforcer.notNull (aClass, "Class");
-    m_aMods = JMods.forMethod (nMods);
+    m_aMods = JMods.internalSharedForMethod (nMods);
     m_aReturnType = null;
     m_sName = aClass.name ();
     m_aOwningClass = aClass;
   }
 
+  /**
+   * Constructor for a public copy of a static method in another class. The
+   * parameters, the body and all other parts are taken over from the source
+   * method, so the source method should not be used afterwards.
+   *
+   * @param aOwningClass
+   *        The class to which the copy belongs. May not be <code>null</code>.
+   * @param aSrc
+   *        The method to be copied. May not be <code>null</code>.
+   * @param sName
+   *        Name of the copy. May neither be <code>null</code> nor empty.
+   */
+  JMethod (@Nonnull final JDefinedClass aOwningClass, @Nonnull final JMethod aSrc, @Nonnull final String sName)
+  {
+    this (aOwningClass,
+          (aSrc.m_aMods.getValue () & ~(JMod.PRIVATE | JMod.PROTECTED)) | JMod.PUBLIC,
+          aSrc.m_aReturnType,
+          sName);
+    for (final JVar aParam : aSrc.m_aParams)
+    {
+      m_aParams.add (aParam);
+      JStructuralHashCache.link (aParam, m_aStructuralHashCache);
+    }
+    if (aSrc.m_aThrows != null)
+    {
+      m_aThrows = new JSortedClassSet (aSrc.m_aThrows);
+    }
+    m_aBody = aSrc.m_aBody;
+    JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    m_aJDoc = aSrc.m_aJDoc;
+    m_aVarParam = aSrc.m_aVarParam;
+    JStructuralHashCache.link (m_aVarParam, m_aStructuralHashCache);
+    if (aSrc.m_aAnnotations != null)
+      m_aAnnotations = new ArrayList <> (aSrc.m_aAnnotations);
+    m_aDefaultValue = aSrc.m_aDefaultValue;
+  }
+
+  /**
+   * Replace the body of this method with a static invocation of the passed
+   * method, that has the same signature. If the parameters and the body of
+   * this method were taken over by the passed method (see
+   * {@link #JMethod(JDefinedClass, JMethod, String)}), new parameters are
+   * created.
+   *
+   * @param aTarget
+   *        The static method to delegate to. May not be <code>null</code>.
+   */
+  void internalDelegateTo (@Nonnull final JMethod aTarget)
+  {
+    if (aTarget.m_aBody == m_aBody)
+    {
+      for (int i = 0; i < m_aParams.size (); ++i)
+      {
+        final JVar aParam = new JVar (m_aParams.get (i));
+        m_aParams.set (i, aParam);
+        JStructuralHashCache.link (aParam, m_aStructuralHashCache);
+      }
+      if (m_aVarParam != null)
+      {
+        m_aVarParam = new JVar (m_aVarParam);
+        JStructuralHashCache.link (m_aVarParam, m_aStructuralHashCache);
+      }
+    }
+
+    final JInvocation aInvocation = aTarget.owningClass ().staticInvoke (aTarget);
+    for (final JVar aParam : m_aParams)
+      aInvocation.arg (aParam);
+    if (m_aVarParam != null)
+      aInvocation.arg (m_aVarParam);
+
+    m_aBody = new JBlock ();
+    if (m_aReturnType == owner ().VOID)
+      m_aBody.add (aInvocation);
+    else
+      m_aBody._return (aInvocation);
+    JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+  }
+
+  /**
+   * @return The shared copy of this method, if it was deduplicated.
+   *         <code>null</code> otherwise.
+   * @see JCodeModelDeduplicator
+   * @since 3.0.3
+   */
+  @Nullable
+  public JMethod sharedCopy ()
+  {
+    return m_aSharedCopy;
+  }
+
+  void setSharedCopy (@Nullable final JMethod aSharedCopy)
+  {
+    m_aSharedCopy = aSharedCopy;
+  }
+
   public boolean isConstructor ()
   {
     return m_aReturnType == null;
@@ -180,8 +293,10 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   public JMethod _throws (@Nonnull final AbstractJClass aException)
   {
     if (m_aThrows == null)
-      m_aThrows = new TreeSet <> (ClassNameComparator.getInstance ());
+      m_aThrows = new JSortedClassSet ();
     m_aThrows.add (aException);
+    JCodeModel.internalOnTypeAttached (aException);
+    m_aStructuralHashCache.invalidate ();
     return this;
   }
 
@@ -223,8 +338,14 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   @Nonnull
   public JVar param (final int nMods, @Nonnull final AbstractJType aType, @Nonnull final String sName)
   {
-    final JVar aVar = new JVar (JMods.forVar (nMods), aType, sName, null);
+    return internalAddParam (new JVar (JMods.internalSharedForVar (nMods), aType, sName, null));
+  }
+
+  @Nonnull
+  JVar internalAddParam (@Nonnull final JVar aVar)
+  {
     m_aParams.add (aVar);
+    JStructuralHashCache.link (aVar, m_aStructuralHashCache);
     return aVar;
   }
 
@@ -330,7 +451,8 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
                                             "Check if varParam method of JMethod is" +
                                             " invoked more than once");
 
-    m_aVarParam = new JVar (JMods.forVar (nMods), aType.array (), sName, null);
+    m_aVarParam = new JVar (JMods.internalSharedForVar (nMods), aType.array (), sName, null);
+    JStructuralHashCache.link (m_aVarParam, m_aStructuralHashCache);
     return m_aVarParam;
   }
 
@@ -374,6 +496,7 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
       m_aAnnotations = new ArrayList <> ();
     final JAnnotationUse a = new JAnnotationUse (aClazz);
     m_aAnnotations.add (a);
+    m_aStructuralHashCache.invalidate ();
     return a;
   }
 
@@ -413,6 +536,21 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   {
     JCValueEnforcer.notEmpty (sName, "Name");
     m_sName = sName;
+    m_aStructuralHashCache.invalidate ();
+    // All invocations of this method are affected
+    m_aNameHashedIn = JStructuralHashCache.invalidateHashed (m_aNameHashedIn);
+  }
+
+  /**
+   * Called if the name of this method is emitted as part of an invocation or
+   * a method reference.
+   *
+   * @param f
+   *        The formatter used. May not be <code>null</code>.
+   */
+  void internalMarkNameHashed (@Nonnull final JFormatter f)
+  {
+    m_aNameHashedIn = f.internalMarkHashed (m_aNameHashedIn);
   }
 
   /**
@@ -434,6 +572,8 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   public void type (@Nullable final AbstractJType aReturnType)
   {
     m_aReturnType = aReturnType;
+    JCodeModel.internalOnTypeAttached (aReturnType);
+    m_aStructuralHashCache.invalidate ();
   }
 
   /**
@@ -503,7 +643,10 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
@@ -516,16 +659,74 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
   public void declareDefaultValue (@Nullable final IJExpression aDefaultValue)
   {
     m_aDefaultValue = aDefaultValue;
+    m_aStructuralHashCache.invalidate ();
   }
 
   @Nonnull
   public JDocComment javadoc ()
   {
     if (m_aJDoc == null)
+    {
       m_aJDoc = new JDocComment (owner ());
+      m_aStructuralHashCache.invalidate ();
+    }
     return m_aJDoc;
   }
 
+  @Override
+  @Nonnull
+  public JTypeVar generify (@Nonnull final String sName)
+  {
+    final JTypeVar ret = super.generify (sName);
+    m_aStructuralHashCache.invalidate ();
+    return ret;
+  }
+
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
+  /**
+   * @return The structural hash of this method. The hash is cached and only
+   *         re-calculated after a modification of this method.
+   * @see JFormatter#getStructuralHash(JMethod)
+   * @since 3.0.3
+   */
+  public long structuralHash ()
+  {
+    return JFormatter.getStructuralHash (this);
+  }
+
+  /**
+   * Invalidate the cached structural hash of this method and of the enclosing
+   * class. This is only required after modifications that are not tracked
+   * automatically, like changes to custom {@link IJExpression} or
+   * {@link IJStatement} implementations used in this method.
+   *
+   * @since 3.0.3
+   */
+  public void invalidateStructuralHash ()
+  {
+    m_aStructuralHashCache.invalidate ();
+  }
+
+  /**
+   * Returns true if this method contains references to error-types. The result
+   * is cached together with the structural hash.
+   *
+   * @return <code>true</code> if an error type is contained, <code>false</code>
+   *         otherwise
+   * @see JErrorClass
+   * @see JDefinedClass#containsErrorTypes()
+   * @since 3.0.3
+   */
+  public boolean containsErrorTypes ()
+  {
+    return JFormatter.containsErrorTypes (this);
+  }
+
   @Override
   public void declare (@Nonnull final JFormatter f)
   {
@@ -562,7 +763,7 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
         f.print (',');
       for (final JAnnotationUse annotation : m_aVarParam.annotations ())
         f.generable (annotation).newline ();
-      f.generable (m_aVarParam.mods ()).generable (m_aVarParam.type ().elementType ());
+      f.generable (m_aVarParam.internalGetMods ()).generable (m_aVarParam.type ().elementType ());
       f.print ("... ");
       f.id (m_aVarParam.name ());
     }
@@ -608,6 +809,23 @@ public class JMethod extends AbstractJGenerifiableImpl implements IJAnnotatable,
    */
   @Nonnull
   public JMods mods ()
+  {
+    if (m_aMods.isShared ())
+    {
+      // Copy-on-write: the caller may modify the returned object
+      m_aMods = m_aMods.getModifiable ();
+      m_aMods.setStructuralHashParent (m_aStructuralHashCache);
+    }
+    return m_aMods;
+  }
+
+  /**
+   * @return the current modifiers for read-only access. In contrast to
+   *         {@link #mods()} a shared instance is not copied, so the returned
+   *         object must not be modified.
+   */
+  @Nonnull
+  JMods internalGetMods ()
   {
     return m_aMods;
   }
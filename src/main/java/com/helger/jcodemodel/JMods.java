@@ -40,14 +40,24 @@
  */
 package com.helger.jcodemodel;
 
-import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.helger.jcodemodel.util.JCValueEnforcer;
 
 /**
  * Modifier groups.
+ * <p>
+ * The public static factory methods (e.g. {@link #forMethod(int)}) return new
+ * modifiable instances. The nodes created by the code model internally start
+ * with immutable flyweights that are shared by all nodes with the same
+ * modifiers. The <code>mods ()</code> method of the owning node
+ * ({@link JVar#mods()}, {@link JMethod#mods()} and
+ * {@link JDefinedClass#mods()}) replaces a shared instance with a modifiable
+ * copy upon first access, so that the setters can be used as before. Calling a
+ * setter on a shared instance results in an {@link IllegalStateException}.
  */
 public class JMods implements IJGenerable
 {
@@ -79,12 +89,129 @@ public class JMods implements IJGenerable
                                    JMod.ABSTRACT;
   private static final int INTERFACE = JMod.PUBLIC | JMod.PRIVATE | JMod.PROTECTED;
 
+  /** All modifier bits */
+  private static final int ALL = (JMod.STRICTFP << 1) - 1;
+
+  /** The shared instances, indexed by the bit-packed modifiers */
+  private static final AtomicReferenceArray <JMods> SHARED = new AtomicReferenceArray <> (ALL + 1);
+
   /** bit-packed representation of modifiers. */
   private int m_nMods;
 
+  /** Is this a shared immutable instance? */
+  private final boolean m_bShared;
+
+  /** The rendered modifiers. Only present for shared instances. */
+  private final String m_sRendered;
+
+  /**
+   * The structural hash cache of the enclosing node. May be <code>null</code>.
+   */
+  private JStructuralHashCache m_aStructuralHashParent;
+
   protected JMods (final int nMods)
   {
     m_nMods = nMods;
+    m_bShared = false;
+    m_sRendered = null;
+  }
+
+  private JMods (final int nMods, @Nonnull final String sRendered)
+  {
+    m_nMods = nMods;
+    m_bShared = true;
+    m_sRendered = sRendered;
+  }
+
+  @Nonnull
+  private static String _render (final int nMods)
+  {
+    final StringBuilder aSB = new StringBuilder ();
+    _append (aSB, nMods, JMod.PUBLIC, "public");
+    _append (aSB, nMods, JMod.PROTECTED, "protected");
+    _append (aSB, nMods, JMod.PRIVATE, "private");
+    _append (aSB, nMods, JMod.FINAL, "final");
+    _append (aSB, nMods, JMod.STATIC, "static");
+    _append (aSB, nMods, JMod.ABSTRACT, "abstract");
+    _append (aSB, nMods, JMod.NATIVE, "native");
+    _append (aSB, nMods, JMod.SYNCHRONIZED, "synchronized");
+    _append (aSB, nMods, JMod.TRANSIENT, "transient");
+    _append (aSB, nMods, JMod.VOLATILE, "volatile");
+    _append (aSB, nMods, JMod.DEFAULT, "default");
+    _append (aSB, nMods, JMod.STRICTFP, "strictfp");
+    return aSB.toString ();
+  }
+
+  private static void _append (@Nonnull final StringBuilder aSB,
+                               final int nMods,
+                               final int nBit,
+                               @Nonnull final String sKeyword)
+  {
+    if ((nMods & nBit) != 0)
+    {
+      if (aSB.length () > 0)
+        aSB.append (' ');
+      aSB.append (sKeyword);
+    }
+  }
+
+  /**
+   * Get the shared immutable instance for the passed modifiers.
+   *
+   * @param nMods
+   *        bit-packed modifiers
+   * @return The shared instance and never <code>null</code>.
+   */
+  @Nonnull
+  static JMods getShared (final int nMods)
+  {
+    if ((nMods & ~ALL) != 0)
+    {
+      // Unknown bits - not cached
+      return new JMods (nMods);
+    }
+
+    JMods ret = SHARED.get (nMods);
+    if (ret == null)
+    {
+      ret = new JMods (nMods, _render (nMods));
+      if (!SHARED.compareAndSet (nMods, null, ret))
+        ret = SHARED.get (nMods);
+    }
+    return ret;
+  }
+
+  /**
+   * @return <code>true</code> if this is a shared immutable instance that may
+   *         not be modified, <code>false</code> if this instance is modifiable.
+   */
+  public boolean isShared ()
+  {
+    return m_bShared;
+  }
+
+  /**
+   * @return A modifiable copy of this modifier set, if this is a shared
+   *         instance, this otherwise.
+   */
+  @Nonnull
+  JMods getModifiable ()
+  {
+    return m_bShared ? new JMods (m_nMods) : this;
+  }
+
+  /**
+   * Set the structural hash cache of the enclosing node, that is invalidated
+   * upon modification of this modifier set. Ignored for shared instances, as
+   * they cannot be modified.
+   *
+   * @param aParent
+   *        The parent cache. May be <code>null</code>.
+   */
+  void setStructuralHashParent (@Nullable final JStructuralHashCache aParent)
+  {
+    if (!m_bShared)
+      m_aStructuralHashParent = aParent;
   }
 
   /**
@@ -97,8 +224,9 @@ public class JMods implements IJGenerable
 
   private static void _check (final int nMods, final int nLegal, final String sWhat)
   {
-    JCValueEnforcer.isFalse ((nMods & ~nLegal) != 0,
-                             () -> "Illegal modifiers for " + sWhat + ": " + new JMods (nMods).toString ());
+    // Rendering the modifiers is only necessary on failure
+    if ((nMods & ~nLegal) != 0)
+      JCValueEnforcer.isFalse (true, "Illegal modifiers for " + sWhat, _render (nMods));
     /* ## check for illegal combinations too */
   }
 
@@ -109,6 +237,13 @@ public class JMods implements IJGenerable
     return new JMods (nMods);
   }
 
+  @Nonnull
+  static JMods internalSharedForVar (final int nMods)
+  {
+    _check (nMods, VAR, "variable");
+    return getShared (nMods);
+  }
+
   @Nonnull
   public static JMods forField (final int nMods)
   {
@@ -116,6 +251,13 @@ public class JMods implements IJGenerable
     return new JMods (nMods);
   }
 
+  @Nonnull
+  static JMods internalSharedForField (final int nMods)
+  {
+    _check (nMods, FIELD, "field");
+    return getShared (nMods);
+  }
+
   @Nonnull
   public static JMods forMethod (final int nMods)
   {
@@ -123,6 +265,13 @@ public class JMods implements IJGenerable
     return new JMods (nMods);
   }
 
+  @Nonnull
+  static JMods internalSharedForMethod (final int nMods)
+  {
+    _check (nMods, METHOD, "method");
+    return getShared (nMods);
+  }
+
   @Nonnull
   public static JMods forClass (final int nMods)
   {
@@ -130,6 +279,13 @@ public class JMods implements IJGenerable
     return new JMods (nMods);
   }
 
+  @Nonnull
+  static JMods internalSharedForClass (final int nMods)
+  {
+    _check (nMods, CLASS, "class");
+    return getShared (nMods);
+  }
+
   @Nonnull
   public static JMods forInterface (final int nMods)
   {
@@ -137,6 +293,13 @@ public class JMods implements IJGenerable
     return new JMods (nMods);
   }
 
+  @Nonnull
+  static JMods internalSharedForInterface (final int nMods)
+  {
+    _check (nMods, INTERFACE, "interface");
+    return getShared (nMods);
+  }
+
   public boolean isAbstract ()
   {
     return (m_nMods & JMod.ABSTRACT) != 0;
@@ -225,43 +388,28 @@ public class JMods implements IJGenerable
 
   private void _setFlag (final int bit, final boolean bNewValue)
   {
+    if (m_bShared)
+      throw new IllegalStateException ("The shared modifiers '" +
+                                       m_sRendered +
+                                       "' cannot be modified. Use the mods() method of the owning node.");
     m_nMods = (m_nMods & ~bit) | (bNewValue ? bit : 0);
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
   }
 
   public void generate (@Nonnull final JFormatter f)
   {
-    if ((m_nMods & JMod.PUBLIC) != 0)
-      f.print ("public");
-    if ((m_nMods & JMod.PROTECTED) != 0)
-      f.print ("protected");
-    if ((m_nMods & JMod.PRIVATE) != 0)
-      f.print ("private");
-    if ((m_nMods & JMod.FINAL) != 0)
-      f.print ("final");
-    if ((m_nMods & JMod.STATIC) != 0)
-      f.print ("static");
-    if ((m_nMods & JMod.ABSTRACT) != 0)
-      f.print ("abstract");
-    if ((m_nMods & JMod.NATIVE) != 0)
-      f.print ("native");
-    if ((m_nMods & JMod.SYNCHRONIZED) != 0)
-      f.print ("synchronized");
-    if ((m_nMods & JMod.TRANSIENT) != 0)
-      f.print ("transient");
-    if ((m_nMods & JMod.VOLATILE) != 0)
-      f.print ("volatile");
-    if ((m_nMods & JMod.DEFAULT) != 0)
-      f.print ("default");
-    if ((m_nMods & JMod.STRICTFP) != 0)
-      f.print ("strictfp");
+    // All modifiers are printed at once
+    final String sRendered = toString ();
+    if (sRendered.length () > 0)
+      f.print (sRendered);
   }
 
   @Override
   public String toString ()
   {
-    final StringWriter aWriter = new StringWriter ();
-    final JFormatter f = new JFormatter (aWriter);
-    this.generate (f);
-    return aWriter.toString ();
+    if (m_sRendered != null)
+      return m_sRendered;
+    final JMods aShared = getShared (m_nMods);
+    return aShared.m_sRendered != null ? aShared.m_sRendered : _render (m_nMods);
   }
 }
@@ -80,7 +80,7 @@ public class JNarrowedClass extends AbstractJClass
   public JNarrowedClass (@Nonnull final AbstractJClass aBasis, @Nonnull final List <? extends AbstractJClass> aArgs)
   {
     super (aBasis.owner ());
-    JCValueEnforcer.isFalse (aBasis instanceof JNarrowedClass, () -> "aBasis may not be a narrowed class: " + aBasis);
+    JCValueEnforcer.isFalse (aBasis instanceof JNarrowedClass, "aBasis may not be a narrowed class", aBasis);
     JCValueEnforcer.notNull (aArgs, "NarrowingClasses");
     m_aBasis = aBasis;
     m_aArgs = aArgs;
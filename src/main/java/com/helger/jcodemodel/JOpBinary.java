@@ -60,6 +60,8 @@ public class JOpBinary implements IJExpression
     m_aLeft = JCValueEnforcer.notNull (aLeft, "Left");
     m_sOperator = JCValueEnforcer.notNull (sOperator, "Operator");
     m_aRight = JCValueEnforcer.notNull (aRight, "Right");
+    if (aRight instanceof AbstractJType)
+      JCodeModel.internalOnTypeAttached ((AbstractJType) aRight);
   }
 
   @Nonnull
@@ -45,6 +45,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -55,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -73,6 +75,38 @@ public class JPackage implements
                       Comparable <JPackage>,
                       IJDocCommentable
 {
+  /**
+   * A class name as the key of a case insensitive map. The name is not copied
+   * and the hash code is calculated once, consistent with
+   * {@link String#equalsIgnoreCase(String)}.
+   */
+  private static final class CaseInsensitiveName
+  {
+    private final String m_sName;
+    private final int m_nHashCode;
+
+    CaseInsensitiveName (@Nonnull final String sName)
+    {
+      m_sName = sName;
+      int nHashCode = 0;
+      for (int i = 0; i < sName.length (); ++i)
+        nHashCode = 31 * nHashCode + Character.toLowerCase (Character.toUpperCase (sName.charAt (i)));
+      m_nHashCode = nHashCode;
+    }
+
+    @Override
+    public boolean equals (final Object o)
+    {
+      return o instanceof CaseInsensitiveName && m_sName.equalsIgnoreCase (((CaseInsensitiveName) o).m_sName);
+    }
+
+    @Override
+    public int hashCode ()
+    {
+      return m_nHashCode;
+    }
+  }
+
   /**
    * Name of the package. May be the empty string for the root package.
    */
@@ -80,10 +114,28 @@ public class JPackage implements
 
   private final JCodeModel m_aOwner;
 
+  /**
+   * The parent package. <code>null</code> for the root package.
+   */
+  private JPackage m_aParent;
+
+  /**
+   * The direct sub packages keyed by their name. Lazily created.
+   */
+  private Map <String, JPackage> m_aSubPackages;
+
   /**
    * List of classes contained within this package keyed by their name.
    */
-  private final Map <String, JDefinedClass> m_aClasses = new TreeMap <> ();
+  private final Map <String, JDefinedClass> m_aClasses = new HashMap <> ();
+
+  /**
+   * Lazily created list of all classes sorted by name. Reset upon each
+   * modification.
+   */
+  private List <JDefinedClass> m_aSortedClasses;
+
+  private final Collection <JDefinedClass> m_aClassesView = new ClassesView ();
 
   /**
    * List of resources files inside this package.
@@ -91,11 +143,11 @@ public class JPackage implements
   private final Set <AbstractJResourceFile> m_aResources = new HashSet <> ();
 
   /**
-   * All {@link AbstractJClass}s in this package keyed the upper case class
-   * name. This field is non-null only on Windows, to detect "Foo" and "foo" as
-   * a collision.
+   * All {@link AbstractJClass}s in this package keyed by the case insensitive
+   * class name. This field is non-null only on case insensitive file systems
+   * (e.g. Windows), to detect "Foo" and "foo" as a collision.
    */
-  private final Map <String, JDefinedClass> m_aUpperCaseClassMap;
+  private final Map <CaseInsensitiveName, JDefinedClass> m_aCaseInsensitiveClassMap;
 
   /**
    * Lazily created list of package annotations.
@@ -126,9 +178,9 @@ public class JPackage implements
     m_aOwner = aOwner;
     m_sName = sName;
     if (JCodeModel.isFileSystemCaseSensitive ())
-      m_aUpperCaseClassMap = null;
+      m_aCaseInsensitiveClassMap = null;
     else
-      m_aUpperCaseClassMap = new HashMap <> ();
+      m_aCaseInsensitiveClassMap = new HashMap <> ();
   }
 
   @Nullable
@@ -144,13 +196,52 @@ public class JPackage implements
   @Nullable
   public JPackage parent ()
   {
-    if (isUnnamed ())
-      return null;
+    return m_aParent;
+  }
 
-    final int idx = m_sName.lastIndexOf ('.');
-    if (idx < 0)
-      return m_aOwner.rootPackage ();
-    return m_aOwner._package (m_sName.substring (0, idx));
+  /**
+   * Link this package into the package tree. Called once after construction.
+   *
+   * @param aParent
+   *        The parent package. <code>null</code> for the root package.
+   */
+  void internalSetParent (@Nullable final JPackage aParent)
+  {
+    m_aParent = aParent;
+    if (aParent != null)
+    {
+      if (aParent.m_aSubPackages == null)
+        aParent.m_aSubPackages = new TreeMap <> ();
+      aParent.m_aSubPackages.put (m_sName, this);
+    }
+  }
+
+  /**
+   * @return The direct sub packages of this package that were created so far,
+   *         sorted by name. Never <code>null</code>.
+   * @since 3.0.3
+   */
+  @Nonnull
+  public Collection <JPackage> subPackages ()
+  {
+    if (m_aSubPackages == null)
+      return Collections.emptyList ();
+    return Collections.unmodifiableCollection (m_aSubPackages.values ());
+  }
+
+  /**
+   * Add this package and all sub packages in depth-first order to the passed
+   * list.
+   *
+   * @param aTarget
+   *        The list to fill. May not be <code>null</code>.
+   */
+  void internalCollectPackageTree (@Nonnull final List <JPackage> aTarget)
+  {
+    aTarget.add (this);
+    if (m_aSubPackages != null)
+      for (final JPackage aSubPackage : m_aSubPackages.values ())
+        aSubPackage.internalCollectPackageTree (aTarget);
   }
 
   public boolean isClass ()
@@ -174,21 +265,21 @@ public class JPackage implements
                                @Nonnull final String sName,
                                @Nonnull final EClassType eClassType) throws JClassAlreadyExistsException
   {
-    if (m_aClasses.containsKey (sName))
-      throw new JClassAlreadyExistsException (m_aClasses.get (sName));
+    final JDefinedClass aExisting = m_aClasses.get (sName);
+    if (aExisting != null)
+      throw new JClassAlreadyExistsException (aExisting);
 
     // XXX problems caught in the NC constructor
     final JDefinedClass c = new JDefinedClass (this, nMods, sName, eClassType);
 
-    if (m_aUpperCaseClassMap != null)
+    if (m_aCaseInsensitiveClassMap != null)
     {
-      final String sUpperName = sName.toUpperCase ();
-      final JDefinedClass dc = m_aUpperCaseClassMap.get (sUpperName);
+      final JDefinedClass dc = m_aCaseInsensitiveClassMap.putIfAbsent (new CaseInsensitiveName (sName), c);
       if (dc != null)
         throw new JClassAlreadyExistsException (dc);
-      m_aUpperCaseClassMap.put (sUpperName, c);
     }
     m_aClasses.put (sName, c);
+    m_aSortedClasses = null;
     return c;
   }
 
@@ -282,9 +373,12 @@ public class JPackage implements
 
     // note that c may not be a member of classes.
     // this happens when someone is trying to remove a non generated class
-    m_aClasses.remove (aClass.name ());
-    if (m_aUpperCaseClassMap != null)
-      m_aUpperCaseClassMap.remove (aClass.name ().toUpperCase ());
+    if (m_aClasses.remove (aClass.name ()) != null)
+    {
+      m_aSortedClasses = null;
+      if (m_aCaseInsensitiveClassMap != null)
+        m_aCaseInsensitiveClassMap.remove (new CaseInsensitiveName (aClass.name ()));
+    }
   }
 
   /**
@@ -299,7 +393,7 @@ public class JPackage implements
   @Nonnull
   public AbstractJClass ref (@Nonnull final String sClassLocalName) throws ClassNotFoundException
   {
-    JCValueEnforcer.isTrue (sClassLocalName.indexOf ('.') < 0, () -> "JClass name contains '.': " + sClassLocalName);
+    JCValueEnforcer.isTrue (sClassLocalName.indexOf ('.') < 0, "JClass name contains '.'", sClassLocalName);
 
     String sFQCN;
     if (isUnnamed ())
@@ -326,13 +420,79 @@ public class JPackage implements
     return owner ()._package (m_sName + '.' + sSubPackageName);
   }
 
+  @Nonnull
+  private List <JDefinedClass> _getSortedClasses ()
+  {
+    List <JDefinedClass> ret = m_aSortedClasses;
+    if (ret == null)
+    {
+      ret = new ArrayList <> (m_aClasses.values ());
+      ret.sort ((c1, c2) -> c1.name ().compareTo (c2.name ()));
+      m_aSortedClasses = ret;
+    }
+    return ret;
+  }
+
+  /**
+   * Live view on the classes of this package, iterating in the lazily sorted
+   * order.
+   */
+  private final class ClassesView extends AbstractCollection <JDefinedClass>
+  {
+    @Override
+    public Iterator <JDefinedClass> iterator ()
+    {
+      // Each modification creates a new sorted list, so this one stays stable
+      final Iterator <JDefinedClass> it = _getSortedClasses ().iterator ();
+      return new Iterator <JDefinedClass> ()
+      {
+        private JDefinedClass m_aLast;
+
+        public boolean hasNext ()
+        {
+          return it.hasNext ();
+        }
+
+        public JDefinedClass next ()
+        {
+          m_aLast = it.next ();
+          return m_aLast;
+        }
+
+        @Override
+        public void remove ()
+        {
+          if (m_aLast == null)
+            throw new IllegalStateException ();
+          JPackage.this.remove (m_aLast);
+          m_aLast = null;
+        }
+      };
+    }
+
+    @Override
+    public int size ()
+    {
+      return m_aClasses.size ();
+    }
+
+    @Override
+    public boolean contains (@Nullable final Object aObj)
+    {
+      return aObj instanceof JDefinedClass && m_aClasses.get (((JDefinedClass) aObj).name ()) == aObj;
+    }
+  }
+
   /**
-   * @return the top-level classes defined in this package.
+   * @return A live view on the top-level classes defined in this package,
+   *         sorted by name. Classes added to or removed from this package
+   *         later on are reflected by the view. Removing classes via the view
+   *         removes them from this package.
    */
   @Nonnull
   public Collection <JDefinedClass> classes ()
   {
-    return m_aClasses.values ();
+    return m_aClassesView;
   }
 
   /**
@@ -344,10 +504,7 @@ public class JPackage implements
    */
   public boolean isDefined (@Nullable final String sClassLocalName)
   {
-    for (final JDefinedClass clazz : m_aClasses.values ())
-      if (clazz.name ().equals (sClassLocalName))
-        return true;
-    return false;
+    return m_aClasses.containsKey (sClassLocalName);
   }
 
   /**
@@ -437,16 +594,83 @@ public class JPackage implements
   {
     final SourcePrintWriter aWriter = aSrc.openSource (this, sClassName + ".java");
     final JFormatter ret = new JFormatter (aWriter);
-    // Add all classes to not be imported (may be empty)
-    ret.addDontImportClasses (m_aOwner.getAllDontImportClasses ());
+    // Add all classes to not be imported (may be null)
+    ret.addDontImportClasses (m_aOwner.internalGetDontImportClasses ());
     return ret;
   }
 
+  private void _discard (@Nonnull final AbstractCodeWriter aSrc,
+                         @Nonnull final String sClassName,
+                         @Nonnull final SourceWriteException aEx)
+  {
+    // Remove the partially written file
+    try
+    {
+      aSrc.discard (this, sClassName + ".java");
+    }
+    catch (final IOException ex)
+    {
+      aEx.addSuppressed (ex);
+    }
+  }
+
   void build (@Nonnull @WillNotClose final AbstractCodeWriter aSrcWriter,
               @Nonnull @WillNotClose final AbstractCodeWriter aResWriter) throws IOException
   {
-    // write classes
-    for (final JDefinedClass c : m_aClasses.values ())
+    build (aSrcWriter, aResWriter, null);
+  }
+
+  /**
+   * Build this package.
+   *
+   * @param aSrcWriter
+   *        Source code writer
+   * @param aResWriter
+   *        Resource writer
+   * @param aClassFilter
+   *        Optional filter for the classes to be written. If it is
+   *        non-<code>null</code> only the accepted classes are written and
+   *        package-info and resource files are skipped.
+   * @throws IOException
+   *         on IO error
+   */
+  void build (@Nonnull @WillNotClose final AbstractCodeWriter aSrcWriter,
+              @Nonnull @WillNotClose final AbstractCodeWriter aResWriter,
+              @Nullable final Predicate <? super JDefinedClass> aClassFilter) throws IOException
+  {
+    if (aClassFilter == null)
+      build (aSrcWriter, aResWriter, null, null, null);
+    else
+      build (aSrcWriter, aResWriter, aClassFilter, x -> false, x -> false);
+  }
+
+  /**
+   * Build this package.
+   *
+   * @param aSrcWriter
+   *        Source code writer
+   * @param aResWriter
+   *        Resource writer
+   * @param aClassFilter
+   *        Optional filter for the classes to be written. If it is
+   *        <code>null</code> all classes are written.
+   * @param aPackageInfoFilter
+   *        Optional filter whether the package-info file should be written. If
+   *        it is <code>null</code> it is written if present.
+   * @param aResourceFilter
+   *        Optional filter for the resource files to be written. If it is
+   *        <code>null</code> all resources are written.
+   * @throws IOException
+   *         on IO error
+   */
+  void build (@Nonnull @WillNotClose final AbstractCodeWriter aSrcWriter,
+              @Nonnull @WillNotClose final AbstractCodeWriter aResWriter,
+              @Nullable final Predicate <? super JDefinedClass> aClassFilter,
+              @Nullable final Predicate <? super JPackage> aPackageInfoFilter,
+              @Nullable final Predicate <? super AbstractJResourceFile> aResourceFilter) throws IOException
+  {
+    // write classes in a deterministic order
+    for (final JDefinedClass c : _getSortedClasses ())
     {
       if (c.isHidden ())
       {
@@ -454,33 +678,46 @@ public class JPackage implements
         continue;
       }
 
+      if (aClassFilter != null && !aClassFilter.test (c))
+      {
+        // not selected
+        continue;
+      }
+
       try (final JFormatter f = _createJavaSourceFileWriter (aSrcWriter, c.name ()))
       {
         f.write (c);
       }
+      catch (final SourceWriteException ex)
+      {
+        _discard (aSrcWriter, c.name (), ex);
+        throw ex;
+      }
     }
 
     // write package annotations
-    if (m_aAnnotations != null || m_aJavaDoc != null)
+    if (internalHasPackageInfo () && (aPackageInfoFilter == null || aPackageInfoFilter.test (this)))
     {
       try (final JFormatter f = _createJavaSourceFileWriter (aSrcWriter, "package-info"))
       {
-        if (m_aJavaDoc != null)
-          f.generable (m_aJavaDoc);
-
-        // TODO: think about importing
-        if (m_aAnnotations != null)
-        {
-          for (final JAnnotationUse a : m_aAnnotations)
-            f.generable (a).newline ();
-        }
-        f.declaration (this);
+        internalGeneratePackageInfo (f);
+      }
+      catch (final SourceWriteException ex)
+      {
+        _discard (aSrcWriter, "package-info", ex);
+        throw ex;
       }
     }
 
     // write resources
     for (final AbstractJResourceFile rsrc : m_aResources)
     {
+      if (aResourceFilter != null && !aResourceFilter.test (rsrc))
+      {
+        // not selected
+        continue;
+      }
+
       final AbstractCodeWriter cw = rsrc.isResource () ? aResWriter : aSrcWriter;
       try (final OutputStream os = new BufferedOutputStream (cw.openBinary (this, rsrc.name ())))
       {
@@ -489,6 +726,35 @@ public class JPackage implements
     }
   }
 
+  /**
+   * @return <code>true</code> if this package has annotations or a javadoc, so
+   *         that a package-info file is written.
+   */
+  boolean internalHasPackageInfo ()
+  {
+    return m_aAnnotations != null || m_aJavaDoc != null;
+  }
+
+  /**
+   * Emit the content of the package-info file.
+   *
+   * @param f
+   *        The formatter to use. May not be <code>null</code>.
+   */
+  void internalGeneratePackageInfo (@Nonnull final JFormatter f)
+  {
+    if (m_aJavaDoc != null)
+      f.generable (m_aJavaDoc);
+
+    // TODO: think about importing
+    if (m_aAnnotations != null)
+    {
+      for (final JAnnotationUse a : m_aAnnotations)
+        f.generable (a).newline ();
+    }
+    f.declaration (this);
+  }
+
   boolean buildsErrorTypeRefs ()
   {
     // check classes
@@ -519,7 +785,7 @@ public class JPackage implements
       ret++;
     }
 
-    if (m_aAnnotations != null || m_aJavaDoc != null)
+    if (internalHasPackageInfo ())
     {
       // package-info
       ret++;
@@ -56,7 +56,9 @@ public class JPrimitiveType extends AbstractJType
    * Corresponding wrapper class. For example, this would be "java.lang.Short"
    * for short.
    */
-  private final AbstractJClass m_aWrapperClass;
+  private final Class <?> m_aWrapper;
+  /** Lazily resolved reference to {@link #m_aWrapper} */
+  private AbstractJClass m_aWrapperClass;
   private JArrayClass m_aArrayClass;
   private boolean m_bUseValueOf;
 
@@ -70,7 +72,7 @@ public class JPrimitiveType extends AbstractJType
     JCValueEnforcer.notNull (aWrapper, "Wrapper");
     m_aOwner = aOwner;
     m_sTypeName = sTypeName;
-    m_aWrapperClass = aOwner.ref (aWrapper);
+    m_aWrapper = aWrapper;
     m_bUseValueOf = bUseValueOf;
   }
 
@@ -117,7 +119,10 @@ public class JPrimitiveType extends AbstractJType
   @Nonnull
   public final AbstractJClass boxify ()
   {
-    return m_aWrapperClass;
+    AbstractJClass ret = m_aWrapperClass;
+    if (ret == null)
+      ret = m_aWrapperClass = m_aOwner.ref (m_aWrapper);
+    return ret;
   }
 
   /**
@@ -40,15 +40,12 @@
  */
 package com.helger.jcodemodel;
 
-import java.lang.reflect.Modifier;
 import java.util.Iterator;
 import java.util.List;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.helger.jcodemodel.util.JCNameUtilities;
-
 /**
  * References to existing classes.
  * <p>
@@ -57,11 +54,12 @@ import com.helger.jcodemodel.util.JCNameUtilities;
  * <p>
  * It is impossible to cache JReferencedClass globally only because there is the
  * {@link #_package()} method, which obtains the owner {@link JPackage} object,
- * which is scoped to JCodeModel.
+ * which is scoped to JCodeModel. The reflective meta data however is model
+ * independent and shared via {@link JReferencedClassInfo}.
  */
 class JReferencedClass extends AbstractJClass implements IJDeclaration
 {
-  private final Class <?> m_aClass;
+  private final JReferencedClassInfo m_aInfo;
 
   // Cached status vars
   private transient boolean m_bResolvedPrimitive = false;
@@ -70,33 +68,33 @@ class JReferencedClass extends AbstractJClass implements IJDeclaration
   JReferencedClass (@Nonnull final JCodeModel aOwner, @Nonnull final Class <?> aClass)
   {
     super (aOwner);
-    m_aClass = aClass;
-    assert !m_aClass.isArray ();
+    assert !aClass.isArray ();
+    m_aInfo = JReferencedClassInfo.get (aClass);
   }
 
   @Override
   public String name ()
   {
-    return m_aClass.getSimpleName ();
+    return m_aInfo.name ();
   }
 
   @Override
   @Nonnull
   public String fullName ()
   {
-    return JCNameUtilities.getFullName (m_aClass);
+    return m_aInfo.fullName ();
   }
 
   @Override
   public String binaryName ()
   {
-    return m_aClass.getName ();
+    return m_aInfo.binaryName ();
   }
 
   @Override
   public AbstractJClass outer ()
   {
-    final Class <?> p = m_aClass.getDeclaringClass ();
+    final Class <?> p = m_aInfo.getDeclaringClass ();
     if (p == null)
       return null;
     return owner ().ref (p);
@@ -106,23 +104,13 @@ class JReferencedClass extends AbstractJClass implements IJDeclaration
   @Nonnull
   public JPackage _package ()
   {
-    final String name = fullName ();
-
-    // this type is array
-    if (name.indexOf ('[') != -1)
-      return owner ()._package ("");
-
-    // other normal case
-    final int idx = name.lastIndexOf ('.');
-    if (idx < 0)
-      return owner ()._package ("");
-    return owner ()._package (name.substring (0, idx));
+    return owner ()._package (m_aInfo.packageName ());
   }
 
   @Override
   public AbstractJClass _extends ()
   {
-    final Class <?> sp = m_aClass.getSuperclass ();
+    final Class <?> sp = m_aInfo.getSuperClass ();
     if (sp == null)
     {
       if (isInterface ())
@@ -135,7 +123,7 @@ class JReferencedClass extends AbstractJClass implements IJDeclaration
   @Override
   public Iterator <AbstractJClass> _implements ()
   {
-    final Class <?> [] aInterfaces = m_aClass.getInterfaces ();
+    final Class <?> [] aInterfaces = m_aInfo.getInterfaces ();
     return new Iterator <AbstractJClass> ()
     {
       private int m_nIdx = 0;
@@ -161,13 +149,13 @@ class JReferencedClass extends AbstractJClass implements IJDeclaration
   @Override
   public boolean isInterface ()
   {
-    return m_aClass.isInterface ();
+    return m_aInfo.isInterface ();
   }
 
   @Override
   public boolean isAbstract ()
   {
-    return Modifier.isAbstract (m_aClass.getModifiers ());
+    return m_aInfo.isAbstract ();
   }
 
   @Override
@@ -177,7 +165,7 @@ class JReferencedClass extends AbstractJClass implements IJDeclaration
     // Resolve only once
     if (!m_bResolvedPrimitive)
     {
-      final Class <?> v = JCodeModel.boxToPrimitive.get (m_aClass);
+      final Class <?> v = m_aInfo.getPrimitiveClass ();
       if (v != null)
         m_aPrimitiveType = AbstractJType.parse (owner (), v.getName ());
       else
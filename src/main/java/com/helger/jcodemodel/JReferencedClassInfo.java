@@ -0,0 +1,197 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.lang.reflect.Modifier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.jcodemodel.util.JCNameUtilities;
+
+/**
+ * The reflective meta data of a {@link Class} as needed by
+ * {@link JReferencedClass}. In contrast to {@link JReferencedClass} this
+ * information does not depend on a {@link JCodeModel} and is therefore
+ * calculated only once per JVM and shared between all code models.
+ * <p>
+ * The instances are stored in a {@link ClassValue} so they are bound to the
+ * lifetime of the class (and its class loader) and don't prevent class
+ * unloading.
+ */
+@Immutable
+final class JReferencedClassInfo
+{
+  private static final Class <?> [] NO_CLASSES = new Class <?> [0];
+
+  private static final ClassValue <JReferencedClassInfo> CACHE = new ClassValue <JReferencedClassInfo> ()
+  {
+    @Override
+    protected JReferencedClassInfo computeValue (@Nonnull final Class <?> aClass)
+    {
+      return new JReferencedClassInfo (aClass);
+    }
+  };
+
+  private final String m_sName;
+  private final String m_sFullName;
+  private final String m_sBinaryName;
+  private final String m_sPackageName;
+  private final Class <?> m_aDeclaringClass;
+  private final Class <?> m_aSuperClass;
+  private final Class <?> [] m_aInterfaces;
+  private final boolean m_bInterface;
+  private final boolean m_bAbstract;
+  private final Class <?> m_aPrimitiveClass;
+
+  private JReferencedClassInfo (@Nonnull final Class <?> aClass)
+  {
+    m_sName = aClass.getSimpleName ();
+    m_sFullName = JCNameUtilities.getFullName (aClass);
+    m_sBinaryName = aClass.getName ();
+
+    // Arrays and classes in the default package use the root package
+    final int nIdx = m_sFullName.indexOf ('[') >= 0 ? -1 : m_sFullName.lastIndexOf ('.');
+    m_sPackageName = nIdx < 0 ? "" : m_sFullName.substring (0, nIdx);
+
+    m_aDeclaringClass = aClass.getDeclaringClass ();
+    m_aSuperClass = aClass.getSuperclass ();
+    final Class <?> [] aInterfaces = aClass.getInterfaces ();
+    m_aInterfaces = aInterfaces.length == 0 ? NO_CLASSES : aInterfaces;
+    m_bInterface = aClass.isInterface ();
+    m_bAbstract = Modifier.isAbstract (aClass.getModifiers ());
+    m_aPrimitiveClass = JCodeModel.boxToPrimitive.get (aClass);
+  }
+
+  /**
+   * @return The simple name of the class.
+   */
+  @Nonnull
+  public String name ()
+  {
+    return m_sName;
+  }
+
+  /**
+   * @return The fully qualified name of the class, with '.' as the separator
+   *         for nested classes.
+   */
+  @Nonnull
+  public String fullName ()
+  {
+    return m_sFullName;
+  }
+
+  /**
+   * @return The binary name of the class as in {@link Class#getName()}.
+   */
+  @Nonnull
+  public String binaryName ()
+  {
+    return m_sBinaryName;
+  }
+
+  /**
+   * @return The name of the package of the class. Empty string for the root
+   *         package.
+   */
+  @Nonnull
+  public String packageName ()
+  {
+    return m_sPackageName;
+  }
+
+  @Nullable
+  public Class <?> getDeclaringClass ()
+  {
+    return m_aDeclaringClass;
+  }
+
+  @Nullable
+  public Class <?> getSuperClass ()
+  {
+    return m_aSuperClass;
+  }
+
+  /**
+   * @return The directly implemented interfaces. Never <code>null</code>. The
+   *         array is shared and may not be modified.
+   */
+  @Nonnull
+  public Class <?> [] getInterfaces ()
+  {
+    return m_aInterfaces;
+  }
+
+  public boolean isInterface ()
+  {
+    return m_bInterface;
+  }
+
+  public boolean isAbstract ()
+  {
+    return m_bAbstract;
+  }
+
+  /**
+   * @return The primitive class, if the class is a primitive wrapper (like
+   *         {@link Integer}), <code>null</code> otherwise.
+   */
+  @Nullable
+  public Class <?> getPrimitiveClass ()
+  {
+    return m_aPrimitiveClass;
+  }
+
+  /**
+   * Get the shared meta data of the passed class.
+   *
+   * @param aClass
+   *        The class to get the meta data for. May not be <code>null</code>.
+   * @return Never <code>null</code>.
+   */
+  @Nonnull
+  public static JReferencedClassInfo get (@Nonnull final Class <?> aClass)
+  {
+    return CACHE.get (aClass);
+  }
+}
@@ -0,0 +1,115 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.jcodemodel.util.ClassNameComparator;
+import com.helger.jcodemodel.util.ClassNameComparator.SortKey;
+
+/**
+ * A set of classes sorted by {@link ClassNameComparator}. Other than a
+ * <code>TreeSet</code> with that comparator, the full name of each contained
+ * class is determined only once, when the class is added.
+ *
+ * @since 3.0.3
+ */
+@NotThreadSafe
+final class JSortedClassSet extends AbstractSet <AbstractJClass>
+{
+  private final TreeMap <SortKey, AbstractJClass> m_aMap;
+
+  public JSortedClassSet ()
+  {
+    m_aMap = new TreeMap <> ();
+  }
+
+  public JSortedClassSet (@Nonnull final JSortedClassSet aOther)
+  {
+    // Reuse the existing keys
+    m_aMap = new TreeMap <> (aOther.m_aMap);
+  }
+
+  @Override
+  public boolean add (@Nonnull final AbstractJClass aClass)
+  {
+    return m_aMap.putIfAbsent (ClassNameComparator.getSortKey (aClass), aClass) == null;
+  }
+
+  @Override
+  public boolean contains (@Nullable final Object aObj)
+  {
+    return aObj instanceof AbstractJClass &&
+           m_aMap.containsKey (ClassNameComparator.getSortKey ((AbstractJClass) aObj));
+  }
+
+  @Override
+  public boolean remove (@Nullable final Object aObj)
+  {
+    return aObj instanceof AbstractJClass &&
+           m_aMap.remove (ClassNameComparator.getSortKey ((AbstractJClass) aObj)) != null;
+  }
+
+  @Override
+  @Nonnull
+  public Iterator <AbstractJClass> iterator ()
+  {
+    return m_aMap.values ().iterator ();
+  }
+
+  @Override
+  public int size ()
+  {
+    return m_aMap.size ();
+  }
+
+  @Override
+  public void clear ()
+  {
+    m_aMap.clear ();
+  }
+}
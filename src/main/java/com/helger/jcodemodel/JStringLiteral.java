@@ -55,10 +55,28 @@ import com.helger.jcodemodel.util.JCValueEnforcer;
 public class JStringLiteral implements IJExpression
 {
   private String m_sWhat;
+  /** Shared literals can't be modified */
+  private boolean m_bShared = false;
+
+  /**
+   * Where this literal was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
 
   protected JStringLiteral (@Nonnull final String sWhat)
   {
-    what (sWhat);
+    m_sWhat = JCValueEnforcer.notNull (sWhat, "What");
+  }
+
+  /**
+   * Mark this literal as shared, so that it can no longer be modified.
+   *
+   * @see JCodeModel#internLit(String)
+   */
+  final void internalSetShared ()
+  {
+    m_bShared = true;
   }
 
   @Nonnull
@@ -70,12 +88,17 @@ public class JStringLiteral implements IJExpression
   public final void what (@Nonnull final String sWhat)
   {
     JCValueEnforcer.notNull (sWhat, "What");
+    if (m_bShared)
+      throw new IllegalStateException ("This string literal is shared and cannot be modified");
     m_sWhat = sWhat;
+    // Expressions are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
   }
 
   public void generate (@Nonnull final JFormatter f)
   {
-    f.print (JExpr.quotify ('"', m_sWhat));
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
+    f.printQuoted ('"', m_sWhat);
   }
 
   @Override
@@ -0,0 +1,373 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The cached structural hash of a single code model node (see
+ * {@link JFormatter#getStructuralHash(IJGenerable)}). Each cache is linked to
+ * the cache of the enclosing node, so that a modification of a node also
+ * invalidates the cached hashes of all enclosing nodes (Merkle-style). The
+ * hash of an enclosing node is built from the hashes of the cached child nodes,
+ * so after a modification only the path from the modified node up to the root
+ * needs to be re-hashed.
+ * <p>
+ * Nodes with an own cache are {@link JDefinedClass}, {@link JMethod},
+ * {@link JBlock}, {@link JCatchBlock}, {@link JCase} and all statements that
+ * contain blocks. Variables, enum constants and modifiers are linked to the
+ * enclosing cache and invalidate it upon modification. Expressions, annotation
+ * values and comments don't know their enclosing node. Instead they remember
+ * the code model they were hashed in (see {@link #markHashed(Object, JCodeModel)})
+ * and their modification invalidates all caches of that code model at once
+ * (see {@link #invalidateHashed(Object)}). The same is done if a node inside an
+ * expression is modified, e.g. the body of a lambda expression or of an
+ * anonymous class. Each code model has its own generation, so a modification
+ * never invalidates the caches of other code models.
+ * <p>
+ * Besides the hash, each cache records whether the node references an error
+ * type, so that {@link JCodeModel#buildsErrorTypeRefs()} only needs to
+ * re-check modified nodes.
+ */
+@NotThreadSafe
+final class JStructuralHashCache
+{
+  /**
+   * Marker for nodes that were hashed without a known code model or in more
+   * than one code model.
+   */
+  private static final Object UNKNOWN_CODE_MODEL = new Object ();
+
+  /**
+   * The global generation. Caches calculated in an older generation are
+   * invalid. Only used for modifications of nodes that were hashed without a
+   * known code model or in more than one code model.
+   */
+  private static final AtomicInteger s_aGeneration = new AtomicInteger (0);
+
+  private JStructuralHashCache m_aParent;
+  private boolean m_bDetached;
+  private JCodeModel m_aOwner;
+  /** Where the node of a detached cache was hashed */
+  private Object m_aHashedIn;
+  private boolean m_bValid;
+  private JCodeModel m_aHashOwner;
+  private int m_nGeneration;
+  private int m_nGlobalGeneration;
+  private long m_nHash;
+  private boolean m_bContainsErrorTypes;
+
+  JStructuralHashCache ()
+  {}
+
+  /**
+   * Set the cache of the enclosing node.
+   *
+   * @param aParent
+   *        The parent cache. May be <code>null</code>.
+   */
+  void setParent (@Nullable final JStructuralHashCache aParent)
+  {
+    m_aParent = aParent;
+  }
+
+  /**
+   * Set the code model of the node. Only needed for root nodes, as all other
+   * nodes use the code model of their root node.
+   *
+   * @param aOwner
+   *        The owning code model. May not be <code>null</code>.
+   */
+  void setOwner (@Nonnull final JCodeModel aOwner)
+  {
+    m_aOwner = aOwner;
+  }
+
+  /**
+   * Mark this cache as the cache of a node that is part of an expression (e.g.
+   * a lambda body or an anonymous class). Such nodes are not linked to the
+   * enclosing node, so their invalidation invalidates all caches of the code
+   * model they were hashed in.
+   */
+  void setDetached ()
+  {
+    m_bDetached = true;
+  }
+
+  /**
+   * @return The code model of this cache or of the closest enclosing cache with
+   *         a code model. May be <code>null</code>.
+   */
+  @Nullable
+  private JCodeModel _getOwner ()
+  {
+    if (m_aOwner == null)
+    {
+      JStructuralHashCache aCur = m_aParent;
+      while (aCur != null && aCur.m_aOwner == null)
+        aCur = aCur.m_aParent;
+      // A node never changes its code model, so remember it
+      if (aCur != null)
+        m_aOwner = aCur.m_aOwner;
+    }
+    return m_aOwner;
+  }
+
+  boolean isValid ()
+  {
+    if (!m_bValid || m_nGlobalGeneration != s_aGeneration.get ())
+      return false;
+
+    // The node may have been added to a code model in the meantime
+    final JCodeModel aOwner = _getOwner ();
+    if (aOwner != null && aOwner != m_aHashOwner)
+      return false;
+    return m_aHashOwner == null || m_nGeneration == m_aHashOwner.internalGetStructuralHashGeneration ();
+  }
+
+  long getHash ()
+  {
+    return m_nHash;
+  }
+
+  /**
+   * @return <code>true</code> if the node of this cache references an error
+   *         type. Only meaningful if the cache is valid.
+   */
+  boolean containsErrorTypes ()
+  {
+    return m_bContainsErrorTypes;
+  }
+
+  /**
+   * Store the calculated hash.
+   *
+   * @param nHash
+   *        The structural hash.
+   * @param bContainsErrorTypes
+   *        <code>true</code> if the node references an error type.
+   * @param aHashedIn
+   *        The code model the hash was calculated for. Used if this node is not
+   *        part of a code model. May be <code>null</code>.
+   */
+  void setHash (final long nHash, final boolean bContainsErrorTypes, @Nullable final JCodeModel aHashedIn)
+  {
+    final JCodeModel aOwner = _getOwner ();
+    m_nHash = nHash;
+    m_bContainsErrorTypes = bContainsErrorTypes;
+    m_aHashOwner = aOwner != null ? aOwner : aHashedIn;
+    m_nGeneration = m_aHashOwner == null ? 0 : m_aHashOwner.internalGetStructuralHashGeneration ();
+    m_nGlobalGeneration = s_aGeneration.get ();
+    m_bValid = true;
+  }
+
+  /**
+   * Remember that the hash of this cache was used in the passed code model.
+   * Only relevant for detached caches.
+   *
+   * @param aCodeModel
+   *        The code model the hash was used in. May be <code>null</code>.
+   */
+  void markUsed (@Nullable final JCodeModel aCodeModel)
+  {
+    if (m_bDetached)
+      m_aHashedIn = markHashed (m_aHashedIn, aCodeModel);
+  }
+
+  /**
+   * Invalidate this cache and the caches of all enclosing nodes. Always walks
+   * up to the root, as the hash of a parent may have been calculated while the
+   * hash of a child was not (e.g. because it was emitted without a cache). If
+   * the walk ends at a detached cache, all caches of the code model the
+   * detached node was hashed in are invalidated.
+   */
+  void invalidate ()
+  {
+    JStructuralHashCache aCur = this;
+    while (true)
+    {
+      aCur.m_bValid = false;
+      if (aCur.m_aParent == null)
+        break;
+      aCur = aCur.m_aParent;
+    }
+    if (aCur.m_bDetached)
+      aCur.m_aHashedIn = invalidateHashed (aCur.m_aHashedIn);
+  }
+
+  /**
+   * Invalidate all existing caches of the passed code model at once. This is
+   * needed for modifications that can affect any node of the code model, e.g.
+   * the redirection of method invocations.
+   *
+   * @param aCodeModel
+   *        The code model to invalidate. May be <code>null</code> in which case
+   *        the caches of all code models are invalidated.
+   */
+  static void invalidateAll (@Nullable final JCodeModel aCodeModel)
+  {
+    if (aCodeModel != null)
+      aCodeModel.internalInvalidateStructuralHashes ();
+    else
+      s_aGeneration.incrementAndGet ();
+  }
+
+  /**
+   * Remember that a node without an own cache was hashed in the passed code
+   * model.
+   *
+   * @param aHashedIn
+   *        The previous marker of the node. May be <code>null</code> if the node
+   *        was not hashed since the last modification.
+   * @param aCodeModel
+   *        The code model the node was hashed in. May be <code>null</code> if
+   *        unknown.
+   * @return The new marker of the node. Never <code>null</code>.
+   */
+  @Nonnull
+  static Object markHashed (@Nullable final Object aHashedIn, @Nullable final JCodeModel aCodeModel)
+  {
+    if (aHashedIn == null && aCodeModel != null)
+      return aCodeModel;
+    if (aHashedIn == aCodeModel)
+      return aHashedIn;
+    return UNKNOWN_CODE_MODEL;
+  }
+
+  /**
+   * Invalidate all caches that may contain the hash of a modified node without
+   * an own cache.
+   *
+   * @param aHashedIn
+   *        The marker of the node as returned by
+   *        {@link #markHashed(Object, JCodeModel)}. May be <code>null</code> if
+   *        the node was not hashed since the last modification.
+   * @return Always <code>null</code> - the new marker of the node.
+   */
+  @Nullable
+  static Object invalidateHashed (@Nullable final Object aHashedIn)
+  {
+    if (aHashedIn instanceof JCodeModel)
+      invalidateAll ((JCodeModel) aHashedIn);
+    else
+      if (aHashedIn != null)
+        invalidateAll (null);
+    return null;
+  }
+
+  /**
+   * Invalidate the passed cache, if it is present.
+   *
+   * @param aCache
+   *        The cache to invalidate. May be <code>null</code>.
+   */
+  static void invalidate (@Nullable final JStructuralHashCache aCache)
+  {
+    if (aCache != null)
+      aCache.invalidate ();
+  }
+
+  /**
+   * Get the cache of the passed node.
+   *
+   * @param aNode
+   *        The node to check. May be <code>null</code>.
+   * @return <code>null</code> if the passed node has no own cache.
+   */
+  @Nullable
+  static JStructuralHashCache of (@Nullable final Object aNode)
+  {
+    if (aNode instanceof JBlock)
+      return ((JBlock) aNode).structuralHashCache ();
+    if (aNode instanceof JMethod)
+      return ((JMethod) aNode).structuralHashCache ();
+    if (aNode instanceof JDefinedClass)
+      return ((JDefinedClass) aNode).structuralHashCache ();
+    if (aNode instanceof JConditional)
+      return ((JConditional) aNode).structuralHashCache ();
+    if (aNode instanceof JForLoop)
+      return ((JForLoop) aNode).structuralHashCache ();
+    if (aNode instanceof JForEach)
+      return ((JForEach) aNode).structuralHashCache ();
+    if (aNode instanceof JWhileLoop)
+      return ((JWhileLoop) aNode).structuralHashCache ();
+    if (aNode instanceof JDoLoop)
+      return ((JDoLoop) aNode).structuralHashCache ();
+    if (aNode instanceof JTryBlock)
+      return ((JTryBlock) aNode).structuralHashCache ();
+    if (aNode instanceof JCatchBlock)
+      return ((JCatchBlock) aNode).structuralHashCache ();
+    if (aNode instanceof JSwitch)
+      return ((JSwitch) aNode).structuralHashCache ();
+    if (aNode instanceof JCase)
+      return ((JCase) aNode).structuralHashCache ();
+    if (aNode instanceof JSynchronizedBlock)
+      return ((JSynchronizedBlock) aNode).structuralHashCache ();
+    return null;
+  }
+
+  /**
+   * Link the passed child node to the passed parent cache and invalidate the
+   * parent cache, because a new child is present.
+   *
+   * @param aChild
+   *        The child node. May be <code>null</code>.
+   * @param aParent
+   *        The parent cache. May be <code>null</code>.
+   */
+  static void link (@Nullable final Object aChild, @Nullable final JStructuralHashCache aParent)
+  {
+    final JStructuralHashCache aChildCache = of (aChild);
+    if (aChildCache != null)
+      aChildCache.setParent (aParent);
+    else
+      if (aChild instanceof JVar)
+        ((JVar) aChild).setStructuralHashParent (aParent);
+      else
+        if (aChild instanceof JEnumConstant)
+          ((JEnumConstant) aChild).setStructuralHashParent (aParent);
+    invalidate (aParent);
+  }
+}
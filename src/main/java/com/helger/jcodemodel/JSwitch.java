@@ -66,6 +66,11 @@ public class JSwitch implements IJStatement
    */
   private JCase m_aDefaultCase;
 
+  /**
+   * The cached structural hash of this switch.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   /**
    * Construct a switch statement
    *
@@ -94,6 +99,7 @@ public class JSwitch implements IJStatement
   {
     final JCase c = new JCase (aLabel);
     m_aCases.add (c);
+    JStructuralHashCache.link (c, m_aStructuralHashCache);
     return c;
   }
 
@@ -104,10 +110,17 @@ public class JSwitch implements IJStatement
     {
       // default cases statements don't have a label
       m_aDefaultCase = new JCase (null, true);
+      JStructuralHashCache.link (m_aDefaultCase, m_aStructuralHashCache);
     }
     return m_aDefaultCase;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     if (JOp.hasTopOp (m_aTestExpr))
@@ -55,6 +55,11 @@ public class JSynchronizedBlock implements IJStatement
   private IJExpression m_aExpression;
   private JBlock m_aBody;
 
+  /**
+   * The cached structural hash of this block.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   protected JSynchronizedBlock (@Nonnull final IJExpression aExpression)
   {
     expr (aExpression);
@@ -64,6 +69,7 @@ public class JSynchronizedBlock implements IJStatement
   {
     JCValueEnforcer.notNull (aExpression, "expression");
     m_aExpression = aExpression;
+    m_aStructuralHashCache.invalidate ();
   }
 
   @Nonnull
@@ -76,10 +82,19 @@ public class JSynchronizedBlock implements IJStatement
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     f.print ("synchronized (").generable (m_aExpression).print (")").newline ();
@@ -0,0 +1,153 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Factory methods for generators that have already validated their input.
+ * Compared to the regular methods (e.g.
+ * {@link JBlock#decl(int, AbstractJType, String, IJExpression)}), neither
+ * names nor modifiers are checked, and duplicate fields are not detected.
+ * Passing invalid values results in invalid source code.
+ *
+ * @since 3.0.3
+ */
+@Immutable
+public final class JTrustedBuilder
+{
+  private JTrustedBuilder ()
+  {}
+
+  /**
+   * Add a local variable declaration to the passed block.
+   *
+   * @param aBlock
+   *        The block to add the declaration to.
+   * @param nMods
+   *        Modifiers for the variable
+   * @param aType
+   *        JType of the variable
+   * @param sName
+   *        Name of the variable. Must be a valid Java identifier.
+   * @param aInit
+   *        Initialization expression for this variable. May be null.
+   * @return Newly generated {@link JVar}
+   */
+  @Nonnull
+  public static JVar decl (@Nonnull final JBlock aBlock,
+                           final int nMods,
+                           @Nonnull final AbstractJType aType,
+                           @Nonnull final String sName,
+                           @Nullable final IJExpression aInit)
+  {
+    return aBlock.internalInsert (new JVar (JMods.getShared (nMods), aType, sName, aInit, false));
+  }
+
+  /**
+   * Add a parameter to the passed method.
+   *
+   * @param aMethod
+   *        The method to add the parameter to.
+   * @param nMods
+   *        Modifiers for the parameter
+   * @param aType
+   *        JType of the parameter
+   * @param sName
+   *        Name of the parameter. Must be a valid Java identifier.
+   * @return New parameter variable
+   */
+  @Nonnull
+  public static JVar param (@Nonnull final JMethod aMethod,
+                            final int nMods,
+                            @Nonnull final AbstractJType aType,
+                            @Nonnull final String sName)
+  {
+    return aMethod.internalAddParam (new JVar (JMods.getShared (nMods), aType, sName, null, false));
+  }
+
+  /**
+   * Add a field to the passed class.
+   *
+   * @param aClass
+   *        The class to add the field to.
+   * @param nMods
+   *        Modifiers for the field
+   * @param aType
+   *        JType of the field
+   * @param sName
+   *        Name of the field. Must be a valid Java identifier that is not yet
+   *        used in the class.
+   * @param aInit
+   *        Initial value of the field. May be <code>null</code>.
+   * @return Newly generated field
+   */
+  @Nonnull
+  public static JFieldVar field (@Nonnull final JDefinedClass aClass,
+                                 final int nMods,
+                                 @Nonnull final AbstractJType aType,
+                                 @Nonnull final String sName,
+                                 @Nullable final IJExpression aInit)
+  {
+    return aClass.internalAddField (new JFieldVar (aClass, JMods.getShared (nMods), aType, sName, aInit, false));
+  }
+
+  /**
+   * Add a parameter to the passed lambda expression.
+   *
+   * @param aLambda
+   *        The lambda to add the parameter to.
+   * @param aType
+   *        The type of the parameter. May be <code>null</code>.
+   * @param sName
+   *        Name of the parameter. Must be a valid Java identifier.
+   * @return The created lambda parameter
+   */
+  @Nonnull
+  public static JLambdaParam lambdaParam (@Nonnull final JLambda aLambda,
+                                          @Nullable final AbstractJType aType,
+                                          @Nonnull final String sName)
+  {
+    return aLambda.internalAddParam (new JLambdaParam (aType, sName, false));
+  }
+}
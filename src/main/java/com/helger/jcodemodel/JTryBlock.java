@@ -55,8 +55,15 @@ public class JTryBlock implements IJStatement
   private final List <JCatchBlock> m_aCatches = new ArrayList <> ();
   private JBlock m_aFinally;
 
+  /**
+   * The cached structural hash of this try block.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   protected JTryBlock ()
-  {}
+  {
+    JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+  }
 
   @Nonnull
   public JBlock body ()
@@ -69,6 +76,7 @@ public class JTryBlock implements IJStatement
   {
     final JCatchBlock cb = new JCatchBlock (aException);
     m_aCatches.add (cb);
+    JStructuralHashCache.link (cb, m_aStructuralHashCache);
     return cb;
   }
 
@@ -82,10 +90,19 @@ public class JTryBlock implements IJStatement
   public JBlock _finally ()
   {
     if (m_aFinally == null)
+    {
       m_aFinally = new JBlock ();
+      JStructuralHashCache.link (m_aFinally, m_aStructuralHashCache);
+    }
     return m_aFinally;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     f.print ("try").generable (m_aBody);
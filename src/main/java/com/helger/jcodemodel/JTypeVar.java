@@ -62,6 +62,12 @@ public class JTypeVar extends AbstractJClass implements IJDeclaration
   private final String m_sName;
   private final List <AbstractJClass> m_aBounds = new ArrayList <> ();
 
+  /**
+   * Where the declaration of this type variable was structurally hashed. See
+   * {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aHashedIn;
+
   protected JTypeVar (@Nonnull final JCodeModel aOwner, @Nonnull final String sName)
   {
     super (aOwner);
@@ -107,6 +113,9 @@ public class JTypeVar extends AbstractJClass implements IJDeclaration
   {
     JCValueEnforcer.notNull (aBound, "Bound");
     m_aBounds.add (aBound);
+    JCodeModel.internalOnTypeAttached (aBound);
+    // Type variables are not linked to the structural hash caches
+    m_aHashedIn = JStructuralHashCache.invalidateHashed (m_aHashedIn);
     return this;
   }
 
@@ -195,6 +204,7 @@ public class JTypeVar extends AbstractJClass implements IJDeclaration
    */
   public void declare (@Nonnull final JFormatter f)
   {
+    m_aHashedIn = f.internalMarkHashed (m_aHashedIn);
     f.id (name ());
     if (!m_aBounds.isEmpty ())
     {
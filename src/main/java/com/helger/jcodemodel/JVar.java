@@ -62,7 +62,7 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
   /**
    * Modifiers.
    */
-  private final JMods m_aMods;
+  private JMods m_aMods;
 
   /**
    * Type of the variable
@@ -84,6 +84,17 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
    */
   private List <JAnnotationUse> m_aAnnotations;
 
+  /**
+   * The structural hash cache of the enclosing node. May be <code>null</code>.
+   */
+  private JStructuralHashCache m_aStructuralHashParent;
+
+  /**
+   * Where the name of this variable was structurally hashed as part of a
+   * reference. See {@link JStructuralHashCache#markHashed(Object, JCodeModel)}.
+   */
+  private Object m_aNameHashedIn;
+
   /**
    * JVar constructor
    *
@@ -101,11 +112,56 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
                @Nonnull final String sName,
                @Nullable final IJExpression aInitExpr)
   {
-    JCValueEnforcer.isTrue (JJavaName.isJavaIdentifier (sName), () -> "Illegal variable name '" + sName + "'");
+    this (aMods, aType, sName, aInitExpr, true);
+  }
+
+  /**
+   * Constructor with optional name validation. Used by
+   * {@link JTrustedBuilder}.
+   */
+  JVar (@Nonnull final JMods aMods,
+        @Nonnull final AbstractJType aType,
+        @Nonnull final String sName,
+        @Nullable final IJExpression aInitExpr,
+        final boolean bValidate)
+  {
+    if (bValidate)
+      checkName (sName);
     m_aMods = aMods;
     m_aType = aType;
     m_sName = sName;
     m_aInitExpr = aInitExpr;
+    JCodeModel.internalOnTypeAttached (aType);
+  }
+
+  /**
+   * Copy constructor. The modifiers start as the shared instance of the same
+   * value and the list of annotations is copied.
+   *
+   * @param aSrc
+   *        The variable to copy. May not be <code>null</code>.
+   */
+  JVar (@Nonnull final JVar aSrc)
+  {
+    this (JMods.getShared (aSrc.m_aMods.getValue ()), aSrc.m_aType, aSrc.m_sName, aSrc.m_aInitExpr, false);
+    if (aSrc.m_aAnnotations != null)
+      m_aAnnotations = new ArrayList <> (aSrc.m_aAnnotations);
+  }
+
+  /**
+   * Check that the passed name is a valid Java identifier. No objects are
+   * created unless the name is invalid.
+   *
+   * @param sName
+   *        Name to check.
+   * @throws IllegalArgumentException
+   *         If the name is invalid and checks are enabled
+   */
+  static void checkName (@Nonnull final String sName)
+  {
+    // The message is only built on failure
+    if (!JJavaName.isJavaIdentifier (sName))
+      JCValueEnforcer.isTrue (false, "Illegal variable name '" + sName + "'");
   }
 
   /**
@@ -119,6 +175,7 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
   public JVar init (@Nullable final IJExpression aInitExpr)
   {
     m_aInitExpr = aInitExpr;
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
     return this;
   }
 
@@ -131,6 +188,19 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
     return m_aInitExpr;
   }
 
+  /**
+   * Set the structural hash cache of the enclosing node, that is invalidated
+   * upon modification of this variable or its modifiers.
+   *
+   * @param aParent
+   *        The parent cache. May be <code>null</code>.
+   */
+  void setStructuralHashParent (@Nullable final JStructuralHashCache aParent)
+  {
+    m_aStructuralHashParent = aParent;
+    m_aMods.setStructuralHashParent (aParent);
+  }
+
   /**
    * Get the name of this variable
    *
@@ -150,8 +220,30 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
    */
   public void name (@Nonnull final String sName)
   {
-    JCValueEnforcer.isTrue (JJavaName.isJavaIdentifier (sName), () -> "Illegal variable name '" + sName + "'");
+    checkName (sName);
     m_sName = sName;
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
+    // All references to this variable are affected
+    m_aNameHashedIn = JStructuralHashCache.invalidateHashed (m_aNameHashedIn);
+  }
+
+  /**
+   * Invalidate the structural hash cache of the enclosing node.
+   */
+  final void internalInvalidateStructuralHash ()
+  {
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
+  }
+
+  /**
+   * Called if the name of this variable is emitted as part of a reference.
+   *
+   * @param f
+   *        The formatter used. May not be <code>null</code>.
+   */
+  void internalMarkNameHashed (@Nonnull final JFormatter f)
+  {
+    m_aNameHashedIn = f.internalMarkHashed (m_aNameHashedIn);
   }
 
   /**
@@ -171,6 +263,23 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
    */
   @Nonnull
   public JMods mods ()
+  {
+    if (m_aMods.isShared ())
+    {
+      // Copy-on-write: the caller may modify the returned object
+      m_aMods = m_aMods.getModifiable ();
+      m_aMods.setStructuralHashParent (m_aStructuralHashParent);
+    }
+    return m_aMods;
+  }
+
+  /**
+   * @return the current modifiers for read-only access. In contrast to
+   *         {@link #mods()} a shared instance is not copied, so the returned
+   *         object must not be modified.
+   */
+  @Nonnull
+  JMods internalGetMods ()
   {
     return m_aMods;
   }
@@ -188,6 +297,8 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
     JCValueEnforcer.notNull (aNewType, "NewType");
     final AbstractJType aOldType = m_aType;
     m_aType = aNewType;
+    JCodeModel.internalOnTypeAttached (aNewType);
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
     return aOldType;
   }
 
@@ -205,6 +316,7 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
       m_aAnnotations = new ArrayList <> ();
     final JAnnotationUse a = new JAnnotationUse (aClazz);
     m_aAnnotations.add (a);
+    JStructuralHashCache.invalidate (m_aStructuralHashParent);
     return a;
   }
 
@@ -251,6 +363,7 @@ public class JVar implements IJAssignmentTarget, IJDeclaration, IJAnnotatable
 
   public void generate (@Nonnull final JFormatter f)
   {
+    internalMarkNameHashed (f);
     f.id (m_sName);
   }
 
@@ -57,6 +57,11 @@ public class JWhileLoop implements IJStatement
    */
   private JBlock m_aBody;
 
+  /**
+   * The cached structural hash of this loop.
+   */
+  private final JStructuralHashCache m_aStructuralHashCache = new JStructuralHashCache ();
+
   /**
    * Construct a While statement
    *
@@ -78,10 +83,19 @@ public class JWhileLoop implements IJStatement
   public JBlock body ()
   {
     if (m_aBody == null)
+    {
       m_aBody = new JBlock ();
+      JStructuralHashCache.link (m_aBody, m_aStructuralHashCache);
+    }
     return m_aBody;
   }
 
+  @Nonnull
+  final JStructuralHashCache structuralHashCache ()
+  {
+    return m_aStructuralHashCache;
+  }
+
   public void state (@Nonnull final JFormatter f)
   {
     if (JOp.hasTopOp (m_aTextExpr))
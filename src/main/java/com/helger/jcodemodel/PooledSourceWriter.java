@@ -0,0 +1,292 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The {@link Writer} used by {@link AbstractCodeWriter#openSource(JPackage, String)}.
+ * It combines Java unicode escaping (for control characters and characters
+ * that cannot be encoded in the target charset), buffering and encoding into a
+ * single object. A new writer is created for each file, but the encoder and
+ * the char and byte buffers are handed back to the owning code writer when the
+ * file is closed and re-used for the next file. A closed writer can't be used
+ * any more, even if its buffers are already used for another file. The created
+ * bytes are identical to an {@link java.io.OutputStreamWriter} with the same
+ * charset.
+ */
+@NotThreadSafe
+final class PooledSourceWriter extends Writer
+{
+  private static final int BUFFER_SIZE = 8192;
+  private static final char [] HEX_DIGITS = "0123456789abcdef".toCharArray ();
+
+  /**
+   * The encoder and the buffers, that are re-used for all files of a code
+   * writer.
+   */
+  static final class Buffers
+  {
+    private final CharsetEncoder m_aEncoder;
+    // A separate encoder, because canEncode may not be called while encoding
+    private final CharsetEncoder m_aCheckEncoder;
+    // Result cache for the non-ASCII chars
+    private final BitSet m_aCheckedChars = new BitSet ();
+    private final BitSet m_aUnencodableChars = new BitSet ();
+    private final char [] m_aChars = new char [BUFFER_SIZE];
+    private final CharBuffer m_aCharBuffer = CharBuffer.wrap (m_aChars);
+    private final ByteBuffer m_aByteBuffer = ByteBuffer.allocate (BUFFER_SIZE);
+
+    Buffers (@Nonnull final Charset aCharset)
+    {
+      m_aEncoder = aCharset.newEncoder ()
+                           .onMalformedInput (CodingErrorAction.REPLACE)
+                           .onUnmappableCharacter (CodingErrorAction.REPLACE);
+      m_aCheckEncoder = aCharset.newEncoder ();
+    }
+  }
+
+  private final AtomicReference <Buffers> m_aPool;
+  private final OutputStream m_aOS;
+  /** The buffers in use. <code>null</code> after the writer was closed. */
+  private Buffers m_aBuffers;
+  private int m_nCharCount;
+  private long m_nBytesWritten;
+
+  /**
+   * Start writing a new file.
+   *
+   * @param aOS
+   *        The stream to write to. Is closed together with this writer.
+   * @param aCharset
+   *        The charset to use.
+   * @param aPool
+   *        The pool containing the buffers of the previous file of the same
+   *        code writer.
+   */
+  PooledSourceWriter (@Nonnull final OutputStream aOS,
+                      @Nonnull final Charset aCharset,
+                      @Nonnull final AtomicReference <Buffers> aPool)
+  {
+    m_aPool = aPool;
+    m_aOS = aOS;
+    Buffers aBuffers = aPool.getAndSet (null);
+    if (aBuffers == null || !aBuffers.m_aEncoder.charset ().equals (aCharset))
+      aBuffers = new Buffers (aCharset);
+    else
+    {
+      aBuffers.m_aEncoder.reset ();
+      aBuffers.m_aByteBuffer.clear ();
+    }
+    m_aBuffers = aBuffers;
+  }
+
+  /**
+   * @return The number of bytes of all buffer writes to the stream of the
+   *         current file that completed without error. This is a lower bound,
+   *         as a failed write may have been partially accepted by the stream.
+   */
+  long getBytesWritten ()
+  {
+    return m_nBytesWritten;
+  }
+
+  private boolean _requireEscaping (@Nonnull final Buffers aBuffers, final char c)
+  {
+    // control characters
+    if (c < 0x20)
+      return c != '\t' && c != '\r' && c != '\n';
+
+    // check ASCII chars, for better performance
+    if (c < 0x80)
+      return false;
+
+    if (!aBuffers.m_aCheckedChars.get (c))
+    {
+      if (!aBuffers.m_aCheckEncoder.canEncode (c))
+        aBuffers.m_aUnencodableChars.set (c);
+      aBuffers.m_aCheckedChars.set (c);
+    }
+    return aBuffers.m_aUnencodableChars.get (c);
+  }
+
+  private void _put (@Nonnull final Buffers aBuffers, final char c) throws IOException
+  {
+    if (m_nCharCount == BUFFER_SIZE)
+      _encode (aBuffers, false);
+    aBuffers.m_aChars[m_nCharCount++] = c;
+  }
+
+  private void _write (@Nonnull final Buffers aBuffers, final char c) throws IOException
+  {
+    if (_requireEscaping (aBuffers, c))
+    {
+      // need to escape
+      _put (aBuffers, '\\');
+      _put (aBuffers, 'u');
+      _put (aBuffers, HEX_DIGITS[(c >> 12) & 0xf]);
+      _put (aBuffers, HEX_DIGITS[(c >> 8) & 0xf]);
+      _put (aBuffers, HEX_DIGITS[(c >> 4) & 0xf]);
+      _put (aBuffers, HEX_DIGITS[c & 0xf]);
+    }
+    else
+      _put (aBuffers, c);
+  }
+
+  @Nonnull
+  private Buffers _ensureOpen () throws IOException
+  {
+    final Buffers ret = m_aBuffers;
+    if (ret == null)
+      throw new IOException ("Writer is already closed");
+    return ret;
+  }
+
+  private void _writeBytes (@Nonnull final Buffers aBuffers) throws IOException
+  {
+    final ByteBuffer aByteBuffer = aBuffers.m_aByteBuffer;
+    if (aByteBuffer.position () > 0)
+    {
+      final int nBytes = aByteBuffer.position ();
+      aByteBuffer.clear ();
+      m_aOS.write (aByteBuffer.array (), 0, nBytes);
+      m_nBytesWritten += nBytes;
+    }
+  }
+
+  private void _encode (@Nonnull final Buffers aBuffers, final boolean bEndOfInput) throws IOException
+  {
+    final CharBuffer aCharBuffer = aBuffers.m_aCharBuffer;
+    aCharBuffer.limit (m_nCharCount).position (0);
+    while (true)
+    {
+      final CoderResult aResult = aBuffers.m_aEncoder.encode (aCharBuffer, aBuffers.m_aByteBuffer, bEndOfInput);
+      if (aResult.isOverflow ())
+        _writeBytes (aBuffers);
+      else
+        if (aResult.isUnderflow ())
+          break;
+        else
+          aResult.throwException ();
+    }
+
+    // Keep unconsumed chars (e.g. a trailing high surrogate)
+    final int nRest = aCharBuffer.remaining ();
+    if (nRest > 0)
+      System.arraycopy (aBuffers.m_aChars, aCharBuffer.position (), aBuffers.m_aChars, 0, nRest);
+    m_nCharCount = nRest;
+    aCharBuffer.clear ();
+  }
+
+  @Override
+  public void write (final int c) throws IOException
+  {
+    _write (_ensureOpen (), (char) c);
+  }
+
+  @Override
+  public void write (@Nonnull final char [] aBuf, final int nOfs, final int nLen) throws IOException
+  {
+    final Buffers aBuffers = _ensureOpen ();
+    for (int i = 0; i < nLen; i++)
+      _write (aBuffers, aBuf[nOfs + i]);
+  }
+
+  @Override
+  public void write (@Nonnull final String sStr, final int nOfs, final int nLen) throws IOException
+  {
+    final Buffers aBuffers = _ensureOpen ();
+    for (int i = 0; i < nLen; i++)
+      _write (aBuffers, sStr.charAt (nOfs + i));
+  }
+
+  @Override
+  public void flush () throws IOException
+  {
+    final Buffers aBuffers = _ensureOpen ();
+    _encode (aBuffers, false);
+    _writeBytes (aBuffers);
+    m_aOS.flush ();
+  }
+
+  @Override
+  public void close () throws IOException
+  {
+    final Buffers aBuffers = m_aBuffers;
+    if (aBuffers == null)
+      return;
+
+    // Invalidate this writer, so that it can't use the buffers any more
+    m_aBuffers = null;
+    try
+    {
+      _encode (aBuffers, true);
+      while (aBuffers.m_aEncoder.flush (aBuffers.m_aByteBuffer).isOverflow ())
+        _writeBytes (aBuffers);
+      _writeBytes (aBuffers);
+    }
+    finally
+    {
+      try
+      {
+        m_aOS.close ();
+      }
+      finally
+      {
+        // Hand back for the next file
+        m_aPool.compareAndSet (null, aBuffers);
+      }
+    }
+  }
+}
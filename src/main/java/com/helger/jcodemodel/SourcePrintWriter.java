@@ -45,25 +45,66 @@ import java.io.IOException;
 import java.io.Writer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * A special version of {@link java.io.PrintWriter} that has a customizable new
- * line string.
+ * line string. By default I/O errors are only logged. In strict mode the first
+ * error is thrown as a {@link SourceWriteException}.
  *
  * @author Philip Helger
  */
 public final class SourcePrintWriter extends FilterWriter
 {
   private final String m_sNewLine;
+  private final String m_sFilePath;
 
   public SourcePrintWriter (@Nonnull final Writer aWrappedWriter, @Nonnull final String sNewLine)
+  {
+    this (aWrappedWriter, sNewLine, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param aWrappedWriter
+   *        The writer to write to. May not be <code>null</code>.
+   * @param sNewLine
+   *        The new line string to use. May not be <code>null</code>.
+   * @param sFilePath
+   *        The path of the written file for error messages. If it is
+   *        non-<code>null</code> the writer is strict and throws a
+   *        {@link SourceWriteException} on the first I/O error.
+   * @since 3.0.3
+   */
+  public SourcePrintWriter (@Nonnull final Writer aWrappedWriter,
+                            @Nonnull final String sNewLine,
+                            @Nullable final String sFilePath)
   {
     super (aWrappedWriter);
     m_sNewLine = sNewLine;
+    m_sFilePath = sFilePath;
+  }
+
+  /**
+   * @return <code>true</code> if I/O errors are thrown, <code>false</code> if
+   *         they are only logged.
+   * @since 3.0.3
+   */
+  public boolean isStrict ()
+  {
+    return m_sFilePath != null;
   }
 
   private void _handleException (@Nonnull final IOException ex, @Nonnull final String sSource)
   {
+    if (m_sFilePath != null)
+    {
+      final long nBytesWritten = out instanceof PooledSourceWriter ? ((PooledSourceWriter) out).getBytesWritten ()
+                                                                   : -1;
+      throw new SourceWriteException (m_sFilePath, nBytesWritten, ex);
+    }
+
     System.err.println ("Error on Writer: " + sSource);
     ex.printStackTrace ();
   }
@@ -92,11 +133,39 @@ public final class SourcePrintWriter extends FilterWriter
     }
   }
 
+  private void _write (@Nonnull final String sStr, final int nOfs, final int nLen)
+  {
+    try
+    {
+      super.write (sStr, nOfs, nLen);
+    }
+    catch (final IOException ex)
+    {
+      _handleException (ex, "write String");
+    }
+  }
+
   public void print (final char c)
   {
     _write (c);
   }
 
+  /**
+   * Print a part of a string.
+   *
+   * @param sStr
+   *        The string to print. May not be <code>null</code>.
+   * @param nOfs
+   *        The index of the first char to print.
+   * @param nLen
+   *        The number of chars to print.
+   * @since 3.0.3
+   */
+  public void print (@Nonnull final String sStr, final int nOfs, final int nLen)
+  {
+    _write (sStr, nOfs, nLen);
+  }
+
   public void print (@Nonnull final String sStr)
   {
     _write (sStr);
@@ -0,0 +1,95 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Thrown by a strict {@link SourcePrintWriter} (see
+ * {@link AbstractCodeWriter#setStrict(boolean)}) on the first failure to write
+ * a source file. It aborts the current file and the whole build.
+ *
+ * @since 3.0.3
+ */
+public class SourceWriteException extends UncheckedIOException
+{
+  private final String m_sFilePath;
+  private final long m_nBytesWritten;
+
+  public SourceWriteException (@Nonnull final String sFilePath,
+                               final long nBytesWritten,
+                               @Nonnull final IOException aCause)
+  {
+    super ("Failed to write '" +
+           sFilePath +
+           "'" +
+           (nBytesWritten >= 0 ? " after " + nBytesWritten + " bytes" : "") +
+           ": " +
+           aCause.getMessage (),
+           aCause);
+    m_sFilePath = sFilePath;
+    m_nBytesWritten = nBytesWritten;
+  }
+
+  /**
+   * @return The path of the affected file relative to the output root, using
+   *         '/' as the separator.
+   */
+  @Nonnull
+  public String getFilePath ()
+  {
+    return m_sFilePath;
+  }
+
+  /**
+   * @return A lower bound of the number of bytes that were written to the file
+   *         before the error occurred or -1 if this is unknown. Only completed
+   *         writes of the internal buffer to the stream are counted, so the
+   *         stream may have accepted more bytes of the failed write.
+   */
+  public long getBytesWritten ()
+  {
+    return m_nBytesWritten;
+  }
+}
@@ -41,6 +41,7 @@
 package com.helger.jcodemodel;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -65,6 +66,89 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
                                    InvocationHandler,
                                    IJAnnotationWriter <A>
 {
+  /**
+   * The reflection data of a single annotation member that is needed to write
+   * a value.
+   */
+  private static final class MemberInfo
+  {
+    /** The member type or the component type for arrays */
+    private final Class <?> m_aType;
+    private final boolean m_bArray;
+    private final boolean m_bAnnotation;
+    /** The default value of scalar, non-annotation members. May be null. */
+    private final Object m_aDefaultValue;
+
+    MemberInfo (@Nonnull final Method aMethod)
+    {
+      final Class <?> aReturnType = aMethod.getReturnType ();
+      m_bArray = aReturnType.isArray ();
+      m_aType = m_bArray ? aReturnType.getComponentType () : aReturnType;
+      m_bAnnotation = Annotation.class.isAssignableFrom (m_aType);
+      // Only query the default once, as each call creates a new copy
+      m_aDefaultValue = m_bArray || m_bAnnotation ? null : aMethod.getDefaultValue ();
+    }
+  }
+
+  /**
+   * The member infos per annotation type, determined once per type.
+   */
+  private static final ClassValue <Map <String, MemberInfo>> MEMBER_INFOS = new ClassValue <Map <String, MemberInfo>> ()
+  {
+    @Override
+    protected Map <String, MemberInfo> computeValue (final Class <?> aAnnotationType)
+    {
+      final Map <String, MemberInfo> ret = new HashMap <> ();
+      for (final Method aMethod : aAnnotationType.getDeclaredMethods ())
+        if (aMethod.getParameterCount () == 0)
+          ret.put (aMethod.getName (), new MemberInfo (aMethod));
+      return ret;
+    }
+  };
+
+  /**
+   * The annotation type per writer type.
+   */
+  private static final ClassValue <Class <? extends Annotation>> ANNOTATION_TYPES = new ClassValue <Class <? extends Annotation>> ()
+  {
+    @Override
+    protected Class <? extends Annotation> computeValue (final Class <?> aWriterType)
+    {
+      final Class <? extends Annotation> ret = _findAnnotationType (aWriterType);
+      if (ret == null)
+        throw new IllegalArgumentException ("Failed to determine the annotation type of writer " + aWriterType);
+      return ret;
+    }
+  };
+
+  /**
+   * The constructor of the proxy class per writer type, so that the proxy
+   * class must only be looked up once. The proxy class of a non-public writer
+   * interface is non-public itself, so the constructor is made accessible. If
+   * that is not possible, the value is <code>null</code> and
+   * {@link Proxy#newProxyInstance(ClassLoader, Class[], InvocationHandler)} is
+   * used instead.
+   */
+  private static final ClassValue <Constructor <?>> PROXY_CONSTRUCTORS = new ClassValue <Constructor <?>> ()
+  {
+    @Override
+    protected Constructor <?> computeValue (final Class <?> aWriterType)
+    {
+      try
+      {
+        final Constructor <?> ret = _newProxyInstance (aWriterType, (p, m, a) -> null).getClass ()
+                                                                                       .getConstructor (InvocationHandler.class);
+        ret.setAccessible (true);
+        return ret;
+      }
+      catch (final NoSuchMethodException | RuntimeException ex)
+      {
+        // Not accessible - create each proxy via Proxy.newProxyInstance
+        return null;
+      }
+    }
+  };
+
   /**
    * This is what we are writing to.
    */
@@ -104,8 +188,14 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
 
   public Object invoke (final Object aProxy, final Method aMethod, final Object [] aArgs) throws Throwable
   {
+    final String name = aMethod.getName ();
     if (aMethod.getDeclaringClass () == IJAnnotationWriter.class)
     {
+      // Avoid the reflective call for the methods of this class
+      if (name.equals ("getAnnotationUse"))
+        return getAnnotationUse ();
+      if (name.equals ("getAnnotationType"))
+        return getAnnotationType ();
       try
       {
         return aMethod.invoke (this, aArgs);
@@ -116,23 +206,24 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
       }
     }
 
-    final String name = aMethod.getName ();
     Object arg = null;
     if (aArgs != null && aArgs.length > 0)
       arg = aArgs[0];
 
     // check how it's defined on the annotation
-    final Method m = m_aAnnotationType.getDeclaredMethod (name);
-    final Class <?> rt = m.getReturnType ();
+    final MemberInfo m = MEMBER_INFOS.get (m_aAnnotationType).get (name);
+    if (m == null)
+      throw new NoSuchMethodException (m_aAnnotationType.getName () + "." + name + "()");
+    final Class <?> rt = m.m_aType;
 
     // array value
-    if (rt.isArray ())
+    if (m.m_bArray)
     {
-      return _addArrayValue (aProxy, name, rt.getComponentType (), aMethod.getReturnType (), arg);
+      return _addArrayValue (aProxy, name, rt, m.m_bAnnotation, aMethod.getReturnType (), arg);
     }
 
     // sub annotation
-    if (Annotation.class.isAssignableFrom (rt))
+    if (m.m_bAnnotation)
     {
       final Class <? extends Annotation> r = (Class <? extends Annotation>) rt;
       return new TypedAnnotationWriter (r, aMethod.getReturnType (), m_aUse.annotationParam (name, r))._createProxy ();
@@ -144,10 +235,10 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
     {
       final AbstractJType targ = (AbstractJType) arg;
       _checkType (Class.class, rt);
-      if (m.getDefaultValue () != null)
+      if (m.m_aDefaultValue != null)
       {
         // check the default
-        if (targ.equals (targ.owner ().ref ((Class <?>) m.getDefaultValue ())))
+        if (targ.equals (targ.owner ().ref ((Class <?>) m.m_aDefaultValue)))
           return aProxy; // defaulted
       }
       m_aUse.param (name, targ);
@@ -156,7 +247,7 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
 
     // other Java built-in types
     _checkType (arg.getClass (), rt);
-    if (m.getDefaultValue () != null && m.getDefaultValue ().equals (arg))
+    if (m.m_aDefaultValue != null && m.m_aDefaultValue.equals (arg))
     {
       /*
        * defaulted. no need to write out.
@@ -195,6 +286,7 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
   private Object _addArrayValue (final Object aProxy,
                                  final String sName,
                                  final Class <?> aItemType,
+                                 final boolean bItemIsAnnotation,
                                  final Class <?> aExpectedReturnType,
                                  final Object arg)
   {
@@ -203,7 +295,7 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
     final JAnnotationArrayMember m = m_aArrays.computeIfAbsent (sName, k -> m_aUse.paramArray (k));
 
     // sub annotation
-    if (Annotation.class.isAssignableFrom (aItemType))
+    if (bItemIsAnnotation)
     {
       final Class <? extends Annotation> r = (Class <? extends Annotation>) aItemType;
       if (!IJAnnotationWriter.class.isAssignableFrom (aExpectedReturnType))
@@ -259,14 +351,32 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
     throw new IllegalArgumentException ("Expected " + aExpected + " but found " + aActual);
   }
 
+  @Nonnull
+  private static Object _newProxyInstance (@Nonnull final Class <?> aWriterType,
+                                           @Nonnull final InvocationHandler aHandler)
+  {
+    return Proxy.newProxyInstance (JCSecureLoader.getClassClassLoader (aWriterType),
+                                   new Class [] { aWriterType },
+                                   aHandler);
+  }
+
   /**
    * Creates a proxy and returns it.
    */
   private W _createProxy ()
   {
-    return (W) Proxy.newProxyInstance (JCSecureLoader.getClassClassLoader (m_aWriterType),
-                                       new Class [] { m_aWriterType },
-                                       this);
+    final Constructor <?> aCtor = PROXY_CONSTRUCTORS.get (m_aWriterType);
+    if (aCtor == null)
+      return (W) _newProxyInstance (m_aWriterType, this);
+
+    try
+    {
+      return (W) aCtor.newInstance (this);
+    }
+    catch (final ReflectiveOperationException ex)
+    {
+      throw new IllegalStateException ("Failed to create proxy for " + m_aWriterType, ex);
+    }
   }
 
   /**
@@ -276,7 +386,7 @@ public class TypedAnnotationWriter <A extends Annotation, W extends IJAnnotation
   static <W extends IJAnnotationWriter <?>> W create (@Nonnull final Class <W> aWriterType,
                                                       @Nonnull final IJAnnotatable aAnnotatable)
   {
-    final Class <? extends Annotation> a = _findAnnotationType (aWriterType);
+    final Class <? extends Annotation> a = ANNOTATION_TYPES.get (aWriterType);
     return (W) new TypedAnnotationWriter (a, aWriterType, aAnnotatable.annotate (a))._createProxy ();
   }
 
@@ -98,6 +98,8 @@ public class JTextFile extends AbstractJResourceFile
       })
       {
         w.write (m_sContents);
+        // Closing is suppressed, so flush explicitly
+        w.flush ();
       }
   }
 }
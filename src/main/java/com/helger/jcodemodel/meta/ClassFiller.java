@@ -108,7 +108,15 @@ class ClassFiller
           enclosedElement.getKind ().equals (ElementKind.CLASS))
       {
         final TypeElement innerClassElement = (TypeElement) enclosedElement;
-        m_aModelsAdapter.defineInnerClass (m_aNewClass, innerClassElement, environment.enclosed ());
+        environment.enterScope ();
+        try
+        {
+          m_aModelsAdapter.defineInnerClass (m_aNewClass, innerClassElement, environment);
+        }
+        finally
+        {
+          environment.leaveScope ();
+        }
       }
       else
         if (enclosedElement.getKind ().equals (ElementKind.METHOD))
@@ -117,47 +125,54 @@ class ClassFiller
           final JMethod method = m_aNewClass.method (DecidedErrorTypesModelsAdapter.toJMod (executable.getModifiers ()),
                                                      m_aCodeModel.VOID,
                                                      executable.getSimpleName ().toString ());
-          final TypeEnvironment methodEnvironment = environment.enclosed ();
-          final Annotator methodAnnotator = new Annotator (m_aModelsAdapter, method, environment);
-          methodAnnotator.annotate (executable.getAnnotationMirrors ());
-          for (final TypeParameterElement parameter : executable.getTypeParameters ())
+          environment.enterScope ();
+          try
           {
-            final JTypeVar typeVariable = method.generify (parameter.getSimpleName ().toString ());
-            methodEnvironment.put (typeVariable.name (), typeVariable);
-            for (final TypeMirror type : parameter.getBounds ())
+            final Annotator methodAnnotator = new Annotator (m_aModelsAdapter, method, environment);
+            methodAnnotator.annotate (executable.getAnnotationMirrors ());
+            for (final TypeParameterElement parameter : executable.getTypeParameters ())
             {
-              typeVariable.bound ((AbstractJClass) m_aModelsAdapter.toJType (type, methodEnvironment));
+              final JTypeVar typeVariable = method.generify (parameter.getSimpleName ().toString ());
+              environment.put (typeVariable.name (), typeVariable);
+              for (final TypeMirror type : parameter.getBounds ())
+              {
+                typeVariable.bound ((AbstractJClass) m_aModelsAdapter.toJType (type, environment));
+              }
             }
-          }
-          method.type (m_aModelsAdapter.toJType (executable.getReturnType (), methodEnvironment));
-          for (final TypeMirror type : executable.getThrownTypes ())
-          {
-            final AbstractJClass throwable = (AbstractJClass) m_aModelsAdapter.toJType (type, methodEnvironment);
-            method._throws (throwable);
-          }
-          final List <? extends VariableElement> parameters = executable.getParameters ();
-          int n = 0;
-          for (final VariableElement variable : parameters)
-          {
-            final String parameterName = variable.getSimpleName ().toString ();
-            final TypeMirror parameterTypeMirror = variable.asType ();
-            final AbstractJType parameterType = m_aModelsAdapter.toJType (parameterTypeMirror, methodEnvironment);
-            JVar param;
-            if (executable.isVarArgs () && n == parameters.size () - 1)
+            method.type (m_aModelsAdapter.toJType (executable.getReturnType (), environment));
+            for (final TypeMirror type : executable.getThrownTypes ())
             {
-              param = method.varParam (DecidedErrorTypesModelsAdapter.toJMod (variable.getModifiers ()),
-                                       parameterType.elementType (),
-                                       parameterName);
+              final AbstractJClass throwable = (AbstractJClass) m_aModelsAdapter.toJType (type, environment);
+              method._throws (throwable);
             }
-            else
+            final List <? extends VariableElement> parameters = executable.getParameters ();
+            int n = 0;
+            for (final VariableElement variable : parameters)
             {
-              param = method.param (DecidedErrorTypesModelsAdapter.toJMod (variable.getModifiers ()),
-                                    parameterType,
-                                    parameterName);
+              final String parameterName = variable.getSimpleName ().toString ();
+              final TypeMirror parameterTypeMirror = variable.asType ();
+              final AbstractJType parameterType = m_aModelsAdapter.toJType (parameterTypeMirror, environment);
+              JVar param;
+              if (executable.isVarArgs () && n == parameters.size () - 1)
+              {
+                param = method.varParam (DecidedErrorTypesModelsAdapter.toJMod (variable.getModifiers ()),
+                                         parameterType.elementType (),
+                                         parameterName);
+              }
+              else
+              {
+                param = method.param (DecidedErrorTypesModelsAdapter.toJMod (variable.getModifiers ()),
+                                      parameterType,
+                                      parameterName);
+              }
+              final Annotator parametorAnnotator = new Annotator (m_aModelsAdapter, param, environment);
+              parametorAnnotator.annotate (variable.getAnnotationMirrors ());
+              n++;
             }
-            final Annotator parametorAnnotator = new Annotator (m_aModelsAdapter, param, methodEnvironment);
-            parametorAnnotator.annotate (variable.getAnnotationMirrors ());
-            n++;
+          }
+          finally
+          {
+            environment.leaveScope ();
           }
         }
     }
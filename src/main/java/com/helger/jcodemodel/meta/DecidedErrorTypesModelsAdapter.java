@@ -54,6 +54,7 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 
@@ -140,14 +141,18 @@ class DecidedErrorTypesModelsAdapter
   private final Elements m_aElementUtils;
   private final ErrorTypePolicy m_aErrorTypePolicy;
   private final JCodeModel m_aCodeModel;
+  private final TypeConversionCache m_aCache;
+  private TypeMirrorToJTypeVisitor m_aLastVisitor;
 
   DecidedErrorTypesModelsAdapter (final JCodeModel codeModel,
                                   final Elements elementUtils,
-                                  final ErrorTypePolicy errorTypePolicy)
+                                  final ErrorTypePolicy errorTypePolicy,
+                                  final TypeConversionCache cache)
   {
     m_aElementUtils = elementUtils;
     m_aErrorTypePolicy = errorTypePolicy;
     m_aCodeModel = codeModel;
+    m_aCache = cache;
   }
 
   public JDefinedClass getClass (final TypeElement element) throws CodeModelBuildingException, ErrorTypeFound
@@ -303,24 +308,56 @@ class DecidedErrorTypesModelsAdapter
 
   AbstractJClass ref (final TypeElement element) throws CodeModelBuildingException, ErrorTypeFound
   {
-    try
-    {
-      final Class <?> klass = Class.forName (element.getQualifiedName ().toString ());
-      final AbstractJType declaredClass = m_aCodeModel.ref (klass);
-      return (AbstractJClass) declaredClass;
-    }
-    catch (final ClassNotFoundException ex)
+    final String className = element.getQualifiedName ().toString ();
+    final AbstractJClass loadedClass = m_aCache.getLoadedClass (className);
+    if (loadedClass != null)
+      return loadedClass;
+
+    // Avoid the expensive exception for classes that are known to be missing
+    if (!m_aCache.isNotLoadable (className))
     {
-      return getClass (element);
+      try
+      {
+        final Class <?> klass = Class.forName (className);
+        final AbstractJClass declaredClass = m_aCodeModel.ref (klass);
+        m_aCache.putLoadedClass (className, declaredClass);
+        return declaredClass;
+      }
+      catch (final ClassNotFoundException ex)
+      {
+        m_aCache.putNotLoadable (className);
+      }
     }
+    return getClass (element);
   }
 
   AbstractJType toJType (final TypeMirror type, final TypeEnvironment environment) throws CodeModelBuildingException,
                                                                                    ErrorTypeFound
   {
+    // Only declared types are cached - all other types are cheap to convert
+    final Object cacheKey = type.getKind () == TypeKind.DECLARED ? TypeConversionCache.createKey (type, environment)
+                                                                 : null;
+    if (cacheKey != null)
+    {
+      final AbstractJType cachedType = m_aCache.getDeclaredType (cacheKey);
+      if (cachedType != null)
+        return cachedType;
+    }
+
+    // The visitor is stateless, so it can be reused for the same environment
+    TypeMirrorToJTypeVisitor visitor = m_aLastVisitor;
+    if (visitor == null || visitor.environment () != environment)
+    {
+      visitor = new TypeMirrorToJTypeVisitor (m_aCodeModel, this, m_aErrorTypePolicy, environment);
+      m_aLastVisitor = visitor;
+    }
+
     try
     {
-      return type.accept (new TypeMirrorToJTypeVisitor (m_aCodeModel, this, m_aErrorTypePolicy, environment), null);
+      final AbstractJType result = type.accept (visitor, null);
+      if (cacheKey != null)
+        m_aCache.putDeclaredType (cacheKey, result);
+      return result;
     }
     catch (final RuntimeErrorTypeFound ex)
     {
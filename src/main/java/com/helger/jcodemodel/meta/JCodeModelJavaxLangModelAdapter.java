@@ -40,6 +40,10 @@
  */
 package com.helger.jcodemodel.meta;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javax.annotation.Nonnull;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
@@ -51,9 +55,12 @@ public class JCodeModelJavaxLangModelAdapter
 {
   private final JCodeModel m_aCodeModel;
   private final Elements m_aElementUtils;
+  private final TypeConversionCache m_aCache = new TypeConversionCache ();
 
   /**
-   * Creates new instance of JCodeModelJavaxLangModelAdapter.
+   * Creates new instance of JCodeModelJavaxLangModelAdapter. Converted types
+   * are cached for the lifetime of the instance, so a single instance should be
+   * used for all elements of one processing round.
    *
    * @param codeModel
    *        Base code model. May not be <code>null</code>.
@@ -141,7 +148,101 @@ public class JCodeModelJavaxLangModelAdapter
   {
     final DecidedErrorTypesModelsAdapter errorTypeDecision = new DecidedErrorTypesModelsAdapter (m_aCodeModel,
                                                                                                  m_aElementUtils,
-                                                                                                 policy);
+                                                                                                 policy,
+                                                                                                 m_aCache);
     return errorTypeDecision.getClass (element);
   }
+
+  /**
+   * Returns jcodemodel class definitions for all given elements. This is more
+   * efficient than calling {@link #getClass(TypeElement)} for each element,
+   * as all elements are converted with the same adapter and share all
+   * intermediate results.
+   *
+   * @param elements
+   *        elements to convert to class definitions
+   * @return A map from each element to its jcodemodel class definition, in
+   *         the order of the passed elements.
+   * @throws ErrorTypeFound
+   *         if any element contains references to so called "error"-types.
+   * @throws CodeModelBuildingException
+   *         when operation can't be performed. For example, when given class
+   *         already exists.
+   * @since 3.0.3
+   */
+  @Nonnull
+  public Map <TypeElement, JDefinedClass> getClasses (@Nonnull final Collection <? extends TypeElement> elements) throws ErrorTypeFound,
+                                                                                                                CodeModelBuildingException
+  {
+    final ErrorTypePolicy policy = new ErrorTypePolicy (ErrorTypePolicy.EAction.THROW_EXCEPTION, true);
+    return getClasses (elements, policy);
+  }
+
+  /**
+   * Returns jcodemodel class definitions for all given elements. The class
+   * definitions can include references to "error"-types. See
+   * {@link #getClasses(Collection, ErrorTypePolicy)} for details.
+   *
+   * @param elements
+   *        elements to convert to class definitions
+   * @return A map from each element to its jcodemodel class definition, in
+   *         the order of the passed elements.
+   * @throws CodeModelBuildingException
+   *         when operation can't be performed. For example, when given class
+   *         already exists.
+   * @since 3.0.3
+   */
+  @Nonnull
+  public Map <TypeElement, JDefinedClass> getClassesWithErrorTypes (@Nonnull final Collection <? extends TypeElement> elements) throws CodeModelBuildingException
+  {
+    final ErrorTypePolicy policy = new ErrorTypePolicy (ErrorTypePolicy.EAction.CREATE_ERROR_TYPE, true);
+    try
+    {
+      return getClasses (elements, policy);
+    }
+    catch (final ErrorTypeFound ex)
+    {
+      throw new RuntimeException ("ErrorTypeFound exception is disabled and shouldn't be thrown here", ex);
+    }
+  }
+
+  /**
+   * Returns jcodemodel class definitions for all given elements. All elements
+   * are converted in one pass with a single adapter, so that referenced types
+   * and classes are converted only once. Elements whose class was already
+   * created while converting a previous element (e.g. nested classes) are
+   * simply looked up.
+   * <p>
+   * The conversion is done in the calling thread, as neither the
+   * javax.lang.model API nor {@link JCodeModel} are thread-safe.
+   *
+   * @param elements
+   *        elements to convert to class definitions
+   * @param policy
+   *        error type policy
+   * @return A map from each element to its jcodemodel class definition, in
+   *         the order of the passed elements.
+   * @throws ErrorTypeFound
+   *         if error type {@code policy} is configured to throw exceptions and
+   *         any element contains references to so called "error"-types
+   * @throws CodeModelBuildingException
+   *         when operation can't be performed. For example, when given class
+   *         already exists.
+   * @since 3.0.3
+   */
+  @Nonnull
+  public Map <TypeElement, JDefinedClass> getClasses (@Nonnull final Collection <? extends TypeElement> elements,
+                                                      @Nonnull final ErrorTypePolicy policy) throws ErrorTypeFound,
+                                                                                             CodeModelBuildingException
+  {
+    final DecidedErrorTypesModelsAdapter errorTypeDecision = new DecidedErrorTypesModelsAdapter (m_aCodeModel,
+                                                                                                 m_aElementUtils,
+                                                                                                 policy,
+                                                                                                 m_aCache);
+    final Map <TypeElement, JDefinedClass> result = new LinkedHashMap <> (elements.size () * 2);
+    for (final TypeElement element : elements)
+      if (!result.containsKey (element))
+        result.put (element, errorTypeDecision.getClass (element));
+    return result;
+  }
 }
@@ -0,0 +1,186 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.meta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.AbstractJType;
+
+/**
+ * Caches the results of {@link DecidedErrorTypesModelsAdapter} that don't
+ * depend on the error type policy, so that it can be shared by all adapters
+ * created by one {@link JCodeModelJavaxLangModelAdapter}. Converting a whole
+ * module touches each type only once.
+ * <p>
+ * Types are keyed by their type element and their type arguments. Type
+ * variables are keyed by the type they resolve to in the current
+ * {@link TypeEnvironment}. Types containing error types or unresolved type
+ * variables are never cached, as their conversion depends on the error type
+ * policy.
+ */
+class TypeConversionCache
+{
+  /** Classes that could be loaded via {@link Class#forName(String)} */
+  private final Map <String, AbstractJClass> m_aLoadedClasses = new HashMap <> ();
+  /** Class names that could not be loaded via {@link Class#forName(String)} */
+  private final Set <String> m_aNotLoadableClassNames = new HashSet <> ();
+  /** Converted declared types */
+  private final Map <Object, AbstractJType> m_aDeclaredTypes = new HashMap <> ();
+
+  TypeConversionCache ()
+  {}
+
+  @Nullable
+  AbstractJClass getLoadedClass (@Nonnull final String sClassName)
+  {
+    return m_aLoadedClasses.get (sClassName);
+  }
+
+  void putLoadedClass (@Nonnull final String sClassName, @Nonnull final AbstractJClass aClass)
+  {
+    m_aLoadedClasses.put (sClassName, aClass);
+  }
+
+  boolean isNotLoadable (@Nonnull final String sClassName)
+  {
+    return m_aNotLoadableClassNames.contains (sClassName);
+  }
+
+  void putNotLoadable (@Nonnull final String sClassName)
+  {
+    m_aNotLoadableClassNames.add (sClassName);
+  }
+
+  @Nullable
+  AbstractJType getDeclaredType (@Nonnull final Object aKey)
+  {
+    return m_aDeclaredTypes.get (aKey);
+  }
+
+  void putDeclaredType (@Nonnull final Object aKey, @Nonnull final AbstractJType aType)
+  {
+    m_aDeclaredTypes.put (aKey, aType);
+  }
+
+  /**
+   * Create the cache key for the passed type.
+   *
+   * @param aType
+   *        The type to create the key for. May not be <code>null</code>.
+   * @param aEnvironment
+   *        The environment to resolve type variables. May not be
+   *        <code>null</code>.
+   * @return <code>null</code> if the passed type cannot be cached.
+   */
+  @Nullable
+  static Object createKey (@Nonnull final TypeMirror aType, @Nonnull final TypeEnvironment aEnvironment)
+  {
+    final TypeKind eKind = aType.getKind ();
+    switch (eKind)
+    {
+      case BOOLEAN:
+      case BYTE:
+      case CHAR:
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case SHORT:
+        return eKind;
+      case ARRAY:
+      {
+        final Object aComponentKey = createKey (((ArrayType) aType).getComponentType (), aEnvironment);
+        return aComponentKey == null ? null : Arrays.asList (eKind, aComponentKey);
+      }
+      case DECLARED:
+      {
+        final DeclaredType aDeclaredType = (DeclaredType) aType;
+        final List <? extends TypeMirror> aTypeArgs = aDeclaredType.getTypeArguments ();
+        final List <Object> ret = new ArrayList <> (1 + aTypeArgs.size ());
+        ret.add ((TypeElement) aDeclaredType.asElement ());
+        for (final TypeMirror aTypeArg : aTypeArgs)
+        {
+          final Object aTypeArgKey = createKey (aTypeArg, aEnvironment);
+          if (aTypeArgKey == null)
+            return null;
+          ret.add (aTypeArgKey);
+        }
+        return ret;
+      }
+      case WILDCARD:
+      {
+        final WildcardType aWildcardType = (WildcardType) aType;
+        final TypeMirror aExtendsBound = aWildcardType.getExtendsBound ();
+        final TypeMirror aSuperBound = aWildcardType.getSuperBound ();
+        final Object aExtendsKey = aExtendsBound == null ? null : createKey (aExtendsBound, aEnvironment);
+        final Object aSuperKey = aSuperBound == null ? null : createKey (aSuperBound, aEnvironment);
+        if ((aExtendsBound != null && aExtendsKey == null) || (aSuperBound != null && aSuperKey == null))
+          return null;
+        return Arrays.asList (eKind, aExtendsKey, aSuperKey);
+      }
+      case TYPEVAR:
+      {
+        final AbstractJType aResolved = aEnvironment.get (((TypeVariable) aType).asElement ().getSimpleName ().toString ());
+        return aResolved == null ? null : Arrays.asList (eKind, aResolved);
+      }
+      default:
+        // Error types etc.
+        return null;
+    }
+  }
+}
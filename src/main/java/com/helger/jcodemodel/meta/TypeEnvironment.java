@@ -40,8 +40,11 @@
  */
 package com.helger.jcodemodel.meta;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -49,49 +52,84 @@ import javax.annotation.Nullable;
 import com.helger.jcodemodel.AbstractJType;
 
 /**
+ * Scoped symbol table for type variables. All scopes share a single hash
+ * table, so lookups are O(1) independent of the nesting depth. Each binding
+ * remembers the binding it shadows, so that leaving a scope restores the
+ * enclosing bindings. Entering a scope only records a marker and doesn't
+ * allocate anything.
+ *
  * @author Victor Nazarov &lt;asviraspossible@gmail.com&gt;
  */
 class TypeEnvironment
 {
-  private final Map <String, AbstractJType> m_aMap = new TreeMap <> ();
-  private final TypeEnvironment m_aParent;
+  private static final class Binding
+  {
+    private final String m_sName;
+    private final AbstractJType m_aShadowed;
+
+    Binding (@Nonnull final String sName, @Nullable final AbstractJType aShadowed)
+    {
+      m_sName = sName;
+      m_aShadowed = aShadowed;
+    }
+  }
+
+  private final Map <String, AbstractJType> m_aMap = new HashMap <> ();
+  /** All bindings in the order they were made */
+  private final List <Binding> m_aBindings = new ArrayList <> ();
+  /** For each open scope the number of bindings when it was entered */
+  private int [] m_aScopeMarkers = new int [8];
+  private int m_nScopeCount = 0;
   private final String m_sPackageName;
 
   TypeEnvironment (final String packageName)
   {
-    m_aParent = null;
     m_sPackageName = packageName;
   }
 
-  private TypeEnvironment (final TypeEnvironment parent)
+  /**
+   * Enter a new nested scope. Must be balanced with a call to
+   * {@link #leaveScope()}.
+   */
+  public void enterScope ()
   {
-    m_sPackageName = null;
-    m_aParent = parent;
+    if (m_nScopeCount == m_aScopeMarkers.length)
+      m_aScopeMarkers = Arrays.copyOf (m_aScopeMarkers, m_nScopeCount * 2);
+    m_aScopeMarkers[m_nScopeCount++] = m_aBindings.size ();
   }
 
-  @Nonnull
-  public TypeEnvironment enclosed ()
+  /**
+   * Leave the current scope and remove all bindings made in it.
+   */
+  public void leaveScope ()
   {
-    return new TypeEnvironment (this);
+    if (m_nScopeCount == 0)
+      throw new IllegalStateException ("No scope to leave");
+    final int nMarker = m_aScopeMarkers[--m_nScopeCount];
+    for (int i = m_aBindings.size () - 1; i >= nMarker; --i)
+    {
+      final Binding aBinding = m_aBindings.remove (i);
+      if (aBinding.m_aShadowed == null)
+        m_aMap.remove (aBinding.m_sName);
+      else
+        m_aMap.put (aBinding.m_sName, aBinding.m_aShadowed);
+    }
   }
 
   @Nullable
   public AbstractJType get (@Nonnull final String name)
   {
-    final AbstractJType result = m_aMap.get (name);
-    if (result != null || m_aParent == null)
-      return result;
-    return m_aParent.get (name);
+    return m_aMap.get (name);
   }
 
   public void put (@Nonnull final String name, final AbstractJType type)
   {
-    m_aMap.put (name, type);
+    m_aBindings.add (new Binding (name, m_aMap.put (name, type)));
   }
 
   @Nullable
   String packageName ()
   {
-    return m_aParent == null ? m_sPackageName : m_aParent.packageName ();
+    return m_sPackageName;
   }
 }
@@ -83,6 +83,11 @@ class TypeMirrorToJTypeVisitor extends AbstractTypeVisitor6 <AbstractJType, Void
     this.m_aEnvironment = environment;
   }
 
+  TypeEnvironment environment ()
+  {
+    return m_aEnvironment;
+  }
+
   @Override
   public AbstractJType visitPrimitive (final PrimitiveType t, final Void p)
   {
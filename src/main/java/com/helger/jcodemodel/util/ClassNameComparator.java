@@ -40,20 +40,92 @@
  */
 package com.helger.jcodemodel.util;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 
 import com.helger.jcodemodel.AbstractJClass;
 
 /**
  * Comparator object that sorts {@link AbstractJClass}es in the order of their
  * names.
+ * <p>
+ * As {@link AbstractJClass#fullName()} may create a new String on every call
+ * (e.g. for narrowed classes), {@link #sort(List)} and {@link SortKey} can be
+ * used to determine the name of each class only once.
  *
  * @author Kohsuke Kawaguchi (kohsuke.kawaguchi@sun.com)
  */
 public final class ClassNameComparator implements Comparator <AbstractJClass>
 {
+  /**
+   * The pre-computed sort key of a single class. The natural order of the keys
+   * is identical to the order defined by {@link ClassNameComparator}.
+   *
+   * @since 3.0.3
+   */
+  @Immutable
+  public static final class SortKey implements Comparable <SortKey>
+  {
+    private static final int RANK_ERROR = 0;
+    private static final int RANK_JAVA = 1;
+    private static final int RANK_OTHER = 2;
+
+    private final AbstractJClass m_aClass;
+    private final int m_nRank;
+    private final String m_sName;
+
+    private SortKey (@Nonnull final AbstractJClass aClass)
+    {
+      m_aClass = aClass;
+      if (aClass.isError ())
+      {
+        m_nRank = RANK_ERROR;
+        m_sName = null;
+      }
+      else
+      {
+        m_sName = aClass.fullName ();
+        m_nRank = m_sName.startsWith ("java.") ? RANK_JAVA : RANK_OTHER;
+      }
+    }
+
+    /**
+     * @return The class this key belongs to. Never <code>null</code>.
+     */
+    @Nonnull
+    public AbstractJClass getJClass ()
+    {
+      return m_aClass;
+    }
+
+    public int compareTo (@Nonnull final SortKey aOther)
+    {
+      if (m_nRank != aOther.m_nRank)
+        return m_nRank < aOther.m_nRank ? -1 : +1;
+      // All error types are equal
+      if (m_nRank == RANK_ERROR)
+        return 0;
+      return m_sName.compareTo (aOther.m_sName);
+    }
+
+    @Override
+    public boolean equals (@Nullable final Object o)
+    {
+      return o instanceof SortKey && compareTo ((SortKey) o) == 0;
+    }
+
+    @Override
+    public int hashCode ()
+    {
+      return m_sName == null ? 0 : m_sName.hashCode ();
+    }
+  }
+
   private static final ClassNameComparator s_aInstance = new ClassNameComparator ();
 
   private ClassNameComparator ()
@@ -65,6 +137,48 @@ public final class ClassNameComparator implements Comparator <AbstractJClass>
     return s_aInstance;
   }
 
+  /**
+   * Get the sort key of the passed class. The full name of the class is
+   * determined exactly once.
+   *
+   * @param aClass
+   *        The class to get the key of. May not be <code>null</code>.
+   * @return The sort key and never <code>null</code>.
+   * @since 3.0.3
+   */
+  @Nonnull
+  public static SortKey getSortKey (@Nonnull final AbstractJClass aClass)
+  {
+    return new SortKey (aClass);
+  }
+
+  /**
+   * Sort the passed list in the order of this comparator. Other than
+   * <code>Collections.sort (aList, getInstance ())</code> the full name of
+   * each class is determined only once.
+   *
+   * @param aList
+   *        The list to be sorted in place. May not be <code>null</code>.
+   * @param <T>
+   *        The class type
+   * @since 3.0.3
+   */
+  @SuppressWarnings ("unchecked")
+  public static <T extends AbstractJClass> void sort (@Nonnull final List <T> aList)
+  {
+    final int nSize = aList.size ();
+    if (nSize < 2)
+      return;
+
+    // Decorate, sort, undecorate
+    final SortKey [] aKeys = new SortKey [nSize];
+    for (int i = 0; i < nSize; ++i)
+      aKeys[i] = new SortKey (aList.get (i));
+    Arrays.sort (aKeys);
+    for (int i = 0; i < nSize; ++i)
+      aList.set (i, (T) aKeys[i].m_aClass);
+  }
+
   /**
    * Compare two JTypes by FQCN, giving sorting precedence to types that belong
    * to packages java and javax over all others. This method is used to sort
@@ -135,14 +135,19 @@ public final class JCEqualsHelper
 
     // Check whether the implementation classes are identical
     final Class <?> aClass1 = aObj1.getClass ();
-    final Class <?> aClass2 = aObj2.getClass ();
-    if (!aClass1.equals (aClass2))
+    if (aClass1 != aObj2.getClass ())
     {
       // Not the same class -> not equal!
       return false;
     }
 
-    if (aClass1.isArray ())
+    if (!aClass1.isArray ())
+    {
+      // Non-array - the most common case
+      return aObj1.equals (aObj2);
+    }
+
+    if (aObj1 instanceof Object [])
     {
       // Special handling for arrays
       final Object [] aArray1 = (Object []) aObj1;
@@ -159,25 +164,21 @@ public final class JCEqualsHelper
     }
 
     // Primitive arrays
-    if (aClass1.equals (boolean [].class))
+    if (aClass1 == boolean [].class)
       return Arrays.equals ((boolean []) aObj1, (boolean []) aObj2);
-    if (aClass1.equals (byte [].class))
+    if (aClass1 == byte [].class)
       return Arrays.equals ((byte []) aObj1, (byte []) aObj2);
-    if (aClass1.equals (char [].class))
+    if (aClass1 == char [].class)
       return Arrays.equals ((char []) aObj1, (char []) aObj2);
-    if (aClass1.equals (double [].class))
+    if (aClass1 == double [].class)
       return Arrays.equals ((double []) aObj1, (double []) aObj2);
-    if (aClass1.equals (float [].class))
+    if (aClass1 == float [].class)
       return Arrays.equals ((float []) aObj1, (float []) aObj2);
-    if (aClass1.equals (int [].class))
+    if (aClass1 == int [].class)
       return Arrays.equals ((int []) aObj1, (int []) aObj2);
-    if (aClass1.equals (long [].class))
+    if (aClass1 == long [].class)
       return Arrays.equals ((long []) aObj1, (long []) aObj2);
-    if (aClass1.equals (short [].class))
-      return Arrays.equals ((short []) aObj1, (short []) aObj2);
-
-    // Non-array
-    return aObj1.equals (aObj2);
+    return Arrays.equals ((short []) aObj1, (short []) aObj2);
   }
 
   @SuppressFBWarnings ({ "ES_COMPARING_PARAMETER_STRING_WITH_EQ" })
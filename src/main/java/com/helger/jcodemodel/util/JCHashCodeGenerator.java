@@ -101,6 +101,23 @@ public final class JCHashCodeGenerator
   /** The current hash code value. */
   private int m_nHC = INITIAL_HASHCODE;
 
+  /**
+   * The initial hash code per class. Derived from the class name (and the
+   * component class name for arrays) - so it is calculated only once per class.
+   */
+  private static final ClassValue <Integer> INITIAL_HASHCODES = new ClassValue <Integer> ()
+  {
+    @Override
+    protected Integer computeValue (final Class <?> aClass)
+    {
+      int ret = JCHashCodeCalculator.append (INITIAL_HASHCODE, aClass.getName ());
+      final Class <?> aComponentType = aClass.getComponentType ();
+      if (aComponentType != null)
+        ret = JCHashCodeCalculator.append (ret, aComponentType.getName ());
+      return Integer.valueOf (ret);
+    }
+  };
+
   /**
    * This is a sanity constructor that allows for any object to be passed in the
    * constructor (e.g. <code>this</code>) from which the class is extracted as
@@ -128,13 +145,8 @@ public final class JCHashCodeGenerator
   {
     JCValueEnforcer.notNull (aClass, "Class");
 
-    // Use the class name
-    append (aClass.getName ());
-
-    // Is it an array class? If so add the component class name.
-    final Class <?> aComponentType = aClass.getComponentType ();
-    if (aComponentType != null)
-      append (aComponentType.getName ());
+    // Use the class name and for arrays the component class name
+    m_nHC = getInitialHashCode (aClass);
   }
 
   private JCHashCodeGenerator (final int nSuperHashCode)
@@ -627,4 +639,131 @@ public final class JCHashCodeGenerator
         aHCGen.append (aMember);
     return aHCGen.getHashCode ();
   }
+
+  /**
+   * Get the hash code a new {@link JCHashCodeGenerator} for the passed class
+   * starts with. The value is calculated only once per class.
+   *
+   * @param aClass
+   *        The class to get the initial hash code for. May not be
+   *        <code>null</code>.
+   * @return The initial hash code based on the class name.
+   */
+  public static int getInitialHashCode (@Nonnull final Class <?> aClass)
+  {
+    return INITIAL_HASHCODES.get (aClass).intValue ();
+  }
+
+  private static int _getInitialHashCode (@Nonnull final Object aThis)
+  {
+    return getInitialHashCode (aThis instanceof Class <?> ? (Class <?>) aThis : aThis.getClass ());
+  }
+
+  private static int _getFinalHashCode (final int nHC)
+  {
+    return nHC == ILLEGAL_HASHCODE ? -1 : nHC;
+  }
+
+  /**
+   * Allocation-free version of {@link #getHashCode(Object, Object...)} for a
+   * single member. The result is identical.
+   *
+   * @param aThis
+   *        <code>this</code>
+   * @param aMember1
+   *        The only member. Primitive types must be boxed.
+   * @return The generated hashCode.
+   */
+  public static int getHashCode (@Nonnull final Object aThis, @Nullable final Object aMember1)
+  {
+    return _getFinalHashCode (JCHashCodeCalculator.append (_getInitialHashCode (aThis), aMember1));
+  }
+
+  /**
+   * Allocation-free version of {@link #getHashCode(Object, Object...)} for two
+   * members. The result is identical.
+   *
+   * @param aThis
+   *        <code>this</code>
+   * @param aMember1
+   *        The first member. Primitive types must be boxed.
+   * @param aMember2
+   *        The second member. Primitive types must be boxed.
+   * @return The generated hashCode.
+   */
+  public static int getHashCode (@Nonnull final Object aThis,
+                                 @Nullable final Object aMember1,
+                                 @Nullable final Object aMember2)
+  {
+    int ret = _getInitialHashCode (aThis);
+    ret = JCHashCodeCalculator.append (ret, aMember1);
+    ret = JCHashCodeCalculator.append (ret, aMember2);
+    return _getFinalHashCode (ret);
+  }
+
+  /**
+   * Allocation-free version of {@link #getHashCode(Object, Object...)} for
+   * three members. The result is identical.
+   *
+   * @param aThis
+   *        <code>this</code>
+   * @param aMember1
+   *        The first member. Primitive types must be boxed.
+   * @param aMember2
+   *        The second member. Primitive types must be boxed.
+   * @param aMember3
+   *        The third member. Primitive types must be boxed.
+   * @return The generated hashCode.
+   */
+  public static int getHashCode (@Nonnull final Object aThis,
+                                 @Nullable final Object aMember1,
+                                 @Nullable final Object aMember2,
+                                 @Nullable final Object aMember3)
+  {
+    int ret = _getInitialHashCode (aThis);
+    ret = JCHashCodeCalculator.append (ret, aMember1);
+    ret = JCHashCodeCalculator.append (ret, aMember2);
+    ret = JCHashCodeCalculator.append (ret, aMember3);
+    return _getFinalHashCode (ret);
+  }
+
+  /**
+   * Allocation-free version of {@link #getHashCode(int, Object...)} for a
+   * single member. The result is identical.
+   *
+   * @param nSuperHashCode
+   *        The result of <code>super.hashCode()</code>
+   * @param aMember1
+   *        The only member. Primitive types must be boxed.
+   * @return The generated hashCode.
+   */
+  public static int getHashCode (final int nSuperHashCode, @Nullable final Object aMember1)
+  {
+    if (nSuperHashCode == ILLEGAL_HASHCODE)
+      throw new IllegalArgumentException ("Passed hash code is invalid!");
+    return _getFinalHashCode (JCHashCodeCalculator.append (nSuperHashCode, aMember1));
+  }
+
+  /**
+   * Allocation-free version of {@link #getHashCode(int, Object...)} for two
+   * members. The result is identical.
+   *
+   * @param nSuperHashCode
+   *        The result of <code>super.hashCode()</code>
+   * @param aMember1
+   *        The first member. Primitive types must be boxed.
+   * @param aMember2
+   *        The second member. Primitive types must be boxed.
+   * @return The generated hashCode.
+   */
+  public static int getHashCode (final int nSuperHashCode,
+                                 @Nullable final Object aMember1,
+                                 @Nullable final Object aMember2)
+  {
+    if (nSuperHashCode == ILLEGAL_HASHCODE)
+      throw new IllegalArgumentException ("Passed hash code is invalid!");
+    int ret = JCHashCodeCalculator.append (nSuperHashCode, aMember1);
+    ret = JCHashCodeCalculator.append (ret, aMember2);
+    return _getFinalHashCode (ret);
+  }
 }
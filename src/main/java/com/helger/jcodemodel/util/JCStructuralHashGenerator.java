@@ -0,0 +1,153 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A small 64 bit hash creation class, similar to {@link JCHashCodeGenerator}
+ * but with a wider result, so that it can be used as a fingerprint of larger
+ * structures (like a complete class). The FNV-1a algorithm is used.<br>
+ * The values appended to this generator are usually the hash values of child
+ * structures, so that Merkle-style hash trees can be built.
+ *
+ * <pre>
+ * long nHash = new JCStructuralHashGenerator ().append ("class").append (nChildHash).getHash ();
+ * </pre>
+ *
+ * @since 3.0.3
+ */
+@NotThreadSafe
+public final class JCStructuralHashGenerator
+{
+  /** The FNV-1a 64 bit offset basis. */
+  public static final long INITIAL_HASH = 0xcbf29ce484222325L;
+
+  /** The FNV-1a 64 bit prime. */
+  private static final long PRIME = 0x100000001b3L;
+
+  /** The current hash value. */
+  private long m_nHash = INITIAL_HASH;
+
+  public JCStructuralHashGenerator ()
+  {}
+
+  /**
+   * Atomic type hash generation.
+   *
+   * @param c
+   *        char to add
+   * @return this
+   */
+  @Nonnull
+  public JCStructuralHashGenerator append (final char c)
+  {
+    m_nHash = (m_nHash ^ c) * PRIME;
+    return this;
+  }
+
+  /**
+   * Atomic type hash generation.
+   *
+   * @param x
+   *        long to add
+   * @return this
+   */
+  @Nonnull
+  public JCStructuralHashGenerator append (final long x)
+  {
+    append ((char) (x >>> 48));
+    append ((char) (x >>> 32));
+    append ((char) (x >>> 16));
+    return append ((char) x);
+  }
+
+  /**
+   * Character sequence hash generation. All chars are appended one by one.
+   *
+   * @param x
+   *        character sequence to add. May be <code>null</code>.
+   * @return this
+   */
+  @Nonnull
+  public JCStructuralHashGenerator append (@Nullable final CharSequence x)
+  {
+    if (x != null)
+    {
+      final int nLen = x.length ();
+      for (int i = 0; i < nLen; ++i)
+        append (x.charAt (i));
+    }
+    return this;
+  }
+
+  /**
+   * Character sequence hash generation for a part of a character sequence. The
+   * result is identical to appending <code>x.subSequence (nStart, nEnd)</code>.
+   *
+   * @param x
+   *        character sequence to add. May not be <code>null</code>.
+   * @param nStart
+   *        Index of the first char to add (inclusive).
+   * @param nEnd
+   *        Index of the last char to add (exclusive).
+   * @return this
+   * @since 3.0.3
+   */
+  @Nonnull
+  public JCStructuralHashGenerator append (@Nonnull final CharSequence x, final int nStart, final int nEnd)
+  {
+    for (int i = nStart; i < nEnd; ++i)
+      append (x.charAt (i));
+    return this;
+  }
+
+  /**
+   * @return The current hash value. Further values can still be appended
+   *         afterwards.
+   */
+  public long getHash ()
+  {
+    return m_nHash;
+  }
+}
@@ -44,7 +44,6 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import javax.annotation.Nonnegative;
@@ -52,32 +51,178 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+/**
+ * Value checks used throughout the code model.
+ * <p>
+ * The checks can be disabled globally at startup by setting the system
+ * property {@value #SYSTEM_PROPERTY_DISABLED} to <code>true</code>. As this
+ * switch is a constant, the JIT removes all checks in that case. Otherwise the
+ * checks can be switched on and off at runtime via
+ * {@link #setEnabled(boolean)}. Checks with a {@link String} message never
+ * create objects unless they fail. If the message depends on a value, use the
+ * overloads that take the message and the value separately, so that they are
+ * only concatenated on failure.
+ */
 @Immutable
 public final class JCValueEnforcer
 {
-  private static final AtomicBoolean s_aEnabled = new AtomicBoolean (true);
+  /**
+   * Name of the system property to disable all checks at startup.
+   *
+   * @since 3.0.3
+   */
+  public static final String SYSTEM_PROPERTY_DISABLED = "jcodemodel.valueenforcer.disabled";
+
+  private static final boolean CHECKS_AVAILABLE = !_isDisabledAtStartup ();
+
+  private static volatile boolean s_bEnabled = CHECKS_AVAILABLE;
 
   private JCValueEnforcer ()
   {}
 
+  private static boolean _isDisabledAtStartup ()
+  {
+    try
+    {
+      return Boolean.getBoolean (SYSTEM_PROPERTY_DISABLED);
+    }
+    catch (final SecurityException ex)
+    {
+      return false;
+    }
+  }
+
   /**
    * @return <code>true</code> if the assertions are enabled, <code>false</code>
    *         otherwise. By default the checks are enabled.
    */
   public static boolean isEnabled ()
   {
-    return s_aEnabled.get ();
+    return CHECKS_AVAILABLE && s_bEnabled;
   }
 
   /**
-   * Enable or disable the checks. By default checks are enabled.
+   * Enable or disable the checks. By default checks are enabled. If the checks
+   * were disabled at startup via {@link #SYSTEM_PROPERTY_DISABLED}, they
+   * cannot be enabled.
    *
    * @param bEnabled
    *        <code>true</code> to enable it, <code>false</code> otherwise.
    */
   public static void setEnabled (final boolean bEnabled)
   {
-    s_aEnabled.set (bEnabled);
+    s_bEnabled = bEnabled;
+  }
+
+  // The failure messages are shared by the String and the Supplier overloads.
+  // The objects are only created on the failure path.
+
+  private static void _throwNotTrue (final String sMsg)
+  {
+    throw new IllegalArgumentException ("The expression must be true but it is not: " + sMsg);
+  }
+
+  private static void _throwNotFalse (final String sMsg)
+  {
+    throw new IllegalArgumentException ("The expression must be false but it is not: " + sMsg);
+  }
+
+  private static void _throwNotInstanceOf (final String sName,
+                                           @Nonnull final Class <?> aClass,
+                                           @Nullable final Object aValue)
+  {
+    throw new IllegalArgumentException (sName +
+                                        " must be of class " +
+                                        aClass.getName () +
+                                        " but is of type " +
+                                        aValue.getClass ().getName ());
+  }
+
+  private static void _throwNull (final String sName)
+  {
+    throw new NullPointerException ("The value of '" + sName + "' may not be null!");
+  }
+
+  private static void _throwNotNull (final String sName, @Nonnull final Object aValue)
+  {
+    throw new IllegalArgumentException ("The value of '" + sName + "' must be null but is " + aValue);
+  }
+
+  private static void _throwEmpty (@Nonnull final String sWhat, final String sName)
+  {
+    throw new IllegalArgumentException ("The value of the " + sWhat + " '" + sName + "' may not be empty!");
+  }
+
+  private static void _throwNullItem (@Nonnull final String sWhat, final int nIndex, final String sName)
+  {
+    throw new IllegalArgumentException ("Item " + nIndex + " of " + sWhat + " '" + sName + "' may not be null!");
+  }
+
+  private static int _getFirstNullIndex (@Nonnull final Object [] aValue)
+  {
+    for (int i = 0; i < aValue.length; ++i)
+      if (aValue[i] == null)
+        return i;
+    return -1;
+  }
+
+  private static int _getFirstNullIndex (@Nonnull final Iterable <?> aValue)
+  {
+    int nIndex = 0;
+    for (final Object aItem : aValue)
+    {
+      if (aItem == null)
+        return nIndex;
+      ++nIndex;
+    }
+    return -1;
+  }
+
+  @Nullable
+  private static String _getFirstNullEntryPart (@Nonnull final Map <?, ?> aValue)
+  {
+    for (final Map.Entry <?, ?> aEntry : aValue.entrySet ())
+    {
+      if (aEntry.getKey () == null)
+        return "key";
+      if (aEntry.getValue () == null)
+        return "value";
+    }
+    return null;
+  }
+
+  private static void _throwNullMapEntry (@Nonnull final String sWhat, final String sName)
+  {
+    throw new IllegalArgumentException ("A " + sWhat + " of map '" + sName + "' may not be null!");
+  }
+
+  private static void _throwEqual (final String sName, @Nullable final Object aUnexpectedValue)
+  {
+    throw new IllegalArgumentException ("The value of '" + sName + "' may not be equal to " + aUnexpectedValue + "!");
+  }
+
+  private static void _throwNotExpected (final String sName,
+                                         @Nullable final Object aValue,
+                                         @Nullable final Object aExpectedValue)
+  {
+    throw new IllegalArgumentException ("The value of '" +
+                                        sName +
+                                        "' does not match the expected value. Passed value: " +
+                                        aValue +
+                                        " -- Expected value: " +
+                                        aExpectedValue);
+  }
+
+  private static void _throwOutOfRange (final String sName,
+                                        @Nonnull final String sCondition,
+                                        @Nullable final Object aValue)
+  {
+    throw new IllegalArgumentException ("The value of '" +
+                                        sName +
+                                        "' must be " +
+                                        sCondition +
+                                        "! The current value is: " +
+                                        aValue);
   }
 
   /**
@@ -92,7 +237,30 @@ public final class JCValueEnforcer
    */
   public static void isTrue (final boolean bValue, final String sMsg)
   {
-    isTrue (bValue, () -> sMsg);
+    if (isEnabled ())
+      if (!bValue)
+        _throwNotTrue (sMsg);
+  }
+
+  /**
+   * Check that the passed value is <code>true</code>. The message is only
+   * created if the check fails.
+   *
+   * @param bValue
+   *        The value to check.
+   * @param sMsg
+   *        The message to be emitted in case the value is <code>false</code>
+   * @param aMsgValue
+   *        The value to be appended to the message, separated by a colon.
+   * @throws IllegalArgumentException
+   *         if the passed value is <code>false</code>.
+   * @since 3.0.3
+   */
+  public static void isTrue (final boolean bValue, final String sMsg, @Nullable final Object aMsgValue)
+  {
+    if (isEnabled ())
+      if (!bValue)
+        _throwNotTrue (sMsg + ": " + aMsgValue);
   }
 
   /**
@@ -109,7 +277,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (!bValue)
-        throw new IllegalArgumentException ("The expression must be true but it is not: " + aMsg.get ());
+        _throwNotTrue (aMsg.get ());
   }
 
   /**
@@ -124,7 +292,30 @@ public final class JCValueEnforcer
    */
   public static void isFalse (final boolean bValue, final String sMsg)
   {
-    isFalse (bValue, () -> sMsg);
+    if (isEnabled ())
+      if (bValue)
+        _throwNotFalse (sMsg);
+  }
+
+  /**
+   * Check that the passed value is <code>false</code>. The message is only
+   * created if the check fails.
+   *
+   * @param bValue
+   *        The value to check.
+   * @param sMsg
+   *        The message to be emitted in case the value is <code>true</code>
+   * @param aMsgValue
+   *        The value to be appended to the message, separated by a colon.
+   * @throws IllegalArgumentException
+   *         if the passed value is <code>true</code>.
+   * @since 3.0.3
+   */
+  public static void isFalse (final boolean bValue, final String sMsg, @Nullable final Object aMsgValue)
+  {
+    if (isEnabled ())
+      if (bValue)
+        _throwNotFalse (sMsg + ": " + aMsgValue);
   }
 
   /**
@@ -141,7 +332,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (bValue)
-        throw new IllegalArgumentException ("The expression must be false but it is not: " + aMsg.get ());
+        _throwNotFalse (aMsg.get ());
   }
 
   /**
@@ -163,7 +354,10 @@ public final class JCValueEnforcer
                                        @Nonnull final Class <? extends T> aClass,
                                        final String sMsg)
   {
-    isInstanceOf (aValue, aClass, () -> sMsg);
+    notNull (aClass, "Class");
+    if (isEnabled ())
+      if (!aClass.isInstance (aValue))
+        _throwNotInstanceOf (sMsg, aClass, aValue);
   }
 
   /**
@@ -188,11 +382,7 @@ public final class JCValueEnforcer
     notNull (aClass, "Class");
     if (isEnabled ())
       if (!aClass.isInstance (aValue))
-        throw new IllegalArgumentException (aMsg.get () +
-                                            " must be of class " +
-                                            aClass.getName () +
-                                            " but is of type " +
-                                            aValue.getClass ().getName ());
+        _throwNotInstanceOf (aMsg.get (), aClass, aValue);
   }
 
   /**
@@ -212,7 +402,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (aValue == null)
-        throw new NullPointerException ("The value of '" + sName + "' may not be null!");
+        _throwNull (sName);
     return aValue;
   }
 
@@ -233,7 +423,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (aValue == null)
-        throw new NullPointerException ("The value of '" + aName.get () + "' may not be null!");
+        _throwNull (aName.get ());
     return aValue;
   }
 
@@ -249,7 +439,9 @@ public final class JCValueEnforcer
    */
   public static void isNull (final Object aValue, final String sName)
   {
-    isNull (aValue, () -> sName);
+    if (isEnabled ())
+      if (aValue != null)
+        _throwNotNull (sName, aValue);
   }
 
   /**
@@ -266,7 +458,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (aValue != null)
-        throw new IllegalArgumentException ("The value of '" + aName.get () + "' must be null but is " + aValue);
+        _throwNotNull (aName.get (), aValue);
   }
 
   /**
@@ -284,7 +476,11 @@ public final class JCValueEnforcer
    */
   public static <T extends CharSequence> T notEmpty (final T aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length () == 0)
+        _throwEmpty ("string", sName);
+    return aValue;
   }
 
   /**
@@ -305,7 +501,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length () == 0)
-        throw new IllegalArgumentException ("The value of the string '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("string", aName.get ());
     return aValue;
   }
 
@@ -324,7 +520,11 @@ public final class JCValueEnforcer
    */
   public static <T> T [] notEmpty (final T [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -345,7 +545,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -362,7 +562,11 @@ public final class JCValueEnforcer
    */
   public static boolean [] notEmpty (final boolean [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -381,7 +585,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -398,7 +602,11 @@ public final class JCValueEnforcer
    */
   public static byte [] notEmpty (final byte [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -417,7 +625,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -434,7 +642,11 @@ public final class JCValueEnforcer
    */
   public static char [] notEmpty (final char [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -453,7 +665,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -470,7 +682,11 @@ public final class JCValueEnforcer
    */
   public static double [] notEmpty (final double [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -489,7 +705,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -506,7 +722,11 @@ public final class JCValueEnforcer
    */
   public static float [] notEmpty (final float [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -525,7 +745,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -542,7 +762,11 @@ public final class JCValueEnforcer
    */
   public static int [] notEmpty (final int [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -561,7 +785,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -578,7 +802,11 @@ public final class JCValueEnforcer
    */
   public static long [] notEmpty (final long [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -597,7 +825,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -614,7 +842,11 @@ public final class JCValueEnforcer
    */
   public static short [] notEmpty (final short [] aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.length == 0)
+        _throwEmpty ("array", sName);
+    return aValue;
   }
 
   /**
@@ -633,7 +865,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.length == 0)
-        throw new IllegalArgumentException ("The value of the array '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("array", aName.get ());
     return aValue;
   }
 
@@ -653,7 +885,11 @@ public final class JCValueEnforcer
    */
   public static <T extends Collection <?>> T notEmpty (final T aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.isEmpty ())
+        _throwEmpty ("collection", sName);
+    return aValue;
   }
 
   /**
@@ -675,7 +911,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.isEmpty ())
-        throw new IllegalArgumentException ("The value of the collection '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("collection", aName.get ());
     return aValue;
   }
 
@@ -695,7 +931,11 @@ public final class JCValueEnforcer
    */
   public static <T extends Iterable <?>> T notEmpty (final T aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (!aValue.iterator ().hasNext ())
+        _throwEmpty ("iterable", sName);
+    return aValue;
   }
 
   /**
@@ -717,7 +957,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (!aValue.iterator ().hasNext ())
-        throw new IllegalArgumentException ("The value of the iterable '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("iterable", aName.get ());
     return aValue;
   }
 
@@ -736,7 +976,11 @@ public final class JCValueEnforcer
    */
   public static <T extends Map <?, ?>> T notEmpty (final T aValue, final String sName)
   {
-    return notEmpty (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.isEmpty ())
+        _throwEmpty ("map", sName);
+    return aValue;
   }
 
   /**
@@ -757,7 +1001,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.isEmpty ())
-        throw new IllegalArgumentException ("The value of the map '" + aName.get () + "' may not be empty!");
+        _throwEmpty ("map", aName.get ());
     return aValue;
   }
 
@@ -779,7 +1023,14 @@ public final class JCValueEnforcer
   @Nullable
   public static <T> T [] noNullValue (final T [] aValue, final String sName)
   {
-    return noNullValue (aValue, () -> sName);
+    if (isEnabled ())
+      if (aValue != null)
+      {
+        final int nIndex = _getFirstNullIndex (aValue);
+        if (nIndex >= 0)
+          _throwNullItem ("array", nIndex, sName);
+      }
+    return aValue;
   }
 
   /**
@@ -803,13 +1054,9 @@ public final class JCValueEnforcer
     if (isEnabled ())
       if (aValue != null)
       {
-        int nIndex = 0;
-        for (final T aItem : aValue)
-        {
-          if (aItem == null)
-            throw new IllegalArgumentException ("Item " + nIndex + " of array '" + aName.get () + "' may not be null!");
-          ++nIndex;
-        }
+        final int nIndex = _getFirstNullIndex (aValue);
+        if (nIndex >= 0)
+          _throwNullItem ("array", nIndex, aName.get ());
       }
     return aValue;
   }
@@ -832,7 +1079,14 @@ public final class JCValueEnforcer
   @Nullable
   public static <T extends Iterable <?>> T noNullValue (final T aValue, final String sName)
   {
-    return noNullValue (aValue, () -> sName);
+    if (isEnabled ())
+      if (aValue != null)
+      {
+        final int nIndex = _getFirstNullIndex (aValue);
+        if (nIndex >= 0)
+          _throwNullItem ("iterable", nIndex, sName);
+      }
+    return aValue;
   }
 
   /**
@@ -857,17 +1111,9 @@ public final class JCValueEnforcer
     if (isEnabled ())
       if (aValue != null)
       {
-        int nIndex = 0;
-        for (final Object aItem : aValue)
-        {
-          if (aItem == null)
-            throw new IllegalArgumentException ("Item " +
-                                                nIndex +
-                                                " of iterable '" +
-                                                aName.get () +
-                                                "' may not be null!");
-          ++nIndex;
-        }
+        final int nIndex = _getFirstNullIndex (aValue);
+        if (nIndex >= 0)
+          _throwNullItem ("iterable", nIndex, aName.get ());
       }
     return aValue;
   }
@@ -890,7 +1136,14 @@ public final class JCValueEnforcer
   @Nullable
   public static <T extends Map <?, ?>> T noNullValue (final T aValue, final String sName)
   {
-    return noNullValue (aValue, () -> sName);
+    if (isEnabled ())
+      if (aValue != null)
+      {
+        final String sNullPart = _getFirstNullEntryPart (aValue);
+        if (sNullPart != null)
+          _throwNullMapEntry (sNullPart, sName);
+      }
+    return aValue;
   }
 
   /**
@@ -914,13 +1167,9 @@ public final class JCValueEnforcer
     if (isEnabled ())
       if (aValue != null)
       {
-        for (final Map.Entry <?, ?> aEntry : aValue.entrySet ())
-        {
-          if (aEntry.getKey () == null)
-            throw new IllegalArgumentException ("A key of map '" + aName.get () + "' may not be null!");
-          if (aEntry.getValue () == null)
-            throw new IllegalArgumentException ("A value of map '" + aName.get () + "' may not be null!");
-        }
+        final String sNullPart = _getFirstNullEntryPart (aValue);
+        if (sNullPart != null)
+          _throwNullMapEntry (sNullPart, aName.get ());
       }
     return aValue;
   }
@@ -942,7 +1191,9 @@ public final class JCValueEnforcer
    */
   public static <T> T [] notNullNoNullValue (final T [] aValue, final String sName)
   {
-    return notNullNoNullValue (aValue, () -> sName);
+    notNull (aValue, sName);
+    noNullValue (aValue, sName);
+    return aValue;
   }
 
   /**
@@ -984,7 +1235,9 @@ public final class JCValueEnforcer
    */
   public static <T extends Iterable <?>> T notNullNoNullValue (final T aValue, final String sName)
   {
-    return notNullNoNullValue (aValue, () -> sName);
+    notNull (aValue, sName);
+    noNullValue (aValue, sName);
+    return aValue;
   }
 
   /**
@@ -1027,7 +1280,9 @@ public final class JCValueEnforcer
    */
   public static <T extends Map <?, ?>> T notNullNoNullValue (final T aValue, final String sName)
   {
-    return notNullNoNullValue (aValue, () -> sName);
+    notNull (aValue, sName);
+    noNullValue (aValue, sName);
+    return aValue;
   }
 
   /**
@@ -1070,7 +1325,9 @@ public final class JCValueEnforcer
    */
   public static <T> T [] notEmptyNoNullValue (final T [] aValue, final String sName)
   {
-    return notEmptyNoNullValue (aValue, () -> sName);
+    notEmpty (aValue, sName);
+    noNullValue (aValue, sName);
+    return aValue;
   }
 
   /**
@@ -1112,7 +1369,9 @@ public final class JCValueEnforcer
    */
   public static <T extends Iterable <?>> T notEmptyNoNullValue (final T aValue, final String sName)
   {
-    return notEmptyNoNullValue (aValue, () -> sName);
+    notEmpty (aValue, sName);
+    noNullValue (aValue, sName);
+    return aValue;
   }
 
   /**
@@ -1155,7 +1414,9 @@ public final class JCValueEnforcer
    */
   public static <T extends Map <?, ?>> T notEmptyNoNullValue (final T aValue, final String sName)
   {
-    return notEmptyNoNullValue (aValue, () -> sName);
+    notEmpty (aValue, sName);
+    noNullValue (aValue, sName);
+    return aValue;
   }
 
   /**
@@ -1198,7 +1459,12 @@ public final class JCValueEnforcer
    */
   public static <T> T notNullNotEquals (final T aValue, final String sName, @Nonnull final T aUnexpectedValue)
   {
-    return notNullNotEquals (aValue, () -> sName, aUnexpectedValue);
+    notNull (aValue, sName);
+    notNull (aUnexpectedValue, "UnexpectedValue");
+    if (isEnabled ())
+      if (aValue.equals (aUnexpectedValue))
+        _throwEqual (sName, aUnexpectedValue);
+    return aValue;
   }
 
   /**
@@ -1224,11 +1490,7 @@ public final class JCValueEnforcer
     notNull (aUnexpectedValue, "UnexpectedValue");
     if (isEnabled ())
       if (aValue.equals (aUnexpectedValue))
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' may not be equal to " +
-                                            aUnexpectedValue +
-                                            "!");
+        _throwEqual (aName.get (), aUnexpectedValue);
     return aValue;
   }
 
@@ -1250,7 +1512,11 @@ public final class JCValueEnforcer
    */
   public static <T> T notNullAndEquals (final T aValue, final String sName, @Nonnull final T aExpectedValue)
   {
-    return notNullAndEquals (aValue, () -> sName, aExpectedValue);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (!aValue.equals (aExpectedValue))
+        _throwNotExpected (sName, aValue, aExpectedValue);
+    return aValue;
   }
 
   /**
@@ -1276,12 +1542,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (!aValue.equals (aExpectedValue))
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' does not match the expected value. Passed value: " +
-                                            aValue +
-                                            " -- Expected value: " +
-                                            aExpectedValue);
+        _throwNotExpected (aName.get (), aValue, aExpectedValue);
     return aValue;
   }
 
@@ -1304,7 +1565,10 @@ public final class JCValueEnforcer
    */
   public static <T> T isSame (final T aValue, final String sName, @Nullable final T aExpectedValue)
   {
-    return isSame (aValue, () -> sName, aExpectedValue);
+    if (isEnabled ())
+      if (aValue != aExpectedValue)
+        _throwNotExpected (sName, aValue, aExpectedValue);
+    return aValue;
   }
 
   /**
@@ -1330,12 +1594,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (aValue != aExpectedValue)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' does not match the expected value. Passed value: " +
-                                            aValue +
-                                            " -- Expected value: " +
-                                            aExpectedValue);
+        _throwNotExpected (aName.get (), aValue, aExpectedValue);
     return aValue;
   }
 
@@ -1358,7 +1617,10 @@ public final class JCValueEnforcer
    */
   public static <T> T isEqual (final T aValue, @Nullable final T aExpectedValue, final String sName)
   {
-    return isSame (aValue, () -> sName, aExpectedValue);
+    if (isEnabled ())
+      if (aValue != aExpectedValue)
+        _throwNotExpected (sName, aValue, aExpectedValue);
+    return aValue;
   }
 
   /**
@@ -1384,12 +1646,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (aValue != aExpectedValue)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' does not match the expected value. Passed value: " +
-                                            aValue +
-                                            " -- Expected value: " +
-                                            aExpectedValue);
+        _throwNotExpected (aName.get (), aValue, aExpectedValue);
     return aValue;
   }
 
@@ -1408,7 +1665,9 @@ public final class JCValueEnforcer
    */
   public static void isEqual (final int nValue, final int nExpectedValue, final String sName)
   {
-    isEqual (nValue, nExpectedValue, () -> sName);
+    if (isEnabled ())
+      if (nValue != nExpectedValue)
+        _throwNotExpected (sName, nValue, nExpectedValue);
   }
 
   /**
@@ -1430,12 +1689,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue != nExpectedValue)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' does not match the expected value. Passed value: " +
-                                            nValue +
-                                            " -- Expected value: " +
-                                            nExpectedValue);
+        _throwNotExpected (aName.get (), nValue, nExpectedValue);
   }
 
   /**
@@ -1453,7 +1707,9 @@ public final class JCValueEnforcer
    */
   public static void isEqual (final long nValue, final long nExpectedValue, final String sName)
   {
-    isEqual (nValue, nExpectedValue, () -> sName);
+    if (isEnabled ())
+      if (nValue != nExpectedValue)
+        _throwNotExpected (sName, nValue, nExpectedValue);
   }
 
   /**
@@ -1475,12 +1731,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue != nExpectedValue)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' does not match the expected value. Passed value: " +
-                                            nValue +
-                                            " -- Expected value: " +
-                                            nExpectedValue);
+        _throwNotExpected (aName.get (), nValue, nExpectedValue);
   }
 
   /**
@@ -1498,7 +1749,9 @@ public final class JCValueEnforcer
    */
   public static void isEqual (final double dValue, final double dExpectedValue, final String sName)
   {
-    isEqual (dValue, dExpectedValue, () -> sName);
+    if (isEnabled ())
+      if (Double.compare (dValue, dExpectedValue) != 0)
+        _throwNotExpected (sName, dValue, dExpectedValue);
   }
 
   /**
@@ -1520,97 +1773,96 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (Double.compare (dValue, dExpectedValue) != 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' does not match the expected value. Passed value: " +
-                                            dValue +
-                                            " -- Expected value: " +
-                                            dExpectedValue);
+        _throwNotExpected (aName.get (), dValue, dExpectedValue);
   }
 
   public static int isGE0 (final int nValue, final String sName)
   {
-    return isGE0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue < 0)
+        _throwOutOfRange (sName, ">= 0", nValue);
+    return nValue;
   }
 
   public static int isGE0 (final int nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), ">= 0", nValue);
     return nValue;
   }
 
   public static long isGE0 (final long nValue, final String sName)
   {
-    return isGE0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue < 0)
+        _throwOutOfRange (sName, ">= 0", nValue);
+    return nValue;
   }
 
   public static long isGE0 (final long nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), ">= 0", nValue);
     return nValue;
   }
 
   public static short isGE0 (final short nValue, final String sName)
   {
-    return isGE0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue < 0)
+        _throwOutOfRange (sName, ">= 0", nValue);
+    return nValue;
   }
 
   public static short isGE0 (final short nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), ">= 0", nValue);
     return nValue;
   }
 
   public static double isGE0 (final double dValue, final String sName)
   {
-    return isGE0 (dValue, () -> sName);
+    if (isEnabled ())
+      if (dValue < 0)
+        _throwOutOfRange (sName, ">= 0", dValue);
+    return dValue;
   }
 
   public static double isGE0 (final double dValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (dValue < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            dValue);
+        _throwOutOfRange (aName.get (), ">= 0", dValue);
     return dValue;
   }
 
   public static float isGE0 (final float fValue, final String sName)
   {
-    return isGE0 (fValue, () -> sName);
+    if (isEnabled ())
+      if (fValue < 0)
+        _throwOutOfRange (sName, ">= 0", fValue);
+    return fValue;
   }
 
   public static float isGE0 (final float fValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (fValue < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            fValue);
+        _throwOutOfRange (aName.get (), ">= 0", fValue);
     return fValue;
   }
 
   public static BigDecimal isGE0 (final BigDecimal aValue, final String sName)
   {
-    return isGE0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigDecimal.ZERO) < 0)
+        _throwOutOfRange (sName, ">= 0", aValue);
+    return aValue;
   }
 
   public static BigDecimal isGE0 (final BigDecimal aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1618,16 +1870,17 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigDecimal.ZERO) < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), ">= 0", aValue);
     return aValue;
   }
 
   public static BigInteger isGE0 (final BigInteger aValue, final String sName)
   {
-    return isGE0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigInteger.ZERO) < 0)
+        _throwOutOfRange (sName, ">= 0", aValue);
+    return aValue;
   }
 
   public static BigInteger isGE0 (final BigInteger aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1635,96 +1888,97 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigInteger.ZERO) < 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), ">= 0", aValue);
     return aValue;
   }
 
   public static int isGT0 (final int nValue, final String sName)
   {
-    return isGT0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue <= 0)
+        _throwOutOfRange (sName, "> 0", nValue);
+    return nValue;
   }
 
   public static int isGT0 (final int nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "> 0", nValue);
     return nValue;
   }
 
   public static long isGT0 (final long nValue, final String sName)
   {
-    return isGT0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue <= 0)
+        _throwOutOfRange (sName, "> 0", nValue);
+    return nValue;
   }
 
   public static long isGT0 (final long nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "> 0", nValue);
     return nValue;
   }
 
   public static short isGT0 (final short nValue, final String sName)
   {
-    return isGT0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue <= 0)
+        _throwOutOfRange (sName, "> 0", nValue);
+    return nValue;
   }
 
   public static short isGT0 (final short nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "> 0", nValue);
     return nValue;
   }
 
   public static double isGT0 (final double dValue, final String sName)
   {
-    return isGT0 (dValue, () -> sName);
+    if (isEnabled ())
+      if (dValue <= 0)
+        _throwOutOfRange (sName, "> 0", dValue);
+    return dValue;
   }
 
   public static double isGT0 (final double dValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (dValue <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            dValue);
+        _throwOutOfRange (aName.get (), "> 0", dValue);
     return dValue;
   }
 
   public static float isGT0 (final float fValue, final String sName)
   {
-    return isGT0 (fValue, () -> sName);
+    if (isEnabled ())
+      if (fValue <= 0)
+        _throwOutOfRange (sName, "> 0", fValue);
+    return fValue;
   }
 
   public static float isGT0 (final float fValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (fValue <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            fValue);
+        _throwOutOfRange (aName.get (), "> 0", fValue);
     return fValue;
   }
 
   public static BigDecimal isGT0 (final BigDecimal aValue, final String sName)
   {
-    return isGT0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigDecimal.ZERO) <= 0)
+        _throwOutOfRange (sName, "> 0", aValue);
+    return aValue;
   }
 
   public static BigDecimal isGT0 (final BigDecimal aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1732,16 +1986,17 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigDecimal.ZERO) <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "> 0", aValue);
     return aValue;
   }
 
   public static BigInteger isGT0 (final BigInteger aValue, final String sName)
   {
-    return isGT0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigInteger.ZERO) <= 0)
+        _throwOutOfRange (sName, "> 0", aValue);
+    return aValue;
   }
 
   public static BigInteger isGT0 (final BigInteger aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1749,96 +2004,97 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigInteger.ZERO) <= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "> 0", aValue);
     return aValue;
   }
 
   public static int isLE0 (final int nValue, final String sName)
   {
-    return isLE0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue > 0)
+        _throwOutOfRange (sName, "<= 0", nValue);
+    return nValue;
   }
 
   public static int isLE0 (final int nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "<= 0", nValue);
     return nValue;
   }
 
   public static long isLE0 (final long nValue, final String sName)
   {
-    return isLE0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue > 0)
+        _throwOutOfRange (sName, "<= 0", nValue);
+    return nValue;
   }
 
   public static long isLE0 (final long nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "<= 0", nValue);
     return nValue;
   }
 
   public static short isLE0 (final short nValue, final String sName)
   {
-    return isLE0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue > 0)
+        _throwOutOfRange (sName, "<= 0", nValue);
+    return nValue;
   }
 
   public static short isLE0 (final short nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "<= 0", nValue);
     return nValue;
   }
 
   public static double isLE0 (final double dValue, final String sName)
   {
-    return isLE0 (dValue, () -> sName);
+    if (isEnabled ())
+      if (dValue > 0)
+        _throwOutOfRange (sName, "<= 0", dValue);
+    return dValue;
   }
 
   public static double isLE0 (final double dValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (dValue > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            dValue);
+        _throwOutOfRange (aName.get (), "<= 0", dValue);
     return dValue;
   }
 
   public static float isLE0 (final float fValue, final String sName)
   {
-    return isLE0 (fValue, () -> sName);
+    if (isEnabled ())
+      if (fValue > 0)
+        _throwOutOfRange (sName, "<= 0", fValue);
+    return fValue;
   }
 
   public static float isLE0 (final float fValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (fValue > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            fValue);
+        _throwOutOfRange (aName.get (), "<= 0", fValue);
     return fValue;
   }
 
   public static BigDecimal isLE0 (final BigDecimal aValue, final String sName)
   {
-    return isLE0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigDecimal.ZERO) > 0)
+        _throwOutOfRange (sName, "<= 0", aValue);
+    return aValue;
   }
 
   public static BigDecimal isLE0 (final BigDecimal aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1846,16 +2102,17 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigDecimal.ZERO) > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "<= 0", aValue);
     return aValue;
   }
 
   public static BigInteger isLE0 (final BigInteger aValue, final String sName)
   {
-    return isLE0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigInteger.ZERO) > 0)
+        _throwOutOfRange (sName, "<= 0", aValue);
+    return aValue;
   }
 
   public static BigInteger isLE0 (final BigInteger aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1863,96 +2120,97 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigInteger.ZERO) > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be <= 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "<= 0", aValue);
     return aValue;
   }
 
   public static int isLT0 (final int nValue, final String sName)
   {
-    return isLT0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue >= 0)
+        _throwOutOfRange (sName, "< 0", nValue);
+    return nValue;
   }
 
   public static int isLT0 (final int nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "< 0", nValue);
     return nValue;
   }
 
   public static long isLT0 (final long nValue, final String sName)
   {
-    return isLT0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue >= 0)
+        _throwOutOfRange (sName, "< 0", nValue);
+    return nValue;
   }
 
   public static long isLT0 (final long nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "< 0", nValue);
     return nValue;
   }
 
   public static short isLT0 (final short nValue, final String sName)
   {
-    return isLT0 (nValue, () -> sName);
+    if (isEnabled ())
+      if (nValue >= 0)
+        _throwOutOfRange (sName, "< 0", nValue);
+    return nValue;
   }
 
   public static short isLT0 (final short nValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (nValue >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "< 0", nValue);
     return nValue;
   }
 
   public static double isLT0 (final double dValue, final String sName)
   {
-    return isLT0 (dValue, () -> sName);
+    if (isEnabled ())
+      if (dValue >= 0)
+        _throwOutOfRange (sName, "< 0", dValue);
+    return dValue;
   }
 
   public static double isLT0 (final double dValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (dValue >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            dValue);
+        _throwOutOfRange (aName.get (), "< 0", dValue);
     return dValue;
   }
 
   public static float isLT0 (final float fValue, final String sName)
   {
-    return isLT0 (fValue, () -> sName);
+    if (isEnabled ())
+      if (fValue >= 0)
+        _throwOutOfRange (sName, "< 0", fValue);
+    return fValue;
   }
 
   public static float isLT0 (final float fValue, @Nonnull final Supplier <? extends String> aName)
   {
     if (isEnabled ())
       if (fValue >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            fValue);
+        _throwOutOfRange (aName.get (), "< 0", fValue);
     return fValue;
   }
 
   public static BigDecimal isLT0 (final BigDecimal aValue, final String sName)
   {
-    return isLT0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigDecimal.ZERO) >= 0)
+        _throwOutOfRange (sName, "< 0", aValue);
+    return aValue;
   }
 
   public static BigDecimal isLT0 (final BigDecimal aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1960,16 +2218,17 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigDecimal.ZERO) >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "< 0", aValue);
     return aValue;
   }
 
   public static BigInteger isLT0 (final BigInteger aValue, final String sName)
   {
-    return isLT0 (aValue, () -> sName);
+    notNull (aValue, sName);
+    if (isEnabled ())
+      if (aValue.compareTo (BigInteger.ZERO) >= 0)
+        _throwOutOfRange (sName, "< 0", aValue);
+    return aValue;
   }
 
   public static BigInteger isLT0 (final BigInteger aValue, @Nonnull final Supplier <? extends String> aName)
@@ -1977,10 +2236,7 @@ public final class JCValueEnforcer
     notNull (aValue, aName);
     if (isEnabled ())
       if (aValue.compareTo (BigInteger.ZERO) >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be < 0! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "< 0", aValue);
     return aValue;
   }
 
@@ -2003,7 +2259,10 @@ public final class JCValueEnforcer
                                         final int nLowerBoundInclusive,
                                         final int nUpperBoundInclusive)
   {
-    return isBetweenInclusive (nValue, () -> sName, nLowerBoundInclusive, nUpperBoundInclusive);
+    if (isEnabled ())
+      if (nValue < nLowerBoundInclusive || nValue > nUpperBoundInclusive)
+        _throwOutOfRange (sName, ">= " + nLowerBoundInclusive + " and <= " + nUpperBoundInclusive, nValue);
+    return nValue;
   }
 
   /**
@@ -2027,14 +2286,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue < nLowerBoundInclusive || nValue > nUpperBoundInclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            nLowerBoundInclusive +
-                                            " and <= " +
-                                            nUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), ">= " + nLowerBoundInclusive + " and <= " + nUpperBoundInclusive, nValue);
     return nValue;
   }
 
@@ -2057,7 +2309,10 @@ public final class JCValueEnforcer
                                          final long nLowerBoundInclusive,
                                          final long nUpperBoundInclusive)
   {
-    return isBetweenInclusive (nValue, () -> sName, nLowerBoundInclusive, nUpperBoundInclusive);
+    if (isEnabled ())
+      if (nValue < nLowerBoundInclusive || nValue > nUpperBoundInclusive)
+        _throwOutOfRange (sName, ">= " + nLowerBoundInclusive + " and <= " + nUpperBoundInclusive, nValue);
+    return nValue;
   }
 
   /**
@@ -2081,14 +2336,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue < nLowerBoundInclusive || nValue > nUpperBoundInclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            nLowerBoundInclusive +
-                                            " and <= " +
-                                            nUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), ">= " + nLowerBoundInclusive + " and <= " + nUpperBoundInclusive, nValue);
     return nValue;
   }
 
@@ -2111,7 +2359,10 @@ public final class JCValueEnforcer
                                           final short nLowerBoundInclusive,
                                           final short nUpperBoundInclusive)
   {
-    return isBetweenInclusive (nValue, () -> sName, nLowerBoundInclusive, nUpperBoundInclusive);
+    if (isEnabled ())
+      if (nValue < nLowerBoundInclusive || nValue > nUpperBoundInclusive)
+        _throwOutOfRange (sName, ">= " + nLowerBoundInclusive + " and <= " + nUpperBoundInclusive, nValue);
+    return nValue;
   }
 
   /**
@@ -2135,14 +2386,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue < nLowerBoundInclusive || nValue > nUpperBoundInclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            nLowerBoundInclusive +
-                                            " and <= " +
-                                            nUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), ">= " + nLowerBoundInclusive + " and <= " + nUpperBoundInclusive, nValue);
     return nValue;
   }
 
@@ -2165,7 +2409,10 @@ public final class JCValueEnforcer
                                            final double dLowerBoundInclusive,
                                            final double dUpperBoundInclusive)
   {
-    return isBetweenInclusive (dValue, () -> sName, dLowerBoundInclusive, dUpperBoundInclusive);
+    if (isEnabled ())
+      if (dValue < dLowerBoundInclusive || dValue > dUpperBoundInclusive)
+        _throwOutOfRange (sName, ">= " + dLowerBoundInclusive + " and <= " + dUpperBoundInclusive, dValue);
+    return dValue;
   }
 
   /**
@@ -2189,14 +2436,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (dValue < dLowerBoundInclusive || dValue > dUpperBoundInclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            dLowerBoundInclusive +
-                                            " and <= " +
-                                            dUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            dValue);
+        _throwOutOfRange (aName.get (), ">= " + dLowerBoundInclusive + " and <= " + dUpperBoundInclusive, dValue);
     return dValue;
   }
 
@@ -2219,7 +2459,10 @@ public final class JCValueEnforcer
                                           final float fLowerBoundInclusive,
                                           final float fUpperBoundInclusive)
   {
-    return isBetweenInclusive (fValue, () -> sName, fLowerBoundInclusive, fUpperBoundInclusive);
+    if (isEnabled ())
+      if (fValue < fLowerBoundInclusive || fValue > fUpperBoundInclusive)
+        _throwOutOfRange (sName, ">= " + fLowerBoundInclusive + " and <= " + fUpperBoundInclusive, fValue);
+    return fValue;
   }
 
   /**
@@ -2243,14 +2486,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (fValue < fLowerBoundInclusive || fValue > fUpperBoundInclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            fLowerBoundInclusive +
-                                            " and <= " +
-                                            fUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            fValue);
+        _throwOutOfRange (aName.get (), ">= " + fLowerBoundInclusive + " and <= " + fUpperBoundInclusive, fValue);
     return fValue;
   }
 
@@ -2273,7 +2509,13 @@ public final class JCValueEnforcer
                                                @Nonnull final BigDecimal aLowerBoundInclusive,
                                                @Nonnull final BigDecimal aUpperBoundInclusive)
   {
-    return isBetweenInclusive (aValue, () -> sName, aLowerBoundInclusive, aUpperBoundInclusive);
+    notNull (aValue, sName);
+    notNull (aLowerBoundInclusive, "LowerBoundInclusive");
+    notNull (aUpperBoundInclusive, "UpperBoundInclusive");
+    if (isEnabled ())
+      if (aValue.compareTo (aLowerBoundInclusive) < 0 || aValue.compareTo (aUpperBoundInclusive) > 0)
+        _throwOutOfRange (sName, ">= " + aLowerBoundInclusive + " and <= " + aUpperBoundInclusive, aValue);
+    return aValue;
   }
 
   /**
@@ -2300,14 +2542,7 @@ public final class JCValueEnforcer
     notNull (aUpperBoundInclusive, "UpperBoundInclusive");
     if (isEnabled ())
       if (aValue.compareTo (aLowerBoundInclusive) < 0 || aValue.compareTo (aUpperBoundInclusive) > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            aLowerBoundInclusive +
-                                            " and <= " +
-                                            aUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), ">= " + aLowerBoundInclusive + " and <= " + aUpperBoundInclusive, aValue);
     return aValue;
   }
 
@@ -2330,7 +2565,13 @@ public final class JCValueEnforcer
                                                @Nonnull final BigInteger aLowerBoundInclusive,
                                                @Nonnull final BigInteger aUpperBoundInclusive)
   {
-    return isBetweenInclusive (aValue, () -> sName, aLowerBoundInclusive, aUpperBoundInclusive);
+    notNull (aValue, sName);
+    notNull (aLowerBoundInclusive, "LowerBoundInclusive");
+    notNull (aUpperBoundInclusive, "UpperBoundInclusive");
+    if (isEnabled ())
+      if (aValue.compareTo (aLowerBoundInclusive) < 0 || aValue.compareTo (aUpperBoundInclusive) > 0)
+        _throwOutOfRange (sName, ">= " + aLowerBoundInclusive + " and <= " + aUpperBoundInclusive, aValue);
+    return aValue;
   }
 
   /**
@@ -2357,14 +2598,7 @@ public final class JCValueEnforcer
     notNull (aUpperBoundInclusive, "UpperBoundInclusive");
     if (isEnabled ())
       if (aValue.compareTo (aLowerBoundInclusive) < 0 || aValue.compareTo (aUpperBoundInclusive) > 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be >= " +
-                                            aLowerBoundInclusive +
-                                            " and <= " +
-                                            aUpperBoundInclusive +
-                                            "! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), ">= " + aLowerBoundInclusive + " and <= " + aUpperBoundInclusive, aValue);
     return aValue;
   }
 
@@ -2387,7 +2621,10 @@ public final class JCValueEnforcer
                                         final int nLowerBoundExclusive,
                                         final int nUpperBoundExclusive)
   {
-    return isBetweenExclusive (nValue, () -> sName, nLowerBoundExclusive, nUpperBoundExclusive);
+    if (isEnabled ())
+      if (nValue <= nLowerBoundExclusive || nValue >= nUpperBoundExclusive)
+        _throwOutOfRange (sName, "> " + nLowerBoundExclusive + " and < " + nUpperBoundExclusive, nValue);
+    return nValue;
   }
 
   /**
@@ -2411,14 +2648,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue <= nLowerBoundExclusive || nValue >= nUpperBoundExclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            nLowerBoundExclusive +
-                                            " and < " +
-                                            nUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "> " + nLowerBoundExclusive + " and < " + nUpperBoundExclusive, nValue);
     return nValue;
   }
 
@@ -2441,7 +2671,10 @@ public final class JCValueEnforcer
                                          final long nLowerBoundExclusive,
                                          final long nUpperBoundExclusive)
   {
-    return isBetweenExclusive (nValue, () -> sName, nLowerBoundExclusive, nUpperBoundExclusive);
+    if (isEnabled ())
+      if (nValue <= nLowerBoundExclusive || nValue >= nUpperBoundExclusive)
+        _throwOutOfRange (sName, "> " + nLowerBoundExclusive + " and < " + nUpperBoundExclusive, nValue);
+    return nValue;
   }
 
   /**
@@ -2465,14 +2698,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue <= nLowerBoundExclusive || nValue >= nUpperBoundExclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            nLowerBoundExclusive +
-                                            " and < " +
-                                            nUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "> " + nLowerBoundExclusive + " and < " + nUpperBoundExclusive, nValue);
     return nValue;
   }
 
@@ -2495,7 +2721,10 @@ public final class JCValueEnforcer
                                           final short nLowerBoundExclusive,
                                           final short nUpperBoundExclusive)
   {
-    return isBetweenExclusive (nValue, () -> sName, nLowerBoundExclusive, nUpperBoundExclusive);
+    if (isEnabled ())
+      if (nValue <= nLowerBoundExclusive || nValue >= nUpperBoundExclusive)
+        _throwOutOfRange (sName, "> " + nLowerBoundExclusive + " and < " + nUpperBoundExclusive, nValue);
+    return nValue;
   }
 
   /**
@@ -2519,14 +2748,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (nValue <= nLowerBoundExclusive || nValue >= nUpperBoundExclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            nLowerBoundExclusive +
-                                            " and < " +
-                                            nUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            nValue);
+        _throwOutOfRange (aName.get (), "> " + nLowerBoundExclusive + " and < " + nUpperBoundExclusive, nValue);
     return nValue;
   }
 
@@ -2549,7 +2771,10 @@ public final class JCValueEnforcer
                                            final double dLowerBoundExclusive,
                                            final double dUpperBoundExclusive)
   {
-    return isBetweenExclusive (dValue, () -> sName, dLowerBoundExclusive, dUpperBoundExclusive);
+    if (isEnabled ())
+      if (dValue <= dLowerBoundExclusive || dValue >= dUpperBoundExclusive)
+        _throwOutOfRange (sName, "> " + dLowerBoundExclusive + " and < " + dUpperBoundExclusive, dValue);
+    return dValue;
   }
 
   /**
@@ -2573,14 +2798,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (dValue <= dLowerBoundExclusive || dValue >= dUpperBoundExclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            dLowerBoundExclusive +
-                                            " and < " +
-                                            dUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            dValue);
+        _throwOutOfRange (aName.get (), "> " + dLowerBoundExclusive + " and < " + dUpperBoundExclusive, dValue);
     return dValue;
   }
 
@@ -2603,7 +2821,10 @@ public final class JCValueEnforcer
                                           final float fLowerBoundExclusive,
                                           final float fUpperBoundExclusive)
   {
-    return isBetweenExclusive (fValue, () -> sName, fLowerBoundExclusive, fUpperBoundExclusive);
+    if (isEnabled ())
+      if (fValue <= fLowerBoundExclusive || fValue >= fUpperBoundExclusive)
+        _throwOutOfRange (sName, "> " + fLowerBoundExclusive + " and < " + fUpperBoundExclusive, fValue);
+    return fValue;
   }
 
   /**
@@ -2627,14 +2848,7 @@ public final class JCValueEnforcer
   {
     if (isEnabled ())
       if (fValue <= fLowerBoundExclusive || fValue >= fUpperBoundExclusive)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            fLowerBoundExclusive +
-                                            " and < " +
-                                            fUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            fValue);
+        _throwOutOfRange (aName.get (), "> " + fLowerBoundExclusive + " and < " + fUpperBoundExclusive, fValue);
     return fValue;
   }
 
@@ -2657,7 +2871,13 @@ public final class JCValueEnforcer
                                                @Nonnull final BigDecimal aLowerBoundExclusive,
                                                @Nonnull final BigDecimal aUpperBoundExclusive)
   {
-    return isBetweenExclusive (aValue, () -> sName, aLowerBoundExclusive, aUpperBoundExclusive);
+    notNull (aValue, sName);
+    notNull (aLowerBoundExclusive, "LowerBoundInclusive");
+    notNull (aUpperBoundExclusive, "UpperBoundInclusive");
+    if (isEnabled ())
+      if (aValue.compareTo (aLowerBoundExclusive) <= 0 || aValue.compareTo (aUpperBoundExclusive) >= 0)
+        _throwOutOfRange (sName, "> " + aLowerBoundExclusive + " and < " + aUpperBoundExclusive, aValue);
+    return aValue;
   }
 
   /**
@@ -2684,14 +2904,7 @@ public final class JCValueEnforcer
     notNull (aUpperBoundExclusive, "UpperBoundInclusive");
     if (isEnabled ())
       if (aValue.compareTo (aLowerBoundExclusive) <= 0 || aValue.compareTo (aUpperBoundExclusive) >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            aLowerBoundExclusive +
-                                            " and < " +
-                                            aUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "> " + aLowerBoundExclusive + " and < " + aUpperBoundExclusive, aValue);
     return aValue;
   }
 
@@ -2714,7 +2927,13 @@ public final class JCValueEnforcer
                                                @Nonnull final BigInteger aLowerBoundExclusive,
                                                @Nonnull final BigInteger aUpperBoundExclusive)
   {
-    return isBetweenExclusive (aValue, () -> sName, aLowerBoundExclusive, aUpperBoundExclusive);
+    notNull (aValue, sName);
+    notNull (aLowerBoundExclusive, "LowerBoundInclusive");
+    notNull (aUpperBoundExclusive, "UpperBoundInclusive");
+    if (isEnabled ())
+      if (aValue.compareTo (aLowerBoundExclusive) <= 0 || aValue.compareTo (aUpperBoundExclusive) >= 0)
+        _throwOutOfRange (sName, "> " + aLowerBoundExclusive + " and < " + aUpperBoundExclusive, aValue);
+    return aValue;
   }
 
   /**
@@ -2741,14 +2960,7 @@ public final class JCValueEnforcer
     notNull (aUpperBoundExclusive, "UpperBoundInclusive");
     if (isEnabled ())
       if (aValue.compareTo (aLowerBoundExclusive) <= 0 || aValue.compareTo (aUpperBoundExclusive) >= 0)
-        throw new IllegalArgumentException ("The value of '" +
-                                            aName.get () +
-                                            "' must be > " +
-                                            aLowerBoundExclusive +
-                                            " and < " +
-                                            aUpperBoundExclusive +
-                                            "! The current value is: " +
-                                            aValue);
+        _throwOutOfRange (aName.get (), "> " + aLowerBoundExclusive + " and < " + aUpperBoundExclusive, aValue);
     return aValue;
   }
 
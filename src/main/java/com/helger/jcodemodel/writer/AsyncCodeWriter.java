@@ -0,0 +1,391 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.helger.jcodemodel.AbstractCodeWriter;
+import com.helger.jcodemodel.JPackage;
+import com.helger.jcodemodel.util.JCValueEnforcer;
+
+/**
+ * {@link AbstractCodeWriter} that decouples the rendering of the source files
+ * from the actual I/O. Rendering happens in the calling thread into memory.
+ * Each completed file is put into a bounded queue and written to the core
+ * writer by dedicated writer threads. If the queue is full, the rendering
+ * thread blocks until a file was written, so the memory consumption stays
+ * bounded.
+ * <p>
+ * All errors that occur while writing are collected and thrown as one
+ * {@link IOException} (with the single errors as suppressed exceptions) by
+ * {@link #close()}, which is called at the end of
+ * {@link com.helger.jcodemodel.JCodeModel#build(AbstractCodeWriter)}.
+ * <p>
+ * This writer should directly wrap the writer that does the actual storage
+ * (e.g. a {@link FileCodeWriter}), because the core writer only sees binary
+ * files. Filtering writers like {@link PrologCodeWriter} must wrap this
+ * writer:
+ *
+ * <pre>
+ * cm.build (new PrologCodeWriter (new AsyncCodeWriter (new FileCodeWriter (aDir)), "Generated"));
+ * </pre>
+ *
+ * With more than one writer thread, the core writer must support multiple
+ * open output streams at the same time (like {@link FileCodeWriter} does).
+ * Opening the streams is always serialized.
+ * <p>
+ * The strict mode and {@link #discard(JPackage, String)} are forwarded to the
+ * core writer. In strict mode a file that could not be written completely is
+ * discarded by the writer thread, and the next file that is queued after an
+ * error aborts the build with an {@link IOException} instead of waiting for
+ * {@link #close()}.
+ *
+ * @since 3.0.3
+ */
+public class AsyncCodeWriter extends AbstractCodeWriter
+{
+  /** Default number of rendered files that may wait to be written */
+  public static final int DEFAULT_QUEUE_CAPACITY = 16;
+  /** Default number of writer threads */
+  public static final int DEFAULT_WRITER_THREADS = 1;
+
+  private static final class WriteJob
+  {
+    private final JPackage m_aPackage;
+    private final String m_sFilename;
+    private final byte [] m_aBytes;
+
+    WriteJob (@Nullable final JPackage aPackage, @Nullable final String sFilename, @Nullable final byte [] aBytes)
+    {
+      m_aPackage = aPackage;
+      m_sFilename = sFilename;
+      m_aBytes = aBytes;
+    }
+  }
+
+  /** Queue entry indicating that a writer thread should stop */
+  private static final WriteJob STOP = new WriteJob (null, null, null);
+
+  private final AbstractCodeWriter m_aCore;
+  private final BlockingQueue <WriteJob> m_aQueue;
+  private final int m_nWriterThreads;
+  private final List <Thread> m_aThreads = new ArrayList <> ();
+  private final List <IOException> m_aErrors = new ArrayList <> ();
+
+  public AsyncCodeWriter (@Nonnull final AbstractCodeWriter aCore)
+  {
+    this (aCore, DEFAULT_QUEUE_CAPACITY, DEFAULT_WRITER_THREADS);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param aCore
+   *        The writer that does the actual I/O. May not be <code>null</code>.
+   * @param nQueueCapacity
+   *        The maximum number of rendered files that wait to be written. Must
+   *        be &gt; 0.
+   * @param nWriterThreads
+   *        The number of writer threads. Must be &gt; 0.
+   */
+  public AsyncCodeWriter (@Nonnull final AbstractCodeWriter aCore,
+                          @Nonnegative final int nQueueCapacity,
+                          @Nonnegative final int nWriterThreads)
+  {
+    super (aCore.encoding (), aCore.getNewLine ());
+    JCValueEnforcer.isGT0 (nQueueCapacity, "QueueCapacity");
+    JCValueEnforcer.isGT0 (nWriterThreads, "WriterThreads");
+    m_aCore = aCore;
+    m_aQueue = new ArrayBlockingQueue <> (nQueueCapacity);
+    m_nWriterThreads = nWriterThreads;
+    super.setStrict (aCore.isStrict ());
+  }
+
+  @Nonnull
+  protected AbstractCodeWriter core ()
+  {
+    return m_aCore;
+  }
+
+  private void _addError (@Nonnull final IOException ex)
+  {
+    synchronized (m_aErrors)
+    {
+      m_aErrors.add (ex);
+    }
+  }
+
+  private void _write (@Nonnull final WriteJob aJob)
+  {
+    try
+    {
+      final OutputStream aOS;
+      synchronized (m_aCore)
+      {
+        aOS = m_aCore.openBinary (aJob.m_aPackage, aJob.m_sFilename);
+      }
+      try
+      {
+        aOS.write (aJob.m_aBytes);
+      }
+      finally
+      {
+        aOS.close ();
+      }
+    }
+    catch (final IOException ex)
+    {
+      _addError (ex);
+      _discardIfStrict (aJob);
+    }
+    catch (final Throwable ex)
+    {
+      _addError (new IOException ("Failed to write " + aJob.m_sFilename, ex));
+      _discardIfStrict (aJob);
+    }
+  }
+
+  private void _discardIfStrict (@Nonnull final WriteJob aJob)
+  {
+    if (isStrict ())
+      try
+      {
+        discard (aJob.m_aPackage, aJob.m_sFilename);
+      }
+      catch (final IOException ex)
+      {
+        _addError (ex);
+      }
+  }
+
+  private void _runWriter ()
+  {
+    while (true)
+    {
+      final WriteJob aJob;
+      try
+      {
+        aJob = m_aQueue.take ();
+      }
+      catch (final InterruptedException ex)
+      {
+        Thread.currentThread ().interrupt ();
+        return;
+      }
+      if (aJob == STOP)
+        return;
+      try
+      {
+        _write (aJob);
+      }
+      catch (final Throwable ex)
+      {
+        // Never let the thread die, as the rendering thread may wait for it to
+        // drain the queue
+        _addError (new IOException ("Failed to write " + aJob.m_sFilename, ex));
+      }
+    }
+  }
+
+  private void _startThreadsIfNecessary ()
+  {
+    if (m_aThreads.isEmpty ())
+      for (int i = 0; i < m_nWriterThreads; ++i)
+      {
+        final Thread aThread = new Thread (this::_runWriter, "jcodemodel-writer-" + i);
+        aThread.setDaemon (true);
+        aThread.start ();
+        m_aThreads.add (aThread);
+      }
+  }
+
+  @Nullable
+  private IOException _getFirstError ()
+  {
+    synchronized (m_aErrors)
+    {
+      return m_aErrors.isEmpty () ? null : m_aErrors.get (0);
+    }
+  }
+
+  private boolean _isAnyWriterAlive ()
+  {
+    for (final Thread aThread : m_aThreads)
+      if (aThread.isAlive ())
+        return true;
+    return false;
+  }
+
+  private void _enqueue (@Nonnull final WriteJob aJob) throws IOException
+  {
+    if (aJob != STOP && isStrict ())
+    {
+      // Abort the build with the first error instead of waiting for close
+      final IOException aFirstError = _getFirstError ();
+      if (aFirstError != null)
+        throw new IOException ("Not writing " +
+                               aJob.m_sFilename +
+                               " because of a previous error: " +
+                               aFirstError.getMessage (),
+                               aFirstError);
+    }
+
+    try
+    {
+      // Blocks if the queue is full, as long as a writer thread can drain it
+      while (!m_aQueue.offer (aJob, 100, TimeUnit.MILLISECONDS))
+        if (!_isAnyWriterAlive ())
+          throw new IOException ("No writer thread is left to write " +
+                                 (aJob == STOP ? "the remaining files" : aJob.m_sFilename));
+    }
+    catch (final InterruptedException ex)
+    {
+      Thread.currentThread ().interrupt ();
+      throw new InterruptedIOException ("Interrupted while queuing " + aJob.m_sFilename);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public OutputStream openBinary (@Nonnull final JPackage aPackage, @Nonnull final String sFilename) throws IOException
+  {
+    _startThreadsIfNecessary ();
+    return new ByteArrayOutputStream ()
+    {
+      private boolean m_bClosed = false;
+
+      @Override
+      public void close () throws IOException
+      {
+        if (!m_bClosed)
+        {
+          m_bClosed = true;
+          _enqueue (new WriteJob (aPackage, sFilename, toByteArray ()));
+        }
+      }
+    };
+  }
+
+  @Override
+  @Nonnull
+  public AsyncCodeWriter setStrict (final boolean bStrict)
+  {
+    synchronized (m_aCore)
+    {
+      m_aCore.setStrict (bStrict);
+    }
+    super.setStrict (bStrict);
+    return this;
+  }
+
+  @Override
+  public void discard (@Nonnull final JPackage aPackage, @Nonnull final String sFilename) throws IOException
+  {
+    synchronized (m_aCore)
+    {
+      m_aCore.discard (aPackage, sFilename);
+    }
+  }
+
+  /**
+   * Waits until all queued files are written and closes the core writer.
+   *
+   * @throws IOException
+   *         if writing at least one file or closing the core writer failed.
+   *         All single errors are contained as suppressed exceptions.
+   */
+  @Override
+  public void close () throws IOException
+  {
+    try
+    {
+      for (int i = 0; i < m_aThreads.size (); ++i)
+        _enqueue (STOP);
+      for (final Thread aThread : m_aThreads)
+        aThread.join ();
+    }
+    catch (final InterruptedException ex)
+    {
+      Thread.currentThread ().interrupt ();
+      _addError (new InterruptedIOException ("Interrupted while waiting for the writer threads"));
+    }
+    catch (final IOException ex)
+    {
+      _addError (ex);
+    }
+    m_aThreads.clear ();
+
+    try
+    {
+      m_aCore.close ();
+    }
+    catch (final IOException ex)
+    {
+      _addError (ex);
+    }
+
+    synchronized (m_aErrors)
+    {
+      if (!m_aErrors.isEmpty ())
+      {
+        final IOException ex = new IOException (m_aErrors.size () +
+                                                " error(s) while writing the generated files; first error: " +
+                                                m_aErrors.get (0).getMessage ());
+        for (final IOException aError : m_aErrors)
+          ex.addSuppressed (aError);
+        m_aErrors.clear ();
+        throw ex;
+      }
+    }
+  }
+}
@@ -145,6 +145,15 @@ public class FileCodeWriter extends AbstractCodeWriter
     return fn;
   }
 
+  @Override
+  public void discard (@Nonnull final JPackage pkg, @Nonnull final String fileName) throws IOException
+  {
+    final File fn = new File (pkg.isUnnamed () ? m_aTargetDir : new File (m_aTargetDir, _toDirName (pkg)), fileName);
+    m_aReadOnlyFiles.remove (fn);
+    if (fn.exists () && !fn.delete ())
+      throw new IOException (fn + ": Can't delete partially written file");
+  }
+
   @Override
   public void close () throws IOException
   {
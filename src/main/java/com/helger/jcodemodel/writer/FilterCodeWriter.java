@@ -63,6 +63,7 @@ public class FilterCodeWriter extends AbstractCodeWriter
   {
     super (aCore.encoding (), aCore.getNewLine ());
     m_aCore = aCore;
+    super.setStrict (aCore.isStrict ());
   }
 
   @Nonnull
@@ -83,6 +84,22 @@ public class FilterCodeWriter extends AbstractCodeWriter
     return m_aCore.openSource (pkg, fileName);
   }
 
+  @Override
+  @Nonnull
+  public FilterCodeWriter setStrict (final boolean bStrict)
+  {
+    // Source files are opened by the core
+    m_aCore.setStrict (bStrict);
+    super.setStrict (bStrict);
+    return this;
+  }
+
+  @Override
+  public void discard (@Nonnull final JPackage pkg, @Nonnull final String fileName) throws IOException
+  {
+    m_aCore.discard (pkg, fileName);
+  }
+
   @Override
   public void close () throws IOException
   {
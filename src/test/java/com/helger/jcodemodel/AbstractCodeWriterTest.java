@@ -0,0 +1,251 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link AbstractCodeWriter}.
+ */
+public final class AbstractCodeWriterTest
+{
+  private static final class InMemoryStream extends ByteArrayOutputStream
+  {
+    private boolean m_bClosed;
+
+    @Override
+    public void close ()
+    {
+      m_bClosed = true;
+    }
+  }
+
+  private static final class InMemoryCodeWriter extends AbstractCodeWriter
+  {
+    private final List <InMemoryStream> m_aFiles = new ArrayList <> ();
+
+    InMemoryCodeWriter (@Nonnull final Charset aCharset)
+    {
+      super (aCharset, "\n");
+    }
+
+    @Override
+    public OutputStream openBinary (@Nonnull final JPackage aPackage, @Nonnull final String sFilename)
+    {
+      final InMemoryStream ret = new InMemoryStream ();
+      m_aFiles.add (ret);
+      return ret;
+    }
+
+    @Override
+    public void close ()
+    {}
+  }
+
+  /**
+   * A code writer whose streams fail after a certain number of bytes.
+   */
+  private static final class FailingCodeWriter extends AbstractCodeWriter
+  {
+    private final List <String> m_aOpened = new ArrayList <> ();
+    private final List <String> m_aDiscarded = new ArrayList <> ();
+
+    FailingCodeWriter ()
+    {
+      super (StandardCharsets.UTF_8, "\n");
+    }
+
+    @Override
+    public OutputStream openBinary (@Nonnull final JPackage aPackage, @Nonnull final String sFilename)
+    {
+      m_aOpened.add (sFilename);
+      return new OutputStream ()
+      {
+        private int m_nCount = 0;
+
+        @Override
+        public void write (final int b) throws IOException
+        {
+          if (++m_nCount > 10)
+            throw new IOException ("Disk full");
+        }
+      };
+    }
+
+    @Override
+    public void discard (@Nonnull final JPackage aPackage, @Nonnull final String sFilename)
+    {
+      m_aDiscarded.add (sFilename);
+    }
+
+    @Override
+    public void close ()
+    {}
+  }
+
+  @Nonnull
+  private static byte [] _getExpectedBytes (@Nonnull final String sText, @Nonnull final Charset aCharset)
+  {
+    // Same logic as in a UnicodeEscapeWriter on top of an OutputStreamWriter
+    final CharsetEncoder aEncoder = aCharset.newEncoder ();
+    final StringBuilder aSB = new StringBuilder ();
+    for (final char c : sText.toCharArray ())
+      if ((c < 0x20 && c != '\t' && c != '\r' && c != '\n') || (c >= 0x80 && !aEncoder.canEncode (c)))
+      {
+        final String s = Integer.toHexString (c);
+        aSB.append ("\\u");
+        for (int i = s.length (); i < 4; i++)
+          aSB.append ('0');
+        aSB.append (s);
+      }
+      else
+        aSB.append (c);
+    return aSB.toString ().getBytes (aCharset);
+  }
+
+  @Test
+  public void testOpenSourceReusesWriter () throws IOException
+  {
+    final StringBuilder aSB = new StringBuilder ();
+    for (int i = 0; i < 2000; ++i)
+      aSB.append ("x\u0001\t\u00e4\u20ac\ud83d\ude00 ");
+    final String sText = aSB.toString ();
+
+    final JPackage aPackage = new JCodeModel ().rootPackage ();
+    for (final Charset aCharset : new Charset [] { StandardCharsets.UTF_8,
+                                                   StandardCharsets.ISO_8859_1,
+                                                   StandardCharsets.US_ASCII,
+                                                   StandardCharsets.UTF_16 })
+    {
+      final InMemoryCodeWriter aCW = new InMemoryCodeWriter (aCharset);
+      for (int i = 0; i < 3; ++i)
+      {
+        final SourcePrintWriter aWriter = aCW.openSource (aPackage, "Foo" + i + ".java");
+        aWriter.print (sText.substring (i));
+        aWriter.println ();
+        aWriter.close ();
+      }
+      assertEquals (3, aCW.m_aFiles.size ());
+      for (int i = 0; i < 3; ++i)
+        assertArrayEquals (aCharset.name (),
+                           _getExpectedBytes (sText.substring (i) + "\n", aCharset),
+                           aCW.m_aFiles.get (i).toByteArray ());
+    }
+  }
+
+  @Test
+  public void testClosedWriterIsInvalidated () throws IOException
+  {
+    final JPackage aPackage = new JCodeModel ().rootPackage ();
+    final InMemoryCodeWriter aCW = new InMemoryCodeWriter (StandardCharsets.UTF_8);
+    aCW.setStrict (true);
+    final SourcePrintWriter aWriter1 = aCW.openSource (aPackage, "A.java");
+    aWriter1.print ("a");
+    aWriter1.close ();
+    assertTrue (aCW.m_aFiles.get (0).m_bClosed);
+
+    // The buffers of the first file are re-used
+    final SourcePrintWriter aWriter2 = aCW.openSource (aPackage, "B.java");
+    try
+    {
+      aWriter1.print ("STALE");
+      fail ();
+    }
+    catch (final SourceWriteException ex)
+    {
+      // expected
+    }
+    // Closing again must not close the second file
+    aWriter1.close ();
+    assertFalse (aCW.m_aFiles.get (1).m_bClosed);
+
+    aWriter2.print ("b");
+    aWriter2.close ();
+    assertTrue (aCW.m_aFiles.get (1).m_bClosed);
+    assertEquals ("a", new String (aCW.m_aFiles.get (0).toByteArray (), StandardCharsets.UTF_8));
+    assertEquals ("b", new String (aCW.m_aFiles.get (1).toByteArray (), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testStrict () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass aClass = cm._class ("org.example.Bar");
+    for (int i = 0; i < 1000; ++i)
+      aClass.field (JMod.PRIVATE, cm.INT, "m_n" + i);
+    cm._class ("org.example.Foo");
+
+    final FailingCodeWriter aCW = new FailingCodeWriter ();
+    aCW.setStrict (true);
+    try
+    {
+      cm.build (aCW);
+      fail ();
+    }
+    catch (final SourceWriteException ex)
+    {
+      assertEquals ("org/example/Bar.java", ex.getFilePath ());
+      // Lower bound: the stream accepted 10 bytes of the first failed buffer
+      assertEquals (0, ex.getBytesWritten ());
+      assertTrue (ex.getMessage (), ex.getMessage ().contains ("Disk full"));
+    }
+    // Aborted after the first file, which was discarded
+    assertEquals (1, aCW.m_aOpened.size ());
+    assertEquals ("Bar.java", aCW.m_aDiscarded.get (0));
+  }
+}
@@ -106,4 +106,28 @@ public final class JAnnotationUseTest
     cm._package ("foo").annotate (Inherited.class);
     CodeModelTestsHelper.parseCodeModel (cm);
   }
+
+  @Test
+  public void testSharedTemplate () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("Test");
+    final JAnnotationUse aTemplate = new JAnnotationUse (cm.ref (SuppressWarnings.class));
+    aTemplate.param (JAnnotationUse.SPECIAL_KEY_VALUE, "unused");
+
+    final JAnnotationUse a1 = c.method (JMod.PUBLIC, cm.VOID, "a").annotate (aTemplate);
+    final JAnnotationUse a2 = c.method (JMod.PUBLIC, cm.VOID, "b").annotate (aTemplate);
+    Assert.assertEquals ("@java.lang.SuppressWarnings(\"unused\")", CodeModelTestsHelper.generate (a1));
+    Assert.assertSame (a1.getParam (JAnnotationUse.SPECIAL_KEY_VALUE),
+                       a2.getParam (JAnnotationUse.SPECIAL_KEY_VALUE));
+
+    // Modifying a copy does not affect the others
+    a2.param (JAnnotationUse.SPECIAL_KEY_VALUE, "rawtypes");
+    Assert.assertEquals ("@java.lang.SuppressWarnings(\"unused\")", CodeModelTestsHelper.generate (a1));
+    Assert.assertEquals ("@java.lang.SuppressWarnings(\"rawtypes\")", CodeModelTestsHelper.generate (a2));
+
+    // Modifying the template does not affect the copies
+    aTemplate.param (JAnnotationUse.SPECIAL_KEY_VALUE, "cast");
+    Assert.assertEquals ("@java.lang.SuppressWarnings(\"unused\")", CodeModelTestsHelper.generate (a1));
+  }
 }
@@ -0,0 +1,137 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link JCodeModelDeduplicator}.
+ */
+public final class JCodeModelDeduplicatorTest
+{
+  private static void _addHelpers (@Nonnull final JDefinedClass aClass,
+                                   final int nOffset) throws JClassAlreadyExistsException
+  {
+    final JCodeModel cm = aClass.owner ();
+    final JMethod aHelper = aClass.method (JMod.STATIC, cm.INT, "inc");
+    final JVar aParam = aHelper.param (cm.INT, "n");
+    aHelper.body ()._return (aParam.plus (JExpr.lit (1)));
+
+    final JDefinedClass aConverter = aClass._class (JMod.PRIVATE | JMod.STATIC, "Converter");
+    aConverter.method (JMod.PUBLIC, String.class, "convert").body ()._return (JExpr.lit ("x"));
+
+    final JMethod aRun = aClass.method (JMod.PUBLIC, cm.INT, "run");
+    aRun.body ().decl (aConverter, "c", JExpr._new (aConverter));
+    aRun.body ().invoke ("inc").arg (JExpr.lit (0));
+    aRun.body ()._return (JExpr.invoke (aHelper).arg (JExpr.lit (nOffset)));
+
+    // Private methods are never hoisted
+    final JMethod aPrivate = aClass.method (JMod.PRIVATE | JMod.STATIC, cm.INT, "dec");
+    aPrivate.body ()._return (aPrivate.param (cm.INT, "n").minus (JExpr.lit (1)));
+  }
+
+  @Test
+  public void testDeduplicate () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c1 = cm._class ("org.example.Foo");
+    _addHelpers (c1, 1);
+    final JDefinedClass c2 = cm._class ("org.example.other.Bar");
+    _addHelpers (c2, 2);
+    final JMethod aFooHelper = c1.getMethod ("inc", new AbstractJType [] { cm.INT });
+    final JDefinedClass aBarConverter = c2.classes ().iterator ().next ();
+
+    final JCodeModelDeduplicator aDedup = new JCodeModelDeduplicator (cm._package ("org.example.util"), "Shared");
+    assertEquals (2, aDedup.deduplicate ());
+
+    final JDefinedClass aShared = cm._getClass ("org.example.util.Shared");
+    assertNotNull (aShared);
+    assertEquals (1, aShared.classes ().size ());
+    assertEquals ("org.example.util.Shared.Converter", aShared.classes ().iterator ().next ().fullName ());
+    assertTrue (c1.classes ().isEmpty ());
+    assertTrue (c2.classes ().isEmpty ());
+    assertSame (aShared.classes ().iterator ().next (), aBarConverter.sharedCopy ());
+
+    // The original methods are kept for invocations by name and delegate
+    assertSame (aFooHelper, c1.getMethod ("inc", new AbstractJType [] { cm.INT }));
+    assertTrue (CodeModelTestsHelper.declare (aFooHelper)
+                                   .contains ("return org.example.util.Shared.inc(n);"));
+    assertNotNull (aShared.getMethod ("inc", new AbstractJType [] { cm.INT }));
+    assertNull (aShared.getMethod ("dec", new AbstractJType [] { cm.INT }));
+    assertSame (aShared.getMethod ("inc", new AbstractJType [] { cm.INT }), aFooHelper.sharedCopy ());
+    assertTrue ((aFooHelper.sharedCopy ().mods ().getValue () & JMod.PUBLIC) != 0);
+
+    final String sBar = CodeModelTestsHelper.declare (c2);
+    assertTrue (sBar, sBar.contains ("return org.example.util.Shared.inc(2);"));
+    assertTrue (sBar, sBar.contains ("inc(0);"));
+    assertTrue (sBar, sBar.contains ("return org.example.util.Shared.inc(n);"));
+    assertTrue (sBar, sBar.contains ("org.example.util.Shared.Converter c = new org.example.util.Shared.Converter();"));
+
+    // Running again does not change anything
+    assertEquals (0, aDedup.deduplicate ());
+
+    final String sAll = new String (CodeModelTestsHelper.getAllBytes (cm), StandardCharsets.UTF_8);
+    assertTrue (sAll, sAll.contains ("import org.example.util.Shared;"));
+    assertTrue (sAll, sAll.contains ("return Shared.inc(1);"));
+    CodeModelTestsHelper.parseCodeModel (cm);
+  }
+
+  @Test
+  public void testNothingToDo () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    _addHelpers (cm._class ("org.example.Foo"), 1);
+    assertEquals (0, new JCodeModelDeduplicator (cm._package ("org.example.util"), "Shared").deduplicate ());
+    assertNull (cm._getClass ("org.example.util.Shared"));
+  }
+}
@@ -0,0 +1,291 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.fmt.JTextFile;
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link JCodeModelDiff}.
+ */
+public final class JCodeModelDiffTest
+{
+  @Nonnull
+  private static JCodeModel _createModel (final String sReturnValue,
+                                          final boolean bWithExtraClass) throws JClassAlreadyExistsException
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c1 = cm._class ("org.example.Foo");
+    c1.field (JMod.PRIVATE, cm.INT, "m_nValue");
+    c1.method (JMod.PUBLIC, String.class, "getValue").body ()._return (JExpr.lit (sReturnValue));
+    cm._class ("org.example.Bar").method (JMod.PUBLIC, cm.VOID, "run").body ().invoke ("toString");
+    if (bWithExtraClass)
+      cm._class ("org.example.other.Extra");
+    return cm;
+  }
+
+  @Test
+  public void testStructuralHash () throws Exception
+  {
+    final JCodeModel cm1 = _createModel ("a", false);
+    final JCodeModel cm2 = _createModel ("a", false);
+    final JCodeModel cm3 = _createModel ("b", false);
+    assertEquals (JFormatter.getStructuralHash (cm1._getClass ("org.example.Foo")),
+                  JFormatter.getStructuralHash (cm2._getClass ("org.example.Foo")));
+    assertNotEquals (JFormatter.getStructuralHash (cm1._getClass ("org.example.Foo")),
+                     JFormatter.getStructuralHash (cm3._getClass ("org.example.Foo")));
+    assertNotEquals (JFormatter.getStructuralHash (cm1._getClass ("org.example.Foo")),
+                     JFormatter.getStructuralHash (cm1._getClass ("org.example.Bar")));
+  }
+
+  @Test
+  public void testCompare () throws Exception
+  {
+    JCodeModelDiff aDiff = JCodeModelDiff.compare (_createModel ("a", false), _createModel ("a", false));
+    assertTrue (aDiff.isEmpty ());
+
+    aDiff = JCodeModelDiff.compare (_createModel ("a", false), _createModel ("b", true));
+    assertFalse (aDiff.isEmpty ());
+    assertEquals (1, aDiff.getAddedClasses ().size ());
+    assertEquals ("org.example.other.Extra", aDiff.getAddedClasses ().get (0).fullName ());
+    assertEquals (0, aDiff.getRemovedClasses ().size ());
+    assertEquals (1, aDiff.getChangedClasses ().size ());
+    assertEquals ("org.example.Foo", aDiff.getChangedClasses ().get (0).fullName ());
+
+    aDiff = JCodeModelDiff.compare (_createModel ("a", true), _createModel ("a", false));
+    assertEquals (0, aDiff.getAddedClasses ().size ());
+    assertEquals (1, aDiff.getRemovedClasses ().size ());
+    assertEquals (0, aDiff.getChangedClasses ().size ());
+  }
+
+  @Test
+  public void testBuildChanged () throws Exception
+  {
+    final JCodeModel cmNew = _createModel ("b", true);
+    final JCodeModelDiff aDiff = JCodeModelDiff.compare (_createModel ("a", false), cmNew);
+
+    final List <String> aWritten = new ArrayList <> ();
+    aDiff.buildChanged (new AbstractCodeWriter (CodeModelTestsHelper.DEFAULT_ENCODING, "\n")
+    {
+      @Override
+      public OutputStream openBinary (final JPackage aPackage, final String sFilename) throws IOException
+      {
+        aWritten.add (aPackage.name () + "/" + sFilename);
+        return new ByteArrayOutputStream ();
+      }
+
+      @Override
+      public void close () throws IOException
+      {}
+    });
+    aWritten.sort (null);
+    assertEquals ("[org.example.other/Extra.java, org.example/Foo.java]", aWritten.toString ());
+  }
+
+  @Nonnull
+  private static JCodeModel _createModelWithPackageFiles (@Nonnull final String sJavadoc,
+                                                          final boolean bAnnotated,
+                                                          @Nonnull final String sText) throws JClassAlreadyExistsException
+  {
+    final JCodeModel cm = _createModel ("a", false);
+    final JPackage aPackage = cm._package ("org.example");
+    aPackage.javadoc ().add (sJavadoc);
+    if (bAnnotated)
+      aPackage.annotate (Deprecated.class);
+    final JTextFile aText = new JTextFile ("readme.txt", StandardCharsets.UTF_8);
+    aText.setContents (sText);
+    aPackage.addResourceFile (aText);
+    return cm;
+  }
+
+  @Nonnull
+  private static List <String> _buildChanged (@Nonnull final JCodeModelDiff aDiff) throws IOException
+  {
+    final List <String> aWritten = new ArrayList <> ();
+    aDiff.buildChanged (new AbstractCodeWriter (CodeModelTestsHelper.DEFAULT_ENCODING, "\n")
+    {
+      @Override
+      public OutputStream openBinary (final JPackage aPackage, final String sFilename) throws IOException
+      {
+        aWritten.add (aPackage.name () + "/" + sFilename);
+        return new ByteArrayOutputStream ();
+      }
+
+      @Override
+      public void close () throws IOException
+      {}
+    });
+    aWritten.sort (null);
+    return aWritten;
+  }
+
+  @Test
+  public void testPackageInfoAndResources () throws Exception
+  {
+    JCodeModelDiff aDiff = JCodeModelDiff.compare (_createModelWithPackageFiles ("doc", true, "text"),
+                                                   _createModelWithPackageFiles ("doc", true, "text"));
+    assertTrue (aDiff.isEmpty ());
+
+    // Package javadoc changed
+    aDiff = JCodeModelDiff.compare (_createModelWithPackageFiles ("doc", true, "text"),
+                                    _createModelWithPackageFiles ("other doc", true, "text"));
+    assertFalse (aDiff.isEmpty ());
+    assertEquals (0, aDiff.getChangedClasses ().size ());
+    assertEquals (1, aDiff.getChangedPackageInfos ().size ());
+    assertEquals ("org.example", aDiff.getChangedPackageInfos ().get (0).name ());
+    assertTrue (aDiff.getChangedResources ().isEmpty ());
+    assertEquals ("[org.example/package-info.java]", _buildChanged (aDiff).toString ());
+
+    // Package annotation changed
+    aDiff = JCodeModelDiff.compare (_createModelWithPackageFiles ("doc", true, "text"),
+                                    _createModelWithPackageFiles ("doc", false, "text"));
+    assertEquals (1, aDiff.getChangedPackageInfos ().size ());
+
+    // Resource changed
+    aDiff = JCodeModelDiff.compare (_createModelWithPackageFiles ("doc", true, "text"),
+                                    _createModelWithPackageFiles ("doc", true, "other text"));
+    assertTrue (aDiff.getChangedPackageInfos ().isEmpty ());
+    assertEquals ("[org/example/readme.txt]", aDiff.getChangedResources ().keySet ().toString ());
+    assertEquals ("[org.example/readme.txt]", _buildChanged (aDiff).toString ());
+
+    // Package-info and resource added
+    aDiff = JCodeModelDiff.compare (_createModel ("a", false), _createModelWithPackageFiles ("doc", true, "text"));
+    assertEquals (1, aDiff.getChangedPackageInfos ().size ());
+    assertEquals (1, aDiff.getChangedResources ().size ());
+    assertEquals ("[org.example/package-info.java, org.example/readme.txt]", _buildChanged (aDiff).toString ());
+
+    // Package-info and resource removed
+    aDiff = JCodeModelDiff.compare (_createModelWithPackageFiles ("doc", true, "text"), _createModel ("a", false));
+    assertFalse (aDiff.isEmpty ());
+    assertEquals (1, aDiff.getRemovedPackageInfos ().size ());
+    assertEquals ("[org/example/readme.txt]", aDiff.getRemovedResources ().keySet ().toString ());
+    assertEquals ("[]", _buildChanged (aDiff).toString ());
+  }
+
+  @Test
+  public void testErrorTypes () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass aObject = cm._class ("org.example.WithObject");
+    aObject.method (JMod.PUBLIC, Object.class, "get");
+    final JDefinedClass aError = cm._class ("org.example.WithError");
+    aError.method (JMod.PUBLIC, cm.errorClass ("Missing in source", "Missing"), "get");
+    final JDefinedClass aOtherError = cm._class ("org.example.WithOtherError");
+    aOtherError.method (JMod.PUBLIC, cm.errorClass ("Other in source", "Other"), "get");
+
+    // Only the class names differ, so compare the hashes of the methods
+    final long nObjectHash = JFormatter.getStructuralHash (aObject.getMethod ("get", new AbstractJType [0]));
+    final long nErrorHash = JFormatter.getStructuralHash (aError.getMethod ("get", new AbstractJType [0]));
+    final long nOtherErrorHash = JFormatter.getStructuralHash (aOtherError.getMethod ("get", new AbstractJType [0]));
+    assertNotEquals (nObjectHash, nErrorHash);
+    assertNotEquals (nErrorHash, nOtherErrorHash);
+  }
+
+  @Test
+  public void testSiblingClassNames () throws Exception
+  {
+    final JCodeModel cmOld = _createModel ("a", false);
+    final JCodeModel cmNew = _createModel ("a", false);
+    // Collides with "java.lang.String" referenced by Foo
+    cmNew._class ("org.example.String");
+
+    final JCodeModelDiff aDiff = JCodeModelDiff.compare (cmOld, cmNew);
+    assertEquals (1, aDiff.getAddedClasses ().size ());
+    assertEquals (2, aDiff.getChangedClasses ().size ());
+    assertEquals ("[org.example/Bar.java, org.example/Foo.java, org.example/String.java]",
+                  _buildChanged (aDiff).toString ());
+
+    // Hidden classes take part in the collision check as well
+    final JCodeModel cmHidden = _createModel ("a", false);
+    cmHidden._class ("org.example.String").hide ();
+    assertEquals ("[org.example/Bar.java, org.example/Foo.java]",
+                  _buildChanged (JCodeModelDiff.compare (cmOld, cmHidden)).toString ());
+
+    // Other packages are not affected
+    final JCodeModel cmOther = _createModel ("a", false);
+    cmOther._class ("org.example.other.String");
+    assertEquals ("[org.example.other/String.java]", _buildChanged (JCodeModelDiff.compare (cmOld, cmOther)).toString ());
+  }
+
+  @Test
+  public void testAnonymousClassChange () throws Exception
+  {
+    final JCodeModel cmOld = _createModel ("a", false);
+    final JCodeModel cmNew = _createModel ("a", false);
+    final JAnonymousClass aAnon = cmNew.anonymousClass (Runnable.class);
+    final JMethod aRun = aAnon.method (JMod.PUBLIC, cmNew.VOID, "run");
+    cmNew._getClass ("org.example.Bar")
+         .getMethod ("run", new AbstractJType [0])
+         .body ()
+         .decl (cmNew.ref (Runnable.class), "r", JExpr._new (aAnon));
+    assertEquals ("[org.example/Bar.java]", _buildChanged (JCodeModelDiff.compare (cmOld, cmNew)).toString ());
+
+    // Compare against a copy holding the same anonymous class
+    final JCodeModel cmSame = _createModel ("a", false);
+    final JAnonymousClass aSameAnon = cmSame.anonymousClass (Runnable.class);
+    aSameAnon.method (JMod.PUBLIC, cmSame.VOID, "run");
+    cmSame._getClass ("org.example.Bar")
+          .getMethod ("run", new AbstractJType [0])
+          .body ()
+          .decl (cmSame.ref (Runnable.class), "r", JExpr._new (aSameAnon));
+    assertTrue (JCodeModelDiff.compare (cmSame, cmNew).isEmpty ());
+
+    // Modify the anonymous class after the hashes were computed
+    aRun.body ().invoke ("toString");
+    assertEquals ("[org.example/Bar.java]", _buildChanged (JCodeModelDiff.compare (cmSame, cmNew)).toString ());
+  }
+}
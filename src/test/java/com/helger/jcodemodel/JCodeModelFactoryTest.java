@@ -0,0 +1,83 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link JCodeModelFactory}.
+ */
+public final class JCodeModelFactoryTest
+{
+  @Test
+  public void testCreate () throws Exception
+  {
+    final JCodeModelFactory aFactory = new JCodeModelFactory ().setBuildingCharset (StandardCharsets.UTF_8)
+                                                               .setBuildingNewLine ("\n")
+                                                               .addDontImportClass (List.class);
+    final JCodeModel cm1 = aFactory.create ();
+    final JCodeModel cm2 = aFactory.create ();
+    assertNotSame (cm1, cm2);
+    assertSame (StandardCharsets.UTF_8, cm2.getBuildingCharset ());
+    assertEquals ("\n", cm2.getBuildingNewLine ());
+    assertEquals (1, cm2.getAllDontImportClasses ().size ());
+    assertTrue (cm2.getAllDontImportClasses ().contains (cm2.ref (List.class)));
+
+    // Wrapper classes are resolved lazily but in the right model
+    assertSame (cm1.ref (Integer.class), cm1.INT.boxify ());
+    assertSame (cm2.ref (Integer.class), cm2.INT.boxify ());
+
+    final JDefinedClass aClass = cm1._class ("org.example.Foo");
+    aClass.field (JMod.PRIVATE, cm1.ref (List.class).narrow (String.class), "m_aList");
+    final String sCode = new String (CodeModelTestsHelper.getAllBytes (cm1), StandardCharsets.UTF_8);
+    assertTrue (sCode, sCode.contains ("private java.util.List<String> m_aList;"));
+  }
+}
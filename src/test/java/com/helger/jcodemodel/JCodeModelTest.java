@@ -43,9 +43,13 @@ package com.helger.jcodemodel;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Map;
 
+import javax.annotation.Nonnull;
+
 import org.junit.Test;
 
 import com.helger.jcodemodel.util.CodeModelTestsHelper;
@@ -65,6 +69,54 @@ public final class JCodeModelTest
     assertNotNull (cm.parseType ("java.util.Comparator<? super java.lang.CharSequence[]>[]"));
   }
 
+  @Test
+  public void testParseTypeCached () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final String sName = "java.util.Map<java.lang.String,java.util.List<? extends java.lang.Number[]>>[][]";
+    final AbstractJType aType = cm.parseType (sName);
+    assertEquals (sName, aType.fullName ());
+    assertSame (aType, cm.parseType (sName));
+    assertSame (cm.INT, cm.parseType ("int"));
+    assertEquals ("int[][]", cm.parseType ("int[][]").fullName ());
+    assertEquals ("java.util.Comparator<? super java.lang.CharSequence>",
+                  cm.parseType ("java.util.Comparator<? super java.lang.CharSequence>").fullName ());
+  }
+
+  private static void _assertParseError (@Nonnull final String sName, @Nonnull final String sExpectedMsg)
+  {
+    final JCodeModel cm = new JCodeModel ();
+    // Twice, to ensure errors are not cached
+    for (int i = 0; i < 2; ++i)
+      try
+      {
+        cm.parseType (sName);
+        fail ();
+      }
+      catch (final IllegalArgumentException ex)
+      {
+        assertEquals (sExpectedMsg, ex.getMessage ());
+      }
+  }
+
+  @Test
+  public void testParseTypeErrors ()
+  {
+    _assertParseError ("java.util.List<java.lang.String", "Missing '>' in java.util.List<java.lang.String");
+    _assertParseError ("java.util.List<java.lang.String[]", "Missing '>' in java.util.List<java.lang.String");
+    _assertParseError ("java.util.List<java.lang.String;>", "java.util.List<java.lang.String;>");
+    _assertParseError ("java.util.List<? foo>[]", "only extends/super can follow ?, but found foo>");
+    try
+    {
+      new JCodeModel ().parseType ("java.util.List<[]");
+      fail ();
+    }
+    catch (final StringIndexOutOfBoundsException ex)
+    {
+      // expected
+    }
+  }
+
   @Test
   public void testIssue28 () throws Exception
   {
@@ -85,6 +137,27 @@ public final class JCodeModelTest
     assertSame (cm.INT, cm._ref (int.class));
   }
 
+  @Test
+  public void testRefClassSharedInfo ()
+  {
+    final JCodeModel cm1 = new JCodeModel ();
+    final JCodeModel cm2 = new JCodeModel ();
+    final AbstractJClass aRef1 = cm1.ref (Map.Entry.class);
+    final AbstractJClass aRef2 = cm2.ref (Map.Entry.class);
+    assertSame (JReferencedClassInfo.get (Map.Entry.class), JReferencedClassInfo.get (Map.Entry.class));
+    assertEquals ("java.util.Map.Entry", aRef2.fullName ());
+    assertEquals ("Entry", aRef2.name ());
+    assertEquals ("java.util.Map$Entry", aRef2.binaryName ());
+    assertSame (cm1._package ("java.util"), cm1.ref (Map.class)._package ());
+    assertSame (cm2._package ("java.util"), cm2.ref (Map.class)._package ());
+    assertSame (cm1._package ("java.util.Map"), aRef1._package ());
+    assertSame (cm2.ref (Map.class), aRef2.outer ());
+    assertSame (cm2.ref (Object.class), aRef2._extends ());
+    assertTrue (aRef2.isInterface ());
+    assertSame (cm2.INT, cm2.ref (Integer.class).getPrimitiveType ());
+    assertSame (cm2.ref (java.io.Serializable.class), cm2.ref (String.class)._implements ().next ());
+  }
+
   @Test
   public void testCODEMODEL24 () throws JClassAlreadyExistsException
   {
@@ -0,0 +1,148 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link JErrorClass}.
+ */
+public final class JErrorClassTest
+{
+  @Test
+  public void testBuildsErrorTypeRefs () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("org.example.Foo");
+    final JMethod m1 = c.method (JMod.PUBLIC, cm.VOID, "ok");
+    final JMethod m2 = c.method (JMod.PUBLIC, cm.VOID, "broken");
+    final JInvocation aInv = m2.body ().invoke ("process");
+    assertFalse (cm.buildsErrorTypeRefs ());
+    assertTrue (cm.getAllClassesWithErrorTypeRefs ().isEmpty ());
+
+    // Reference an error type in an expression that is already part of a
+    // hashed block
+    final JErrorClass aError = cm.errorClass ("Missing class");
+    assertFalse (cm.buildsErrorTypeRefs ());
+    aInv.arg (JExpr._new (aError));
+    assertTrue (cm.buildsErrorTypeRefs ());
+    assertFalse (m1.containsErrorTypes ());
+    assertTrue (m2.containsErrorTypes ());
+
+    final List <JDefinedClass> aClasses = cm.getAllClassesWithErrorTypeRefs ();
+    assertEquals (1, aClasses.size ());
+    assertEquals (c, aClasses.get (0));
+
+    // Hidden classes are not checked
+    c.hide ();
+    assertFalse (cm.buildsErrorTypeRefs ());
+  }
+
+  @Test
+  public void testNestedAndRemoved () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("org.example.Foo");
+    final JDefinedClass aNested = c._class (JMod.PUBLIC | JMod.STATIC, "Nested");
+    final JFieldVar f = aNested.field (JMod.PRIVATE, cm.errorClass ("Missing field type"), "m_aValue");
+    assertTrue (c.containsErrorTypes ());
+    assertTrue (cm.buildsErrorTypeRefs ());
+
+    // Nested classes are listed after the enclosing class
+    final List <JDefinedClass> aClasses = cm.getAllClassesWithErrorTypeRefs ();
+    assertEquals (2, aClasses.size ());
+    assertEquals (c, aClasses.get (0));
+    assertEquals (aNested, aClasses.get (1));
+
+    // Fixing the type clears the error
+    f.type (cm.ref (String.class));
+    assertFalse (c.containsErrorTypes ());
+    assertFalse (cm.buildsErrorTypeRefs ());
+
+    // Error types in Javadoc are detected as well
+    c.javadoc ().add (cm.errorClass ("Missing doc type"));
+    assertTrue (cm.buildsErrorTypeRefs ());
+  }
+
+  @Test
+  public void testErrorTypeRefsRecordedOnAttach () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("org.example.Foo");
+    final JMethod m = c.method (JMod.PUBLIC, cm.VOID, "run");
+
+    // Unattached error classes are not referenced
+    final JErrorClass aError = cm.errorClass ("Missing class");
+    cm.ref (java.util.List.class).narrow (aError.array ());
+    assertFalse (cm.buildsErrorTypeRefs ());
+
+    // Error types nested in arrays and type arguments are detected
+    m.body ().decl (cm.ref (java.util.List.class).narrow (aError.array ()), "aList");
+    assertTrue (cm.buildsErrorTypeRefs ());
+    assertTrue (m.containsErrorTypes ());
+  }
+
+  @Test
+  public void testAnonymousClassModifiedAfterCheck () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("org.example.Foo");
+    final JErrorClass aError = cm.errorClass ("Missing class");
+    final JAnonymousClass aAnon = cm.anonymousClass (Runnable.class);
+    aAnon.method (JMod.PUBLIC, cm.VOID, "run");
+    c.method (JMod.PUBLIC, cm.VOID, "run").body ().decl (cm.ref (Runnable.class), "r", JExpr._new (aAnon));
+    // A hidden class with an error type, so that the classes are really checked
+    final JDefinedClass aHidden = cm._class ("org.example.Hidden");
+    aHidden.method (JMod.PUBLIC, aError, "get");
+    aHidden.hide ();
+    assertFalse (cm.buildsErrorTypeRefs ());
+
+    // Modify the anonymous class after the check
+    aAnon.method (JMod.PUBLIC, aError, "get");
+    assertTrue (cm.buildsErrorTypeRefs ());
+  }
+}
@@ -41,6 +41,9 @@
 package com.helger.jcodemodel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
@@ -81,4 +84,69 @@ public final class JExprTest
     assertEquals ("5L", CodeModelTestsHelper.toString (JExpr.lit (5l)));
     assertEquals ("5L", CodeModelTestsHelper.toString (JExpr.lit ((long) 5)));
   }
+
+  @Test
+  public void testLitCache () throws Exception
+  {
+    assertSame (JExpr.lit (-128), JExpr.lit (-128));
+    assertSame (JExpr.lit (127), JExpr.lit (127));
+    assertNotSame (JExpr.lit (128), JExpr.lit (128));
+    assertEquals ("-128", CodeModelTestsHelper.toString (JExpr.lit (-128)));
+    assertEquals ("128", CodeModelTestsHelper.toString (JExpr.lit (128)));
+    assertSame (JExpr.lit (7L), JExpr.lit (7L));
+    assertEquals ("-1L", CodeModelTestsHelper.toString (JExpr.lit (-1L)));
+    assertEquals ("3000000000L", CodeModelTestsHelper.toString (JExpr.lit (3000000000L)));
+
+    assertSame (JExpr.lit ('a'), JExpr.lit ('a'));
+    assertEquals ("'a'", CodeModelTestsHelper.toString (JExpr.lit ('a')));
+    assertEquals ("'\\n'", CodeModelTestsHelper.toString (JExpr.lit ('\n')));
+    assertEquals ("'\\''", CodeModelTestsHelper.toString (JExpr.lit ('\'')));
+    assertEquals ("'\\u00e4'", CodeModelTestsHelper.toString (JExpr.lit ('\u00e4')));
+  }
+
+  @Test
+  public void testInternLit () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JStringLiteral aLit = cm.internLit ("a\"b");
+    assertSame (aLit, cm.internLit ("a\"b"));
+    assertNotSame (aLit, new JCodeModel ().internLit ("a\"b"));
+    assertEquals ("\"a\\\"b\"", CodeModelTestsHelper.toString (aLit));
+    assertEquals ("\"a\\\"b\"", CodeModelTestsHelper.toString (aLit));
+
+    try
+    {
+      aLit.what ("c");
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+
+    // Regular literals can still be modified and are re-quoted
+    final JStringLiteral aLit2 = JExpr.lit ("x");
+    assertEquals ("\"x\"", CodeModelTestsHelper.toString (aLit2));
+    aLit2.what ("y");
+    assertEquals ("\"y\"", CodeModelTestsHelper.toString (aLit2));
+  }
+
+  @Test
+  public void testQuotify () throws Exception
+  {
+    assertEquals ("\"abc\"", JExpr.quotify ('"', "abc"));
+    assertEquals ("\"a'b\\\"c\"", JExpr.quotify ('"', "a'b\"c"));
+    assertEquals ("'a\\'b\"c'", JExpr.quotify ('\'', "a'b\"c"));
+    assertEquals ("\"\\t\\n\\\\\\u0000\\u007f\\u00e4\\u20ac\"", JExpr.quotify ('"', "\t\n\\\u0000\u007fä€"));
+
+    // Printing directly gives the same result as printing the quoted string
+    for (final String s : new String [] { "", "abc", "a\"b", "x\nyäz\u0001", "€" })
+    {
+      final String sExpected = JExpr.quotify ('"', s);
+      assertEquals (sExpected, CodeModelTestsHelper.toString (JExpr.lit (s)));
+      final IJExpression aPrinted = f -> f.print (sExpected);
+      assertEquals (JFormatter.getStructuralHash (aPrinted),
+                    JFormatter.getStructuralHash (JExpr.lit (s)));
+    }
+  }
 }
@@ -0,0 +1,110 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link JJavaName}.
+ */
+public final class JJavaNameTest
+{
+  private static boolean _isJavaIdentifierReference (final String s)
+  {
+    if (s.length () == 0 || !Character.isJavaIdentifierStart (s.charAt (0)))
+      return false;
+    for (int i = 1; i < s.length (); i++)
+      if (!Character.isJavaIdentifierPart (s.charAt (i)))
+        return false;
+    return true;
+  }
+
+  @Test
+  public void testIsJavaIdentifier ()
+  {
+    // Twice, to check cached results
+    for (int i = 0; i < 2; ++i)
+    {
+      assertTrue (JJavaName.isJavaIdentifier ("a"));
+      assertTrue (JJavaName.isJavaIdentifier ("_a1$"));
+      assertTrue (JJavaName.isJavaIdentifier ("äöü"));
+      assertTrue (JJavaName.isJavaIdentifier ("dox"));
+      assertTrue (JJavaName.isJavaIdentifier ("Class"));
+      assertFalse (JJavaName.isJavaIdentifier (""));
+      assertFalse (JJavaName.isJavaIdentifier ("1a"));
+      assertFalse (JJavaName.isJavaIdentifier ("a-b"));
+      assertFalse (JJavaName.isJavaIdentifier ("a.b"));
+      for (final String sKeyword : new String [] { "do", "if", "int", "class", "synchronized", "null", "enum" })
+        assertFalse (sKeyword, JJavaName.isJavaIdentifier (sKeyword));
+    }
+
+    // Compare random strings with the reference implementation
+    final Random aRandom = new Random (42);
+    final char [] aChars = { 'a', 'Z', '_', '$', '1', '-', '.', ' ', 'ä', '\u0000', '€' };
+    for (int i = 0; i < 10000; ++i)
+    {
+      final char [] aName = new char [1 + aRandom.nextInt (4)];
+      for (int j = 0; j < aName.length; ++j)
+        aName[j] = aChars[aRandom.nextInt (aChars.length)];
+      final String sName = new String (aName);
+      assertEquals (sName, _isJavaIdentifierReference (sName), JJavaName.isJavaIdentifier (sName));
+    }
+  }
+
+  @Test
+  public void testIsJavaPackageName ()
+  {
+    assertTrue (JJavaName.isJavaPackageName (""));
+    assertTrue (JJavaName.isJavaPackageName ("com"));
+    assertTrue (JJavaName.isJavaPackageName ("com.helger.jcodemodel"));
+    assertTrue (JJavaName.isJavaPackageName ("com.helger."));
+    assertFalse (JJavaName.isJavaPackageName ("com..helger"));
+    assertFalse (JJavaName.isJavaPackageName (".com"));
+    assertFalse (JJavaName.isJavaPackageName ("com.int.x"));
+    assertFalse (JJavaName.isJavaPackageName ("com.1a"));
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link JMods}.
+ */
+public final class JModsTest
+{
+  @Test
+  public void testShared ()
+  {
+    final JMods aMods = JMods.internalSharedForMethod (JMod.PUBLIC | JMod.STATIC | JMod.FINAL);
+    assertTrue (aMods.isShared ());
+    assertSame (aMods, JMods.internalSharedForMethod (JMod.PUBLIC | JMod.STATIC | JMod.FINAL));
+    assertSame (aMods, JMods.internalSharedForField (JMod.PUBLIC | JMod.STATIC | JMod.FINAL));
+    assertEquals ("public final static", aMods.toString ());
+    assertEquals ("", JMods.internalSharedForVar (JMod.NONE).toString ());
+
+    try
+    {
+      aMods.setPrivate ();
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testPublicFactoriesAreModifiable ()
+  {
+    final JMods aMods = JMods.forMethod (JMod.PUBLIC);
+    assertFalse (aMods.isShared ());
+    assertNotSame (aMods, JMods.forMethod (JMod.PUBLIC));
+    aMods.setFinal (true);
+    assertEquals (JMod.PUBLIC | JMod.FINAL, aMods.getValue ());
+    assertEquals ("public final", aMods.toString ());
+  }
+
+  @Test
+  public void testReadAccessDoesNotCopy () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass cls = cm._class ("org.example.Mods");
+    final JMethod m = cls.method (JMod.PUBLIC | JMod.STATIC, cm.VOID, "foo");
+    final JVar aVarParam = m.varParam (cm.INT, "args");
+    assertTrue (m.internalGetMods ().isShared ());
+
+    new JLambdaMethodRef (m);
+    CodeModelTestsHelper.toString (cls);
+    assertTrue (m.internalGetMods ().isShared ());
+    assertTrue (aVarParam.internalGetMods ().isShared ());
+    assertTrue (cls.internalGetMods ().isShared ());
+  }
+
+  @Test
+  public void testCopyOnWrite () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass cls = cm._class ("org.example.Mods");
+    final JMethod m1 = cls.method (JMod.PUBLIC, cm.VOID, "foo");
+    final JMethod m2 = cls.method (JMod.PUBLIC, cm.VOID, "bar");
+
+    m1.mods ().setFinal (true);
+    assertFalse (m1.mods ().isShared ());
+    assertEquals (JMod.PUBLIC | JMod.FINAL, m1.mods ().getValue ());
+    assertEquals (JMod.PUBLIC, m2.mods ().getValue ());
+    assertNotSame (m1.mods (), m2.mods ());
+
+    final String sSrc = CodeModelTestsHelper.toString (cls);
+    assertTrue (sSrc.contains ("public final void foo()"));
+    assertTrue (sSrc.contains ("public void bar()"));
+  }
+}
@@ -40,8 +40,18 @@
  */
 package com.helger.jcodemodel;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -67,4 +77,116 @@ public final class JPackageTest
     assertNotNull (wCurrentPackage);
     assertNull (wCurrentPackage.parent ());
   }
+
+  @Test
+  public void testClasses () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JPackage aPkg = cm._package ("org.example");
+    final JDefinedClass aC = aPkg._class ("C");
+    final JDefinedClass aA = aPkg._class ("A");
+    final JDefinedClass aB = aPkg._class ("B");
+
+    assertSame (aA, aPkg._getClass ("A"));
+    assertNull (aPkg._getClass ("D"));
+    assertTrue (aPkg.isDefined ("B"));
+    assertFalse (aPkg.isDefined ("D"));
+    try
+    {
+      aPkg._class ("A");
+      fail ();
+    }
+    catch (final JClassAlreadyExistsException ex)
+    {
+      assertSame (aA, ex.getExistingClass ());
+    }
+
+    // Sorted by name
+    List <JDefinedClass> aClasses = new ArrayList <> (aPkg.classes ());
+    assertEquals (3, aClasses.size ());
+    assertSame (aA, aClasses.get (0));
+    assertSame (aB, aClasses.get (1));
+    assertSame (aC, aClasses.get (2));
+
+    // Modification resets the order
+    aPkg.remove (aB);
+    final JDefinedClass aAB = aPkg._class ("AB");
+    aClasses = new ArrayList <> (aPkg.classes ());
+    assertEquals (3, aClasses.size ());
+    assertSame (aA, aClasses.get (0));
+    assertSame (aAB, aClasses.get (1));
+    assertSame (aC, aClasses.get (2));
+  }
+
+  @Test
+  public void testClassesIsLiveView () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JPackage aPkg = cm._package ("org.example");
+    final JDefinedClass aB = aPkg._class ("B");
+    final Collection <JDefinedClass> aClasses = aPkg.classes ();
+    assertEquals (1, aClasses.size ());
+
+    // Additions are visible in sorted order
+    final JDefinedClass aA = aPkg._class ("A");
+    assertEquals (2, aClasses.size ());
+    assertTrue (aClasses.contains (aA));
+    Iterator <JDefinedClass> it = aClasses.iterator ();
+    assertSame (aA, it.next ());
+    assertSame (aB, it.next ());
+    assertFalse (it.hasNext ());
+
+    // Removals are visible
+    aPkg.remove (aA);
+    assertEquals (1, aClasses.size ());
+    assertFalse (aClasses.contains (aA));
+
+    // Removing via the view removes from the package
+    it = aClasses.iterator ();
+    it.next ();
+    it.remove ();
+    assertTrue (aClasses.isEmpty ());
+    assertFalse (aPkg.isDefined ("B"));
+    assertNull (aPkg._getClass ("B"));
+
+    // The same name can be used again afterwards
+    aPkg._class ("b");
+    assertEquals (1, aClasses.size ());
+  }
+
+  @Test
+  public void testPackageTree ()
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JPackage aC = cm._package ("a.b.c");
+    final JPackage aB = aC.parent ();
+    assertEquals ("a.b", aB.name ());
+    assertSame (aB, cm._package ("a.b"));
+    final JPackage aA = aB.parent ();
+    assertEquals ("a", aA.name ());
+    assertSame (cm.rootPackage (), aA.parent ());
+    assertNull (cm.rootPackage ().parent ());
+
+    final JPackage aAB = cm._package ("a.ab");
+    assertEquals (2, aA.subPackages ().size ());
+    assertSame (aAB, aA.subPackages ().iterator ().next ());
+
+    // Depth-first order
+    final List <JPackage> aPackages = new ArrayList <> ();
+    for (final Iterator <JPackage> it = cm.packages (); it.hasNext ();)
+      aPackages.add (it.next ());
+    assertEquals (5, aPackages.size ());
+    assertSame (cm.rootPackage (), aPackages.get (0));
+    assertSame (aA, aPackages.get (1));
+    assertSame (aAB, aPackages.get (2));
+    assertSame (aB, aPackages.get (3));
+    assertSame (aC, aPackages.get (4));
+
+    // Lookup does not create packages
+    assertNull (cm._getClass ("x.y.Z"));
+    int nCount = 0;
+    for (final Iterator <JPackage> it = cm.packages (); it.hasNext (); it.next ())
+      nCount++;
+    assertEquals (5, nCount);
+  }
 }
@@ -0,0 +1,201 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link JStructuralHashCache}.
+ */
+public final class JStructuralHashCacheTest
+{
+  @Nonnull
+  private static JDefinedClass _createClass (final boolean bModified) throws JClassAlreadyExistsException
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("org.example.Foo");
+    final JFieldVar f = c.field (JMod.PRIVATE, cm.INT, "m_nValue");
+    final JMethod m1 = c.method (JMod.PUBLIC, cm.INT, "getValue");
+    final JConditional aCond = m1.body ()._if (f.gt (JExpr.lit (0)));
+    aCond._then ()._return (f);
+    if (bModified)
+    {
+      aCond._then ().assign (f, JExpr.lit (1));
+      m1.param (cm.INT, "nDefault");
+      f.mods ().setFinal (true);
+    }
+    m1.body ()._return (JExpr.lit (0));
+    c.method (JMod.PUBLIC, cm.VOID, "run").body ().invoke ("toString");
+    return c;
+  }
+
+  @Test
+  public void testNestedModification () throws Exception
+  {
+    final JDefinedClass c = _createClass (false);
+    final long nHash = c.structuralHash ();
+    assertEquals (nHash, c.structuralHash ());
+    assertEquals (nHash, _createClass (false).structuralHash ());
+    assertTrue (c.structuralHashCache ().isValid ());
+
+    final JMethod m1 = c.getMethod ("getValue", new AbstractJType [0]);
+    final JMethod m2 = c.getMethod ("run", new AbstractJType [0]);
+    final JConditional aCond = (JConditional) m1.body ().getContents ().get (0);
+    final JFieldVar f = c.fields ().get ("m_nValue");
+
+    // Modify a deeply nested block
+    aCond._then ().assign (f, JExpr.lit (1));
+    assertFalse (aCond.structuralHashCache ().isValid ());
+    assertFalse (m1.structuralHashCache ().isValid ());
+    assertFalse (c.structuralHashCache ().isValid ());
+    // The sibling method is not affected
+    assertTrue (m2.structuralHashCache ().isValid ());
+    final long nHash2 = c.structuralHash ();
+    assertNotEquals (nHash, nHash2);
+
+    // Modify method parameters and field modifiers
+    m1.param (c.owner ().INT, "nDefault");
+    final long nHash3 = c.structuralHash ();
+    assertNotEquals (nHash2, nHash3);
+    f.mods ().setFinal (true);
+    assertFalse (c.structuralHashCache ().isValid ());
+
+    // The incrementally updated hash equals the hash of a fresh class
+    assertEquals (_createClass (true).structuralHash (), c.structuralHash ());
+  }
+
+  @Test
+  public void testManualInvalidation () throws Exception
+  {
+    final JDefinedClass c = _createClass (false);
+    final long nHash = c.structuralHash ();
+    final JMethod m1 = c.getMethod ("getValue", new AbstractJType [0]);
+    final long nMethodHash = m1.structuralHash ();
+    assertEquals (nMethodHash, m1.structuralHash ());
+
+    m1.invalidateStructuralHash ();
+    assertFalse (c.structuralHashCache ().isValid ());
+    assertEquals (nHash, c.structuralHash ());
+    assertEquals (nMethodHash, m1.structuralHash ());
+  }
+
+  @Test
+  public void testExpressionModificationOnlyAffectsOwnModel () throws Exception
+  {
+    final JDefinedClass c1 = _createClass (false);
+    final JDefinedClass c2 = _createClass (false);
+    final JInvocation aInv = c1.owner ().ref (String.class).staticInvoke ("valueOf");
+    c1.getMethod ("run", new AbstractJType [0]).body ().add (aInv);
+    final long nHash1 = c1.structuralHash ();
+    final long nHash2 = c2.structuralHash ();
+    assertTrue (c1.structuralHashCache ().isValid ());
+    assertTrue (c2.structuralHashCache ().isValid ());
+
+    // Expressions don't know their parent, so the whole model is affected
+    aInv.arg (JExpr.lit (1));
+    assertFalse (c1.structuralHashCache ().isValid ());
+    assertTrue (c2.structuralHashCache ().isValid ());
+    assertNotEquals (nHash1, c1.structuralHash ());
+    assertEquals (nHash2, c2.structuralHash ());
+
+    // Renaming a referenced variable as well
+    final JFieldVar f = c2.fields ().get ("m_nValue");
+    f.name ("m_nOther");
+    assertTrue (c1.structuralHashCache ().isValid ());
+    assertFalse (c2.structuralHashCache ().isValid ());
+    assertNotEquals (nHash2, c2.structuralHash ());
+  }
+
+  @Test
+  public void testLambdaBodyModification () throws Exception
+  {
+    final JDefinedClass c = _createClass (false);
+    final JDefinedClass aOther = _createClass (false);
+    final JLambda aLambda = new JLambda ();
+    aLambda.body ().lambdaExpr (JExpr.lit (1));
+    c.getMethod ("run", new AbstractJType [0]).body ().decl (c.owner ().ref (Runnable.class), "r", aLambda);
+    final long nHash = c.structuralHash ();
+    aOther.structuralHash ();
+
+    // The lambda body is detached from the enclosing method
+    aLambda.body ().lambdaExpr (JExpr.lit (2));
+    assertFalse (c.structuralHashCache ().isValid ());
+    assertTrue (aOther.structuralHashCache ().isValid ());
+    assertNotEquals (nHash, c.structuralHash ());
+  }
+
+  @Test
+  public void testAnonymousClassModification () throws Exception
+  {
+    final JDefinedClass c = _createClass (false);
+    final JDefinedClass aOther = _createClass (false);
+    final JCodeModel cm = c.owner ();
+    final JAnonymousClass aAnon = cm.anonymousClass (Runnable.class);
+    final JMethod aRun = aAnon.method (JMod.PUBLIC, cm.VOID, "run");
+    c.getMethod ("run", new AbstractJType [0]).body ().decl (cm.ref (Runnable.class), "r", JExpr._new (aAnon));
+    final long nHash = JFormatter.getStructuralHash (c);
+    aOther.structuralHash ();
+
+    // Add a statement to a method of the anonymous class
+    aRun.body ().invoke ("toString");
+    assertFalse (c.structuralHashCache ().isValid ());
+    assertTrue (aOther.structuralHashCache ().isValid ());
+    final long nHash2 = JFormatter.getStructuralHash (c);
+    assertNotEquals (nHash, nHash2);
+
+    // Add a method to the anonymous class
+    aAnon.method (JMod.PUBLIC, cm.INT, "get").body ()._return (JExpr.lit (1));
+    assertFalse (c.structuralHashCache ().isValid ());
+    final long nHash3 = JFormatter.getStructuralHash (c);
+    assertNotEquals (nHash2, nHash3);
+
+    // Add a field to the anonymous class
+    aAnon.field (JMod.PRIVATE, cm.INT, "m_n");
+    assertNotEquals (nHash3, JFormatter.getStructuralHash (c));
+  }
+}
@@ -0,0 +1,95 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link JTrustedBuilder}.
+ */
+public final class JTrustedBuilderTest
+{
+  @Test
+  public void testBasic () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass cls = cm._class ("org.example.Trusted");
+    final JFieldVar aField = JTrustedBuilder.field (cls, JMod.PRIVATE | JMod.FINAL, cm.INT, "m_nValue", JExpr.lit (1));
+    assertEquals (aField, cls.fields ().get ("m_nValue"));
+
+    final JMethod m = cls.method (JMod.PUBLIC, cm.INT, "add");
+    final JVar aParam = JTrustedBuilder.param (m, JMod.FINAL, cm.INT, "n");
+    assertEquals (1, m.params ().size ());
+    final JVar aSum = JTrustedBuilder.decl (m.body (), JMod.FINAL, cm.INT, "ret", aField.plus (aParam));
+    m.body ()._return (aSum);
+
+    final String sSrc = CodeModelTestsHelper.toString (cls);
+    assertTrue (sSrc.contains ("private final int m_nValue = 1;"));
+    assertTrue (sSrc.contains ("public int add(final int n)"));
+    assertTrue (sSrc.contains ("final int ret = (m_nValue + n);"));
+    CodeModelTestsHelper.parseCodeModel (cm);
+  }
+
+  @Test
+  public void testNoValidation ()
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JBlock aBlock = new JBlock ();
+    try
+    {
+      aBlock.decl (cm.INT, "1a");
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+
+    // The trusted builder does not check
+    assertEquals ("1a", JTrustedBuilder.decl (aBlock, JMod.NONE, cm.INT, "1a", null).name ());
+  }
+}
@@ -40,6 +40,8 @@
  */
 package com.helger.jcodemodel;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Test;
 
 import com.helger.jcodemodel.util.CodeModelTestsHelper;
@@ -84,4 +86,28 @@ public final class JavadocFuncTest
 
     CodeModelTestsHelper.parseCodeModel (cm);
   }
+
+  @Test
+  public void testMultiLineText () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDocComment aComment = new JDocComment (cm);
+    aComment.add ("first\n a */ b*/*/\n\nlast");
+    aComment.add (" and more");
+
+    final String sCRLF = System.getProperty ("line.separator");
+    assertEquals ("/**" +
+                  sCRLF +
+                  " * first" +
+                  sCRLF +
+                  " *  a *<!---->/ b*<!---->/*<!---->/" +
+                  sCRLF +
+                  " * " +
+                  sCRLF +
+                  " * last and more" +
+                  sCRLF +
+                  " */" +
+                  sCRLF,
+                  CodeModelTestsHelper.generate (aComment));
+  }
 }
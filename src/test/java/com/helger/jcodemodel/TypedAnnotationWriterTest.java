@@ -0,0 +1,102 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link TypedAnnotationWriter}.
+ */
+public final class TypedAnnotationWriterTest
+{
+  @Retention (RetentionPolicy.RUNTIME)
+  public static @interface MyAnnotation
+  {
+    String value () default "def";
+
+    int count () default 0;
+
+    Class <?> type () default Object.class;
+
+    String [] names () default {};
+  }
+
+  public static interface IMyAnnotationWriter extends IJAnnotationWriter <MyAnnotation>
+  {
+    IMyAnnotationWriter value (String s);
+
+    IMyAnnotationWriter count (int n);
+
+    IMyAnnotationWriter type (AbstractJType aType);
+
+    IMyAnnotationWriter names (String s);
+  }
+
+  @Test
+  public void testWrite () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass c = cm._class ("org.example.Foo");
+
+    final IMyAnnotationWriter w1 = c.field (JMod.PRIVATE, cm.INT, "a").annotate2 (IMyAnnotationWriter.class);
+    w1.value ("x").count (5).type (cm.ref (String.class)).names ("n1").names ("n2");
+    assertSame (MyAnnotation.class, w1.getAnnotationType ());
+    assertEquals ("@com.helger.jcodemodel.TypedAnnotationWriterTest.MyAnnotation(value = \"x\", count = 5, type = java.lang.String.class, names = {\n" +
+                  "    \"n1\",\n" +
+                  "    \"n2\"\n" +
+                  "})",
+                  CodeModelTestsHelper.generate (w1.getAnnotationUse ()));
+
+    // Default values are not written
+    final IMyAnnotationWriter w2 = c.field (JMod.PRIVATE, cm.INT, "b").annotate2 (IMyAnnotationWriter.class);
+    w2.value ("def").count (0).type (cm.ref (Object.class));
+    assertEquals ("@com.helger.jcodemodel.TypedAnnotationWriterTest.MyAnnotation",
+                  CodeModelTestsHelper.generate (w2.getAnnotationUse ()));
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javax.annotation.Nonnull;
+import javax.lang.model.util.Elements;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.AbstractJType;
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JMethod;
+
+/**
+ * Test class for class {@link DecidedErrorTypesModelsAdapter}.
+ */
+public final class DecidedErrorTypesModelsAdapterTest
+{
+  private static final String FOO = TypeConversionCacheTest.FOO;
+  private static final String BAR = TypeConversionCacheTest.BAR;
+
+  @Nonnull
+  private static DecidedErrorTypesModelsAdapter _create (@Nonnull final JCodeModel cm,
+                                                         @Nonnull final Elements aElements,
+                                                         @Nonnull final ErrorTypePolicy.EAction eAction,
+                                                         @Nonnull final TypeConversionCache aCache)
+  {
+    return new DecidedErrorTypesModelsAdapter (cm, aElements, new ErrorTypePolicy (eAction, true), aCache);
+  }
+
+  private static void _assertErrorTypeFound (@Nonnull final DecidedErrorTypesModelsAdapter aAdapter,
+                                             @Nonnull final Elements aElements,
+                                             @Nonnull final String sMethodName,
+                                             @Nonnull final TypeEnvironment aEnv) throws CodeModelBuildingException
+  {
+    try
+    {
+      aAdapter.toJType (ElementsTestHelper.getReturnType (aElements, FOO, sMethodName), aEnv);
+      fail ();
+    }
+    catch (final ErrorTypeFound ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testErrorTypeDecisionWithSharedCache () throws Exception
+  {
+    ElementsTestHelper.process (TypeConversionCacheTest.createSources (), aElements -> {
+      final JCodeModel cm = new JCodeModel ();
+      final TypeConversionCache aCache = new TypeConversionCache ();
+      final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+      final DecidedErrorTypesModelsAdapter aCreating = _create (cm,
+                                                                aElements,
+                                                                ErrorTypePolicy.EAction.CREATE_ERROR_TYPE,
+                                                                aCache);
+      final DecidedErrorTypesModelsAdapter aThrowing = _create (cm,
+                                                                aElements,
+                                                                ErrorTypePolicy.EAction.THROW_EXCEPTION,
+                                                                aCache);
+
+      // Converted with the lenient policy first
+      final AbstractJType aMissing = aCreating.toJType (ElementsTestHelper.getReturnType (aElements, FOO, "missing"),
+                                                        aEnv);
+      assertTrue (aMissing.isError ());
+      final AbstractJType aMissingList = aCreating.toJType (ElementsTestHelper.getReturnType (aElements,
+                                                                                               FOO,
+                                                                                               "missingList"),
+                                                            aEnv);
+      assertTrue (aMissingList.isError ());
+      assertEquals ("java.util.List", aMissingList.erasure ().fullName ());
+
+      // The strict policy must still see the error types
+      _assertErrorTypeFound (aThrowing, aElements, "missing", aEnv);
+      _assertErrorTypeFound (aThrowing, aElements, "missingList", aEnv);
+
+      // And the lenient policy is not affected by the strict one
+      assertTrue (aCreating.toJType (ElementsTestHelper.getReturnType (aElements, FOO, "missing"), aEnv).isError ());
+
+      // Types without errors are fine for both
+      assertSame (aThrowing.toJType (ElementsTestHelper.getReturnType (aElements, FOO, "names"), aEnv),
+                  aCreating.toJType (ElementsTestHelper.getReturnType (aElements, FOO, "names"), aEnv));
+    });
+  }
+
+  @Test
+  public void testErrorTypeBoundToDefinedClass () throws Exception
+  {
+    ElementsTestHelper.process (TypeConversionCacheTest.createSources (), aElements -> {
+      final JCodeModel cm = new JCodeModel ();
+      final TypeConversionCache aCache = new TypeConversionCache ();
+      final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+      final DecidedErrorTypesModelsAdapter aThrowing = _create (cm,
+                                                                aElements,
+                                                                ErrorTypePolicy.EAction.THROW_EXCEPTION,
+                                                                aCache);
+      _assertErrorTypeFound (aThrowing, aElements, "missingList", aEnv);
+
+      // Once the class exists in the model, the error type is bound to it
+      final JDefinedClass aMissingClass = cm._class ("org.example.Missing");
+      assertSame (aMissingClass,
+                  aThrowing.toJType (ElementsTestHelper.getReturnType (aElements, FOO, "missing"), aEnv));
+      final AbstractJType aMissingList = aThrowing.toJType (ElementsTestHelper.getReturnType (aElements,
+                                                                                               FOO,
+                                                                                               "missingList"),
+                                                            aEnv);
+      assertFalse (aMissingList.isError ());
+      assertEquals ("java.util.List<org.example.Missing>", aMissingList.fullName ());
+    });
+  }
+
+  @Test
+  public void testGetClass () throws Exception
+  {
+    ElementsTestHelper.process (TypeConversionCacheTest.createSources (), aElements -> {
+      final JCodeModel cm = new JCodeModel ();
+      final TypeConversionCache aCache = new TypeConversionCache ();
+      final DecidedErrorTypesModelsAdapter aCreating = _create (cm,
+                                                                aElements,
+                                                                ErrorTypePolicy.EAction.CREATE_ERROR_TYPE,
+                                                                aCache);
+      final DecidedErrorTypesModelsAdapter aThrowing = _create (cm,
+                                                                aElements,
+                                                                ErrorTypePolicy.EAction.THROW_EXCEPTION,
+                                                                aCache);
+
+      // Bar has no error types
+      final JDefinedClass aBar = aThrowing.getClass (ElementsTestHelper.getTypeElement (aElements, BAR));
+      assertEquals (BAR, aBar.fullName ());
+      assertSame (aBar, aThrowing.getClass (ElementsTestHelper.getTypeElement (aElements, BAR)));
+
+      final JDefinedClass aFoo = aCreating.getClass (ElementsTestHelper.getTypeElement (aElements, FOO));
+      final JMethod aMissing = aFoo.getMethod ("missing", new AbstractJType [0]);
+      assertNotNull (aMissing);
+      assertTrue (aMissing.type ().isError ());
+      assertFalse (aFoo.getMethod ("names", new AbstractJType [0]).type ().isError ());
+
+      // Classes of the sources cannot be loaded, which is remembered
+      assertSame (aFoo, aThrowing.ref (ElementsTestHelper.getTypeElement (aElements, FOO)));
+      assertTrue (aCache.isNotLoadable (FOO));
+    });
+  }
+}
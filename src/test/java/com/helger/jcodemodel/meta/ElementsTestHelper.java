@@ -0,0 +1,211 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.meta;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * Helper to run tests against the javax.lang.model representation of some
+ * source files. The sources are compiled in memory without generating class
+ * files and the test is run in the first round of annotation processing.
+ * References to missing classes show up as error types.
+ */
+final class ElementsTestHelper
+{
+  @FunctionalInterface
+  interface IElementsCallback
+  {
+    void process (@Nonnull Elements aElements) throws Exception;
+  }
+
+  private static final class SourceFile extends SimpleJavaFileObject
+  {
+    private final String m_sContent;
+
+    SourceFile (@Nonnull final String sClassName, @Nonnull final String sContent)
+    {
+      super (URI.create ("string:///" + sClassName.replace ('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+      m_sContent = sContent;
+    }
+
+    @Override
+    public CharSequence getCharContent (final boolean bIgnoreEncodingErrors)
+    {
+      return m_sContent;
+    }
+  }
+
+  private static final class CallbackProcessor extends AbstractProcessor
+  {
+    private final IElementsCallback m_aCallback;
+    private boolean m_bCalled = false;
+    private Throwable m_aException;
+
+    CallbackProcessor (@Nonnull final IElementsCallback aCallback)
+    {
+      m_aCallback = aCallback;
+    }
+
+    @Override
+    public Set <String> getSupportedAnnotationTypes ()
+    {
+      return Collections.singleton ("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion ()
+    {
+      return SourceVersion.latestSupported ();
+    }
+
+    @Override
+    public boolean process (final Set <? extends TypeElement> aAnnotations, final RoundEnvironment aRoundEnv)
+    {
+      if (!m_bCalled)
+      {
+        m_bCalled = true;
+        try
+        {
+          m_aCallback.process (processingEnv.getElementUtils ());
+        }
+        catch (final Exception | AssertionError ex)
+        {
+          // Rethrown after the compilation
+          m_aException = ex;
+        }
+      }
+      return false;
+    }
+  }
+
+  private ElementsTestHelper ()
+  {}
+
+  @Nonnull
+  static TypeElement getTypeElement (@Nonnull final Elements aElements, @Nonnull final String sClassName)
+  {
+    final TypeElement ret = aElements.getTypeElement (sClassName);
+    assertNotNull ("No such class: " + sClassName, ret);
+    return ret;
+  }
+
+  /**
+   * @param aElements
+   *        The elements of the compilation.
+   * @param sClassName
+   *        Fully qualified class name.
+   * @param sMethodName
+   *        Name of a method declared in the class.
+   * @return The return type of the method.
+   */
+  @Nonnull
+  static TypeMirror getReturnType (@Nonnull final Elements aElements,
+                                   @Nonnull final String sClassName,
+                                   @Nonnull final String sMethodName)
+  {
+    for (final Element aElement : getTypeElement (aElements, sClassName).getEnclosedElements ())
+      if (aElement.getKind () == ElementKind.METHOD && aElement.getSimpleName ().contentEquals (sMethodName))
+        return ((ExecutableElement) aElement).getReturnType ();
+    throw new AssertionError ("No such method: " + sClassName + "." + sMethodName);
+  }
+
+  /**
+   * Compile the passed sources and invoke the callback with the elements of
+   * the compilation.
+   *
+   * @param aSources
+   *        Map from fully qualified class name to source code.
+   * @param aCallback
+   *        The test to run.
+   * @throws Exception
+   *         if the callback failed
+   */
+  static void process (@Nonnull final Map <String, String> aSources,
+                       @Nonnull final IElementsCallback aCallback) throws Exception
+  {
+    final JavaCompiler aCompiler = ToolProvider.getSystemJavaCompiler ();
+    assertNotNull ("No system Java compiler available", aCompiler);
+
+    final List <JavaFileObject> aUnits = new ArrayList <> ();
+    for (final Map.Entry <String, String> aEntry : aSources.entrySet ())
+      aUnits.add (new SourceFile (aEntry.getKey (), aEntry.getValue ()));
+
+    final CallbackProcessor aProcessor = new CallbackProcessor (aCallback);
+    final JavaCompiler.CompilationTask aTask = aCompiler.getTask (null,
+                                                                  null,
+                                                                  aDiagnostic -> {},
+                                                                  Collections.singletonList ("-proc:only"),
+                                                                  null,
+                                                                  aUnits);
+    aTask.setProcessors (Collections.singletonList (aProcessor));
+    // Compilation errors (e.g. missing classes) are expected
+    aTask.call ();
+
+    assertTrue ("The processor was not invoked", aProcessor.m_bCalled);
+    if (aProcessor.m_aException instanceof Exception)
+      throw (Exception) aProcessor.m_aException;
+    if (aProcessor.m_aException != null)
+      throw (AssertionError) aProcessor.m_aException;
+  }
+}
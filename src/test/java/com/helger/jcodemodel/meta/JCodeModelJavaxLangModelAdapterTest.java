@@ -0,0 +1,214 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link JCodeModelJavaxLangModelAdapter}.
+ */
+public final class JCodeModelJavaxLangModelAdapterTest
+{
+  private static final String OUTER = "org.example.Outer";
+  private static final String INNER = "org.example.Outer.Inner";
+  private static final String OTHER = "org.example.Other";
+  private static final String WITH_ERROR = "org.example.WithError";
+
+  @Nonnull
+  private static Map <String, String> _createSources ()
+  {
+    final Map <String, String> ret = new HashMap <> ();
+    ret.put (OUTER,
+             "package org.example;\n" +
+                    "import java.util.List;\n" +
+                    "public class Outer<T extends Number> {\n" +
+                    "  public static class Inner {\n" +
+                    "    public Other other () { return null; }\n" +
+                    "  }\n" +
+                    "  public List<Inner> inners () { return null; }\n" +
+                    "  public <E extends Exception> T get (List<? super T> a, String... b) throws E { return null; }\n" +
+                    "}\n");
+    ret.put (OTHER,
+             "package org.example;\n" +
+                    "public interface Other {\n" +
+                    "  Outer<Integer> outer ();\n" +
+                    "  java.util.Map<String, Outer.Inner> map ();\n" +
+                    "}\n");
+    ret.put (WITH_ERROR,
+             "package org.example;\n" +
+                         "public class WithError {\n" +
+                         "  public Missing missing () { return null; }\n" +
+                         "  public Other other () { return null; }\n" +
+                         "}\n");
+    return ret;
+  }
+
+  @Nonnull
+  private static List <TypeElement> _getTypeElements (@Nonnull final Elements aElements,
+                                                      @Nonnull final String... aClassNames)
+  {
+    final List <TypeElement> ret = new ArrayList <> ();
+    for (final String sClassName : aClassNames)
+      ret.add (ElementsTestHelper.getTypeElement (aElements, sClassName));
+    return ret;
+  }
+
+  @Test
+  public void testGetClassesMatchesGetClass () throws Exception
+  {
+    ElementsTestHelper.process (_createSources (), aElements -> {
+      // Outer is contained twice and Inner is created together with Outer
+      final List <TypeElement> aTypeElements = _getTypeElements (aElements, INNER, OTHER, OUTER, OUTER);
+
+      final JCodeModel cm1 = new JCodeModel ();
+      final JCodeModelJavaxLangModelAdapter aAdapter1 = new JCodeModelJavaxLangModelAdapter (cm1, aElements);
+      final List <JDefinedClass> aSingle = new ArrayList <> ();
+      for (final TypeElement aTypeElement : aTypeElements)
+        aSingle.add (aAdapter1.getClass (aTypeElement));
+
+      final JCodeModel cm2 = new JCodeModel ();
+      final Map <TypeElement, JDefinedClass> aBatch = new JCodeModelJavaxLangModelAdapter (cm2, aElements).getClasses (aTypeElements);
+
+      // One entry per distinct element, in the passed order
+      assertEquals (Arrays.asList (INNER, OTHER, OUTER), _getNames (aBatch.values ()));
+      for (int i = 0; i < aTypeElements.size (); ++i)
+      {
+        final JDefinedClass aSingleClass = aSingle.get (i);
+        final JDefinedClass aBatchClass = aBatch.get (aTypeElements.get (i));
+        assertNotSame (aSingleClass, aBatchClass);
+        assertEquals (aSingleClass.fullName (), aBatchClass.fullName ());
+        assertEquals (CodeModelTestsHelper.declare (aSingleClass), CodeModelTestsHelper.declare (aBatchClass));
+      }
+
+      // Nested classes are the ones of the outer class
+      assertSame (cm2._getClass (OUTER).getInnerClass ("Inner"), aBatch.get (aTypeElements.get (0)));
+    });
+  }
+
+  @Nonnull
+  private static List <String> _getNames (@Nonnull final Iterable <JDefinedClass> aClasses)
+  {
+    final List <String> ret = new ArrayList <> ();
+    for (final JDefinedClass aClass : aClasses)
+      ret.add (aClass.fullName ());
+    return ret;
+  }
+
+  @Test
+  public void testGetClassesWithErrorTypesMatchesGetClassWithErrorTypes () throws Exception
+  {
+    ElementsTestHelper.process (_createSources (), aElements -> {
+      final List <TypeElement> aTypeElements = _getTypeElements (aElements, WITH_ERROR, OTHER);
+
+      final JCodeModel cm1 = new JCodeModel ();
+      final JCodeModelJavaxLangModelAdapter aAdapter1 = new JCodeModelJavaxLangModelAdapter (cm1, aElements);
+      final List <JDefinedClass> aSingle = new ArrayList <> ();
+      for (final TypeElement aTypeElement : aTypeElements)
+        aSingle.add (aAdapter1.getClassWithErrorTypes (aTypeElement));
+
+      final JCodeModel cm2 = new JCodeModel ();
+      final Map <TypeElement, JDefinedClass> aBatch = new JCodeModelJavaxLangModelAdapter (cm2,
+                                                                                           aElements).getClassesWithErrorTypes (aTypeElements);
+      assertEquals (Arrays.asList (WITH_ERROR, OTHER), _getNames (aBatch.values ()));
+
+      // Classes with error types cannot be rendered, so compare the structure
+      for (int i = 0; i < aTypeElements.size (); ++i)
+      {
+        final JDefinedClass aSingleClass = aSingle.get (i);
+        final JDefinedClass aBatchClass = aBatch.get (aTypeElements.get (i));
+        assertEquals (aSingleClass.fullName (), aBatchClass.fullName ());
+        assertEquals (aSingleClass.containsErrorTypes (), aBatchClass.containsErrorTypes ());
+        assertEquals (aSingleClass.methods ().size (), aBatchClass.methods ().size ());
+        for (final JMethod aSingleMethod : aSingleClass.methods ())
+        {
+          final JMethod aBatchMethod = aBatchClass.getMethod (aSingleMethod.name (), aSingleMethod.listParamTypes ());
+          assertEquals (aSingleMethod.type ().isError (), aBatchMethod.type ().isError ());
+          if (!aSingleMethod.type ().isError ())
+            assertEquals (aSingleMethod.type ().fullName (), aBatchMethod.type ().fullName ());
+        }
+      }
+      assertTrue (aBatch.get (aTypeElements.get (0)).containsErrorTypes ());
+      assertEquals (CodeModelTestsHelper.declare (aSingle.get (1)),
+                    CodeModelTestsHelper.declare (aBatch.get (aTypeElements.get (1))));
+
+      // The strict variant fails like the single class variant
+      try
+      {
+        new JCodeModelJavaxLangModelAdapter (new JCodeModel (), aElements).getClasses (aTypeElements);
+        fail ();
+      }
+      catch (final ErrorTypeFound ex)
+      {
+        // expected
+      }
+      try
+      {
+        new JCodeModelJavaxLangModelAdapter (new JCodeModel (), aElements).getClass (aTypeElements.get (0));
+        fail ();
+      }
+      catch (final ErrorTypeFound ex)
+      {
+        // expected
+      }
+    });
+  }
+}
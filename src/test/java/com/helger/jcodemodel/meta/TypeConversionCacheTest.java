@@ -0,0 +1,166 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.type.TypeKind;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.AbstractJType;
+import com.helger.jcodemodel.JCodeModel;
+
+/**
+ * Test class for class {@link TypeConversionCache}.
+ */
+public final class TypeConversionCacheTest
+{
+  static final String FOO = "org.example.Foo";
+  static final String BAR = "org.example.Bar";
+
+  static Map <String, String> createSources ()
+  {
+    final Map <String, String> ret = new HashMap <> ();
+    ret.put (FOO,
+             "package org.example;\n" +
+                  "import java.util.List;\n" +
+                  "public class Foo {\n" +
+                  "  public List<String> names () { return null; }\n" +
+                  "  public String [] array () { return null; }\n" +
+                  "  public int count () { return 0; }\n" +
+                  "  public Missing missing () { return null; }\n" +
+                  "  public List<Missing> missingList () { return null; }\n" +
+                  "  public <T> List<T> generic () { return null; }\n" +
+                  "}\n");
+    ret.put (BAR,
+             "package org.example;\n" +
+                  "public class Bar {\n" +
+                  "  public java.util.List<String> names () { return null; }\n" +
+                  "}\n");
+    return ret;
+  }
+
+  @Test
+  public void testCreateKey () throws Exception
+  {
+    ElementsTestHelper.process (createSources (), aElements -> {
+      final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+      final Object aKey = TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, FOO, "names"),
+                                                         aEnv);
+      assertNotNull (aKey);
+      assertEquals (aKey,
+                    TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, BAR, "names"), aEnv));
+      assertEquals (TypeKind.INT,
+                    TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, FOO, "count"), aEnv));
+      assertNotNull (TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, FOO, "array"), aEnv));
+
+      // Error types are never cached
+      assertNull (TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, FOO, "missing"), aEnv));
+      assertNull (TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, FOO, "missingList"),
+                                                 aEnv));
+
+      // Type variables are keyed by their binding
+      final JCodeModel cm = new JCodeModel ();
+      assertNull (TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements, FOO, "generic"), aEnv));
+      aEnv.enterScope ();
+      aEnv.put ("T", cm.ref (String.class));
+      final Object aStringKey = TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements,
+                                                                                                  FOO,
+                                                                                                  "generic"),
+                                                               aEnv);
+      assertNotNull (aStringKey);
+      aEnv.leaveScope ();
+      aEnv.enterScope ();
+      aEnv.put ("T", cm.ref (Integer.class));
+      final Object aIntegerKey = TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements,
+                                                                                                   FOO,
+                                                                                                   "generic"),
+                                                                aEnv);
+      assertNotNull (aIntegerKey);
+      assertNotEquals (aStringKey, aIntegerKey);
+      aEnv.leaveScope ();
+    });
+  }
+
+  @Test
+  public void testCacheHitAcrossAdapters () throws Exception
+  {
+    ElementsTestHelper.process (createSources (), aElements -> {
+      final JCodeModel cm = new JCodeModel ();
+      final TypeConversionCache aCache = new TypeConversionCache ();
+      final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+      final DecidedErrorTypesModelsAdapter aCreating = new DecidedErrorTypesModelsAdapter (cm,
+                                                                                             aElements,
+                                                                                             new ErrorTypePolicy (ErrorTypePolicy.EAction.CREATE_ERROR_TYPE,
+                                                                                                                  true),
+                                                                                             aCache);
+      final DecidedErrorTypesModelsAdapter aThrowing = new DecidedErrorTypesModelsAdapter (cm,
+                                                                                             aElements,
+                                                                                             new ErrorTypePolicy (ErrorTypePolicy.EAction.THROW_EXCEPTION,
+                                                                                                                  true),
+                                                                                             aCache);
+
+      final AbstractJType aNames = aCreating.toJType (ElementsTestHelper.getReturnType (aElements, FOO, "names"), aEnv);
+      assertEquals ("java.util.List<java.lang.String>", aNames.fullName ());
+      assertSame (aNames,
+                  aCache.getDeclaredType (TypeConversionCache.createKey (ElementsTestHelper.getReturnType (aElements,
+                                                                                                           FOO,
+                                                                                                           "names"),
+                                                                         aEnv)));
+      // Same type from another class and another adapter
+      assertSame (aNames, aThrowing.toJType (ElementsTestHelper.getReturnType (aElements, BAR, "names"), aEnv));
+
+      // The loaded classes are cached as well
+      assertSame (cm.ref (List.class), aCache.getLoadedClass ("java.util.List"));
+      assertSame (cm.ref (String.class), aCache.getLoadedClass ("java.lang.String"));
+      assertNull (aCache.getLoadedClass (FOO));
+    });
+  }
+}
@@ -0,0 +1,188 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.meta;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.AbstractJType;
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JTypeVar;
+
+/**
+ * Test class for class {@link TypeEnvironment} and its use by
+ * {@link ClassFiller}.
+ */
+public final class TypeEnvironmentTest
+{
+  @Test
+  public void testNestedScopes ()
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final AbstractJClass aString = cm.ref (String.class);
+    final AbstractJClass aInteger = cm.ref (Integer.class);
+    final AbstractJClass aLong = cm.ref (Long.class);
+
+    final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+    aEnv.put ("T", aString);
+
+    aEnv.enterScope ();
+    aEnv.put ("T", aInteger);
+    aEnv.put ("U", aLong);
+    assertSame (aInteger, aEnv.get ("T"));
+    assertSame (aLong, aEnv.get ("U"));
+
+    aEnv.enterScope ();
+    // Shadowed twice in the same scope
+    aEnv.put ("T", aLong);
+    aEnv.put ("T", aString);
+    assertSame (aString, aEnv.get ("T"));
+    aEnv.leaveScope ();
+
+    assertSame (aInteger, aEnv.get ("T"));
+    assertSame (aLong, aEnv.get ("U"));
+    aEnv.leaveScope ();
+
+    assertSame (aString, aEnv.get ("T"));
+    assertNull (aEnv.get ("U"));
+  }
+
+  @Test
+  public void testDeepNesting ()
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+    final AbstractJType [] aTypes = new AbstractJType [20];
+    // More scopes than initially reserved
+    for (int i = 0; i < aTypes.length; ++i)
+    {
+      aEnv.enterScope ();
+      aTypes[i] = cm.ref (String.class).array ();
+      for (int j = 0; j < i; ++j)
+        aTypes[i] = aTypes[i].array ();
+      aEnv.put ("T", aTypes[i]);
+      if ((i % 2) == 0)
+        aEnv.put ("E" + i, aTypes[i]);
+    }
+    for (int i = aTypes.length - 1; i >= 0; --i)
+    {
+      assertSame (aTypes[i], aEnv.get ("T"));
+      aEnv.leaveScope ();
+      assertNull (aEnv.get ("E" + i));
+    }
+    assertNull (aEnv.get ("T"));
+  }
+
+  @Test
+  public void testLeaveWithoutEnter ()
+  {
+    final TypeEnvironment aEnv = new TypeEnvironment ("org.example");
+    aEnv.enterScope ();
+    aEnv.leaveScope ();
+    try
+    {
+      aEnv.leaveScope ();
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testShadowedTypeVariablesInClassFiller () throws Exception
+  {
+    final Map <String, String> aSources = new HashMap <> ();
+    aSources.put ("org.example.Shadow",
+                  "package org.example;\n" +
+                                        "public class Shadow<T> {\n" +
+                                        "  public T before () { return null; }\n" +
+                                        "  public <T> T method (T a) { return a; }\n" +
+                                        "  public class Inner<T> {\n" +
+                                        "    public T inner () { return null; }\n" +
+                                        "    public <T> T innerMethod () { return null; }\n" +
+                                        "    public T innerAfter () { return null; }\n" +
+                                        "  }\n" +
+                                        "  public T after () { return null; }\n" +
+                                        "}\n");
+    ElementsTestHelper.process (aSources, aElements -> {
+      final JCodeModel cm = new JCodeModel ();
+      final JDefinedClass aShadow = new JCodeModelJavaxLangModelAdapter (cm,
+                                                                         aElements).getClass (ElementsTestHelper.getTypeElement (aElements,
+                                                                                                                                 "org.example.Shadow"));
+      final JTypeVar aClassT = aShadow.typeParams ()[0];
+      assertSame (aClassT, _getMethod (aShadow, "before").type ());
+      assertSame (aClassT, _getMethod (aShadow, "after").type ());
+
+      final JMethod aMethod = _getMethod (aShadow, "method");
+      assertSame (aMethod.typeParams ()[0], aMethod.type ());
+      assertSame (aMethod.typeParams ()[0], aMethod.listParamTypes ()[0]);
+      assertNotSame (aClassT, aMethod.type ());
+
+      final JDefinedClass aInner = (JDefinedClass) aShadow.getInnerClass ("Inner");
+      final JTypeVar aInnerT = aInner.typeParams ()[0];
+      assertNotSame (aClassT, aInnerT);
+      assertSame (aInnerT, _getMethod (aInner, "inner").type ());
+      assertSame (aInnerT, _getMethod (aInner, "innerAfter").type ());
+      final JMethod aInnerMethod = _getMethod (aInner, "innerMethod");
+      assertSame (aInnerMethod.typeParams ()[0], aInnerMethod.type ());
+    });
+  }
+
+  private static JMethod _getMethod (final JDefinedClass aClass, final String sName)
+  {
+    for (final JMethod aMethod : aClass.methods ())
+      if (aMethod.name ().equals (sName))
+        return aMethod;
+    throw new AssertionError ("No such method: " + sName);
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JDefinedClass;
+
+/**
+ * Test class for class {@link ClassNameComparator}.
+ */
+public final class ClassNameComparatorTest
+{
+  @Test
+  public void testSort () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass aFoo = cm._class ("org.example.Foo");
+    final List <AbstractJClass> aClasses = new ArrayList <> ();
+    aClasses.add (aFoo);
+    aClasses.add (cm.ref (String.class));
+    aClasses.add (cm.ref (Map.class).narrow (String.class, Integer.class));
+    aClasses.add (cm.errorClass ("error"));
+    aClasses.add (cm.ref (javax.annotation.Nonnull.class));
+    aClasses.add (aFoo.narrow (String.class));
+    aClasses.add (cm.ref (Map.class));
+    aClasses.add (cm.ref (Serializable.class));
+
+    final List <AbstractJClass> aExpected = new ArrayList <> (aClasses);
+    Collections.sort (aExpected, ClassNameComparator.getInstance ());
+    final List <AbstractJClass> aSorted = new ArrayList <> (aClasses);
+    ClassNameComparator.sort (aSorted);
+    assertEquals (aExpected, aSorted);
+    assertTrue (aSorted.get (0).isError ());
+    assertEquals ("java.io.Serializable", aSorted.get (1).fullName ());
+  }
+
+  @Test
+  public void testInterfaces () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    final JDefinedClass aFoo = cm._class ("org.example.Foo");
+    aFoo._implements (cm.ref (Comparable.class).narrow (aFoo));
+    aFoo._implements (Serializable.class);
+    aFoo._implements (cm.ref ("org.example.Bar"));
+    // Duplicate
+    aFoo._implements (Serializable.class);
+
+    final Iterator <AbstractJClass> it = aFoo._implements ();
+    assertEquals ("java.io.Serializable", it.next ().fullName ());
+    assertEquals ("java.lang.Comparable<org.example.Foo>", it.next ().fullName ());
+    assertEquals ("org.example.Bar", it.next ().fullName ());
+    assertFalse (it.hasNext ());
+  }
+}
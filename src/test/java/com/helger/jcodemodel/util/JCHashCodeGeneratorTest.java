@@ -0,0 +1,110 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JExpr;
+import com.helger.jcodemodel.JInvocation;
+
+/**
+ * Test class for class {@link JCHashCodeGenerator} and {@link JCEqualsHelper}.
+ */
+public final class JCHashCodeGeneratorTest
+{
+  @Test
+  public void testFixedArity ()
+  {
+    final Object aThis = "this";
+    final Object [] aMembers = new Object [] { "a", null, Integer.valueOf (5) };
+    assertEquals (new JCHashCodeGenerator (aThis).getHashCode (),
+                  JCHashCodeGenerator.getInitialHashCode (String.class));
+    assertEquals (new JCHashCodeGenerator (String [].class).getHashCode (),
+                  JCHashCodeGenerator.getInitialHashCode (String [].class));
+
+    // Compare with the varargs version
+    assertEquals (JCHashCodeGenerator.getHashCode (aThis, new Object [] { aMembers[0] }),
+                  JCHashCodeGenerator.getHashCode (aThis, aMembers[0]));
+    assertEquals (JCHashCodeGenerator.getHashCode (aThis, new Object [] { aMembers[0], aMembers[1] }),
+                  JCHashCodeGenerator.getHashCode (aThis, aMembers[0], aMembers[1]));
+    assertEquals (JCHashCodeGenerator.getHashCode (aThis, aMembers),
+                  JCHashCodeGenerator.getHashCode (aThis, aMembers[0], aMembers[1], aMembers[2]));
+    assertEquals (JCHashCodeGenerator.getHashCode (42, new Object [] { aMembers[0] }),
+                  JCHashCodeGenerator.getHashCode (42, aMembers[0]));
+    assertEquals (JCHashCodeGenerator.getHashCode (42, new Object [] { aMembers[0], aMembers[2] }),
+                  JCHashCodeGenerator.getHashCode (42, aMembers[0], aMembers[2]));
+  }
+
+  @Test
+  public void testModelHashCodes ()
+  {
+    final JCodeModel cm = new JCodeModel ();
+    assertEquals (JExpr.lit (4711L).hashCode (), JExpr.lit (4711L).hashCode ());
+    assertEquals (JExpr.lit (1.5d), JExpr.lit (1.5d));
+    assertEquals (cm.ref ("org.example.Foo").hashCode (), cm.ref ("org.example.Foo").hashCode ());
+
+    final JInvocation aInv = JExpr.invoke ("foo").arg (JExpr.lit (1));
+    final int nExpected = new JCHashCodeGenerator (aInv).append ((Object) null)
+                                                        .append (false)
+                                                        .append ("foo")
+                                                        .append (Arrays.asList (JExpr.lit (1)))
+                                                        .append ("")
+                                                        .getHashCode ();
+    assertEquals (nExpected, aInv.hashCode ());
+  }
+
+  @Test
+  public void testEqualsArrays ()
+  {
+    assertTrue (JCEqualsHelper.isEqual ((Object) new int [] { 1, 2 }, (Object) new int [] { 1, 2 }));
+    assertFalse (JCEqualsHelper.isEqual ((Object) new int [] { 1, 2 }, (Object) new int [] { 1 }));
+    assertTrue (JCEqualsHelper.isEqual ((Object) new String [] { "a" }, (Object) new String [] { "a" }));
+    assertFalse (JCEqualsHelper.isEqual ((Object) new String [] { "a" }, (Object) new int [] { 1 }));
+    assertFalse (JCEqualsHelper.isEqual ("a", Integer.valueOf (1)));
+  }
+}
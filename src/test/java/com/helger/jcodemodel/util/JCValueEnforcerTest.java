@@ -0,0 +1,196 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JLambda;
+import com.helger.jcodemodel.JMod;
+
+/**
+ * Test class for class {@link JCValueEnforcer}.
+ */
+public final class JCValueEnforcerTest
+{
+  private static void _assertIAE (final Runnable aRunnable, final String sExpectedMsg)
+  {
+    try
+    {
+      aRunnable.run ();
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      assertEquals (sExpectedMsg, ex.getMessage ());
+    }
+  }
+
+  @Test
+  public void testStringOverloads ()
+  {
+    JCValueEnforcer.isTrue (true, "msg");
+    JCValueEnforcer.isFalse (false, "msg");
+    JCValueEnforcer.isTrue (true, "msg", "value");
+    JCValueEnforcer.isFalse (false, "msg", "value");
+
+    _assertIAE ( () -> JCValueEnforcer.isTrue (false, "msg"), "The expression must be true but it is not: msg");
+    _assertIAE ( () -> JCValueEnforcer.isFalse (true, "msg"), "The expression must be false but it is not: msg");
+    _assertIAE ( () -> JCValueEnforcer.isTrue (false, "msg", "value"),
+                "The expression must be true but it is not: msg: value");
+    _assertIAE ( () -> JCValueEnforcer.isFalse (true, "msg", Integer.valueOf (5)),
+                "The expression must be false but it is not: msg: 5");
+  }
+
+  @Test
+  public void testOverloadsShareMessages ()
+  {
+    final String [] aArray = { "a", null };
+    _assertIAE ( () -> JCValueEnforcer.noNullValue (aArray, "Arr"), "Item 1 of array 'Arr' may not be null!");
+    _assertIAE ( () -> JCValueEnforcer.noNullValue (aArray, () -> "Arr"), "Item 1 of array 'Arr' may not be null!");
+    final List <String> aList = Arrays.asList (aArray);
+    _assertIAE ( () -> JCValueEnforcer.noNullValue (aList, "List"), "Item 1 of iterable 'List' may not be null!");
+    _assertIAE ( () -> JCValueEnforcer.noNullValue (aList, () -> "List"), "Item 1 of iterable 'List' may not be null!");
+    final Map <String, String> aMap = Collections.singletonMap ("a", null);
+    _assertIAE ( () -> JCValueEnforcer.noNullValue (aMap, "Map"), "A value of map 'Map' may not be null!");
+    _assertIAE ( () -> JCValueEnforcer.noNullValue (aMap, () -> "Map"), "A value of map 'Map' may not be null!");
+    _assertIAE ( () -> JCValueEnforcer.notEmpty (new int [0], "Arr"), "The value of the array 'Arr' may not be empty!");
+    _assertIAE ( () -> JCValueEnforcer.notEmpty (new int [0], () -> "Arr"),
+                "The value of the array 'Arr' may not be empty!");
+    _assertIAE ( () -> JCValueEnforcer.isGE0 (-1, "Val"), "The value of 'Val' must be >= 0! The current value is: -1");
+    _assertIAE ( () -> JCValueEnforcer.isGE0 (-1, () -> "Val"),
+                "The value of 'Val' must be >= 0! The current value is: -1");
+    _assertIAE ( () -> JCValueEnforcer.isBetweenInclusive (5, "Val", 1, 3),
+                "The value of 'Val' must be >= 1 and <= 3! The current value is: 5");
+    _assertIAE ( () -> JCValueEnforcer.isBetweenExclusive (1.5, () -> "Val", 2.0, 3.0),
+                "The value of 'Val' must be > 2.0 and < 3.0! The current value is: 1.5");
+    _assertIAE ( () -> JCValueEnforcer.isEqual (1, 2, "Val"),
+                "The value of 'Val' does not match the expected value. Passed value: 1 -- Expected value: 2");
+    _assertIAE ( () -> JCValueEnforcer.isEqual (1, 2, () -> "Val"),
+                "The value of 'Val' does not match the expected value. Passed value: 1 -- Expected value: 2");
+  }
+
+  @Test
+  public void testCallSitesKeepPrefix () throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    try
+    {
+      cm.rootPackage ().ref ("a.B");
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      assertEquals ("The expression must be true but it is not: JClass name contains '.': a.B", ex.getMessage ());
+    }
+    _assertIAE ( () -> cm.ref (Object.class).staticRef ("a.b"),
+                "The expression must be true but it is not: Field name contains '.': a.b");
+    _assertIAE ( () -> cm.ref (Object.class).staticInvoke ("a.b"),
+                "The expression must be false but it is not: method name contains '.': a.b");
+    _assertIAE ( () -> cm.anonymousClass (Object.class).method (JMod.PUBLIC, cm.VOID, "run").param (cm.INT, "a b"),
+                "The expression must be true but it is not: Illegal variable name 'a b'");
+    _assertIAE ( () -> new JLambda ().addParam ("a b"),
+                "The expression must be true but it is not: Illegal variable name 'a b'");
+    _assertIAE ( () -> cm.anonymousClass (Object.class).method (JMod.TRANSIENT, cm.VOID, "run"),
+                "The expression must be false but it is not: Illegal modifiers for method: transient");
+  }
+
+  @Test
+  public void testSetEnabled ()
+  {
+    assertTrue (JCValueEnforcer.isEnabled ());
+    JCValueEnforcer.setEnabled (false);
+    try
+    {
+      assertFalse (JCValueEnforcer.isEnabled ());
+      JCValueEnforcer.isTrue (false, "msg");
+      JCValueEnforcer.isFalse (true, "msg", "value");
+    }
+    finally
+    {
+      JCValueEnforcer.setEnabled (true);
+    }
+    assertTrue (JCValueEnforcer.isEnabled ());
+  }
+
+  @Test
+  public void testSystemPropertyDisabled () throws Exception
+  {
+    // The property is only read upon class initialization, so load a fresh copy
+    // of the class
+    final URL aClassesURL = JCValueEnforcer.class.getProtectionDomain ().getCodeSource ().getLocation ();
+    System.setProperty (JCValueEnforcer.SYSTEM_PROPERTY_DISABLED, "true");
+    try (final URLClassLoader aCL = new URLClassLoader (new URL [] { aClassesURL }, null))
+    {
+      final Class <?> aClass = Class.forName (JCValueEnforcer.class.getName (), true, aCL);
+      final Method aIsEnabled = aClass.getMethod ("isEnabled");
+      assertFalse (((Boolean) aIsEnabled.invoke (null)).booleanValue ());
+
+      // Cannot be enabled at runtime
+      aClass.getMethod ("setEnabled", boolean.class).invoke (null, Boolean.TRUE);
+      assertFalse (((Boolean) aIsEnabled.invoke (null)).booleanValue ());
+
+      // Failing checks pass silently
+      aClass.getMethod ("isTrue", boolean.class, String.class).invoke (null, Boolean.FALSE, "msg");
+      aClass.getMethod ("isFalse", boolean.class, String.class, Object.class)
+            .invoke (null, Boolean.TRUE, "msg", "value");
+    }
+    finally
+    {
+      System.clearProperty (JCValueEnforcer.SYSTEM_PROPERTY_DISABLED);
+    }
+    // The already loaded class is not affected
+    assertTrue (JCValueEnforcer.isEnabled ());
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2010 Oracle and/or its affiliates. All rights reserved.
+ * Portions Copyright 2013-2018 Philip Helger + contributors
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.helger.jcodemodel.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.jcodemodel.AbstractCodeWriter;
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JMod;
+import com.helger.jcodemodel.JPackage;
+import com.helger.jcodemodel.util.CodeModelTestsHelper;
+
+/**
+ * Test class for class {@link AsyncCodeWriter}.
+ */
+public final class AsyncCodeWriterTest
+{
+  private enum EFailure
+  {
+    NONE,
+    IO_EXCEPTION,
+    ERROR
+  }
+
+  private static final class MemoryCodeWriter extends AbstractCodeWriter
+  {
+    private final Map <String, String> m_aFiles = new ConcurrentHashMap <> ();
+    private final List <String> m_aDiscarded = Collections.synchronizedList (new ArrayList <> ());
+    private final EFailure m_eFailure;
+
+    MemoryCodeWriter (@Nonnull final EFailure eFailure)
+    {
+      super (CodeModelTestsHelper.DEFAULT_ENCODING, "\n");
+      m_eFailure = eFailure;
+    }
+
+    @Override
+    public OutputStream openBinary (@Nonnull final JPackage aPackage, @Nonnull final String sFilename) throws IOException
+    {
+      if (m_eFailure == EFailure.IO_EXCEPTION)
+        throw new IOException ("Cannot write " + sFilename);
+      if (m_eFailure == EFailure.ERROR)
+        throw new AssertionError ("Cannot write " + sFilename);
+      return new ByteArrayOutputStream ()
+      {
+        @Override
+        public void close () throws IOException
+        {
+          super.close ();
+          m_aFiles.put (aPackage.name () + "/" + sFilename, new String (toByteArray (), CodeModelTestsHelper.DEFAULT_ENCODING));
+        }
+      };
+    }
+
+    @Override
+    public void discard (@Nonnull final JPackage aPackage, @Nonnull final String sFilename)
+    {
+      m_aDiscarded.add (sFilename);
+    }
+
+    @Override
+    public void close () throws IOException
+    {}
+  }
+
+  @Nonnull
+  private static JCodeModel _createModel () throws Exception
+  {
+    return _createModel (20);
+  }
+
+  @Nonnull
+  private static JCodeModel _createModel (final int nClasses) throws Exception
+  {
+    final JCodeModel cm = new JCodeModel ();
+    for (int i = 0; i < nClasses; ++i)
+      cm._class ("org.example.Class" + i).method (JMod.PUBLIC, cm.VOID, "run");
+    return cm;
+  }
+
+  @Test
+  public void testBuild () throws Exception
+  {
+    final MemoryCodeWriter aCore = new MemoryCodeWriter (EFailure.NONE);
+    // Small queue to test the blocking
+    _createModel ().build (new AsyncCodeWriter (aCore, 2, 3));
+    assertEquals (20, aCore.m_aFiles.size ());
+    final String sSrc = aCore.m_aFiles.get ("org.example/Class7.java");
+    assertTrue (sSrc, sSrc.contains ("public class Class7"));
+  }
+
+  @Test
+  public void testAggregatedError () throws Exception
+  {
+    try
+    {
+      _createModel ().build (new AsyncCodeWriter (new MemoryCodeWriter (EFailure.IO_EXCEPTION)));
+      fail ();
+    }
+    catch (final IOException ex)
+    {
+      assertEquals (20, ex.getSuppressed ().length);
+    }
+  }
+
+  @Test
+  public void testStrictAndDiscardForwarded () throws Exception
+  {
+    final MemoryCodeWriter aCore = new MemoryCodeWriter (EFailure.IO_EXCEPTION);
+    final AsyncCodeWriter aCW = new AsyncCodeWriter (aCore);
+    assertFalse (aCW.isStrict ());
+    aCW.setStrict (true);
+    assertTrue (aCore.isStrict ());
+
+    aCW.discard (new JCodeModel ().rootPackage (), "Manual.java");
+    assertEquals ("Manual.java", aCore.m_aDiscarded.get (0));
+
+    try
+    {
+      _createModel ().build (aCW);
+      fail ();
+    }
+    catch (final IOException ex)
+    {
+      // The build is aborted early
+      assertTrue (ex.getSuppressed ().length > 0);
+      assertTrue (ex.getSuppressed ().length < 20);
+      // The manual discard, all files that failed in the writer thread and the
+      // file that was rejected when the build was aborted
+      assertEquals (1 + ex.getSuppressed ().length + 1, aCore.m_aDiscarded.size ());
+    }
+  }
+
+  @Test (timeout = 10_000)
+  public void testStrictAbortsEarly () throws Exception
+  {
+    // The queue holds at most 2 files, so only a few files can be queued
+    // before the first error is noticed
+    final AsyncCodeWriter aCW = new AsyncCodeWriter (new MemoryCodeWriter (EFailure.IO_EXCEPTION), 2, 1);
+    aCW.setStrict (true);
+    try
+    {
+      _createModel (100).build (aCW);
+      fail ();
+    }
+    catch (final IOException ex)
+    {
+      assertTrue (ex.getSuppressed ().length > 0);
+      assertTrue (ex.getSuppressed ().length < 10);
+    }
+  }
+
+  @Test (timeout = 10_000)
+  public void testErrorInWriterThread () throws Exception
+  {
+    // An Error must neither kill the writer thread nor block the build
+    try
+    {
+      _createModel ().build (new AsyncCodeWriter (new MemoryCodeWriter (EFailure.ERROR), 2, 1));
+      fail ();
+    }
+    catch (final IOException ex)
+    {
+      assertEquals (20, ex.getSuppressed ().length);
+      assertTrue (ex.getSuppressed ()[0].getCause () instanceof AssertionError);
+    }
+  }
+}